@@ -81,8 +81,12 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	/** The AdvisorChainFactory to use */
 	AdvisorChainFactory advisorChainFactory = new DefaultAdvisorChainFactory();
 
-	/** Cache with Method as key and advisor chain List as value */
-	private transient Map<MethodCacheKey, List<Object>> methodCache;
+	/**
+	 * Cache with Method as key and advisor chain List as value.
+	 * <p>Proxies hand in the same Method instance for each invocation of a
+	 * given method, which the map finds through an identity check first.
+	 */
+	private transient Map<Method, List<Object>> methodCache;
 
 	/**
 	 * Interfaces to be implemented by the proxy. Held in List to keep the order
@@ -477,12 +481,11 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	 * @return List of MethodInterceptors (may also include InterceptorAndDynamicMethodMatchers)
 	 */
 	public List<Object> getInterceptorsAndDynamicInterceptionAdvice(Method method, @Nullable Class<?> targetClass) {
-		MethodCacheKey cacheKey = new MethodCacheKey(method);
-		List<Object> cached = this.methodCache.get(cacheKey);
+		List<Object> cached = this.methodCache.get(method);
 		if (cached == null) {
 			cached = this.advisorChainFactory.getInterceptorsAndDynamicInterceptionAdvice(
 					this, method, targetClass);
-			this.methodCache.put(cacheKey, cached);
+			this.methodCache.put(method, cached);
 		}
 		return cached;
 	}
@@ -575,46 +578,4 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 		return sb.toString();
 	}
 
-
-	/**
-	 * Simple wrapper class around a Method. Used as the key when
-	 * caching methods, for efficient equals and hashCode comparisons.
-	 */
-	private static final class MethodCacheKey implements Comparable<MethodCacheKey> {
-
-		private final Method method;
-
-		private final int hashCode;
-
-		public MethodCacheKey(Method method) {
-			this.method = method;
-			this.hashCode = method.hashCode();
-		}
-
-		@Override
-		public boolean equals(Object other) {
-			return (this == other || (other instanceof MethodCacheKey &&
-					this.method == ((MethodCacheKey) other).method));
-		}
-
-		@Override
-		public int hashCode() {
-			return this.hashCode;
-		}
-
-		@Override
-		public String toString() {
-			return this.method.toString();
-		}
-
-		@Override
-		public int compareTo(MethodCacheKey other) {
-			int result = this.method.getName().compareTo(other.method.getName());
-			if (result == 0) {
-				result = this.method.toString().compareTo(other.method.toString());
-			}
-			return result;
-		}
-	}
-
 }
@@ -20,12 +20,16 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.aopalliance.aop.Advice;
 import org.aopalliance.intercept.MethodInvocation;
@@ -54,6 +58,7 @@ import org.springframework.core.SmartClassLoader;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 
 /**
@@ -100,6 +105,13 @@ class CglibAopProxy implements AopProxy, Serializable {
 	/** Keeps track of the Classes that we have validated for final methods */
 	private static final Map<Class<?>, Boolean> validatedClasses = new WeakHashMap<>();
 
+	/**
+	 * Callback filters that proxy classes have been generated with,
+	 * for reuse of those classes by equivalent proxy configurations
+	 */
+	private static final Map<ProxyClassKey, List<RecordedCallbackFilter>> recordedCallbackFilters =
+			new ConcurrentReferenceHashMap<>(64);
+
 
 	/** The configuration used to configure this proxy */
 	protected final AdvisedSupport advised;
@@ -187,8 +199,9 @@ class CglibAopProxy implements AopProxy, Serializable {
 					enhancer.setUseCache(false);
 				}
 			}
+			Class<?>[] proxyInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised);
 			enhancer.setSuperclass(proxySuperClass);
-			enhancer.setInterfaces(AopProxyUtils.completeProxiedInterfaces(this.advised));
+			enhancer.setInterfaces(proxyInterfaces);
 			enhancer.setNamingPolicy(SpringNamingPolicy.INSTANCE);
 			enhancer.setStrategy(new ClassLoaderAwareUndeclaredThrowableStrategy(classLoader));
 
@@ -198,8 +211,28 @@ class CglibAopProxy implements AopProxy, Serializable {
 				types[x] = callbacks[x].getClass();
 			}
 			// fixedInterceptorMap only populated at this point, after getCallbacks call above
-			enhancer.setCallbackFilter(new ProxyCallbackFilter(
-					this.advised.getConfigurationOnlyCopy(), this.fixedInterceptorMap, this.fixedInterceptorOffset));
+			ProxyCallbackFilter callbackFilter = new ProxyCallbackFilter(
+					this.advised.getConfigurationOnlyCopy(), this.fixedInterceptorMap, this.fixedInterceptorOffset);
+			RecordedCallbackFilter recordedFilter = null;
+			if (enhancer.getUseCache()) {
+				// Reuse a proxy class generated for an equivalent configuration before, if any.
+				ProxyClassKey proxyClassKey = new ProxyClassKey(getClass(), proxySuperClass, proxyInterfaces, types);
+				recordedFilter = findRecordedCallbackFilter(proxyClassKey, callbackFilter);
+				if (recordedFilter != null) {
+					enhancer.setCallbackFilter(recordedFilter);
+				}
+				else {
+					RecordedCallbackFilter recordingFilter = new RecordedCallbackFilter(callbackFilter);
+					enhancer.setCallbackFilter(recordingFilter);
+					enhancer.setCallbackTypes(types);
+					Object proxy = createProxyClassAndInstance(enhancer, callbacks);
+					registerRecordedCallbackFilter(proxyClassKey, recordingFilter);
+					return proxy;
+				}
+			}
+			else {
+				enhancer.setCallbackFilter(callbackFilter);
+			}
 			enhancer.setCallbackTypes(types);
 
 			// Generate the proxy class and create a proxy instance.
@@ -224,6 +257,44 @@ class CglibAopProxy implements AopProxy, Serializable {
 				enhancer.create());
 	}
 
+	/**
+	 * Find a callback filter that a proxy class has been generated with before,
+	 * for the same proxy class layout and with the same outcome as the given
+	 * callback filter for every proxied method. Passing such a filter to the
+	 * {@link Enhancer} lets CGLIB serve the proxy class from its cache, even
+	 * if the given callback filter itself is not equal to the previous one.
+	 */
+	@Nullable
+	private static RecordedCallbackFilter findRecordedCallbackFilter(
+			ProxyClassKey proxyClassKey, ProxyCallbackFilter callbackFilter) {
+
+		List<RecordedCallbackFilter> candidates = recordedCallbackFilters.get(proxyClassKey);
+		if (candidates != null) {
+			for (RecordedCallbackFilter candidate : candidates) {
+				if (candidate.matches(callbackFilter)) {
+					return candidate;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static void registerRecordedCallbackFilter(
+			ProxyClassKey proxyClassKey, RecordedCallbackFilter recordingFilter) {
+
+		if (recordingFilter.seal()) {
+			List<RecordedCallbackFilter> candidates = recordedCallbackFilters.get(proxyClassKey);
+			if (candidates == null) {
+				candidates = new CopyOnWriteArrayList<>();
+				List<RecordedCallbackFilter> existing = recordedCallbackFilters.putIfAbsent(proxyClassKey, candidates);
+				if (existing != null) {
+					candidates = existing;
+				}
+			}
+			candidates.add(recordingFilter);
+		}
+	}
+
 	/**
 	 * Creates the CGLIB {@link Enhancer}. Subclasses may wish to override this to return a custom
 	 * {@link Enhancer} implementation.
@@ -318,21 +389,30 @@ class CglibAopProxy implements AopProxy, Serializable {
 
 		Callback[] callbacks;
 
-		// If the target is a static one and the advice chain is frozen,
-		// then we can make some optimizations by sending the AOP calls
-		// direct to the target using the fixed chain for that method.
-		if (isStatic && isFrozen) {
+		// If the advice chain is frozen, then we can make some optimizations
+		// by binding the fixed chain for each advised method to a callback of
+		// its own, sending the AOP calls direct to the target (if static) or
+		// to the target source, without looking up the chain per invocation.
+		if (isFrozen) {
 			Method[] methods = rootClass.getMethods();
-			Callback[] fixedCallbacks = new Callback[methods.length];
+			List<Callback> fixedCallbackList = new ArrayList<>();
 			this.fixedInterceptorMap = new HashMap<>(methods.length);
 
-			// TODO: small memory optimization here (can skip creation for methods with no advice)
-			for (int x = 0; x < methods.length; x++) {
-				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(methods[x], rootClass);
-				fixedCallbacks[x] = new FixedChainStaticTargetInterceptor(
-						chain, this.advised.getTargetSource().getTarget(), this.advised.getTargetClass());
-				this.fixedInterceptorMap.put(methods[x].toString(), x);
+			for (Method method : methods) {
+				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, rootClass);
+				if (chain.isEmpty()) {
+					// No advice: ProxyCallbackFilter will choose a non-AOP callback anyway.
+					continue;
+				}
+				Callback fixedCallback = (isStatic && !exposeProxy ?
+						new FixedChainStaticTargetInterceptor(
+								chain, this.advised.getTargetSource().getTarget(), this.advised.getTargetClass()) :
+						new FixedChainDynamicTargetInterceptor(
+								chain, this.advised.getTargetSource(), this.advised.getTargetClass(), exposeProxy));
+				this.fixedInterceptorMap.put(method.toString(), fixedCallbackList.size());
+				fixedCallbackList.add(fixedCallback);
 			}
+			Callback[] fixedCallbacks = fixedCallbackList.toArray(new Callback[0]);
 
 			// Now copy both the callbacks from mainCallbacks
 			// and fixedCallbacks into the callbacks array.
@@ -644,6 +724,60 @@ class CglibAopProxy implements AopProxy, Serializable {
 	}
 
 
+	/**
+	 * Interceptor used when the advice chain is frozen but the target is not
+	 * static or the proxy needs to be exposed. Like
+	 * {@link FixedChainStaticTargetInterceptor}, it is bound to the fixed chain
+	 * of a specific method, while obtaining and releasing the target through
+	 * the {@link TargetSource} for each invocation.
+	 */
+	private static class FixedChainDynamicTargetInterceptor implements MethodInterceptor, Serializable {
+
+		private final List<Object> adviceChain;
+
+		private final TargetSource targetSource;
+
+		@Nullable
+		private final Class<?> targetClass;
+
+		private final boolean exposeProxy;
+
+		public FixedChainDynamicTargetInterceptor(List<Object> adviceChain, TargetSource targetSource,
+				@Nullable Class<?> targetClass, boolean exposeProxy) {
+
+			this.adviceChain = adviceChain;
+			this.targetSource = targetSource;
+			this.targetClass = targetClass;
+			this.exposeProxy = exposeProxy;
+		}
+
+		@Override
+		@Nullable
+		public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+			Object oldProxy = null;
+			Object target = null;
+			try {
+				if (this.exposeProxy) {
+					oldProxy = AopContext.setCurrentProxy(proxy);
+				}
+				target = this.targetSource.getTarget();
+				MethodInvocation invocation = new CglibMethodInvocation(proxy, target, method, args,
+						this.targetClass, this.adviceChain, methodProxy);
+				Object retVal = invocation.proceed();
+				return processReturnType(proxy, target, method, retVal);
+			}
+			finally {
+				if (target != null && !this.targetSource.isStatic()) {
+					this.targetSource.releaseTarget(target);
+				}
+				if (this.exposeProxy) {
+					AopContext.setCurrentProxy(oldProxy);
+				}
+			}
+		}
+	}
+
+
 	/**
 	 * General purpose AOP callback. Used when the target is dynamic or when the
 	 * proxy is not frozen.
@@ -753,6 +887,108 @@ class CglibAopProxy implements AopProxy, Serializable {
 	}
 
 
+	/**
+	 * Key for proxy classes with the same super class, interfaces and callback
+	 * types, as generated by the same kind of {@code CglibAopProxy}.
+	 */
+	private static final class ProxyClassKey {
+
+		private final Class<?> aopProxyClass;
+
+		private final Class<?> proxySuperClass;
+
+		private final Class<?>[] proxyInterfaces;
+
+		private final Class<?>[] callbackTypes;
+
+		public ProxyClassKey(Class<?> aopProxyClass, Class<?> proxySuperClass,
+				Class<?>[] proxyInterfaces, Class<?>[] callbackTypes) {
+
+			this.aopProxyClass = aopProxyClass;
+			this.proxySuperClass = proxySuperClass;
+			this.proxyInterfaces = proxyInterfaces;
+			this.callbackTypes = callbackTypes;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ProxyClassKey)) {
+				return false;
+			}
+			ProxyClassKey otherKey = (ProxyClassKey) other;
+			return (this.aopProxyClass == otherKey.aopProxyClass &&
+					this.proxySuperClass == otherKey.proxySuperClass &&
+					Arrays.equals(this.proxyInterfaces, otherKey.proxyInterfaces) &&
+					Arrays.equals(this.callbackTypes, otherKey.callbackTypes));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.proxySuperClass.hashCode() * 29 + Arrays.hashCode(this.proxyInterfaces)) * 29 +
+					this.callbackTypes.length;
+		}
+	}
+
+
+	/**
+	 * CallbackFilter that records the callback index chosen by a
+	 * {@link ProxyCallbackFilter} for each method while a proxy class gets
+	 * generated. Once sealed, it answers from the recorded indexes alone,
+	 * without holding on to the proxy configuration, and serves as canonical
+	 * callback filter for all proxy configurations with the same outcome,
+	 * identifying the generated proxy class in CGLIB's cache.
+	 */
+	private static class RecordedCallbackFilter implements CallbackFilter {
+
+		@Nullable
+		private volatile ProxyCallbackFilter delegate;
+
+		private final Map<Method, Integer> callbackIndexes = new ConcurrentHashMap<>();
+
+		public RecordedCallbackFilter(ProxyCallbackFilter delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public int accept(Method method) {
+			ProxyCallbackFilter delegate = this.delegate;
+			if (delegate != null) {
+				int index = delegate.accept(method);
+				this.callbackIndexes.put(method, index);
+				return index;
+			}
+			// Proxy class generation for the same class layout in another ClassLoader
+			Integer index = this.callbackIndexes.get(method);
+			return (index != null ? index : AOP_PROXY);
+		}
+
+		/**
+		 * Determine whether the given filter chooses the same callbacks
+		 * for all methods recorded here.
+		 */
+		public boolean matches(ProxyCallbackFilter callbackFilter) {
+			for (Map.Entry<Method, Integer> entry : this.callbackIndexes.entrySet()) {
+				if (callbackFilter.accept(entry.getKey()) != entry.getValue()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Stop delegating to the original filter, after proxy class generation.
+		 * @return whether any methods have been recorded
+		 */
+		public boolean seal() {
+			this.delegate = null;
+			return !this.callbackIndexes.isEmpty();
+		}
+	}
+
+
 	/**
 	 * CallbackFilter to assign Callbacks to methods.
 	 */
@@ -783,8 +1019,9 @@ class CglibAopProxy implements AopProxy, Serializable {
 		 * <dt>For exposed proxies</dt>
 		 * <dd>Exposing the proxy requires code to execute before and after the
 		 * method/chain invocation. This means we must use
-		 * DynamicAdvisedInterceptor, since all other interceptors can avoid the
-		 * need for a try/catch block</dd>
+		 * DynamicAdvisedInterceptor or - for a frozen advice chain - a
+		 * FixedChainDynamicTargetInterceptor, since all other interceptors can
+		 * avoid the need for a try/catch block</dd>
 		 * <dt>For Object.finalize():</dt>
 		 * <dd>No override for this method is used.</dd>
 		 * <dt>For equals():</dt>
@@ -794,10 +1031,10 @@ class CglibAopProxy implements AopProxy, Serializable {
 		 * <dd>the AdvisedDispatcher is used to dispatch the call directly to
 		 * the target</dd>
 		 * <dt>For advised methods:</dt>
-		 * <dd>If the target is static and the advice chain is frozen then a
-		 * FixedChainStaticTargetInterceptor specific to the method is used to
-		 * invoke the advice chain. Otherwise a DyanmicAdvisedInterceptor is
-		 * used.</dd>
+		 * <dd>If the advice chain is frozen then a FixedChainStaticTargetInterceptor
+		 * (for a static target) or FixedChainDynamicTargetInterceptor specific to
+		 * the method is used to invoke the advice chain. Otherwise a
+		 * DynamicAdvisedInterceptor is used.</dd>
 		 * <dt>For non-advised methods:</dt>
 		 * <dd>Where it can be determined that the method will not return {@code this}
 		 * or when {@code ProxyFactory.getExposeProxy()} returns {@code false},
@@ -839,30 +1076,28 @@ class CglibAopProxy implements AopProxy, Serializable {
 			boolean isStatic = this.advised.getTargetSource().isStatic();
 			boolean isFrozen = this.advised.isFrozen();
 			if (haveAdvice || !isFrozen) {
-				// If exposing the proxy, then AOP_PROXY must be used.
-				if (exposeProxy) {
-					if (logger.isDebugEnabled()) {
-						logger.debug("Must expose proxy on advised method: " + method);
-					}
-					return AOP_PROXY;
-				}
-				String key = method.toString();
 				// Check to see if we have fixed interceptor to serve this method.
 				// Else use the AOP_PROXY.
-				if (isStatic && isFrozen && this.fixedInterceptorMap.containsKey(key)) {
+				Integer index = (isFrozen ? this.fixedInterceptorMap.get(method.toString()) : null);
+				if (index != null) {
 					if (logger.isDebugEnabled()) {
 						logger.debug("Method has advice and optimizations are enabled: " + method);
 					}
-					// We know that we are optimizing so we can use the FixedStaticChainInterceptors.
-					int index = this.fixedInterceptorMap.get(key);
+					// We know that we are optimizing so we can use the fixed chain interceptors,
+					// which expose the proxy themselves if necessary.
 					return (index + this.fixedInterceptorOffset);
 				}
-				else {
+				// If exposing the proxy, then AOP_PROXY must be used.
+				if (exposeProxy) {
 					if (logger.isDebugEnabled()) {
-						logger.debug("Unable to apply any optimizations to advised method: " + method);
+						logger.debug("Must expose proxy on advised method: " + method);
 					}
 					return AOP_PROXY;
 				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Unable to apply any optimizations to advised method: " + method);
+				}
+				return AOP_PROXY;
 			}
 			else {
 				// See if the return type of the method is outside the class hierarchy of the target type.
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -76,6 +77,13 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	 */
 	private static final Log logger = LogFactory.getLog(AbstractNestablePropertyAccessor.class);
 
+	private static final int TOKEN_CACHE_TURNOFF_THRESHOLD = 4096;
+
+	/** Cache of parsed keyed property names: property name -> parsed tokens */
+	private static final Map<String, PropertyTokenHolder> propertyNameTokenCache = new ConcurrentHashMap<>(256);
+
+	private static volatile boolean cachePropertyNameTokens = true;
+
 	private int autoGrowCollectionLimit = Integer.MAX_VALUE;
 
 	@Nullable
@@ -926,6 +934,33 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	 * @return representation of the parsed property tokens
 	 */
 	private PropertyTokenHolder getPropertyNameTokens(String propertyName) {
+		if (propertyName.indexOf(PROPERTY_KEY_PREFIX_CHAR) == -1) {
+			// Plain property name: nothing to parse
+			return new PropertyTokenHolder(propertyName);
+		}
+		PropertyTokenHolder cached = (cachePropertyNameTokens ? propertyNameTokenCache.get(propertyName) : null);
+		if (cached == null) {
+			cached = parsePropertyNameTokens(propertyName);
+			if (cachePropertyNameTokens) {
+				if (propertyNameTokenCache.size() >= TOKEN_CACHE_TURNOFF_THRESHOLD) {
+					// Too many different keys coming in here, e.g. for large indexed collections:
+					// turn off the cache since the property names are unlikely to be reoccurring.
+					cachePropertyNameTokens = false;
+					propertyNameTokenCache.clear();
+				}
+				else {
+					propertyNameTokenCache.put(propertyName, cached);
+				}
+			}
+		}
+		// Hand out a copy, since PropertyTokenHolder fields are mutable
+		PropertyTokenHolder tokens = new PropertyTokenHolder(cached.actualName);
+		tokens.canonicalName = cached.canonicalName;
+		tokens.keys = cached.keys;
+		return tokens;
+	}
+
+	private PropertyTokenHolder parsePropertyNameTokens(String propertyName) {
 		String actualName = null;
 		List<String> keys = new ArrayList<>(2);
 		int searchIndex = 0;
@@ -17,6 +17,8 @@
 package org.springframework.beans;
 
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.AccessControlContext;
 import java.security.AccessController;
@@ -304,6 +306,17 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 				}
 			}
 			else {
+				MethodHandle readHandle = (this.pd instanceof GenericTypeAwarePropertyDescriptor ?
+						((GenericTypeAwarePropertyDescriptor) this.pd).getReadHandle() : null);
+				if (readHandle != null) {
+					try {
+						return (Object) readHandle.invokeExact(getWrappedInstance());
+					}
+					catch (Throwable ex) {
+						// Same as for a reflective call: the getter itself threw the exception
+						throw new InvocationTargetException(ex);
+					}
+				}
 				ReflectionUtils.makeAccessible(readMethod);
 				return readMethod.invoke(getWrappedInstance(), (Object[]) null);
 			}
@@ -328,6 +341,21 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 				}
 			}
 			else {
+				if (this.pd instanceof GenericTypeAwarePropertyDescriptor) {
+					GenericTypeAwarePropertyDescriptor gpd = (GenericTypeAwarePropertyDescriptor) this.pd;
+					MethodHandle writeHandle = gpd.getWriteHandle();
+					// Leave invalid arguments up to reflection, for the usual exception
+					if (writeHandle != null && gpd.isAssignableToWriteMethod(value)) {
+						try {
+							writeHandle.invokeExact(getWrappedInstance(), value);
+							return;
+						}
+						catch (Throwable ex) {
+							// Same as for a reflective call: the setter itself threw the exception
+							throw new InvocationTargetException(ex);
+						}
+					}
+				}
 				ReflectionUtils.makeAccessible(writeMethod);
 				writeMethod.invoke(getWrappedInstance(), value);
 			}
@@ -20,6 +20,7 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -32,6 +33,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.SpringProperties;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.lang.Nullable;
@@ -92,13 +94,25 @@ public class CachedIntrospectionResults {
 	 */
 	public static final String IGNORE_BEANINFO_PROPERTY_NAME = "spring.beaninfo.ignore";
 
+	/**
+	 * System property that instructs Spring to determine bean properties through
+	 * {@link SimpleBeanInfoFactory}, i.e. by scanning public getter and setter methods
+	 * instead of calling the JavaBeans {@link Introspector}: "spring.beaninfo.simple".
+	 * <p>The default is "false", using the {@code Introspector} unless a custom
+	 * {@link BeanInfoFactory} has been registered. Consider switching this flag
+	 * to "true" for faster startup with many bean classes, as long as no
+	 * {@code BeanInfo} classes or indexed property methods need to be considered.
+	 * @since 5.1
+	 * @see SimpleBeanInfoFactory
+	 */
+	public static final String SIMPLE_INTROSPECTION_PROPERTY_NAME = "spring.beaninfo.simple";
+
 
 	private static final boolean shouldIntrospectorIgnoreBeaninfoClasses =
 			SpringProperties.getFlag(IGNORE_BEANINFO_PROPERTY_NAME);
 
 	/** Stores the BeanInfoFactory instances */
-	private static List<BeanInfoFactory> beanInfoFactories = SpringFactoriesLoader.loadFactories(
-			BeanInfoFactory.class, CachedIntrospectionResults.class.getClassLoader());
+	private static List<BeanInfoFactory> beanInfoFactories = loadBeanInfoFactories();
 
 	private static final Log logger = LogFactory.getLog(CachedIntrospectionResults.class);
 
@@ -124,6 +138,18 @@ public class CachedIntrospectionResults {
 			new ConcurrentReferenceHashMap<>(64);
 
 
+	private static List<BeanInfoFactory> loadBeanInfoFactories() {
+		List<BeanInfoFactory> factories = SpringFactoriesLoader.loadFactories(
+				BeanInfoFactory.class, CachedIntrospectionResults.class.getClassLoader());
+		if (SpringProperties.getFlag(SIMPLE_INTROSPECTION_PROPERTY_NAME) &&
+				factories.stream().noneMatch(factory -> factory instanceof SimpleBeanInfoFactory)) {
+			factories = new ArrayList<>(factories);
+			factories.add(new SimpleBeanInfoFactory());
+			AnnotationAwareOrderComparator.sort(factories);
+		}
+		return factories;
+	}
+
 	/**
 	 * Accept the given ClassLoader as cache-safe, even if its classes would
 	 * not qualify as cache-safe in this CachedIntrospectionResults class.
@@ -256,6 +282,13 @@ public class CachedIntrospectionResults {
 	/** PropertyDescriptor objects keyed by property name String */
 	private final Map<String, PropertyDescriptor> propertyDescriptorCache;
 
+	/**
+	 * GenericTypeAwarePropertyDescriptor objects keyed by property name String,
+	 * built on first access for basic PropertyDescriptors from the BeanInfo
+	 */
+	private final ConcurrentMap<String, PropertyDescriptor> genericPropertyDescriptorCache =
+			new ConcurrentHashMap<>(16);
+
 	/** TypeDescriptor objects keyed by PropertyDescriptor */
 	private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> typeDescriptorCache;
 
@@ -277,6 +310,10 @@ public class CachedIntrospectionResults {
 			}
 			this.propertyDescriptorCache = new LinkedHashMap<>();
 
+			// Basic descriptors from SimpleBeanInfoFactory are cheap to obtain: resolve
+			// their generic types on first access rather than for all properties upfront.
+			boolean lazyGenericTypes = (this.beanInfo instanceof SimpleBeanInfoFactory.BasicBeanInfo);
+
 			// This call is slow so we do it once.
 			PropertyDescriptor[] pds = this.beanInfo.getPropertyDescriptors();
 			for (PropertyDescriptor pd : pds) {
@@ -291,13 +328,16 @@ public class CachedIntrospectionResults {
 							(pd.getPropertyEditorClass() != null ?
 									"; editor [" + pd.getPropertyEditorClass().getName() + "]" : ""));
 				}
-				pd = buildGenericTypeAwarePropertyDescriptor(beanClass, pd);
+				if (!lazyGenericTypes) {
+					pd = buildGenericTypeAwarePropertyDescriptor(beanClass, pd);
+				}
 				this.propertyDescriptorCache.put(pd.getName(), pd);
 			}
 
 			// Explicitly check implemented interfaces for setter/getter methods as well,
-			// in particular for Java 8 default methods...
-			Class<?> clazz = beanClass;
+			// in particular for Java 8 default methods... (already covered by method
+			// scanning in case of basic descriptors)
+			Class<?> clazz = (lazyGenericTypes ? null : beanClass);
 			while (clazz != null && clazz != Object.class) {
 				Class<?>[] ifcs = clazz.getInterfaces();
 				for (Class<?> ifc : ifcs) {
@@ -340,7 +380,7 @@ public class CachedIntrospectionResults {
 			}
 		}
 		return (pd == null || pd instanceof GenericTypeAwarePropertyDescriptor ? pd :
-				buildGenericTypeAwarePropertyDescriptor(getBeanClass(), pd));
+				getGenericTypeAwarePropertyDescriptor(pd));
 	}
 
 	PropertyDescriptor[] getPropertyDescriptors() {
@@ -348,12 +388,24 @@ public class CachedIntrospectionResults {
 		int i = 0;
 		for (PropertyDescriptor pd : this.propertyDescriptorCache.values()) {
 			pds[i] = (pd instanceof GenericTypeAwarePropertyDescriptor ? pd :
-					buildGenericTypeAwarePropertyDescriptor(getBeanClass(), pd));
+					getGenericTypeAwarePropertyDescriptor(pd));
 			i++;
 		}
 		return pds;
 	}
 
+	private PropertyDescriptor getGenericTypeAwarePropertyDescriptor(PropertyDescriptor pd) {
+		PropertyDescriptor gpd = this.genericPropertyDescriptorCache.get(pd.getName());
+		if (gpd == null) {
+			gpd = buildGenericTypeAwarePropertyDescriptor(getBeanClass(), pd);
+			PropertyDescriptor existing = this.genericPropertyDescriptorCache.putIfAbsent(pd.getName(), gpd);
+			if (existing != null) {
+				gpd = existing;
+			}
+		}
+		return gpd;
+	}
+
 	private PropertyDescriptor buildGenericTypeAwarePropertyDescriptor(Class<?> beanClass, PropertyDescriptor pd) {
 		try {
 			return new GenericTypeAwarePropertyDescriptor(beanClass, pd.getName(), pd.getReadMethod(),
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,9 @@ package org.springframework.beans;
 
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Set;
@@ -31,6 +34,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -38,11 +42,19 @@ import org.springframework.util.StringUtils;
  * overriding {@code getPropertyType()} such that a generically declared
  * type variable will be resolved against the containing bean class.
  *
+ * <p>Also exposes MethodHandles for the read and write methods, cached along
+ * with the descriptor, for property access without reflective invocation.
+ *
  * @author Juergen Hoeller
  * @since 2.5.2
  */
 final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 
+	private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType WRITE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+
 	private final Class<?> beanClass;
 
 	@Nullable
@@ -62,6 +74,16 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 
 	private final Class<?> propertyEditorClass;
 
+	@Nullable
+	private volatile MethodHandle readHandle;
+
+	private volatile boolean readHandleResolved;
+
+	@Nullable
+	private volatile MethodHandle writeHandle;
+
+	private volatile boolean writeHandleResolved;
+
 
 	public GenericTypeAwarePropertyDescriptor(Class<?> beanClass, String propertyName,
 			@Nullable Method readMethod, @Nullable Method writeMethod, Class<?> propertyEditorClass)
@@ -145,6 +167,48 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 		return this.writeMethod;
 	}
 
+	/**
+	 * Return a {@code (Object)Object} MethodHandle for the read method,
+	 * obtained on first access.
+	 * @return the handle, or {@code null} if there is no read method or
+	 * if it is not accessible through a MethodHandle
+	 * @since 5.1
+	 */
+	@Nullable
+	public MethodHandle getReadHandle() {
+		if (!this.readHandleResolved) {
+			this.readHandle = (this.readMethod != null ? resolveHandle(this.readMethod, READ_TYPE) : null);
+			this.readHandleResolved = true;
+		}
+		return this.readHandle;
+	}
+
+	/**
+	 * Return an {@code (Object,Object)void} MethodHandle for the write method,
+	 * obtained on first access.
+	 * @return the handle, or {@code null} if there is no write method or
+	 * if it is not accessible through a MethodHandle
+	 * @since 5.1
+	 */
+	@Nullable
+	public MethodHandle getWriteHandle() {
+		if (!this.writeHandleResolved) {
+			this.writeHandle = (this.writeMethod != null ? resolveHandle(this.writeMethod, WRITE_TYPE) : null);
+			this.writeHandleResolved = true;
+		}
+		return this.writeHandle;
+	}
+
+	/**
+	 * Determine whether the given value can be passed to the write method as-is,
+	 * i.e. without the write method invocation failing on the argument itself.
+	 * @since 5.1
+	 */
+	public boolean isAssignableToWriteMethod(@Nullable Object value) {
+		// The resolved parameter type is at least as specific as the declared one
+		return ClassUtils.isAssignableValue(getWriteMethodParameter().getParameterType(), value);
+	}
+
 	public MethodParameter getWriteMethodParameter() {
 		Assert.state(this.writeMethodParameter != null, "No write method available");
 		return this.writeMethodParameter;
@@ -162,6 +226,19 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 	}
 
 
+	@Nullable
+	private static MethodHandle resolveHandle(Method method, MethodType type) {
+		try {
+			ReflectionUtils.makeAccessible(method);
+			return MethodHandles.lookup().unreflect(method).asFixedArity().asType(type);
+		}
+		catch (Throwable ex) {
+			// Not accessible through a MethodHandle - stick with reflection.
+			return null;
+		}
+	}
+
+
 	@Override
 	public boolean equals(Object other) {
 		if (this == other) {
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.BeanDescriptor;
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.beans.SimpleBeanInfo;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link BeanInfoFactory} implementation that determines bean properties by
+ * scanning the public methods of a bean class for getters and setters, without
+ * going through {@link Introspector#getBeanInfo(Class)} and without considering
+ * {@code BeanInfo} classes or indexed property methods.
+ *
+ * <p>Public methods include default methods inherited from interfaces, and
+ * setters may be static or declare a non-void return type as supported by
+ * {@link ExtendedBeanInfoFactory}. The resulting descriptors are deliberately
+ * basic: generic property types get resolved by {@link CachedIntrospectionResults}
+ * once a property is actually accessed.
+ *
+ * <p>Not active by default: register it in {@code META-INF/spring.factories}
+ * under the {@link BeanInfoFactory} key or switch the
+ * {@link CachedIntrospectionResults#SIMPLE_INTROSPECTION_PROPERTY_NAME} flag on.
+ * Ordered right before {@link ExtendedBeanInfoFactory}.
+ *
+ * @since 5.1
+ * @see CachedIntrospectionResults
+ */
+public class SimpleBeanInfoFactory implements BeanInfoFactory, Ordered {
+
+	@Override
+	public BeanInfo getBeanInfo(Class<?> beanClass) throws IntrospectionException {
+		return new BasicBeanInfo(beanClass, determineBasicProperties(beanClass));
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.LOWEST_PRECEDENCE - 1;
+	}
+
+
+	/**
+	 * Determine the basic properties of the given class through its public
+	 * getter and setter methods, sorted by property name.
+	 */
+	private static PropertyDescriptor[] determineBasicProperties(Class<?> beanClass)
+			throws IntrospectionException {
+
+		Map<String, BasicPropertyDescriptor> pdMap = new TreeMap<>();
+		for (Method method : beanClass.getMethods()) {
+			String methodName = method.getName();
+			int paramCount = method.getParameterCount();
+			Class<?> returnType = method.getReturnType();
+			// Static setters are accepted as well, as by ExtendedBeanInfo
+			boolean instanceMethod = !Modifier.isStatic(method.getModifiers());
+			String propertyName;
+			boolean setter = false;
+			if (instanceMethod && paramCount == 0 && methodName.length() > 3 && methodName.startsWith("get") &&
+					returnType != void.class) {
+				propertyName = methodName.substring(3);
+			}
+			else if (instanceMethod && paramCount == 0 && methodName.length() > 2 && methodName.startsWith("is") &&
+					returnType == boolean.class) {
+				propertyName = methodName.substring(2);
+			}
+			else if (paramCount == 1 && methodName.length() > 3 && methodName.startsWith("set")) {
+				propertyName = methodName.substring(3);
+				setter = true;
+			}
+			else {
+				continue;
+			}
+			propertyName = Introspector.decapitalize(propertyName);
+			BasicPropertyDescriptor pd = pdMap.get(propertyName);
+			if (pd == null) {
+				pd = new BasicPropertyDescriptor(propertyName);
+				pdMap.put(propertyName, pd);
+			}
+			if (setter) {
+				pd.addWriteMethod(method);
+			}
+			else {
+				pd.addReadMethod(method);
+			}
+		}
+		return pdMap.values().toArray(new PropertyDescriptor[0]);
+	}
+
+
+	/**
+	 * BeanInfo exposing the basic properties determined for a bean class.
+	 */
+	static class BasicBeanInfo extends SimpleBeanInfo {
+
+		private final BeanDescriptor beanDescriptor;
+
+		private final PropertyDescriptor[] propertyDescriptors;
+
+		public BasicBeanInfo(Class<?> beanClass, PropertyDescriptor[] propertyDescriptors) {
+			this.beanDescriptor = new BeanDescriptor(beanClass);
+			this.propertyDescriptors = propertyDescriptors;
+		}
+
+		@Override
+		public BeanDescriptor getBeanDescriptor() {
+			return this.beanDescriptor;
+		}
+
+		@Override
+		public PropertyDescriptor[] getPropertyDescriptors() {
+			return this.propertyDescriptors;
+		}
+	}
+
+
+	/**
+	 * PropertyDescriptor for a plain read/write method pair, without any
+	 * further introspection effort on construction.
+	 */
+	private static class BasicPropertyDescriptor extends PropertyDescriptor {
+
+		@Nullable
+		private Method readMethod;
+
+		@Nullable
+		private Method writeMethod;
+
+		@Nullable
+		private Method alternativeWriteMethod;
+
+		public BasicPropertyDescriptor(String propertyName) throws IntrospectionException {
+			super(propertyName, null, null);
+		}
+
+		public void addReadMethod(Method readMethod) {
+			// Prefer actual methods over bridge methods (e.g. for covariant return types)
+			// and a boolean "isX" over a "getX" method, as the JavaBeans Introspector does
+			if (this.readMethod == null || (this.readMethod.isBridge() && !readMethod.isBridge()) ||
+					(this.readMethod.isBridge() == readMethod.isBridge() && readMethod.getName().startsWith("is"))) {
+				this.readMethod = readMethod;
+				if (this.writeMethod != null && !isMatchingWriteMethod(this.writeMethod) &&
+						this.alternativeWriteMethod != null && isMatchingWriteMethod(this.alternativeWriteMethod)) {
+					this.writeMethod = this.alternativeWriteMethod;
+				}
+			}
+		}
+
+		public void addWriteMethod(Method writeMethod) {
+			// Among overloaded setters, prefer the one matching the getter's type
+			if (this.writeMethod == null) {
+				this.writeMethod = writeMethod;
+			}
+			else if ((this.writeMethod.isBridge() && !writeMethod.isBridge()) ||
+					(!isMatchingWriteMethod(this.writeMethod) && isMatchingWriteMethod(writeMethod))) {
+				this.alternativeWriteMethod = this.writeMethod;
+				this.writeMethod = writeMethod;
+			}
+			else {
+				this.alternativeWriteMethod = writeMethod;
+			}
+		}
+
+		private boolean isMatchingWriteMethod(Method writeMethod) {
+			return (this.readMethod != null &&
+					writeMethod.getParameterTypes()[0].isAssignableFrom(this.readMethod.getReturnType()));
+		}
+
+		@Override
+		@Nullable
+		public Method getReadMethod() {
+			return this.readMethod;
+		}
+
+		@Override
+		public void setReadMethod(@Nullable Method readMethod) {
+			this.readMethod = readMethod;
+		}
+
+		@Override
+		@Nullable
+		public Method getWriteMethod() {
+			return this.writeMethod;
+		}
+
+		@Override
+		public void setWriteMethod(@Nullable Method writeMethod) {
+			this.writeMethod = writeMethod;
+		}
+
+		@Override
+		@Nullable
+		public Class<?> getPropertyType() {
+			if (this.readMethod != null) {
+				return this.readMethod.getReturnType();
+			}
+			else if (this.writeMethod != null) {
+				return this.writeMethod.getParameterTypes()[0];
+			}
+			return null;
+		}
+	}
+
+}
@@ -930,42 +930,59 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Nullable
 	private FactoryBean<?> getSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
-		synchronized (getSingletonMutex()) {
-			BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
-			if (bw != null) {
-				return (FactoryBean<?>) bw.getWrappedInstance();
-			}
-			Object beanInstance = getSingleton(beanName, false);
-			if (beanInstance instanceof FactoryBean) {
-				return (FactoryBean<?>) beanInstance;
-			}
-			if (isSingletonCurrentlyInCreation(beanName) ||
-					(mbd.getFactoryBeanName() != null && isSingletonCurrentlyInCreation(mbd.getFactoryBeanName()))) {
+		if (isPerBeanCreationLocking()) {
+			if (!tryAcquireSingletonCreationLock(beanName)) {
+				// Currently in creation in another thread
 				return null;
 			}
-
-			Object instance;
 			try {
-				// Mark this bean as currently in creation, even if just partially.
-				beforeSingletonCreation(beanName);
-				// Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
-				instance = resolveBeforeInstantiation(beanName, mbd);
-				if (instance == null) {
-					bw = createBeanInstance(beanName, mbd, null);
-					instance = bw.getWrappedInstance();
-				}
+				return doGetSingletonFactoryBeanForTypeCheck(beanName, mbd);
 			}
 			finally {
-				// Finished partial creation of this bean.
-				afterSingletonCreation(beanName);
+				releaseSingletonCreationLock(beanName);
 			}
+		}
+		synchronized (getSingletonMutex()) {
+			return doGetSingletonFactoryBeanForTypeCheck(beanName, mbd);
+		}
+	}
 
-			FactoryBean<?> fb = getFactoryBean(beanName, instance);
-			if (bw != null) {
-				this.factoryBeanInstanceCache.put(beanName, bw);
+	@Nullable
+	private FactoryBean<?> doGetSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
+		BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
+		if (bw != null) {
+			return (FactoryBean<?>) bw.getWrappedInstance();
+		}
+		Object beanInstance = getSingleton(beanName, false);
+		if (beanInstance instanceof FactoryBean) {
+			return (FactoryBean<?>) beanInstance;
+		}
+		if (isSingletonCurrentlyInCreation(beanName) ||
+				(mbd.getFactoryBeanName() != null && isSingletonCurrentlyInCreation(mbd.getFactoryBeanName()))) {
+			return null;
+		}
+
+		Object instance;
+		try {
+			// Mark this bean as currently in creation, even if just partially.
+			beforeSingletonCreation(beanName);
+			// Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
+			instance = resolveBeforeInstantiation(beanName, mbd);
+			if (instance == null) {
+				bw = createBeanInstance(beanName, mbd, null);
+				instance = bw.getWrappedInstance();
 			}
-			return fb;
 		}
+		finally {
+			// Finished partial creation of this bean.
+			afterSingletonCreation(beanName);
+		}
+
+		FactoryBean<?> fb = getFactoryBean(beanName, instance);
+		if (bw != null) {
+			this.factoryBeanInstanceCache.put(beanName, bw);
+		}
+		return fb;
 	}
 
 	/**
@@ -40,6 +40,7 @@ import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.InjectionPoint;
 import org.springframework.beans.factory.UnsatisfiedDependencyException;
 import org.springframework.beans.factory.config.ConstructorArgumentValues;
@@ -717,11 +718,14 @@ class ConstructorResolver {
 							"] - did you specify the correct bean references as arguments?");
 				}
 				try {
+					Set<String> argumentBeanNames = new LinkedHashSet<>(2);
 					Object autowiredArgument =
-							resolveAutowiredArgument(methodParam, beanName, autowiredBeanNames, converter);
+							resolveAutowiredArgument(methodParam, beanName, argumentBeanNames, converter);
+					autowiredBeanNames.addAll(argumentBeanNames);
 					args.rawArguments[paramIndex] = autowiredArgument;
 					args.arguments[paramIndex] = autowiredArgument;
-					args.preparedArguments[paramIndex] = new AutowiredArgumentMarker();
+					args.preparedArguments[paramIndex] = new AutowiredArgumentMarker(autowiredArgument != null ?
+							determineShortcut(executable, paramIndex, paramType, argumentBeanNames) : null);
 					args.resolveNecessary = true;
 				}
 				catch (BeansException ex) {
@@ -743,6 +747,28 @@ class ConstructorResolver {
 		return args;
 	}
 
+	/**
+	 * Determine a shortcut for re-resolving an autowired argument on subsequent
+	 * creation of the same bean, e.g. for prototypes: if the argument has been
+	 * resolved to a single registered non-null bean of the parameter type, that
+	 * bean can be obtained by name without going through the full candidate search.
+	 */
+	@Nullable
+	private ShortcutDependencyDescriptor determineShortcut(
+			Executable executable, int paramIndex, Class<?> paramType, Set<String> argumentBeanNames) {
+
+		if (argumentBeanNames.size() == 1) {
+			String autowiredBeanName = argumentBeanNames.iterator().next();
+			if (this.beanFactory.containsBean(autowiredBeanName) &&
+					this.beanFactory.isTypeMatch(autowiredBeanName, paramType)) {
+				MethodParameter methodParam = MethodParameter.forExecutable(executable, paramIndex);
+				GenericTypeResolver.resolveParameterType(methodParam, executable.getDeclaringClass());
+				return new ShortcutDependencyDescriptor(methodParam, autowiredBeanName, paramType);
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Resolve the prepared arguments stored in the given bean definition.
 	 */
@@ -758,16 +784,26 @@ class ConstructorResolver {
 		Object[] resolvedArgs = new Object[argsToResolve.length];
 		for (int argIndex = 0; argIndex < argsToResolve.length; argIndex++) {
 			Object argValue = argsToResolve[argIndex];
-			MethodParameter methodParam = MethodParameter.forExecutable(executable, argIndex);
-			GenericTypeResolver.resolveParameterType(methodParam, executable.getDeclaringClass());
-			if (argValue instanceof AutowiredArgumentMarker) {
-				argValue = resolveAutowiredArgument(methodParam, beanName, null, converter);
-			}
-			else if (argValue instanceof BeanMetadataElement) {
-				argValue = valueResolver.resolveValueIfNecessary("constructor argument", argValue);
+			ShortcutDependencyDescriptor shortcut = (argValue instanceof AutowiredArgumentMarker ?
+					((AutowiredArgumentMarker) argValue).shortcut : null);
+			MethodParameter methodParam;
+			if (shortcut != null) {
+				// Autowired argument with a cached target bean: re-use the pre-resolved parameter
+				methodParam = shortcut.getResolvedParameter();
+				argValue = this.beanFactory.resolveDependency(shortcut, beanName, null, converter);
 			}
-			else if (argValue instanceof String) {
-				argValue = this.beanFactory.evaluateBeanDefinitionString((String) argValue, mbd);
+			else {
+				methodParam = MethodParameter.forExecutable(executable, argIndex);
+				GenericTypeResolver.resolveParameterType(methodParam, executable.getDeclaringClass());
+				if (argValue instanceof AutowiredArgumentMarker) {
+					argValue = resolveAutowiredArgument(methodParam, beanName, null, converter);
+				}
+				else if (argValue instanceof BeanMetadataElement) {
+					argValue = valueResolver.resolveValueIfNecessary("constructor argument", argValue);
+				}
+				else if (argValue instanceof String) {
+					argValue = this.beanFactory.evaluateBeanDefinitionString((String) argValue, mbd);
+				}
 			}
 			Class<?> paramType = paramTypes[argIndex];
 			try {
@@ -896,6 +932,40 @@ class ConstructorResolver {
 	 * Marker for autowired arguments in a cached argument array.
  	 */
 	private static class AutowiredArgumentMarker {
+
+		@Nullable
+		public final ShortcutDependencyDescriptor shortcut;
+
+		public AutowiredArgumentMarker(@Nullable ShortcutDependencyDescriptor shortcut) {
+			this.shortcut = shortcut;
+		}
+	}
+
+
+	/**
+	 * DependencyDescriptor variant with a pre-resolved target bean name.
+	 */
+	@SuppressWarnings("serial")
+	private static class ShortcutDependencyDescriptor extends DependencyDescriptor {
+
+		private final String shortcut;
+
+		private final Class<?> requiredType;
+
+		public ShortcutDependencyDescriptor(MethodParameter methodParameter, String shortcut, Class<?> requiredType) {
+			super(methodParameter, true);
+			this.shortcut = shortcut;
+			this.requiredType = requiredType;
+		}
+
+		public MethodParameter getResolvedParameter() {
+			return obtainMethodParameter();
+		}
+
+		@Override
+		public Object resolveShortcut(BeanFactory beanFactory) {
+			return beanFactory.getBean(this.shortcut, this.requiredType);
+		}
 	}
 
 
@@ -160,10 +160,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private final Map<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>(256);
 
 	/** Map of singleton and non-singleton bean names, keyed by dependency type */
-	private final Map<Class<?>, String[]> allBeanNamesByType = new ConcurrentHashMap<>(64);
+	private final Map<Class<?>, BeanNamesForType> allBeanNamesByType = new ConcurrentHashMap<>(64);
 
 	/** Map of singleton-only bean names, keyed by dependency type */
-	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
+	private final Map<Class<?>, BeanNamesForType> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
+
+	/** Map of singleton and non-singleton bean names, keyed by generic dependency type */
+	private final Map<ResolvableType, BeanNamesForType> allBeanNamesByGenericType = new ConcurrentHashMap<>(64);
 
 	/** List of bean definition names, in registration order */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
@@ -377,7 +380,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 	@Override
 	public String[] getBeanNamesForType(ResolvableType type) {
-		return doGetBeanNamesForType(type, true, true);
+		if (!isConfigurationFrozen() || !isCacheSafe(type)) {
+			return doGetBeanNamesForType(type, true, true);
+		}
+		return getCachedBeanNamesForType(this.allBeanNamesByGenericType, type, type, true);
 	}
 
 	@Override
@@ -390,17 +396,88 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (!isConfigurationFrozen() || type == null || !allowEagerInit) {
 			return doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, allowEagerInit);
 		}
-		Map<Class<?>, String[]> cache =
+		if (!ClassUtils.isCacheSafe(type, getBeanClassLoader())) {
+			return doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, true);
+		}
+		Map<Class<?>, BeanNamesForType> cache =
 				(includeNonSingletons ? this.allBeanNamesByType : this.singletonBeanNamesByType);
-		String[] resolvedBeanNames = cache.get(type);
-		if (resolvedBeanNames != null) {
-			return resolvedBeanNames;
+		return getCachedBeanNamesForType(cache, type, ResolvableType.forRawClass(type), includeNonSingletons);
+	}
+
+	/**
+	 * Determine whether the given generic type may serve as a cache key for
+	 * by-type lookups: that is, if it is fully resolvable into classes that
+	 * are cache-safe with respect to the bean ClassLoader.
+	 */
+	private boolean isCacheSafe(ResolvableType type) {
+		Class<?> resolved = type.resolve();
+		if (resolved == null || type.hasUnresolvableGenerics() ||
+				!ClassUtils.isCacheSafe(resolved, getBeanClassLoader())) {
+			return false;
+		}
+		for (ResolvableType generic : type.getGenerics()) {
+			if (!isCacheSafe(generic)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Obtain the names of beans matching the given type from the given cache,
+	 * only checking bean definitions and manual singletons which have been
+	 * registered after the cached names were determined.
+	 * <p>Registrations only ever append to the lists of bean definition names
+	 * and manual singleton names, whereas overriding or removing a bean clears
+	 * the by-type caches. A cached entry therefore stays valid for all beans
+	 * that it has seen, identified by the sizes of those lists at the time.
+	 */
+	private <K> String[] getCachedBeanNamesForType(
+			Map<K, BeanNamesForType> cache, K key, ResolvableType type, boolean includeNonSingletons) {
+
+		List<String> beanDefinitionNames = this.beanDefinitionNames;
+		Set<String> manualSingletonNames = this.manualSingletonNames;
+		int definitionCount = beanDefinitionNames.size();
+		int singletonCount = manualSingletonNames.size();
+
+		BeanNamesForType cached = cache.get(key);
+		if (cached != null) {
+			if (cached.definitionCount == definitionCount && cached.singletonCount == singletonCount) {
+				return cached.beanNames;
+			}
+			if (cached.definitionCount > definitionCount || cached.singletonCount > singletonCount) {
+				// Concurrently cleared and repopulated: start from scratch.
+				cached = null;
+			}
 		}
-		resolvedBeanNames = doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, true);
-		if (ClassUtils.isCacheSafe(type, getBeanClassLoader())) {
-			cache.put(type, resolvedBeanNames);
+		if (cached == null) {
+			cached = BeanNamesForType.NONE;
 		}
-		return resolvedBeanNames;
+
+		List<String> definitionMatches = new ArrayList<>(Arrays.asList(cached.definitionMatches));
+		for (int i = cached.definitionCount; i < definitionCount; i++) {
+			String match = matchBeanDefinition(beanDefinitionNames.get(i), type, includeNonSingletons, true);
+			if (match != null && !definitionMatches.contains(match)) {
+				definitionMatches.add(match);
+			}
+		}
+		List<String> singletonMatches = new ArrayList<>(Arrays.asList(cached.singletonMatches));
+		Iterator<String> it = manualSingletonNames.iterator();
+		for (int i = 0; i < singletonCount && it.hasNext(); i++) {
+			String beanName = it.next();
+			if (i >= cached.singletonCount) {
+				String match = matchManualSingleton(beanName, type, includeNonSingletons);
+				if (match != null && !singletonMatches.contains(match)) {
+					singletonMatches.add(match);
+				}
+			}
+		}
+
+		BeanNamesForType resolved = new BeanNamesForType(
+				StringUtils.toStringArray(definitionMatches), StringUtils.toStringArray(singletonMatches),
+				definitionCount, singletonCount);
+		cache.put(key, resolved);
+		return resolved.beanNames;
 	}
 
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
@@ -408,84 +485,113 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 		// Check all bean definitions.
 		for (String beanName : this.beanDefinitionNames) {
-			// Only consider bean as eligible if the bean name
-			// is not defined as alias for some other bean.
-			if (!isAlias(beanName)) {
-				try {
-					RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
-					// Only check bean definition if it is complete.
-					if (!mbd.isAbstract() && (allowEagerInit ||
-							(mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
-									!requiresEagerInitForType(mbd.getFactoryBeanName()))) {
-						// In case of FactoryBean, match object created by FactoryBean.
-						boolean isFactoryBean = isFactoryBean(beanName, mbd);
-						BeanDefinitionHolder dbd = mbd.getDecoratedDefinition();
-						boolean matchFound =
-								(allowEagerInit || !isFactoryBean ||
-										(dbd != null && !mbd.isLazyInit()) || containsSingleton(beanName)) &&
-								(includeNonSingletons ||
-										(dbd != null ? mbd.isSingleton() : isSingleton(beanName))) &&
-								isTypeMatch(beanName, type);
-						if (!matchFound && isFactoryBean) {
-							// In case of FactoryBean, try to match FactoryBean instance itself next.
-							beanName = FACTORY_BEAN_PREFIX + beanName;
-							matchFound = (includeNonSingletons || mbd.isSingleton()) && isTypeMatch(beanName, type);
-						}
-						if (matchFound) {
-							result.add(beanName);
-						}
-					}
-				}
-				catch (CannotLoadBeanClassException ex) {
-					if (allowEagerInit) {
-						throw ex;
-					}
-					// Probably contains a placeholder: let's ignore it for type matching purposes.
-					if (this.logger.isDebugEnabled()) {
-						this.logger.debug("Ignoring bean class loading failure for bean '" + beanName + "'", ex);
-					}
-					onSuppressedException(ex);
-				}
-				catch (BeanDefinitionStoreException ex) {
-					if (allowEagerInit) {
-						throw ex;
-					}
-					// Probably contains a placeholder: let's ignore it for type matching purposes.
-					if (this.logger.isDebugEnabled()) {
-						this.logger.debug("Ignoring unresolvable metadata in bean definition '" + beanName + "'", ex);
-					}
-					onSuppressedException(ex);
-				}
+			String match = matchBeanDefinition(beanName, type, includeNonSingletons, allowEagerInit);
+			if (match != null) {
+				result.add(match);
 			}
 		}
 
 		// Check manually registered singletons too.
 		for (String beanName : this.manualSingletonNames) {
+			String match = matchManualSingleton(beanName, type, includeNonSingletons);
+			if (match != null) {
+				result.add(match);
+			}
+		}
+
+		return StringUtils.toStringArray(result);
+	}
+
+	/**
+	 * Check whether the given bean definition matches the given type.
+	 * @return the matching bean name, possibly with the factory prefix
+	 * in case of the FactoryBean itself matching, or {@code null} if none
+	 */
+	@Nullable
+	private String matchBeanDefinition(
+			String beanName, ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
+
+		// Only consider bean as eligible if the bean name
+		// is not defined as alias for some other bean.
+		if (!isAlias(beanName)) {
 			try {
-				// In case of FactoryBean, match object created by FactoryBean.
-				if (isFactoryBean(beanName)) {
-					if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
-						result.add(beanName);
-						// Match found for this bean: do not match FactoryBean itself anymore.
-						continue;
+				RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+				// Only check bean definition if it is complete.
+				if (!mbd.isAbstract() && (allowEagerInit ||
+						(mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
+								!requiresEagerInitForType(mbd.getFactoryBeanName()))) {
+					// In case of FactoryBean, match object created by FactoryBean.
+					boolean isFactoryBean = isFactoryBean(beanName, mbd);
+					BeanDefinitionHolder dbd = mbd.getDecoratedDefinition();
+					boolean matchFound =
+							(allowEagerInit || !isFactoryBean ||
+									(dbd != null && !mbd.isLazyInit()) || containsSingleton(beanName)) &&
+							(includeNonSingletons ||
+									(dbd != null ? mbd.isSingleton() : isSingleton(beanName))) &&
+							isTypeMatch(beanName, type);
+					if (!matchFound && isFactoryBean) {
+						// In case of FactoryBean, try to match FactoryBean instance itself next.
+						beanName = FACTORY_BEAN_PREFIX + beanName;
+						matchFound = (includeNonSingletons || mbd.isSingleton()) && isTypeMatch(beanName, type);
+					}
+					if (matchFound) {
+						return beanName;
 					}
-					// In case of FactoryBean, try to match FactoryBean itself next.
-					beanName = FACTORY_BEAN_PREFIX + beanName;
 				}
-				// Match raw bean instance (might be raw FactoryBean).
-				if (isTypeMatch(beanName, type)) {
-					result.add(beanName);
+			}
+			catch (CannotLoadBeanClassException ex) {
+				if (allowEagerInit) {
+					throw ex;
 				}
+				// Probably contains a placeholder: let's ignore it for type matching purposes.
+				if (this.logger.isDebugEnabled()) {
+					this.logger.debug("Ignoring bean class loading failure for bean '" + beanName + "'", ex);
+				}
+				onSuppressedException(ex);
 			}
-			catch (NoSuchBeanDefinitionException ex) {
-				// Shouldn't happen - probably a result of circular reference resolution...
-				if (logger.isDebugEnabled()) {
-					logger.debug("Failed to check manually registered singleton with name '" + beanName + "'", ex);
+			catch (BeanDefinitionStoreException ex) {
+				if (allowEagerInit) {
+					throw ex;
 				}
+				// Probably contains a placeholder: let's ignore it for type matching purposes.
+				if (this.logger.isDebugEnabled()) {
+					this.logger.debug("Ignoring unresolvable metadata in bean definition '" + beanName + "'", ex);
+				}
+				onSuppressedException(ex);
 			}
 		}
+		return null;
+	}
 
-		return StringUtils.toStringArray(result);
+	/**
+	 * Check whether the given manually registered singleton matches the given type.
+	 * @return the matching bean name, possibly with the factory prefix
+	 * in case of the FactoryBean itself matching, or {@code null} if none
+	 */
+	@Nullable
+	private String matchManualSingleton(String beanName, ResolvableType type, boolean includeNonSingletons) {
+		try {
+			// In case of FactoryBean, match object created by FactoryBean.
+			if (isFactoryBean(beanName)) {
+				if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
+					// Match found for this bean: do not match FactoryBean itself anymore.
+					return beanName;
+				}
+				// In case of FactoryBean, try to match FactoryBean itself next.
+				beanName = FACTORY_BEAN_PREFIX + beanName;
+			}
+			// Match raw bean instance (might be raw FactoryBean).
+			if (isTypeMatch(beanName, type)) {
+				return beanName;
+			}
+		}
+		catch (NoSuchBeanDefinitionException ex) {
+			// Shouldn't happen - probably a result of circular reference resolution...
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to check manually registered singleton with name '" + beanName + "'", ex);
+			}
+		}
+		return null;
 	}
 
 	/**
@@ -952,7 +1058,11 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			}
 		}
 
-		clearByTypeCache();
+		// A new manual singleton gets picked up by the by-type caches on demand,
+		// whereas a singleton instance for a bean definition may change its type.
+		if (this.beanDefinitionMap.containsKey(beanName)) {
+			clearByTypeCache();
+		}
 	}
 
 	@Override
@@ -975,6 +1085,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private void clearByTypeCache() {
 		this.allBeanNamesByType.clear();
 		this.singletonBeanNamesByType.clear();
+		this.allBeanNamesByGenericType.clear();
 	}
 
 
@@ -1595,6 +1706,44 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	/**
+	 * Names of beans matching a specific type, as cached per type, with
+	 * the sizes of the bean definition and manual singleton name lists
+	 * that they have been determined for.
+	 */
+	private static class BeanNamesForType {
+
+		public static final BeanNamesForType NONE = new BeanNamesForType(new String[0], new String[0], 0, 0);
+
+		public final String[] definitionMatches;
+
+		public final String[] singletonMatches;
+
+		public final int definitionCount;
+
+		public final int singletonCount;
+
+		public final String[] beanNames;
+
+		public BeanNamesForType(String[] definitionMatches, String[] singletonMatches,
+				int definitionCount, int singletonCount) {
+
+			this.definitionMatches = definitionMatches;
+			this.singletonMatches = singletonMatches;
+			this.definitionCount = definitionCount;
+			this.singletonCount = singletonCount;
+			if (singletonMatches.length == 0) {
+				this.beanNames = definitionMatches;
+			}
+			else {
+				this.beanNames = new String[definitionMatches.length + singletonMatches.length];
+				System.arraycopy(definitionMatches, 0, this.beanNames, 0, definitionMatches.length);
+				System.arraycopy(singletonMatches, 0, this.beanNames, definitionMatches.length, singletonMatches.length);
+			}
+		}
+	}
+
+
 	/**
 	 * Minimal id reference to the factory.
 	 * Resolved to the actual factory instance on deserialization.
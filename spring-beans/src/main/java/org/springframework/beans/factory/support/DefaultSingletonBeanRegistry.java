@@ -16,12 +16,17 @@
 
 package org.springframework.beans.factory.support;
 
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,6 +40,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -64,6 +70,13 @@ import org.springframework.util.StringUtils;
  * (which inherit from it). Can alternatively also be used as a nested
  * helper to delegate to.
  *
+ * <p>By default, singleton creation is synchronized on the
+ * {@link #getSingletonMutex() singleton mutex}. With
+ * {@link #setPerBeanCreationLocking per-bean creation locking}, singletons
+ * get created under a lock for their specific bean name instead, with
+ * deadlocks between concurrently creating threads being detected and
+ * resolved through early singleton references where possible.
+ *
  * @author Juergen Hoeller
  * @since 2.0
  * @see #registerSingleton
@@ -73,6 +86,10 @@ import org.springframework.util.StringUtils;
  */
 public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements SingletonBeanRegistry {
 
+	/** Interval for re-checking deadlocks while waiting for a singleton creation lock, in milliseconds */
+	private static final long CREATION_LOCK_CHECK_INTERVAL = 100;
+
+
 	/** Logger available to subclasses */
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -80,10 +97,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
 	/** Cache of singleton factories: bean name --> ObjectFactory */
-	private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+	private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
 
 	/** Cache of early singleton objects: bean name --> bean instance */
-	private final Map<String, Object> earlySingletonObjects = new HashMap<>(16);
+	private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
 
 	/** Set of registered singletons, containing the bean names in registration order */
 	private final Set<String> registeredSingletons = new LinkedHashSet<>(256);
@@ -96,9 +113,18 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Set<String> inCreationCheckExclusions =
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
-	/** List of suppressed Exceptions, available for associating related causes */
-	@Nullable
-	private Set<Exception> suppressedExceptions;
+	/** Whether to lock singleton creation per bean rather than on the singleton mutex */
+	private volatile boolean perBeanCreationLocking = false;
+
+	/** Per-bean creation locks: bean name --> lock held by the creating thread */
+	private final Map<String, CreationLock> singletonCreationLocks = new HashMap<>(16);
+
+	/** Threads waiting for a per-bean creation lock: thread --> bean name */
+	private final Map<Thread, String> singletonCreationWaits = new HashMap<>(16);
+
+	/** Suppressed Exceptions of the current thread, available for associating related causes */
+	private final ThreadLocal<Set<Exception>> suppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions during singleton creation");
 
 	/** Flag that indicates whether we're currently within destroySingletons */
 	private boolean singletonsCurrentlyInDestruction = false;
@@ -182,19 +208,32 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	protected Object getSingleton(String beanName, boolean allowEarlyReference) {
 		Object singletonObject = this.singletonObjects.get(beanName);
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
-			synchronized (this.singletonObjects) {
-				singletonObject = this.earlySingletonObjects.get(beanName);
-				if (singletonObject == null && allowEarlyReference) {
-					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-					if (singletonFactory != null) {
-						singletonObject = singletonFactory.getObject();
+			if (this.perBeanCreationLocking && !isSingletonCreationLockedByCurrentThread(beanName)) {
+				// Early references only get exposed to the creating thread itself:
+				// other threads need to wait for the creation lock instead.
+				return null;
+			}
+			singletonObject = getEarlySingletonReference(beanName, allowEarlyReference);
+		}
+		return singletonObject;
+	}
+
+	@Nullable
+	private Object getEarlySingletonReference(String beanName, boolean allowEarlyReference) {
+		synchronized (this.singletonObjects) {
+			Object singletonObject = this.earlySingletonObjects.get(beanName);
+			if (singletonObject == null && allowEarlyReference) {
+				ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+				if (singletonFactory != null) {
+					singletonObject = singletonFactory.getObject();
+					if (singletonObject != null) {
 						this.earlySingletonObjects.put(beanName, singletonObject);
-						this.singletonFactories.remove(beanName);
 					}
+					this.singletonFactories.remove(beanName);
 				}
 			}
+			return singletonObject;
 		}
-		return singletonObject;
 	}
 
 	/**
@@ -207,57 +246,89 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
-		// 加锁，同步操作
-		synchronized (this.singletonObjects) {
+		if (this.perBeanCreationLocking) {
 			Object singletonObject = this.singletonObjects.get(beanName);
-			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
-							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
-				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
-				}
-				beforeSingletonCreation(beanName);
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
-				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
-				}
-				try {
-					// 此处的getObject 调用的是匿名内部类的方法实现
-					singletonObject = singletonFactory.getObject();
-					newSingleton = true;
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			if (!acquireSingletonCreationLock(beanName)) {
+				// Waiting for the creating thread would lead to a deadlock:
+				// resolve it like a circular reference within a single thread.
+				singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
+					singletonObject = getEarlySingletonReference(beanName, true);
 				}
-				catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
-					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						throw ex;
-					}
+				if (singletonObject == null) {
+					throw new BeanCurrentlyInCreationException(beanName, "Requested bean is currently in creation " +
+							"in another thread which waits for a bean that the current thread is creating: " +
+							"Is there an unresolvable circular reference?");
 				}
-				catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
-						}
-					}
+				return singletonObject;
+			}
+			try {
+				return createSingletonIfNecessary(beanName, singletonFactory);
+			}
+			finally {
+				releaseSingletonCreationLock(beanName);
+			}
+		}
+		// 加锁，同步操作
+		synchronized (this.singletonObjects) {
+			return createSingletonIfNecessary(beanName, singletonFactory);
+		}
+	}
+
+	private Object createSingletonIfNecessary(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject == null) {
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+						"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			beforeSingletonCreation(beanName);
+			boolean newSingleton = false;
+			Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+			boolean recordSuppressedExceptions = (suppressedExceptions == null);
+			if (recordSuppressedExceptions) {
+				suppressedExceptions = new LinkedHashSet<>();
+				this.suppressedExceptions.set(suppressedExceptions);
+			}
+			try {
+				// 此处的getObject 调用的是匿名内部类的方法实现
+				singletonObject = singletonFactory.getObject();
+				newSingleton = true;
+			}
+			catch (IllegalStateException ex) {
+				// Has the singleton object implicitly appeared in the meantime ->
+				// if yes, proceed with it since the exception indicates that state.
+				singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
 					throw ex;
 				}
-				finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+			}
+			catch (BeanCreationException ex) {
+				if (recordSuppressedExceptions) {
+					for (Exception suppressedException : suppressedExceptions) {
+						ex.addRelatedCause(suppressedException);
 					}
-					afterSingletonCreation(beanName);
 				}
-				if (newSingleton) {
-					addSingleton(beanName, singletonObject);
+				throw ex;
+			}
+			finally {
+				if (recordSuppressedExceptions) {
+					this.suppressedExceptions.remove();
 				}
+				afterSingletonCreation(beanName);
+			}
+			if (newSingleton) {
+				addSingleton(beanName, singletonObject);
 			}
-			return singletonObject;
 		}
+		return singletonObject;
 	}
 
 	/**
@@ -266,10 +337,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param ex the Exception to register
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
-			if (this.suppressedExceptions != null) {
-				this.suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null) {
+			suppressedExceptions.add(ex);
 		}
 	}
 
@@ -308,6 +378,198 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	}
 
 
+	/**
+	 * Set whether to create singletons under a lock for each specific bean name,
+	 * rather than under the {@link #getSingletonMutex() singleton mutex}.
+	 * <p>Default is "false". Switch this to "true" to let different threads create
+	 * different singletons concurrently, e.g. for lazy-init beans and
+	 * {@code ObjectProvider} lookups at runtime. A thread waiting for another
+	 * thread's creation of a singleton which in turn (transitively) waits for the
+	 * first thread is detected as a deadlock: it then obtains an early reference
+	 * to the singleton, as for a circular reference within a single thread, or
+	 * fails with a {@link BeanCurrentlyInCreationException} if no early reference
+	 * can be exposed in any of the threads involved.
+	 * <p>Note that code synchronizing on the singleton mutex is not excluded from
+	 * concurrent singleton creation in this mode. Subclasses with an extended
+	 * singleton creation phase should use {@link #acquireSingletonCreationLock}
+	 * and {@link #releaseSingletonCreationLock} instead.
+	 * @since 5.1
+	 */
+	public void setPerBeanCreationLocking(boolean perBeanCreationLocking) {
+		this.perBeanCreationLocking = perBeanCreationLocking;
+	}
+
+	/**
+	 * Return whether to create singletons under a lock for each specific bean name.
+	 * @since 5.1
+	 * @see #setPerBeanCreationLocking
+	 */
+	public boolean isPerBeanCreationLocking() {
+		return this.perBeanCreationLocking;
+	}
+
+	/**
+	 * Acquire the per-bean creation lock for the specified singleton, waiting for
+	 * another thread to release it if necessary. Reentrant for the current thread.
+	 * @param beanName the name of the singleton
+	 * @return {@code true} if the lock has been acquired (to be released through
+	 * {@link #releaseSingletonCreationLock}), or {@code false} if waiting for it
+	 * would lead to a deadlock (or the current thread has been interrupted)
+	 * @since 5.1
+	 * @see #setPerBeanCreationLocking
+	 */
+	protected boolean acquireSingletonCreationLock(String beanName) {
+		Thread currentThread = Thread.currentThread();
+		synchronized (this.singletonCreationLocks) {
+			while (true) {
+				CreationLock lock = this.singletonCreationLocks.get(beanName);
+				if (lock == null) {
+					this.singletonCreationLocks.put(beanName, new CreationLock(currentThread));
+					return true;
+				}
+				if (lock.owner == currentThread) {
+					lock.holdCount++;
+					return true;
+				}
+				List<String> awaitedBeanNames = findCreationDeadlock(currentThread, lock.owner);
+				if (awaitedBeanNames != null) {
+					if (hasEarlySingletonReference(beanName)) {
+						return false;
+					}
+					boolean resolvableByOtherThread = false;
+					for (String awaitedBeanName : awaitedBeanNames) {
+						if (hasEarlySingletonReference(awaitedBeanName)) {
+							resolvableByOtherThread = true;
+							break;
+						}
+					}
+					if (!resolvableByOtherThread) {
+						return false;
+					}
+					// Keep waiting: another thread in the cycle is going to resolve
+					// the deadlock through an early reference on its next check.
+				}
+				this.singletonCreationWaits.put(currentThread, beanName);
+				try {
+					this.singletonCreationLocks.wait(CREATION_LOCK_CHECK_INTERVAL);
+				}
+				catch (InterruptedException ex) {
+					currentThread.interrupt();
+					return false;
+				}
+				finally {
+					this.singletonCreationWaits.remove(currentThread);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Acquire the per-bean creation lock for the specified singleton
+	 * if it is not held by another thread, without waiting for it.
+	 * @param beanName the name of the singleton
+	 * @return {@code true} if the lock has been acquired (to be released through
+	 * {@link #releaseSingletonCreationLock}), or {@code false} otherwise
+	 * @since 5.1
+	 * @see #setPerBeanCreationLocking
+	 */
+	protected boolean tryAcquireSingletonCreationLock(String beanName) {
+		Thread currentThread = Thread.currentThread();
+		synchronized (this.singletonCreationLocks) {
+			CreationLock lock = this.singletonCreationLocks.get(beanName);
+			if (lock == null) {
+				this.singletonCreationLocks.put(beanName, new CreationLock(currentThread));
+				return true;
+			}
+			if (lock.owner == currentThread) {
+				lock.holdCount++;
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Release the per-bean creation lock for the specified singleton,
+	 * as acquired by the current thread before.
+	 * @param beanName the name of the singleton
+	 * @since 5.1
+	 * @see #acquireSingletonCreationLock
+	 * @see #tryAcquireSingletonCreationLock
+	 */
+	protected void releaseSingletonCreationLock(String beanName) {
+		synchronized (this.singletonCreationLocks) {
+			CreationLock lock = this.singletonCreationLocks.get(beanName);
+			if (lock == null || lock.owner != Thread.currentThread()) {
+				throw new IllegalStateException("Creation lock for singleton '" + beanName +
+						"' is not held by the current thread");
+			}
+			if (--lock.holdCount == 0) {
+				this.singletonCreationLocks.remove(beanName);
+				this.singletonCreationLocks.notifyAll();
+			}
+		}
+	}
+
+	private boolean isSingletonCreationLockedByCurrentThread(String beanName) {
+		synchronized (this.singletonCreationLocks) {
+			CreationLock lock = this.singletonCreationLocks.get(beanName);
+			return (lock != null && lock.owner == Thread.currentThread());
+		}
+	}
+
+	private boolean hasEarlySingletonReference(String beanName) {
+		return (this.earlySingletonObjects.containsKey(beanName) || this.singletonFactories.containsKey(beanName));
+	}
+
+	/**
+	 * Check whether the given thread (transitively) waits for the current thread,
+	 * either for a per-bean creation lock or for a monitor or lock of any kind.
+	 * <p>To be called while holding the monitor of the creation locks.
+	 * @param currentThread the current thread
+	 * @param owner the thread owning the creation lock that the current thread needs
+	 * @return the names of the beans that the other threads in the cycle wait for,
+	 * or {@code null} if no deadlock has been detected
+	 */
+	@Nullable
+	private List<String> findCreationDeadlock(Thread currentThread, Thread owner) {
+		List<String> awaitedBeanNames = new ArrayList<>();
+		Set<Long> visitedThreadIds = new HashSet<>();
+		long threadId = owner.getId();
+		while (visitedThreadIds.add(threadId)) {
+			if (threadId == currentThread.getId()) {
+				return awaitedBeanNames;
+			}
+			String awaitedBeanName = null;
+			for (Map.Entry<Thread, String> entry : this.singletonCreationWaits.entrySet()) {
+				if (entry.getKey().getId() == threadId) {
+					awaitedBeanName = entry.getValue();
+					break;
+				}
+			}
+			if (awaitedBeanName != null) {
+				CreationLock lock = this.singletonCreationLocks.get(awaitedBeanName);
+				if (lock == null) {
+					return null;
+				}
+				awaitedBeanNames.add(awaitedBeanName);
+				threadId = lock.owner.getId();
+			}
+			else {
+				// Not waiting for a creation lock: possibly blocked on a monitor or lock held by another thread.
+				ThreadInfo threadInfo = ManagementFactory.getThreadMXBean().getThreadInfo(threadId);
+				LockInfo lockInfo = (threadInfo != null ? threadInfo.getLockInfo() : null);
+				if (lockInfo == null || threadInfo.getLockOwnerId() == -1 ||
+						lockInfo.getIdentityHashCode() == System.identityHashCode(this.singletonCreationLocks)) {
+					// Not blocked, or just about to enter the creation locks monitor held by the current thread
+					return null;
+				}
+				threadId = threadInfo.getLockOwnerId();
+			}
+		}
+		return null;
+	}
+
 	public void setCurrentlyInCreation(String beanName, boolean inCreation) {
 		Assert.notNull(beanName, "Bean name must not be null");
 		if (!inCreation) {
@@ -617,9 +879,26 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * any sort of extended singleton creation phase. In particular, subclasses
 	 * should <i>not</i> have their own mutexes involved in singleton creation,
 	 * to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>With {@link #setPerBeanCreationLocking per-bean creation locking},
+	 * subclasses should rather use the per-bean creation locks for that purpose.
 	 */
 	public final Object getSingletonMutex() {
 		return this.singletonObjects;
 	}
 
+
+	/**
+	 * Per-bean creation lock, reentrant for its owner thread.
+	 */
+	private static class CreationLock {
+
+		public final Thread owner;
+
+		public int holdCount = 1;
+
+		public CreationLock(Thread owner) {
+			this.owner = owner;
+		}
+	}
+
 }
@@ -95,40 +95,20 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 	 */
 	protected Object getObjectFromFactoryBean(FactoryBean<?> factory, String beanName, boolean shouldPostProcess) {
 		if (factory.isSingleton() && containsSingleton(beanName)) {
-			synchronized (getSingletonMutex()) {
-				Object object = this.factoryBeanObjectCache.get(beanName);
-				if (object == null) {
-					object = doGetObjectFromFactoryBean(factory, beanName);
-					// Only post-process and store if not put there already during getObject() call above
-					// (e.g. because of circular reference processing triggered by custom getBean calls)
-					Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
-					if (alreadyThere != null) {
-						object = alreadyThere;
-					}
-					else {
-						if (shouldPostProcess) {
-							if (isSingletonCurrentlyInCreation(beanName)) {
-								// Temporarily return non-post-processed object, not storing it yet..
-								return object;
-							}
-							beforeSingletonCreation(beanName);
-							try {
-								object = postProcessObjectFromFactoryBean(object, beanName);
-							}
-							catch (Throwable ex) {
-								throw new BeanCreationException(beanName,
-										"Post-processing of FactoryBean's singleton object failed", ex);
-							}
-							finally {
-								afterSingletonCreation(beanName);
-							}
-						}
-						if (containsSingleton(beanName)) {
-							this.factoryBeanObjectCache.put(beanName, object);
-						}
-					}
+			if (isPerBeanCreationLocking()) {
+				if (!acquireSingletonCreationLock(beanName)) {
+					throw new BeanCurrentlyInCreationException(beanName, "FactoryBean's singleton object is " +
+							"currently in creation in another thread which waits for the current thread");
+				}
+				try {
+					return getSingletonObjectFromFactoryBean(factory, beanName, shouldPostProcess);
+				}
+				finally {
+					releaseSingletonCreationLock(beanName);
 				}
-				return object;
+			}
+			synchronized (getSingletonMutex()) {
+				return getSingletonObjectFromFactoryBean(factory, beanName, shouldPostProcess);
 			}
 		}
 		else {
@@ -145,6 +125,42 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		}
 	}
 
+	private Object getSingletonObjectFromFactoryBean(FactoryBean<?> factory, String beanName, boolean shouldPostProcess) {
+		Object object = this.factoryBeanObjectCache.get(beanName);
+		if (object == null) {
+			object = doGetObjectFromFactoryBean(factory, beanName);
+			// Only post-process and store if not put there already during getObject() call above
+			// (e.g. because of circular reference processing triggered by custom getBean calls)
+			Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
+			if (alreadyThere != null) {
+				object = alreadyThere;
+			}
+			else {
+				if (shouldPostProcess) {
+					if (isSingletonCurrentlyInCreation(beanName)) {
+						// Temporarily return non-post-processed object, not storing it yet..
+						return object;
+					}
+					beforeSingletonCreation(beanName);
+					try {
+						object = postProcessObjectFromFactoryBean(object, beanName);
+					}
+					catch (Throwable ex) {
+						throw new BeanCreationException(beanName,
+								"Post-processing of FactoryBean's singleton object failed", ex);
+					}
+					finally {
+						afterSingletonCreation(beanName);
+					}
+				}
+				if (containsSingleton(beanName)) {
+					this.factoryBeanObjectCache.put(beanName, object);
+				}
+			}
+		}
+		return object;
+	}
+
 	/**
 	 * Obtain an object to expose from the given FactoryBean.
 	 * @param factory the FactoryBean instance
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.beans;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -215,6 +216,49 @@ public class BeanWrapperTests extends AbstractPropertyAccessorTests {
 		}
 	}
 
+	@Test
+	public void getterAndSetterExceptionsExposedAsBefore() {
+		ThrowingBean target = new ThrowingBean();
+		BeanWrapper accessor = createAccessor(target);
+		try {
+			accessor.setPropertyValue("value", "x");
+			fail("Should have thrown MethodInvocationException");
+		}
+		catch (MethodInvocationException ex) {
+			assertTrue(ex.getCause() instanceof IllegalStateException);
+			assertEquals("setter", ex.getCause().getMessage());
+		}
+		try {
+			accessor.getPropertyValue("value");
+			fail("Should have thrown InvalidPropertyException");
+		}
+		catch (InvalidPropertyException ex) {
+			assertEquals("getter", ex.getCause().getCause().getMessage());
+		}
+	}
+
+	@Test
+	public void propertyAccessOnNonPublicClass() {
+		GetterBean target = new GetterBean();
+		BeanWrapper accessor = createAccessor(target);
+		accessor.setPropertyValue("name", "tom");
+		assertEquals("tom", accessor.getPropertyValue("name"));
+		assertEquals("tom", accessor.getPropertyValue("aliasedName"));
+	}
+
+	@Test
+	public void keyedPropertyPathsReused() {
+		for (int i = 0; i < 2; i++) {
+			TestBean target = new TestBean();
+			target.setSomeMap(new HashMap<>());
+			BeanWrapper accessor = createAccessor(target);
+			accessor.setPropertyValue("someMap['key']", "value" + i);
+			accessor.setPropertyValue("someMap[other]", "other" + i);
+			assertEquals("value" + i, accessor.getPropertyValue("someMap[key]"));
+			assertEquals("other" + i, target.getSomeMap().get("other"));
+		}
+	}
+
 
 	@SuppressWarnings("unused")
 	private interface AliasedProperty {
@@ -251,6 +295,19 @@ public class BeanWrapperTests extends AbstractPropertyAccessorTests {
 	}
 
 
+	@SuppressWarnings("unused")
+	private static class ThrowingBean {
+
+		public void setValue(String value) {
+			throw new IllegalStateException("setter");
+		}
+
+		public String getValue() {
+			throw new IllegalStateException("getter");
+		}
+	}
+
+
 	@SuppressWarnings("unused")
 	private static class IntelliBean {
 
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link SimpleBeanInfoFactory}.
+ *
+ * @since 5.1
+ */
+public class SimpleBeanInfoFactoryTests {
+
+	private final SimpleBeanInfoFactory factory = new SimpleBeanInfoFactory();
+
+
+	@Test
+	public void samePropertiesAsIntrospector() throws IntrospectionException {
+		BeanInfo beanInfo = factory.getBeanInfo(TestBean.class);
+		assertSame(TestBean.class, beanInfo.getBeanDescriptor().getBeanClass());
+
+		Set<String> expected = new TreeSet<>();
+		for (PropertyDescriptor pd : Introspector.getBeanInfo(TestBean.class).getPropertyDescriptors()) {
+			expected.add(pd.getName());
+		}
+		Set<String> actual = new TreeSet<>();
+		for (PropertyDescriptor pd : beanInfo.getPropertyDescriptors()) {
+			actual.add(pd.getName());
+			PropertyDescriptor expectedPd = findPropertyDescriptor(
+					Introspector.getBeanInfo(TestBean.class), pd.getName());
+			assertEquals(expectedPd.getReadMethod(), pd.getReadMethod());
+			assertEquals(expectedPd.getWriteMethod(), pd.getWriteMethod());
+			assertEquals(expectedPd.getPropertyType(), pd.getPropertyType());
+		}
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void defaultMethodsAndNonVoidSetters() throws IntrospectionException {
+		BeanInfo beanInfo = factory.getBeanInfo(FluentBean.class);
+
+		PropertyDescriptor name = findPropertyDescriptor(beanInfo, "name");
+		assertEquals("getName", name.getReadMethod().getName());
+		assertEquals("setName", name.getWriteMethod().getName());
+		PropertyDescriptor active = findPropertyDescriptor(beanInfo, "active");
+		assertEquals("isActive", active.getReadMethod().getName());
+		assertSame(boolean.class, active.getPropertyType());
+		PropertyDescriptor count = findPropertyDescriptor(beanInfo, "count");
+		assertNull(count.getReadMethod());
+		assertSame(FluentBean.class, count.getWriteMethod().getReturnType());
+	}
+
+	@Test
+	public void covariantGetterAndOverloadedSetter() throws IntrospectionException {
+		BeanInfo beanInfo = factory.getBeanInfo(CovariantBean.class);
+
+		PropertyDescriptor value = findPropertyDescriptor(beanInfo, "value");
+		assertFalse(value.getReadMethod().isBridge());
+		assertSame(String.class, value.getPropertyType());
+		assertSame(String.class, value.getWriteMethod().getParameterTypes()[0]);
+	}
+
+	@Test
+	public void isGetterPreferredOverGetGetter() throws IntrospectionException {
+		BeanInfo beanInfo = factory.getBeanInfo(BooleanBean.class);
+		PropertyDescriptor expected = findPropertyDescriptor(Introspector.getBeanInfo(BooleanBean.class), "active");
+
+		PropertyDescriptor active = findPropertyDescriptor(beanInfo, "active");
+		assertEquals("isActive", active.getReadMethod().getName());
+		assertSame(boolean.class, active.getPropertyType());
+		assertEquals("setActive", active.getWriteMethod().getName());
+		assertEquals(expected.getReadMethod(), active.getReadMethod());
+		assertEquals(expected.getWriteMethod(), active.getWriteMethod());
+		assertEquals(expected.getPropertyType(), active.getPropertyType());
+	}
+
+
+	private static PropertyDescriptor findPropertyDescriptor(BeanInfo beanInfo, String name) {
+		return Arrays.stream(beanInfo.getPropertyDescriptors())
+				.filter(pd -> pd.getName().equals(name)).findFirst()
+				.orElseThrow(() -> new AssertionError("No property '" + name + "'"));
+	}
+
+
+	public interface Named {
+
+		String getName();
+
+		void setName(String name);
+
+		default boolean isActive() {
+			return getName() != null;
+		}
+	}
+
+
+	public static class FluentBean implements Named {
+
+		private String name;
+
+		private int count;
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public FluentBean setCount(int count) {
+			this.count = count;
+			return this;
+		}
+	}
+
+
+	public static class BooleanBean {
+
+		private boolean active;
+
+		public boolean isActive() {
+			return this.active;
+		}
+
+		public Boolean getActive() {
+			return this.active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+	}
+
+
+	public static class ValueHolder {
+
+		public Object getValue() {
+			return null;
+		}
+	}
+
+
+	public static class CovariantBean extends ValueHolder {
+
+		private String value;
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+
+		public void setValue(Object value) {
+			this.value = String.valueOf(value);
+		}
+
+		public void setValue(String value) {
+			this.value = value;
+		}
+	}
+
+}
@@ -26,6 +26,7 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -35,6 +36,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Priority;
 import javax.security.auth.Subject;
 
@@ -61,6 +63,7 @@ import org.springframework.beans.factory.config.BeanExpressionResolver;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
 import org.springframework.beans.factory.config.PropertiesFactoryBean;
 import org.springframework.beans.factory.config.RuntimeBeanReference;
@@ -2258,6 +2261,69 @@ public class DefaultListableBeanFactoryTests {
 		assertEquals("myBeanName", tb2.getBeanName());
 	}
 
+	@Test
+	public void testPrototypeWithAutowiredConstructorArgumentResolvedViaShortcut() {
+		AtomicInteger candidateSearches = new AtomicInteger();
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory() {
+			@Override
+			protected Map<String, Object> findAutowireCandidates(
+					@Nullable String beanName, Class<?> requiredType, DependencyDescriptor descriptor) {
+				candidateSearches.incrementAndGet();
+				return super.findAutowireCandidates(beanName, requiredType, descriptor);
+			}
+		};
+		RootBeanDefinition spouseDef = new RootBeanDefinition(TestBean.class);
+		spouseDef.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("spouse", spouseDef);
+		RootBeanDefinition bd = new RootBeanDefinition(TestBeanRecipient.class, RootBeanDefinition.AUTOWIRE_CONSTRUCTOR, false);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("test", bd);
+
+		TestBeanRecipient recipient = lbf.getBean("test", TestBeanRecipient.class);
+		assertNotNull(recipient.testBean);
+		assertEquals(1, candidateSearches.get());
+		TestBeanRecipient recipient2 = lbf.getBean("test", TestBeanRecipient.class);
+		assertNotSame(recipient, recipient2);
+		assertNotNull(recipient2.testBean);
+		assertNotSame(recipient.testBean, recipient2.testBean);
+		assertEquals(1, candidateSearches.get());
+		assertTrue(Arrays.asList(lbf.getDependentBeans("spouse")).contains("test"));
+	}
+
+	@Test
+	public void testPrototypeWithAutowiredOptionalConstructorArgument() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		RootBeanDefinition bd = new RootBeanDefinition(OptionalTestBeanRecipient.class, RootBeanDefinition.AUTOWIRE_CONSTRUCTOR, false);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("test", bd);
+		lbf.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+
+		TestBean spouse = lbf.getBean("spouse", TestBean.class);
+		assertSame(spouse, lbf.getBean("test", OptionalTestBeanRecipient.class).testBean.get());
+		assertSame(spouse, lbf.getBean("test", OptionalTestBeanRecipient.class).testBean.get());
+	}
+
+	@Test
+	public void testPrototypeCreationWithAutowiredConstructorArgumentsIsFastEnough() {
+		Assume.group(TestGroup.PERFORMANCE);
+		Assume.notLogging(factoryLog);
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		RootBeanDefinition rbd = new RootBeanDefinition(TestBeanRecipient.class, RootBeanDefinition.AUTOWIRE_CONSTRUCTOR, false);
+		rbd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("test", rbd);
+		lbf.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+		TestBean spouse = (TestBean) lbf.getBean("spouse");
+		StopWatch sw = new StopWatch();
+		sw.start("prototype");
+		for (int i = 0; i < 100000; i++) {
+			TestBeanRecipient recipient = (TestBeanRecipient) lbf.getBean("test");
+			assertSame(spouse, recipient.testBean);
+		}
+		sw.stop();
+		// System.out.println(sw.getTotalTimeMillis());
+		assertTrue("Prototype creation took too long: " + sw.getTotalTimeMillis(), sw.getTotalTimeMillis() < 4000);
+	}
+
 	@Test
 	public void testPrototypeCreationIsFastEnough() {
 		Assume.group(TestGroup.PERFORMANCE);
@@ -2793,6 +2859,76 @@ public class DefaultListableBeanFactoryTests {
 		}
 	}
 
+	@Test
+	public void testByTypeLookupAfterFreezeConsidersLaterRegistrations() {
+		DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+		bf.registerBeanDefinition("a1", new RootBeanDefinition(A.class));
+		bf.registerSingleton("a2", new A());
+		bf.registerBeanDefinition("b", new RootBeanDefinition(B.class));
+		bf.freezeConfiguration();
+
+		assertArrayEquals(new String[] {"a1", "a2"}, bf.getBeanNamesForType(A.class));
+		bf.registerBeanDefinition("a3", new RootBeanDefinition(A.class));
+		assertArrayEquals(new String[] {"a1", "a3", "a2"}, bf.getBeanNamesForType(A.class));
+		bf.registerSingleton("a4", new A());
+		assertArrayEquals(new String[] {"a1", "a3", "a2", "a4"}, bf.getBeanNamesForType(A.class));
+		assertArrayEquals(new String[] {"b"}, bf.getBeanNamesForType(B.class));
+
+		bf.removeBeanDefinition("a1");
+		assertArrayEquals(new String[] {"a3", "a2", "a4"}, bf.getBeanNamesForType(A.class));
+		bf.destroySingleton("a4");
+		assertArrayEquals(new String[] {"a3", "a2"}, bf.getBeanNamesForType(A.class));
+	}
+
+	@Test
+	public void testByTypeLookupAfterFreezeOnlyChecksLaterRegistrations() {
+		AtomicInteger typeChecks = new AtomicInteger();
+		DefaultListableBeanFactory bf = new DefaultListableBeanFactory() {
+			@Override
+			public boolean isTypeMatch(String name, ResolvableType typeToMatch) {
+				typeChecks.incrementAndGet();
+				return super.isTypeMatch(name, typeToMatch);
+			}
+		};
+		for (int i = 0; i < 10; i++) {
+			bf.registerBeanDefinition("a" + i, new RootBeanDefinition(A.class));
+		}
+		bf.freezeConfiguration();
+
+		assertEquals(10, bf.getBeanNamesForType(A.class).length);
+		assertEquals(10, typeChecks.get());
+		assertEquals(10, bf.getBeanNamesForType(A.class).length);
+		assertEquals(10, typeChecks.get());
+		bf.registerBeanDefinition("b", new RootBeanDefinition(B.class));
+		assertEquals(10, bf.getBeanNamesForType(A.class).length);
+		assertEquals(11, typeChecks.get());
+		assertEquals(1, bf.getBeanNamesForType(B.class).length);
+		assertEquals(22, typeChecks.get());
+	}
+
+	@Test
+	public void testGenericByTypeLookupAfterFreeze() {
+		DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+		RootBeanDefinition bd1 = new RootBeanDefinition(ArrayList.class);
+		bd1.setTargetType(ResolvableType.forClassWithGenerics(ArrayList.class, String.class));
+		bf.registerBeanDefinition("strings", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(ArrayList.class);
+		bd2.setTargetType(ResolvableType.forClassWithGenerics(ArrayList.class, Integer.class));
+		bf.registerBeanDefinition("integers", bd2);
+		bf.freezeConfiguration();
+
+		ResolvableType stringList = ResolvableType.forClassWithGenerics(List.class, String.class);
+		assertArrayEquals(new String[] {"strings"}, bf.getBeanNamesForType(stringList));
+		assertArrayEquals(new String[] {"strings"}, bf.getBeanNamesForType(stringList));
+		assertArrayEquals(new String[] {"integers"},
+				bf.getBeanNamesForType(ResolvableType.forClassWithGenerics(List.class, Integer.class)));
+
+		RootBeanDefinition bd3 = new RootBeanDefinition(ArrayList.class);
+		bd3.setTargetType(ResolvableType.forClassWithGenerics(ArrayList.class, String.class));
+		bf.registerBeanDefinition("moreStrings", bd3);
+		assertArrayEquals(new String[] {"strings", "moreStrings"}, bf.getBeanNamesForType(stringList));
+	}
+
 	@Test(timeout = 1000)
 	public void testRegistrationOfManyBeanDefinitionsIsFastEnough() {
 		Assume.group(TestGroup.PERFORMANCE);
@@ -3304,6 +3440,16 @@ public class DefaultListableBeanFactoryTests {
 	}
 
 
+	private static class OptionalTestBeanRecipient {
+
+		public Optional<TestBean> testBean;
+
+		public OptionalTestBeanRecipient(Optional<TestBean> testBean) {
+			this.testBean = testBean;
+		}
+	}
+
+
 	enum NonPublicEnum {
 
 		VALUE_1, VALUE_2;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,19 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.tests.sample.beans.DerivedTestBean;
 import org.springframework.tests.sample.beans.TestBean;
 
@@ -101,4 +110,185 @@ public class DefaultSingletonBeanRegistryTests {
 		assertTrue(beanRegistry.isDependent("c", "c"));
 	}
 
+	@Test(timeout = 10000)
+	public void testPerBeanCreationLockingWithConcurrentCreation() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanCreationLocking(true);
+		CountDownLatch bInCreation = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			// Creation of "a" only completes once "b" is being created in another thread
+			Future<Object> a = executor.submit(() -> beanRegistry.getSingleton("a", () -> {
+				try {
+					return bInCreation.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}));
+			Future<Object> b = executor.submit(() -> beanRegistry.getSingleton("b", () -> {
+				bInCreation.countDown();
+				return "b";
+			}));
+			assertEquals(Boolean.TRUE, a.get());
+			assertEquals("b", b.get());
+			assertSame(a.get(), beanRegistry.getSingleton("a"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testPerBeanCreationLockingWithSameBeanInTwoThreads() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanCreationLocking(true);
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> first = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				inCreation.countDown();
+				try {
+					proceed.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					throw new IllegalStateException(ex);
+				}
+				return new TestBean();
+			}));
+			assertTrue(inCreation.await(5, TimeUnit.SECONDS));
+			// Not exposing the instance in creation to another thread...
+			assertNull(beanRegistry.getSingleton("tb"));
+			Future<Object> second = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				throw new IllegalStateException("Should never be called");
+			}));
+			proceed.countDown();
+			assertSame(first.get(), second.get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testPerBeanCreationLockingWithCircularReferenceAcrossThreads() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setPerBeanCreationLocking(true);
+		CountDownLatch bothInstantiated = new CountDownLatch(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class, () -> instantiate(bothInstantiated));
+		bd1.getPropertyValues().add("spouse", new RuntimeBeanReference("b"));
+		beanFactory.registerBeanDefinition("a", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class, () -> instantiate(bothInstantiated));
+		bd2.getPropertyValues().add("spouse", new RuntimeBeanReference("a"));
+		beanFactory.registerBeanDefinition("b", bd2);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<TestBean> a = executor.submit(() -> beanFactory.getBean("a", TestBean.class));
+			Future<TestBean> b = executor.submit(() -> beanFactory.getBean("b", TestBean.class));
+			assertSame(b.get(), a.get().getSpouse());
+			assertSame(a.get(), b.get().getSpouse());
+			assertSame(a.get(), beanFactory.getBean("a"));
+			assertSame(b.get(), beanFactory.getBean("b"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testPerBeanCreationLockingWithUnresolvableCircularReferenceAcrossThreads() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanCreationLocking(true);
+		CountDownLatch bothInCreation = new CountDownLatch(2);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> a = executor.submit(() -> beanRegistry.getSingleton("a", () -> {
+				bothInCreation.countDown();
+				await(bothInCreation);
+				return beanRegistry.getSingleton("b", () -> "b");
+			}));
+			Future<Object> b = executor.submit(() -> beanRegistry.getSingleton("b", () -> {
+				bothInCreation.countDown();
+				await(bothInCreation);
+				return beanRegistry.getSingleton("a", () -> "a");
+			}));
+			int failures = 0;
+			for (Future<?> future : new Future<?>[] {a, b}) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException ex) {
+					assertTrue(ex.getCause() instanceof BeanCurrentlyInCreationException);
+					failures++;
+				}
+			}
+			assertEquals(1, failures);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testPerBeanCreationLockingWithSingletonMutexHeldByWaitingThread() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setPerBeanCreationLocking(true);
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch mutexHeld = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> creator = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				inCreation.countDown();
+				await(mutexHeld);
+				synchronized (beanRegistry.getSingletonMutex()) {
+					return new TestBean();
+				}
+			}));
+			Future<Object> waiter = executor.submit(() -> {
+				synchronized (beanRegistry.getSingletonMutex()) {
+					mutexHeld.countDown();
+					await(inCreation);
+					return beanRegistry.getSingleton("tb", () -> {
+						throw new IllegalStateException("Should never be called");
+					});
+				}
+			});
+			try {
+				waiter.get();
+				fail("Should have thrown BeanCurrentlyInCreationException");
+			}
+			catch (ExecutionException ex) {
+				assertTrue(ex.getCause() instanceof BeanCurrentlyInCreationException);
+			}
+			assertSame(creator.get(), beanRegistry.getSingleton("tb"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+
+	private static TestBean instantiate(CountDownLatch bothInstantiated) {
+		bothInstantiated.countDown();
+		await(bothInstantiated);
+		return new TestBean();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Timed out");
+			}
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 }
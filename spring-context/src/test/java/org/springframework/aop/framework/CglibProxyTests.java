@@ -17,6 +17,7 @@
 package org.springframework.aop.framework;
 
 import java.io.Serializable;
+import java.lang.reflect.Method;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -28,6 +29,7 @@ import org.springframework.aop.MethodMatcher;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextException;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
@@ -168,6 +170,94 @@ public class CglibProxyTests extends AbstractAopProxyTests implements Serializab
 		assertEquals("Constructor overrode the value of name", "Rob Harrop", proxy.getName());
 	}
 
+	@Test
+	public void testFrozenProxyWithDynamicTargetSource() {
+		TestBean target = new TestBean();
+		target.setAge(27);
+		mockTargetSource.setTarget(target);
+
+		ProxyFactory pf = new ProxyFactory();
+		pf.setProxyTargetClass(true);
+		pf.setTargetSource(mockTargetSource);
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvice(nop);
+		pf.setFrozen(true);
+
+		TestBean proxy = (TestBean) pf.getProxy();
+		assertEquals(27, proxy.getAge());
+		assertEquals(28, proxy.getAge() + 1);
+		assertEquals(2, nop.getCount());
+		assertEquals(2, mockTargetSource.gets);
+		assertEquals(2, mockTargetSource.releases);
+	}
+
+	@Test
+	public void testFrozenProxyWithExposedProxy() {
+		TestBean target = new TestBean();
+		target.setAge(27);
+		Object[] currentProxy = new Object[1];
+
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setProxyTargetClass(true);
+		pf.setExposeProxy(true);
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			currentProxy[0] = AopContext.currentProxy();
+			return invocation.proceed();
+		});
+		pf.setFrozen(true);
+
+		TestBean proxy = (TestBean) pf.getProxy();
+		assertEquals(27, proxy.getAge());
+		assertSame(proxy, currentProxy[0]);
+		try {
+			AopContext.currentProxy();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testProxyClassReusedForEquivalentConfiguration() {
+		NopInterceptor di1 = new NopInterceptor();
+		NopInterceptor di2 = new NopInterceptor();
+		TestBean proxy1 = createProxyWithGetAgePointcut(di1, false);
+		TestBean proxy2 = createProxyWithGetAgePointcut(di2, false);
+
+		assertSame(proxy1.getClass(), proxy2.getClass());
+		proxy1.getAge();
+		proxy1.getName();
+		proxy2.getAge();
+		proxy2.getAge();
+		assertEquals(1, di1.getCount());
+		assertEquals(2, di2.getCount());
+	}
+
+	@Test
+	public void testProxyClassNotReusedForDifferentConfiguration() {
+		TestBean proxy1 = createProxyWithGetAgePointcut(new NopInterceptor(), false);
+		TestBean proxy2 = createProxyWithGetAgePointcut(new NopInterceptor(), true);
+
+		assertNotSame(proxy1.getClass(), proxy2.getClass());
+		assertFalse(proxy1 instanceof Advised);
+		assertTrue(proxy2 instanceof Advised);
+	}
+
+	private TestBean createProxyWithGetAgePointcut(NopInterceptor interceptor, boolean advised) {
+		Pointcut pointcut = new StaticMethodMatcherPointcut() {
+			@Override
+			public boolean matches(Method method, Class<?> targetClass) {
+				return method.getName().equals("getAge");
+			}
+		};
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.setProxyTargetClass(true);
+		pf.setOpaque(!advised);
+		pf.addAdvisor(new DefaultPointcutAdvisor(pointcut, interceptor));
+		return (TestBean) pf.getProxy();
+	}
+
 	@Test
 	public void testMultipleProxies() {
 		TestBean target = new TestBean();
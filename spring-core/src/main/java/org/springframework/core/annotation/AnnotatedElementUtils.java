@@ -31,6 +31,8 @@ import java.util.Set;
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -106,6 +108,18 @@ public class AnnotatedElementUtils {
 
 	private static final Processor<Boolean> alwaysTrueAnnotationProcessor = new AlwaysTrueBooleanAnnotationProcessor();
 
+	private static final int NO_ANNOTATION_CACHE_LIMIT = 4096;
+
+	private static final Map<AnnotationUtils.AnnotationCacheKey, Annotation> findMergedAnnotationCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	/**
+	 * Strong, bounded index of "no such annotation found" results,
+	 * not subject to garbage collection under memory pressure.
+	 */
+	private static final ConcurrentLruCache<AnnotationUtils.AnnotationCacheKey, Boolean> noAnnotationCache =
+			new ConcurrentLruCache<>(NO_ANNOTATION_CACHE_LIMIT, key -> Boolean.TRUE);
+
 
 	/**
 	 * Build an adapted {@link AnnotatedElement} for the given annotations,
@@ -573,7 +587,26 @@ public class AnnotatedElementUtils {
 		if (element.isAnnotationPresent(annotationType)) {
 			return true;
 		}
-		return Boolean.TRUE.equals(searchWithFindSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
+		if (isPlainJavaSearch(element, annotationType)) {
+			return false;
+		}
+		AnnotationUtils.AnnotationCacheKey cacheKey = null;
+		if (isCacheable(element)) {
+			cacheKey = new AnnotationUtils.AnnotationCacheKey(element, annotationType);
+			if (findMergedAnnotationCache.containsKey(cacheKey)) {
+				return true;
+			}
+			if (noAnnotationCache.contains(cacheKey)) {
+				return false;
+			}
+		}
+		boolean found = Boolean.TRUE.equals(
+				searchWithFindSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
+		if (!found && cacheKey != null) {
+			// Negative result is valid for findMergedAnnotation as well
+			noAnnotationCache.get(cacheKey);
+		}
+		return found;
 	}
 
 	/**
@@ -609,6 +642,9 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
+		if (isPlainJavaSearch(element, annotationType)) {
+			return null;
+		}
 		AnnotationAttributes attributes = searchWithFindSemantics(element, annotationType, null,
 				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
 		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
@@ -670,6 +706,7 @@ public class AnnotatedElementUtils {
 	 * @see #findMergedAnnotationAttributes(AnnotatedElement, String, boolean, boolean)
 	 * @see #getMergedAnnotationAttributes(AnnotatedElement, Class)
 	 */
+	@SuppressWarnings("unchecked")
 	@Nullable
 	public static <A extends Annotation> A findMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		// Shortcut: directly present on the element, with no merging needed?
@@ -682,9 +719,33 @@ public class AnnotatedElementUtils {
 			}
 		}
 
+		if (isPlainJavaSearch(element, annotationType)) {
+			return null;
+		}
+		AnnotationUtils.AnnotationCacheKey cacheKey = null;
+		if (isCacheable(element)) {
+			cacheKey = new AnnotationUtils.AnnotationCacheKey(element, annotationType);
+			Annotation cached = findMergedAnnotationCache.get(cacheKey);
+			if (cached != null) {
+				return (A) cached;
+			}
+			if (noAnnotationCache.contains(cacheKey)) {
+				return null;
+			}
+		}
+
 		// Exhaustive retrieval of merged annotation attributes...
 		AnnotationAttributes attributes = findMergedAnnotationAttributes(element, annotationType, false, false);
-		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		A result = (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		if (cacheKey != null) {
+			if (result != null) {
+				findMergedAnnotationCache.put(cacheKey, result);
+			}
+			else {
+				noAnnotationCache.get(cacheKey);
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -783,6 +844,59 @@ public class AnnotatedElementUtils {
 		return postProcessAndSynthesizeAggregatedResults(element, annotationType, processor.getAggregatedResults());
 	}
 
+	/**
+	 * Determine whether the results of a <em>find semantics</em> search
+	 * on the given element may be cached.
+	 * <p>Only regular classes and methods are considered: their annotations
+	 * do not change at runtime, whereas custom {@code AnnotatedElement}
+	 * implementations (e.g. as created by {@link #forAnnotations}) are usually
+	 * short-lived and do not come with meaningful equality semantics.
+	 */
+	private static boolean isCacheable(AnnotatedElement element) {
+		return (element instanceof Class || element instanceof Method);
+	}
+
+	/**
+	 * Determine whether a <em>find semantics</em> search for the given
+	 * annotation type on the given element is known to be unsuccessful
+	 * upfront: classes in the {@code java} namespace (and their methods)
+	 * only extend and implement other {@code java} types, which in turn
+	 * are never annotated with annotations from outside of the JDK.
+	 * JDK annotation types, including internal ones such as
+	 * {@code @sun.misc.Contended}, always require a regular search.
+	 */
+	private static boolean isPlainJavaSearch(AnnotatedElement element, Class<? extends Annotation> annotationType) {
+		Class<?> clazz;
+		if (element instanceof Class) {
+			clazz = (Class<?>) element;
+		}
+		else if (element instanceof Method) {
+			clazz = ((Method) element).getDeclaringClass();
+		}
+		else {
+			return false;
+		}
+		return (clazz.getName().startsWith("java.") && !isJdkType(annotationType));
+	}
+
+	private static boolean isJdkType(Class<?> type) {
+		if (type.getClassLoader() == null) {
+			return true;
+		}
+		String name = type.getName();
+		return (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") ||
+				name.startsWith("sun.") || name.startsWith("com.sun."));
+	}
+
+	/**
+	 * Clear the internal cache of merged annotations found on classes and methods.
+	 * @see AnnotationUtils#clearCache()
+	 */
+	static void clearCache() {
+		findMergedAnnotationCache.clear();
+		noAnnotationCache.clear();
+	}
+
 	/**
 	 * Search for annotations of the specified {@code annotationName} or
 	 * {@code annotationType} on the specified {@code element}, following
@@ -39,6 +39,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.SpringProperties;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -117,6 +118,27 @@ public abstract class AnnotationUtils {
 	 */
 	public static final String VALUE = "value";
 
+	/**
+	 * System property that instructs Spring to synthesize annotations as
+	 * instances of concrete classes generated per annotation type, rather
+	 * than as JDK dynamic proxies: {@code "spring.annotation.synthesis.generate"}.
+	 * <p>Attribute access on generated annotations avoids reflective proxy
+	 * invocations. On the other hand, all attribute values get resolved upfront,
+	 * so invalid {@link AliasFor @AliasFor} declarations are reported when an
+	 * annotation gets synthesized rather than on first access to an attribute.
+	 * This is only possible for public annotation types (with public attribute
+	 * types) that are visible to Spring's ClassLoader; proxies remain in use
+	 * for all other annotation types.
+	 * <p>The default is "false", using JDK dynamic proxies for all annotations.
+	 * Consider switching this flag to "true" for annotation-intensive applications.
+	 * @since 5.1
+	 * @see org.springframework.core.SpringProperties
+	 */
+	public static final String GENERATE_SYNTHESIZED_ANNOTATIONS_PROPERTY_NAME = "spring.annotation.synthesis.generate";
+
+	private static final boolean generateSynthesizedAnnotations =
+			SpringProperties.getFlag(GENERATE_SYNTHESIZED_ANNOTATIONS_PROPERTY_NAME);
+
 	private static final Map<AnnotationCacheKey, Annotation> findAnnotationCache =
 			new ConcurrentReferenceHashMap<>(256);
 
@@ -1502,6 +1524,12 @@ public abstract class AnnotationUtils {
 
 		DefaultAnnotationAttributeExtractor attributeExtractor =
 				new DefaultAnnotationAttributeExtractor(annotation, annotatedElement);
+		if (generateSynthesizedAnnotations) {
+			A generated = SynthesizedAnnotationGenerator.synthesize(attributeExtractor);
+			if (generated != null) {
+				return generated;
+			}
+		}
 		InvocationHandler handler = new SynthesizedAnnotationInvocationHandler(attributeExtractor);
 
 		// Can always expose Spring's SynthesizedAnnotation marker since we explicitly check for a
@@ -1545,6 +1573,12 @@ public abstract class AnnotationUtils {
 
 		MapAnnotationAttributeExtractor attributeExtractor =
 				new MapAnnotationAttributeExtractor(attributes, annotationType, annotatedElement);
+		if (generateSynthesizedAnnotations) {
+			A generated = SynthesizedAnnotationGenerator.synthesize(attributeExtractor);
+			if (generated != null) {
+				return generated;
+			}
+		}
 		InvocationHandler handler = new SynthesizedAnnotationInvocationHandler(attributeExtractor);
 		Class<?>[] exposedInterfaces = (canExposeSynthesizedMarker(annotationType) ?
 				new Class<?>[] {annotationType, SynthesizedAnnotation.class} : new Class<?>[] {annotationType});
@@ -1916,13 +1950,14 @@ public abstract class AnnotationUtils {
 		attributeAliasesCache.clear();
 		attributeMethodsCache.clear();
 		aliasDescriptorCache.clear();
+		AnnotatedElementUtils.clearCache();
 	}
 
 
 	/**
 	 * Cache key for the AnnotatedElement cache.
 	 */
-	private static final class AnnotationCacheKey implements Comparable<AnnotationCacheKey> {
+	static final class AnnotationCacheKey implements Comparable<AnnotationCacheKey> {
 
 		private final AnnotatedElement element;
 
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Base class for synthesized annotations implemented by classes that
+ * {@link SynthesizedAnnotationGenerator} generates per annotation type.
+ *
+ * <p>Generated subclasses hold the fully resolved attribute values in
+ * typed fields and implement the attribute methods of the annotation
+ * type as plain field accessors. The standard {@link Annotation} methods
+ * are implemented here, based on the attribute values passed in at
+ * construction time, following the same algorithms as
+ * {@link SynthesizedAnnotationInvocationHandler}.
+ *
+ * @since 5.1
+ * @see SynthesizedAnnotationGenerator
+ */
+abstract class GeneratedSynthesizedAnnotation implements Annotation, SynthesizedAnnotation {
+
+	private final Class<? extends Annotation> annotationType;
+
+	private final Object[] attributeValues;
+
+
+	/**
+	 * Create a new {@code GeneratedSynthesizedAnnotation}.
+	 * @param annotationType the synthesized annotation type
+	 * @param attributeValues the resolved attribute values, in the order of
+	 * {@link AnnotationUtils#getAttributeMethods}
+	 */
+	protected GeneratedSynthesizedAnnotation(Class<? extends Annotation> annotationType, Object[] attributeValues) {
+		this.annotationType = annotationType;
+		this.attributeValues = attributeValues;
+	}
+
+
+	@Override
+	public Class<? extends Annotation> annotationType() {
+		return this.annotationType;
+	}
+
+	/**
+	 * See {@link Annotation#equals(Object)} for a definition of the required algorithm.
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!this.annotationType.isInstance(other)) {
+			return false;
+		}
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(this.annotationType);
+		for (int i = 0; i < attributeMethods.size(); i++) {
+			Object otherValue = ReflectionUtils.invokeMethod(attributeMethods.get(i), other);
+			if (!ObjectUtils.nullSafeEquals(this.attributeValues[i], otherValue)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * See {@link Annotation#hashCode()} for a definition of the required algorithm.
+	 */
+	@Override
+	public int hashCode() {
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(this.annotationType);
+		int result = 0;
+		for (int i = 0; i < attributeMethods.size(); i++) {
+			Object value = this.attributeValues[i];
+			int hashCode = (value.getClass().isArray() ?
+					SynthesizedAnnotationInvocationHandler.hashCodeForArray(value) : value.hashCode());
+			result += (127 * attributeMethods.get(i).getName().hashCode()) ^ hashCode;
+		}
+		return result;
+	}
+
+	/**
+	 * See {@link Annotation#toString()} for guidelines on the recommended format.
+	 */
+	@Override
+	public String toString() {
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(this.annotationType);
+		StringBuilder sb = new StringBuilder("@").append(this.annotationType.getName()).append("(");
+		for (int i = 0; i < attributeMethods.size(); i++) {
+			sb.append(i > 0 ? ", " : "");
+			sb.append(attributeMethods.get(i).getName());
+			sb.append('=');
+			sb.append(SynthesizedAnnotationInvocationHandler.attributeValueToString(this.attributeValues[i]));
+		}
+		return sb.append(")").toString();
+	}
+
+}
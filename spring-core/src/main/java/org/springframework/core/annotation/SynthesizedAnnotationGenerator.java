@@ -0,0 +1,256 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.cglib.core.ReflectUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Synthesizes annotations as instances of concrete classes that are generated
+ * per annotation type, as an alternative to JDK dynamic proxies backed by a
+ * {@link SynthesizedAnnotationInvocationHandler}.
+ *
+ * <p>All attribute values, including {@link AliasFor @AliasFor} resolution
+ * and synthesis of nested annotations, are resolved once when an annotation
+ * gets synthesized. The generated class keeps them in typed fields, so that
+ * attribute access comes down to a plain field read (plus a defensive copy
+ * for array values) instead of a reflective proxy invocation.
+ *
+ * <p>Classes get generated into the {@code org.springframework.core.annotation}
+ * package within Spring's own ClassLoader. Hence this is only possible for public
+ * annotation types with public attribute types that are visible from there;
+ * for all other annotation types, {@link #synthesize} returns {@code null},
+ * letting the caller fall back to a dynamic proxy.
+ *
+ * @since 5.1
+ * @see AnnotationUtils#GENERATE_SYNTHESIZED_ANNOTATIONS_PROPERTY_NAME
+ * @see GeneratedSynthesizedAnnotation
+ */
+abstract class SynthesizedAnnotationGenerator {
+
+	private static final String SUPER_CLASS_NAME = Type.getInternalName(GeneratedSynthesizedAnnotation.class);
+
+	private static final String CONSTRUCTOR_DESCRIPTOR = "(Ljava/lang/Class;[Ljava/lang/Object;)V";
+
+	/** Marker for annotation types that no class can be generated for. */
+	private static final Object NOT_GENERATABLE = new Object();
+
+	private static final Log logger = LogFactory.getLog(SynthesizedAnnotationGenerator.class);
+
+	private static final AtomicInteger classCounter = new AtomicInteger();
+
+	/**
+	 * Constructors of the generated classes, or the {@link #NOT_GENERATABLE} marker
+	 * for types that generation failed for, held strongly: the generated classes
+	 * live in Spring's ClassLoader as long as it exists, and so do the annotation
+	 * types, which are required to be visible from there. Regenerating a class
+	 * after an eviction would define yet another class that never gets unloaded.
+	 */
+	private static final Map<Class<? extends Annotation>, Object> constructorCache = new ConcurrentHashMap<>(64);
+
+	/** Annotation types that are not visible from Spring's ClassLoader or not public. */
+	private static final Map<Class<? extends Annotation>, Boolean> nonGeneratableTypes =
+			new ConcurrentReferenceHashMap<>(64);
+
+
+	/**
+	 * Synthesize an annotation based on the given attribute extractor,
+	 * as an instance of a generated class for its annotation type.
+	 * @param attributeExtractor the extractor to obtain attribute values from
+	 * @return the synthesized annotation, or {@code null} if no class can be
+	 * generated for the annotation type
+	 * @throws AnnotationConfigurationException if invalid configuration of
+	 * {@code @AliasFor} is detected
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	static <A extends Annotation> A synthesize(AnnotationAttributeExtractor<?> attributeExtractor) {
+		Class<? extends Annotation> annotationType = attributeExtractor.getAnnotationType();
+		Constructor<?> constructor = getConstructor(annotationType);
+		if (constructor == null) {
+			return null;
+		}
+
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(annotationType);
+		Object[] attributeValues = new Object[attributeMethods.size()];
+		for (int i = 0; i < attributeValues.length; i++) {
+			attributeValues[i] = SynthesizedAnnotationInvocationHandler.extractAttributeValue(
+					attributeExtractor, attributeMethods.get(i));
+		}
+
+		try {
+			return (A) constructor.newInstance(annotationType, attributeValues);
+		}
+		catch (InvocationTargetException ex) {
+			// Attribute value not assignable to the declared attribute type, e.g. for a
+			// Class attribute given as a String: leave it up to a dynamic proxy to expose it.
+			if (logger.isTraceEnabled()) {
+				logger.trace("Cannot instantiate generated class for " + annotationType +
+						" from attribute source [" + attributeExtractor.getSource() + "]", ex.getTargetException());
+			}
+			return null;
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException("Failed to instantiate generated class for " + annotationType, ex);
+		}
+	}
+
+	/**
+	 * Return the constructor of the class generated for the given annotation type,
+	 * generating the class once per annotation type within Spring's ClassLoader.
+	 * <p>Generated classes are deliberately not part of
+	 * {@link AnnotationUtils#clearCache()}, since they cannot be unloaded
+	 * individually.
+	 */
+	@Nullable
+	private static Constructor<?> getConstructor(Class<? extends Annotation> annotationType) {
+		Object constructor = constructorCache.get(annotationType);
+		if (constructor == null) {
+			if (nonGeneratableTypes.containsKey(annotationType)) {
+				return null;
+			}
+			if (!isGeneratable(annotationType)) {
+				nonGeneratableTypes.put(annotationType, Boolean.TRUE);
+				return null;
+			}
+			synchronized (constructorCache) {
+				constructor = constructorCache.get(annotationType);
+				if (constructor == null) {
+					constructor = NOT_GENERATABLE;
+					try {
+						Class<?> generatedClass = generateClass(annotationType);
+						constructor = generatedClass.getDeclaredConstructor(Class.class, Object[].class);
+					}
+					catch (Throwable ex) {
+						if (logger.isDebugEnabled()) {
+							logger.debug("Failed to generate synthesized annotation class for " + annotationType, ex);
+						}
+					}
+					constructorCache.put(annotationType, constructor);
+				}
+			}
+		}
+		return (constructor != NOT_GENERATABLE ? (Constructor<?>) constructor : null);
+	}
+
+	private static boolean isGeneratable(Class<? extends Annotation> annotationType) {
+		if (!Modifier.isPublic(annotationType.getModifiers()) ||
+				!ClassUtils.isVisible(annotationType, SynthesizedAnnotationGenerator.class.getClassLoader())) {
+			return false;
+		}
+		for (Method attributeMethod : AnnotationUtils.getAttributeMethods(annotationType)) {
+			Class<?> attributeType = attributeMethod.getReturnType();
+			while (attributeType.isArray()) {
+				attributeType = attributeType.getComponentType();
+			}
+			if (!attributeType.isPrimitive() && !Modifier.isPublic(attributeType.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Class<?> generateClass(Class<? extends Annotation> annotationType) throws Exception {
+		String className = GeneratedSynthesizedAnnotation.class.getName() + "$$" +
+				annotationType.getSimpleName() + "$$" + classCounter.incrementAndGet();
+		String internalName = className.replace('.', '/');
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(annotationType);
+
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+				internalName, null, SUPER_CLASS_NAME, new String[] {Type.getInternalName(annotationType)});
+
+		for (Method attributeMethod : attributeMethods) {
+			cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, attributeMethod.getName(),
+					Type.getDescriptor(attributeMethod.getReturnType()), null, null).visitEnd();
+		}
+
+		// Constructor: pass both arguments to the super class and store each
+		// attribute value in its typed field, unboxing primitives on the way.
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitVarInsn(Opcodes.ALOAD, 2);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, SUPER_CLASS_NAME, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+		for (int i = 0; i < attributeMethods.size(); i++) {
+			Method attributeMethod = attributeMethods.get(i);
+			Class<?> attributeType = attributeMethod.getReturnType();
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(Opcodes.AALOAD);
+			if (attributeType.isPrimitive()) {
+				String wrapperName = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(attributeType));
+				mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperName);
+				mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperName, attributeType.getName() + "Value",
+						"()" + Type.getDescriptor(attributeType), false);
+			}
+			else {
+				mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(attributeType));
+			}
+			mv.visitFieldInsn(Opcodes.PUTFIELD, internalName, attributeMethod.getName(),
+					Type.getDescriptor(attributeType));
+		}
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Attribute methods: return the field value, cloning arrays so that
+		// users cannot alter the contents of the values held by the instance.
+		for (Method attributeMethod : attributeMethods) {
+			Class<?> attributeType = attributeMethod.getReturnType();
+			Type type = Type.getType(attributeType);
+			mv = cw.visitMethod(Opcodes.ACC_PUBLIC, attributeMethod.getName(),
+					Type.getMethodDescriptor(attributeMethod), null, null);
+			mv.visitCode();
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitFieldInsn(Opcodes.GETFIELD, internalName, attributeMethod.getName(), type.getDescriptor());
+			if (attributeType.isArray()) {
+				mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, type.getInternalName(), "clone", "()Ljava/lang/Object;", false);
+				mv.visitTypeInsn(Opcodes.CHECKCAST, type.getInternalName());
+			}
+			mv.visitInsn(type.getOpcode(Opcodes.IRETURN));
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		cw.visitEnd();
+		return ReflectUtils.defineClass(className, cw.toByteArray(),
+				SynthesizedAnnotationGenerator.class.getClassLoader(), null, GeneratedSynthesizedAnnotation.class);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -88,21 +88,7 @@ class SynthesizedAnnotationInvocationHandler implements InvocationHandler {
 		String attributeName = attributeMethod.getName();
 		Object value = this.valueCache.get(attributeName);
 		if (value == null) {
-			value = this.attributeExtractor.getAttributeValue(attributeMethod);
-			if (value == null) {
-				String msg = String.format("%s returned null for attribute name [%s] from attribute source [%s]",
-						this.attributeExtractor.getClass().getName(), attributeName, this.attributeExtractor.getSource());
-				throw new IllegalStateException(msg);
-			}
-
-			// Synthesize nested annotations before returning them.
-			if (value instanceof Annotation) {
-				value = AnnotationUtils.synthesizeAnnotation((Annotation) value, this.attributeExtractor.getAnnotatedElement());
-			}
-			else if (value instanceof Annotation[]) {
-				value = AnnotationUtils.synthesizeAnnotationArray((Annotation[]) value, this.attributeExtractor.getAnnotatedElement());
-			}
-
+			value = extractAttributeValue(this.attributeExtractor, attributeMethod);
 			this.valueCache.put(attributeName, value);
 		}
 
@@ -114,6 +100,31 @@ class SynthesizedAnnotationInvocationHandler implements InvocationHandler {
 		return value;
 	}
 
+	/**
+	 * Extract the value of the given attribute, synthesizing nested annotations.
+	 * @param attributeExtractor the extractor to delegate to
+	 * @param attributeMethod the attribute method to get the value for
+	 * @return the attribute value (never {@code null})
+	 * @since 5.1
+	 */
+	static Object extractAttributeValue(AnnotationAttributeExtractor<?> attributeExtractor, Method attributeMethod) {
+		Object value = attributeExtractor.getAttributeValue(attributeMethod);
+		if (value == null) {
+			String msg = String.format("%s returned null for attribute name [%s] from attribute source [%s]",
+					attributeExtractor.getClass().getName(), attributeMethod.getName(), attributeExtractor.getSource());
+			throw new IllegalStateException(msg);
+		}
+
+		// Synthesize nested annotations before returning them.
+		if (value instanceof Annotation) {
+			value = AnnotationUtils.synthesizeAnnotation((Annotation) value, attributeExtractor.getAnnotatedElement());
+		}
+		else if (value instanceof Annotation[]) {
+			value = AnnotationUtils.synthesizeAnnotationArray((Annotation[]) value, attributeExtractor.getAnnotatedElement());
+		}
+		return value;
+	}
+
 	/**
 	 * Clone the provided array, ensuring that original component type is
 	 * retained.
@@ -200,7 +211,7 @@ class SynthesizedAnnotationInvocationHandler implements InvocationHandler {
 	 * {@link Annotation#hashCode()}.
 	 * @param array the array to compute the hash code for
 	 */
-	private int hashCodeForArray(Object array) {
+	static int hashCodeForArray(Object array) {
 		if (array instanceof boolean[]) {
 			return Arrays.hashCode((boolean[]) array);
 		}
@@ -248,7 +259,7 @@ class SynthesizedAnnotationInvocationHandler implements InvocationHandler {
 		return sb.append(")").toString();
 	}
 
-	private String attributeValueToString(Object value) {
+	static String attributeValueToString(Object value) {
 		if (value instanceof Object[]) {
 			return "[" + StringUtils.arrayToDelimitedString((Object[]) value, ", ") + "]";
 		}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.core.convert.support;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -78,6 +79,10 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+	/** Converters for plain source and target types, by source class and then target class */
+	private final Map<Class<?>, Map<Class<?>, GenericConverter>> plainTypeConverterCache =
+			new ConcurrentReferenceHashMap<>(64);
+
 
 	// ConverterRegistry implementation
 
@@ -251,24 +256,42 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 */
 	@Nullable
 	protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
-		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
-		GenericConverter converter = this.converterCache.get(key);
-		if (converter != null) {
-			return (converter != NO_MATCH ? converter : null);
+		// Fast path for plain types: two identity lookups, without allocating a cache key
+		Map<Class<?>, GenericConverter> convertersForSource = null;
+		if (isPlainType(sourceType) && isPlainType(targetType)) {
+			convertersForSource = this.plainTypeConverterCache.get(sourceType.getType());
+			if (convertersForSource != null) {
+				GenericConverter converter = convertersForSource.get(targetType.getType());
+				if (converter != null) {
+					return (converter != NO_MATCH ? converter : null);
+				}
+			}
+			else {
+				convertersForSource = new ConcurrentReferenceHashMap<>(16);
+				Map<Class<?>, GenericConverter> existing =
+						this.plainTypeConverterCache.putIfAbsent(sourceType.getType(), convertersForSource);
+				if (existing != null) {
+					convertersForSource = existing;
+				}
+			}
 		}
 
-		converter = this.converters.find(sourceType, targetType);
+		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
+		GenericConverter converter = this.converterCache.get(key);
 		if (converter == null) {
-			converter = getDefaultConverter(sourceType, targetType);
-		}
-
-		if (converter != null) {
+			converter = this.converters.find(sourceType, targetType);
+			if (converter == null) {
+				converter = getDefaultConverter(sourceType, targetType);
+			}
+			if (converter == null) {
+				converter = NO_MATCH;
+			}
 			this.converterCache.put(key, converter);
-			return converter;
 		}
-
-		this.converterCache.put(key, NO_MATCH);
-		return null;
+		if (convertersForSource != null) {
+			convertersForSource.put(targetType.getType(), converter);
+		}
+		return (converter != NO_MATCH ? converter : null);
 	}
 
 	/**
@@ -302,8 +325,26 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return generics;
 	}
 
+	/**
+	 * Determine whether the given type descriptor is fully identified by its
+	 * type, i.e. whether it is equal to all other descriptors for the same type
+	 * as far as converter lookup is concerned: no annotations and no element
+	 * or key/value types to consider.
+	 */
+	private static boolean isPlainType(TypeDescriptor typeDescriptor) {
+		if (typeDescriptor.getAnnotations().length > 0) {
+			return false;
+		}
+		Class<?> type = typeDescriptor.getType();
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		return !(Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type));
+	}
+
 	private void invalidateCache() {
 		this.converterCache.clear();
+		this.plainTypeConverterCache.clear();
 	}
 
 	@Nullable
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,11 @@
 
 package org.springframework.core.convert.support;
 
+import java.util.Map;
+
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.NumberUtils;
 
 /**
@@ -40,9 +43,19 @@ import org.springframework.util.NumberUtils;
  */
 final class StringToNumberConverterFactory implements ConverterFactory<String, Number> {
 
+	private final Map<Class<?>, Converter<String, ?>> converterCache = new ConcurrentReferenceHashMap<>(16);
+
+
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T extends Number> Converter<String, T> getConverter(Class<T> targetType) {
-		return new StringToNumber<>(targetType);
+		// Called for every conversion: reuse the stateless converter per target type
+		Converter<String, ?> converter = this.converterCache.get(targetType);
+		if (converter == null) {
+			converter = new StringToNumber<>(targetType);
+			this.converterCache.put(targetType, converter);
+		}
+		return (Converter<String, T>) converter;
 	}
 
 
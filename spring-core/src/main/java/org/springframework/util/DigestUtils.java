@@ -102,6 +102,29 @@ public abstract class DigestUtils {
 		return appendDigestAsHex(MD5_ALGORITHM_NAME, inputStream, builder);
 	}
 
+	/**
+	 * Create a new MD5 {@link MessageDigest}, e.g. for calculating the digest
+	 * of content that becomes available incrementally.
+	 * @return a new MD5 digest
+	 * @since 5.1
+	 * @see #appendDigestAsHex(MessageDigest, StringBuilder)
+	 */
+	public static MessageDigest createMd5Digest() {
+		return getDigest(MD5_ALGORITHM_NAME);
+	}
+
+	/**
+	 * Complete the given {@link MessageDigest} and append a hexadecimal string
+	 * representation of the result to the given {@link StringBuilder}.
+	 * @param messageDigest the digest to complete
+	 * @param builder the string builder to append the digest to
+	 * @return the given string builder
+	 * @since 5.1
+	 */
+	public static StringBuilder appendDigestAsHex(MessageDigest messageDigest, StringBuilder builder) {
+		return builder.append(encodeHex(messageDigest.digest()));
+	}
+
 
 	/**
 	 * Create a new {@link MessageDigest} with the given algorithm.
@@ -169,7 +192,7 @@ public abstract class DigestUtils {
 	}
 
 	private static char[] encodeHex(byte[] bytes) {
-		char[] chars = new char[32];
+		char[] chars = new char[bytes.length * 2];
 		for (int i = 0; i < chars.length; i = i + 2) {
 			byte b = bytes[i / 2];
 			chars[i] = HEX_CHARS[(b >>> 0x4) & 0xf];
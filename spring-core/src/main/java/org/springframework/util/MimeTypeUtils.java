@@ -48,6 +48,9 @@ public abstract class MimeTypeUtils {
 
 	private static final Random RND = new SecureRandom();
 
+	private static final ConcurrentLruCache<String, MimeType> cachedMimeTypes =
+			new ConcurrentLruCache<>(64, MimeTypeUtils::parseMimeTypeInternal);
+
 	/**
 	 * Comparator used by {@link #sortBySpecificity(List)}.
 	 */
@@ -170,6 +173,8 @@ public abstract class MimeTypeUtils {
 
 	/**
 	 * Parse the given String into a single {@code MimeType}.
+	 * <p>As of 5.1, recently parsed mime types are cached and returned as
+	 * shared instances, since {@code MimeType} is immutable.
 	 * @param mimeType the string to parse
 	 * @return the mime type
 	 * @throws InvalidMimeTypeException if the string cannot be parsed
@@ -178,7 +183,10 @@ public abstract class MimeTypeUtils {
 		if (!StringUtils.hasLength(mimeType)) {
 			throw new InvalidMimeTypeException(mimeType, "'mimeType' must not be empty");
 		}
+		return cachedMimeTypes.get(mimeType);
+	}
 
+	private static MimeType parseMimeTypeInternal(String mimeType) {
 		int index = mimeType.indexOf(';');
 		String fullType = (index >= 0 ? mimeType.substring(0, index) : mimeType).trim();
 		if (fullType.isEmpty()) {
@@ -236,8 +236,18 @@ public abstract class StringUtils {
 		}
 
 		int len = str.length();
-		StringBuilder sb = new StringBuilder(str.length());
-		for (int i = 0; i < len; i++) {
+		int index = 0;
+		while (index < len && !Character.isWhitespace(str.charAt(index))) {
+			index++;
+		}
+		if (index == len) {
+			// No whitespace at all: avoid copying, e.g. for numbers to parse
+			return str;
+		}
+
+		StringBuilder sb = new StringBuilder(len);
+		sb.append(str, 0, index);
+		for (int i = index + 1; i < len; i++) {
 			char c = str.charAt(i);
 			if (!Character.isWhitespace(c)) {
 				sb.append(c);
@@ -28,6 +28,8 @@ import java.lang.reflect.Method;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
 import javax.annotation.Resource;
 
 import org.junit.Ignore;
@@ -719,6 +721,44 @@ public class AnnotatedElementUtilsTests {
 		assertEquals(SpringAppConfigClass.class.getAnnotation(Resource.class), findMergedAnnotation(SpringAppConfigClass.class, Resource.class));
 	}
 
+	@Test
+	public void findMergedAnnotationOnPlainJavaType() throws Exception {
+		assertNull(findMergedAnnotation(String.class, Transactional.class));
+		assertNull(findMergedAnnotation(String.class.getMethod("length"), Transactional.class));
+		assertFalse(hasAnnotation(Date.class, Transactional.class));
+		assertNull(AnnotatedElementUtils.findMergedAnnotationAttributes(Date.class, Transactional.class, false, false));
+	}
+
+	@Test
+	public void findMergedAnnotationWithJdkAnnotationOnPlainJavaType() {
+		assertNotNull(findMergedAnnotation(Runnable.class, FunctionalInterface.class));
+		assertNotNull(findMergedAnnotation(FutureTask.class, FunctionalInterface.class));
+		assertTrue(hasAnnotation(FutureTask.class, FunctionalInterface.class));
+
+		// JDK-internal annotations outside of the java namespace, e.g. @sun.misc.Contended on JDK 8
+		for (Annotation ann : ForkJoinPool.class.getAnnotations()) {
+			assertNotNull(findMergedAnnotation(ForkJoinPool.class, ann.annotationType()));
+		}
+	}
+
+	@Test
+	public void findMergedAnnotationResultCached() throws Exception {
+		Method method = TransactionalServiceImpl.class.getMethod("doIt");
+		Transactional annotation = findMergedAnnotation(method, Transactional.class);
+		assertNotNull(annotation);
+		assertSame(annotation, findMergedAnnotation(method, Transactional.class));
+		assertTrue(hasAnnotation(method, Transactional.class));
+
+		assertNull(findMergedAnnotation(method, Order.class));
+		assertNull(findMergedAnnotation(method, Order.class));
+		assertFalse(hasAnnotation(method, Order.class));
+
+		AnnotationUtils.clearCache();
+		Transactional reresolved = findMergedAnnotation(method, Transactional.class);
+		assertNotSame(annotation, reresolved);
+		assertEquals(annotation, reresolved);
+	}
+
 	@Test
 	public void getAllMergedAnnotationsOnClassWithInterface() throws Exception {
 		Method m = TransactionalServiceImpl.class.getMethod("doIt");
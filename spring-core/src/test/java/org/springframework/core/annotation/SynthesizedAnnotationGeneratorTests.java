@@ -0,0 +1,195 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link SynthesizedAnnotationGenerator}.
+ *
+ * @since 5.1
+ */
+public class SynthesizedAnnotationGeneratorTests {
+
+	@Test
+	public void synthesizeWithAliasedAttributes() {
+		Mapping original = PathMapped.class.getAnnotation(Mapping.class);
+		Mapping synthesized = generate(original, PathMapped.class);
+
+		assertNotNull(synthesized);
+		assertTrue(synthesized instanceof SynthesizedAnnotation);
+		assertFalse(Proxy.isProxyClass(synthesized.getClass()));
+		assertSame(Mapping.class, synthesized.annotationType());
+		assertArrayEquals(new String[] {"/test"}, synthesized.value());
+		assertArrayEquals(new String[] {"/test"}, synthesized.path());
+		assertEquals("test", synthesized.name());
+		assertEquals(3, synthesized.order());
+		assertTrue(synthesized.enabled());
+		assertSame(String.class, synthesized.type());
+		assertEquals(RetentionPolicy.CLASS, synthesized.policy());
+	}
+
+	@Test
+	public void arrayValuesAreCloned() {
+		Mapping synthesized = generate(PathMapped.class.getAnnotation(Mapping.class), PathMapped.class);
+		synthesized.path()[0] = "/modified";
+		assertArrayEquals(new String[] {"/test"}, synthesized.path());
+		assertNotSame(synthesized.value(), synthesized.value());
+	}
+
+	@Test
+	public void equalsHashCodeAndToStringConsistentWithProxy() {
+		Mapping original = ValueMapped.class.getAnnotation(Mapping.class);
+		Mapping generated = generate(original, ValueMapped.class);
+		Mapping proxy = AnnotationUtils.synthesizeAnnotation(original, ValueMapped.class);
+
+		assertFalse(Proxy.isProxyClass(generated.getClass()));
+		assertTrue(Proxy.isProxyClass(proxy.getClass()));
+		assertEquals(generated, proxy);
+		assertEquals(proxy, generated);
+		assertEquals(proxy.hashCode(), generated.hashCode());
+		assertEquals(proxy.toString(), generated.toString());
+		assertNotEquals(generated, generate(PathMapped.class.getAnnotation(Mapping.class), PathMapped.class));
+	}
+
+	@Test
+	public void generatedClassReusedPerAnnotationType() {
+		Mapping first = generate(ValueMapped.class.getAnnotation(Mapping.class), ValueMapped.class);
+		Mapping second = generate(PathMapped.class.getAnnotation(Mapping.class), PathMapped.class);
+		assertSame(first.getClass(), second.getClass());
+	}
+
+	@Test
+	public void generatedClassRetainedAcrossClearCache() {
+		Mapping first = generate(ValueMapped.class.getAnnotation(Mapping.class), ValueMapped.class);
+		AnnotationUtils.clearCache();
+		Mapping second = generate(ValueMapped.class.getAnnotation(Mapping.class), ValueMapped.class);
+		assertSame(first.getClass(), second.getClass());
+	}
+
+	@Test
+	public void nestedAnnotationsAreSynthesized() {
+		Hierarchy synthesized = generate(Nested.class.getAnnotation(Hierarchy.class), Nested.class);
+
+		assertNotNull(synthesized);
+		assertTrue(synthesized.main() instanceof SynthesizedAnnotation);
+		assertArrayEquals(new String[] {"/main"}, synthesized.main().path());
+		assertEquals(2, synthesized.others().length);
+		assertTrue(synthesized.others()[1] instanceof SynthesizedAnnotation);
+		assertArrayEquals(new String[] {"/b"}, synthesized.others()[1].path());
+	}
+
+	@Test
+	public void synthesizeFromMap() {
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put("path", new String[] {"/map"});
+		attributes.put("type", Integer.class);
+		Mapping synthesized = SynthesizedAnnotationGenerator.synthesize(
+				new MapAnnotationAttributeExtractor(attributes, Mapping.class, null));
+
+		assertNotNull(synthesized);
+		assertArrayEquals(new String[] {"/map"}, synthesized.value());
+		assertSame(Integer.class, synthesized.type());
+		assertEquals("", synthesized.name());
+	}
+
+	@Test
+	public void nonPublicAnnotationTypeNotSupported() {
+		NonPublicMapping original = NonPublicMapped.class.getAnnotation(NonPublicMapping.class);
+		assertNull(generate(original, NonPublicMapped.class));
+	}
+
+	@Test(expected = AnnotationConfigurationException.class)
+	public void aliasConflictDetectedOnSynthesis() {
+		generate(ConflictingMapped.class.getAnnotation(Mapping.class), ConflictingMapped.class);
+	}
+
+
+	private static <A extends Annotation> A generate(A annotation, Class<?> annotatedElement) {
+		return SynthesizedAnnotationGenerator.synthesize(
+				new DefaultAnnotationAttributeExtractor(annotation, annotatedElement));
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Mapping {
+
+		@AliasFor("path")
+		String[] value() default "";
+
+		@AliasFor("value")
+		String[] path() default "";
+
+		String name() default "";
+
+		int order() default 0;
+
+		boolean enabled() default true;
+
+		Class<?> type() default Object.class;
+
+		RetentionPolicy policy() default RetentionPolicy.SOURCE;
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Hierarchy {
+
+		Mapping main();
+
+		Mapping[] others() default {};
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface NonPublicMapping {
+
+		@AliasFor("path")
+		String value() default "";
+
+		@AliasFor("value")
+		String path() default "";
+	}
+
+	@Mapping(path = "/test", name = "test", order = 3, type = String.class, policy = RetentionPolicy.CLASS)
+	static class PathMapped {
+	}
+
+	@Mapping("/value")
+	static class ValueMapped {
+	}
+
+	@Mapping(value = "/value", path = "/path")
+	static class ConflictingMapped {
+	}
+
+	@Hierarchy(main = @Mapping("/main"), others = {@Mapping("/a"), @Mapping(path = "/b")})
+	static class Nested {
+	}
+
+	@NonPublicMapping("/test")
+	static class NonPublicMapped {
+	}
+
+}
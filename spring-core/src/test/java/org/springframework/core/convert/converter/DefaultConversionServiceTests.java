@@ -970,6 +970,23 @@ public class DefaultConversionServiceTests {
 		// System.out.println(watch.prettyPrint());
 	}
 
+	@Test
+	public void testPerformance2() {
+		Assume.group(TestGroup.PERFORMANCE);
+		StopWatch watch = new StopWatch("string->int conversionPerformance");
+		watch.start("convert 4,000,000 with conversion service");
+		for (int i = 0; i < 4000000; i++) {
+			conversionService.convert("3", int.class);
+		}
+		watch.stop();
+		watch.start("convert 4,000,000 manually");
+		for (int i = 0; i < 4000000; i++) {
+			Integer.valueOf("3");
+		}
+		watch.stop();
+		// System.out.println(watch.prettyPrint());
+	}
+
 
 	// test fields and helpers
 
@@ -456,6 +456,28 @@ public class GenericConversionServiceTests {
 		assertFalse(conversionService.canConvert(String.class, Color.class));
 	}
 
+	@Test
+	public void plainTypeConverterLookupDistinguishesElementTypes() throws Exception {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		conversionService.addConverter(new CollectionToCollectionConverter(conversionService));
+		List<String> source = Arrays.asList("1", "2");
+
+		assertEquals(Integer.valueOf(1), conversionService.convert("1", Integer.class));
+		assertEquals(Integer.valueOf(2), conversionService.convert("2", int.class));
+		assertEquals(Arrays.asList(1, 2), conversionService.convert(source,
+				TypeDescriptor.forObject(source), new TypeDescriptor(getClass().getField("list"))));
+		assertEquals(Arrays.asList(1L, 2L), conversionService.convert(source,
+				TypeDescriptor.forObject(source), new TypeDescriptor(getClass().getField("longList"))));
+	}
+
+	@Test
+	public void plainTypeConverterLookupInvalidatedOnRegistration() {
+		assertFalse(conversionService.canConvert(String.class, Color.class));
+		conversionService.addConverter(new ColorConverter());
+		assertTrue(conversionService.canConvert(String.class, Color.class));
+		assertEquals(Color.BLACK, conversionService.convert("#000000", Color.class));
+	}
+
 	@Test
 	public void conditionalConverter() {
 		MyConditionalConverter converter = new MyConditionalConverter();
@@ -652,6 +674,8 @@ public class GenericConversionServiceTests {
 
 	public List<Integer> list;
 
+	public List<Long> longList;
+
 	public Map<String, Integer> map;
 
 	public Map<String, ?> wildcardMap;
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConcurrentLruCache}.
+ *
+ * @since 5.1
+ */
+public class ConcurrentLruCacheTests {
+
+	private final AtomicInteger generated = new AtomicInteger();
+
+	private final ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2, key -> {
+		this.generated.incrementAndGet();
+		return key.toUpperCase();
+	});
+
+
+	@Test
+	public void getGeneratesOnce() {
+		assertEquals(0, this.cache.size());
+		assertEquals("K1", this.cache.get("k1"));
+		assertEquals("K1", this.cache.get("k1"));
+		assertEquals(1, this.generated.get());
+		assertEquals(1, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertEquals(2, this.cache.sizeLimit());
+	}
+
+	@Test
+	public void leastRecentlyUsedEntryEvicted() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		this.cache.get("k1");
+		this.cache.get("k3");
+
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertFalse(this.cache.contains("k2"));
+		assertTrue(this.cache.contains("k3"));
+
+		this.cache.get("k2");
+		assertEquals(4, this.generated.get());
+		assertFalse(this.cache.contains("k1"));
+	}
+
+	@Test
+	public void generatorFailureNotCached() {
+		ConcurrentLruCache<String, String> failingCache = new ConcurrentLruCache<>(2, key -> {
+			throw new IllegalArgumentException(key);
+		});
+		try {
+			failingCache.get("k1");
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			assertEquals("k1", ex.getMessage());
+		}
+		assertEquals(0, failingCache.size());
+		assertFalse(failingCache.contains("k1"));
+	}
+
+	@Test
+	public void clear() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		this.cache.clear();
+
+		assertEquals(0, this.cache.size());
+		assertFalse(this.cache.contains("k1"));
+		this.cache.get("k1");
+		assertEquals(3, this.generated.get());
+	}
+
+}
@@ -19,6 +19,7 @@ package org.springframework.util;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -76,4 +77,15 @@ public class DigestUtilsTests {
 		assertEquals("Invalid hash", expected, builder.toString());
 	}
 
+	@Test
+	public void md5IncrementalStringBuilder() {
+		String expected = "b10a8db164e0754105b7a99be72e3fe5";
+
+		MessageDigest digest = DigestUtils.createMd5Digest();
+		digest.update(bytes, 0, 6);
+		digest.update(bytes, 6, bytes.length - 6);
+		StringBuilder builder = DigestUtils.appendDigestAsHex(digest, new StringBuilder("\"0"));
+		assertEquals("Invalid hash", "\"0" + expected, builder.toString());
+	}
+
 }
@@ -180,6 +180,14 @@ public class MimeTypeTests {
 		assertEquals("Invalid subtype", "*", mimeType.getSubtype());
 	}
 
+	@Test
+	public void parseMimeTypeCached() {
+		MimeType mimeType = MimeTypeUtils.parseMimeType("application/json;charset=UTF-8");
+		assertSame(mimeType, MimeTypeUtils.parseMimeType("application/json;charset=UTF-8"));
+		assertNotSame(mimeType, MimeTypeUtils.parseMimeType("application/json; charset=UTF-8"));
+		assertEquals(mimeType, MimeTypeUtils.parseMimeType("application/json; charset=UTF-8"));
+	}
+
 	@Test(expected = InvalidMimeTypeException.class)
 	public void parseMimeTypeNoSubtype() {
 		MimeTypeUtils.parseMimeType("audio");
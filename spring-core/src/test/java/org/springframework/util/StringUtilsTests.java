@@ -84,6 +84,9 @@ public class StringUtilsTests {
 		assertEquals("a", StringUtils.trimAllWhitespace(" a "));
 		assertEquals("ab", StringUtils.trimAllWhitespace(" a b "));
 		assertEquals("abc", StringUtils.trimAllWhitespace(" a b  c "));
+		assertEquals("abc", StringUtils.trimAllWhitespace("ab\tc"));
+		String noWhitespace = "abc";
+		assertSame(noWhitespace, StringUtils.trimAllWhitespace(noWhitespace));
 	}
 
 	@Test
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link ExpressionParser} decorator that caches parsed {@link Expression}
+ * instances by expression string and {@link ParserContext} settings, so that
+ * the same expression is parsed (and, in case of SpEL, compiled) only once
+ * even if it is requested by several consumers.
+ *
+ * <p>The cache is bounded: once the {@link #setCacheLimit cache limit} is
+ * reached, the least recently used expression gets evicted. Parse failures
+ * are not cached.
+ *
+ * <p>A single instance can be shared by all expression consumers within an
+ * application, as long as the parsed expressions are thread-safe and suitable
+ * for shared use, which is the case for
+ * {@link org.springframework.expression.spel.standard.SpelExpressionParser}.
+ *
+ * @since 5.1
+ */
+public class CachingExpressionParser implements ExpressionParser {
+
+	/** Default maximum number of entries for the expression cache: 1024 */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+
+	private final ExpressionParser targetParser;
+
+	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
+
+	@SuppressWarnings("serial")
+	private final Map<ExpressionCacheKey, Expression> expressionCache =
+			new LinkedHashMap<ExpressionCacheKey, Expression>(256, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<ExpressionCacheKey, Expression> eldest) {
+					return size() > getCacheLimit();
+				}
+			};
+
+
+	/**
+	 * Create a new {@code CachingExpressionParser} for the given target parser.
+	 * @param targetParser the parser to delegate to for expressions not cached yet
+	 */
+	public CachingExpressionParser(ExpressionParser targetParser) {
+		Assert.notNull(targetParser, "Target ExpressionParser must not be null");
+		this.targetParser = targetParser;
+	}
+
+
+	/**
+	 * Return the parser that this caching parser delegates to.
+	 */
+	public ExpressionParser getTargetParser() {
+		return this.targetParser;
+	}
+
+	/**
+	 * Specify the maximum number of parsed expressions to cache.
+	 * <p>Default is {@link #DEFAULT_CACHE_LIMIT}.
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be greater than 0");
+		this.cacheLimit = cacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of parsed expressions to cache.
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+	/**
+	 * Return the number of parsed expressions currently cached.
+	 */
+	public int getCacheSize() {
+		synchronized (this.expressionCache) {
+			return this.expressionCache.size();
+		}
+	}
+
+	/**
+	 * Remove all parsed expressions from the cache.
+	 */
+	public void clearCache() {
+		synchronized (this.expressionCache) {
+			this.expressionCache.clear();
+		}
+	}
+
+
+	@Override
+	public Expression parseExpression(String expressionString) throws ParseException {
+		return parseExpression(expressionString, null);
+	}
+
+	@Override
+	public Expression parseExpression(String expressionString, @Nullable ParserContext context)
+			throws ParseException {
+
+		ExpressionCacheKey cacheKey = new ExpressionCacheKey(expressionString, context);
+		synchronized (this.expressionCache) {
+			Expression expression = this.expressionCache.get(cacheKey);
+			if (expression != null) {
+				return expression;
+			}
+		}
+		// Parse outside of the lock: another thread might end up parsing the same
+		// expression concurrently, in which case the first result wins.
+		Expression expression = this.targetParser.parseExpression(expressionString, context);
+		synchronized (this.expressionCache) {
+			Expression existing = this.expressionCache.putIfAbsent(cacheKey, expression);
+			return (existing != null ? existing : expression);
+		}
+	}
+
+
+	/**
+	 * Cache key for a parsed expression, capturing the {@link ParserContext}
+	 * settings at the time of parsing.
+	 */
+	private static final class ExpressionCacheKey {
+
+		private final String expressionString;
+
+		private final boolean template;
+
+		@Nullable
+		private final String prefix;
+
+		@Nullable
+		private final String suffix;
+
+		public ExpressionCacheKey(String expressionString, @Nullable ParserContext context) {
+			Assert.notNull(expressionString, "Expression string must not be null");
+			this.expressionString = expressionString;
+			this.template = (context != null && context.isTemplate());
+			this.prefix = (this.template ? context.getExpressionPrefix() : null);
+			this.suffix = (this.template ? context.getExpressionSuffix() : null);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ExpressionCacheKey)) {
+				return false;
+			}
+			ExpressionCacheKey otherKey = (ExpressionCacheKey) other;
+			return (this.expressionString.equals(otherKey.expressionString) &&
+					this.template == otherKey.template &&
+					ObjectUtils.nullSafeEquals(this.prefix, otherKey.prefix) &&
+					ObjectUtils.nullSafeEquals(this.suffix, otherKey.suffix));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.expressionString.hashCode() * 29 + ObjectUtils.nullSafeHashCode(this.prefix);
+		}
+
+		@Override
+		public String toString() {
+			return (this.template ? "template [" + this.expressionString + "] with delimiters " +
+					this.prefix + "..." + this.suffix : "[" + this.expressionString + "]");
+		}
+	}
+
+}
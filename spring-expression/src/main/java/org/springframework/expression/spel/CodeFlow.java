@@ -85,9 +85,16 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the EvaluationContext).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * Local variables currently acting as the target for nested expression
+	 * evaluation, e.g. the current element during a selection or projection.
+	 */
+	private final Deque<Integer> targetVariables = new ArrayDeque<>();
 
 
 	/**
@@ -105,11 +112,35 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the local variable holding
+	 * the currently active target if a target scope has been entered.
 	 * @param mv the visitor into which the load instruction should be inserted
+	 * @see #enterTargetScope(int)
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer targetVariable = this.targetVariables.peek();
+		mv.visitVarInsn(ALOAD, (targetVariable != null ? targetVariable : 1));
+	}
+
+	/**
+	 * Enter a target scope: until the scope is exited, {@link #loadTarget} will load
+	 * the specified local variable instead of the original target. Used for nested
+	 * evaluation against a different context object, e.g. the current element of a
+	 * collection during a selection or projection.
+	 * @param variableId the local variable holding the active target
+	 * @since 5.1
+	 * @see #nextFreeVariableId()
+	 */
+	public void enterTargetScope(int variableId) {
+		this.targetVariables.push(variableId);
+	}
+
+	/**
+	 * Exit the most recently entered target scope.
+	 * @since 5.1
+	 */
+	public void exitTargetScope() {
+		this.targetVariables.pop();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,8 +20,11 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelNode;
 import org.springframework.lang.Nullable;
@@ -43,6 +46,7 @@ public class InlineMap extends SpelNodeImpl {
 	public InlineMap(int pos, SpelNodeImpl... args) {
 		super(pos, args);
 		checkIfConstant();
+		this.exitTypeDescriptor = "Ljava/util/Map";
 	}
 
 
@@ -164,4 +168,72 @@ public class InlineMap extends SpelNodeImpl {
 		return (Map<Object,Object>) this.constant.getValue();
 	}
 
+	@Override
+	public boolean isCompilable() {
+		int childCount = getChildCount();
+		for (int c = 0; c < childCount; c++) {
+			SpelNodeImpl child = this.children[c];
+			boolean isKey = (c % 2 == 0);
+			if (!(isKey && child instanceof PropertyOrFieldReference) && !child.isCompilable()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+		if (isConstant()) {
+			// Build the constant map on first use and hold on to it in a static field
+			final String constantFieldName = "inlineMap$" + codeflow.nextFieldId();
+			final String className = codeflow.getClassName();
+			codeflow.registerNewField((cw, cflow) ->
+					cw.visitField(ACC_PRIVATE | ACC_STATIC, constantFieldName, "Ljava/util/Map;", null, null));
+
+			Label initialized = new Label();
+			mv.visitFieldInsn(GETSTATIC, className, constantFieldName, "Ljava/util/Map;");
+			mv.visitInsn(DUP);
+			mv.visitJumpInsn(IFNONNULL, initialized);
+			mv.visitInsn(POP);
+			generateMapCode(mv, codeflow);
+			mv.visitMethodInsn(INVOKESTATIC, "java/util/Collections", "unmodifiableMap",
+					"(Ljava/util/Map;)Ljava/util/Map;", false);
+			mv.visitInsn(DUP);
+			mv.visitFieldInsn(PUTSTATIC, className, constantFieldName, "Ljava/util/Map;");
+			mv.visitLabel(initialized);
+		}
+		else {
+			generateMapCode(mv, codeflow);
+		}
+		codeflow.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private void generateMapCode(MethodVisitor mv, CodeFlow codeflow) {
+		mv.visitTypeInsn(NEW, "java/util/LinkedHashMap");
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/util/LinkedHashMap", "<init>", "()V", false);
+		int childCount = getChildCount();
+		for (int c = 0; c < childCount; c++) {
+			mv.visitInsn(DUP);
+			SpelNodeImpl keyChild = this.children[c++];
+			if (keyChild instanceof PropertyOrFieldReference) {
+				mv.visitLdcInsn(((PropertyOrFieldReference) keyChild).getName());
+			}
+			else {
+				generateCodeForEntryPart(mv, codeflow, keyChild);
+			}
+			generateCodeForEntryPart(mv, codeflow, this.children[c]);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+					"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+			mv.visitInsn(POP);
+		}
+	}
+
+	private void generateCodeForEntryPart(MethodVisitor mv, CodeFlow codeflow, SpelNodeImpl child) {
+		codeflow.enterCompilationScope();
+		child.generateCode(mv, codeflow);
+		CodeFlow.insertBoxIfNecessary(mv, codeflow.lastDescriptor());
+		codeflow.exitCompilationScope();
+	}
+
 }
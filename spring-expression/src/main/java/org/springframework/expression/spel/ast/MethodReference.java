@@ -301,7 +301,29 @@ public class MethodReference extends SpelNodeImpl {
 
 		return true;
 	}
-	
+
+	@Override
+	public String getNonCompilableReason() {
+		CachedMethodExecutor executorToCheck = this.cachedExecutor;
+		if (executorToCheck == null) {
+			return "method not resolved yet (expression not evaluated)";
+		}
+		if (executorToCheck.hasProxyTarget()) {
+			return "method invoked on a proxy target";
+		}
+		if (!(executorToCheck.get() instanceof ReflectiveMethodExecutor)) {
+			return "method resolved by a custom MethodResolver";
+		}
+		ReflectiveMethodExecutor executor = (ReflectiveMethodExecutor) executorToCheck.get();
+		if (executor.didArgumentConversionOccur()) {
+			return "arguments required type conversion for method " + executor.getMethod();
+		}
+		if (executor.getPublicDeclaringClass() == null) {
+			return "no public type declares method " + executor.getMethod();
+		}
+		return super.getNonCompilableReason();
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		CachedMethodExecutor executorToCheck = this.cachedExecutor;
@@ -337,23 +359,21 @@ public class MethodReference extends SpelNodeImpl {
 			CodeFlow.insertBoxIfNecessary(mv, descriptor.charAt(0));
 		}
 
-		String classDesc;
-		if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
-			classDesc = method.getDeclaringClass().getName().replace('.', '/');
-		}
-		else {
-			Class<?> publicDeclaringClass = methodExecutor.getPublicDeclaringClass();
-			Assert.state(publicDeclaringClass != null, "No public declaring class");
-			classDesc = publicDeclaringClass.getName().replace('.', '/');
+		Class<?> owner = method.getDeclaringClass();
+		if (!Modifier.isPublic(owner.getModifiers())) {
+			owner = methodExecutor.getPublicDeclaringClass();
+			Assert.state(owner != null, "No public declaring class");
 		}
+		String classDesc = owner.getName().replace('.', '/');
 
 		if (!isStaticMethod && (descriptor == null || !descriptor.substring(1).equals(classDesc))) {
 			CodeFlow.insertCheckCast(mv, "L" + classDesc);
 		}
 
 		generateCodeForArguments(mv, cf, method, this.children);
-		mv.visitMethodInsn((isStaticMethod ? INVOKESTATIC : INVOKEVIRTUAL), classDesc, method.getName(),
-				CodeFlow.createSignatureDescriptor(method), method.getDeclaringClass().isInterface());
+		boolean isInterface = owner.isInterface();
+		int opcode = (isStaticMethod ? INVOKESTATIC : (isInterface ? INVOKEINTERFACE : INVOKEVIRTUAL));
+		mv.visitMethodInsn(opcode, classDesc, method.getName(), CodeFlow.createSignatureDescriptor(method), isInterface);
 		cf.pushDescriptor(this.exitTypeDescriptor);
 
 		if (this.originalPrimitiveExitTypeDescriptor != null) {
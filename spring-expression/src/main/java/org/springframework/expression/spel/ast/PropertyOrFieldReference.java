@@ -63,6 +63,9 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	@Nullable
 	private volatile PropertyAccessor cachedWriteAccessor;
 
+	@Nullable
+	private volatile InlineReadCache inlineReadCache;
+
 
 	public PropertyOrFieldReference(boolean nullSafe, String propertyOrFieldName, int pos) {
 		super(pos);
@@ -174,6 +177,19 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			return TypedValue.NULL;
 		}
 
+		InlineReadCache inlineCache = this.inlineReadCache;
+		if (inlineCache != null) {
+			if (inlineCache.matches(targetObject, evalContext)) {
+				try {
+					return inlineCache.optimalAccessor.read(evalContext, targetObject, name);
+				}
+				catch (Exception ex) {
+					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_DURING_PROPERTY_READ, name, ex.getMessage());
+				}
+			}
+			this.inlineReadCache = null;
+		}
+
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
 		if (accessorToUse != null) {
 			if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
@@ -197,8 +213,12 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			for (PropertyAccessor accessor : accessorsToTry) {
 				if (accessor.canRead(evalContext, contextObject.getValue(), name)) {
 					if (accessor instanceof ReflectivePropertyAccessor) {
-						accessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
+						PropertyAccessor optimalAccessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
 								evalContext, contextObject.getValue(), name);
+						if (optimalAccessor != accessor && targetObject != null) {
+							this.inlineReadCache = new InlineReadCache(targetObject, evalContext, optimalAccessor);
+						}
+						accessor = optimalAccessor;
 					}
 					this.cachedReadAccessor = accessor;
 					return accessor.read(evalContext, contextObject.getValue(), name);
@@ -382,6 +402,57 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	}
 
 
+	/**
+	 * Monomorphic inline cache for property reads: holds the optimal accessor
+	 * resolved for a specific receiver class, along with the types of the
+	 * accessors in the evaluation context that it has been resolved against.
+	 * The optimal accessor is not part of the context's accessor list itself,
+	 * so it can only be reused for the exact receiver type (or {@code Class}
+	 * instance) it was created for, and for contexts with the same types of
+	 * accessors in the same order (typically a new context per evaluation).
+	 */
+	private static class InlineReadCache {
+
+		private final Object receiverKey;
+
+		private final boolean classReceiver;
+
+		private final Class<?>[] accessorTypes;
+
+		final PropertyAccessor optimalAccessor;
+
+		public InlineReadCache(Object target, EvaluationContext evalContext, PropertyAccessor optimalAccessor) {
+			this.classReceiver = (target instanceof Class);
+			this.receiverKey = (this.classReceiver ? target : target.getClass());
+			List<PropertyAccessor> accessors = evalContext.getPropertyAccessors();
+			this.accessorTypes = new Class<?>[accessors.size()];
+			for (int i = 0; i < this.accessorTypes.length; i++) {
+				this.accessorTypes[i] = accessors.get(i).getClass();
+			}
+			this.optimalAccessor = optimalAccessor;
+		}
+
+		public boolean matches(@Nullable Object target, EvaluationContext evalContext) {
+			if (target == null) {
+				return false;
+			}
+			if (this.classReceiver ? target != this.receiverKey : target.getClass() != this.receiverKey) {
+				return false;
+			}
+			List<PropertyAccessor> accessors = evalContext.getPropertyAccessors();
+			if (accessors.size() != this.accessorTypes.length) {
+				return false;
+			}
+			for (int i = 0; i < this.accessorTypes.length; i++) {
+				if (accessors.get(i).getClass() != this.accessorTypes[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+
 	private static class AccessorLValue implements ValueRef {
 
 		private final PropertyOrFieldReference ref;
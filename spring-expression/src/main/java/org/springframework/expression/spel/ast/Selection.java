@@ -23,9 +23,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -79,6 +82,8 @@ public class Selection extends SpelNodeImpl {
 		SpelNodeImpl selectionCriteria = this.children[0];
 
 		if (operand instanceof Map) {
+			// Only selection over collections is supported by the compiler
+			this.exitTypeDescriptor = null;
 			Map<?, ?> mapdata = (Map<?, ?>) operand;
 			// TODO don't lose generic info for the new map
 			Map<Object, Object> result = new HashMap<>();
@@ -128,6 +133,8 @@ public class Selection extends SpelNodeImpl {
 		if (operand instanceof Iterable || ObjectUtils.isArray(operand)) {
 			Iterable<?> data = (operand instanceof Iterable ?
 					(Iterable<?>) operand : Arrays.asList(ObjectUtils.toObjectArray(operand)));
+			this.exitTypeDescriptor = (!(operand instanceof Iterable) ? null :
+					(this.variant == ALL ? "Ljava/util/List" : "Ljava/lang/Object"));
 
 			List<Object> result = new ArrayList<>();
 			int index = 0;
@@ -194,6 +201,103 @@ public class Selection extends SpelNodeImpl {
 				operand.getClass().getName());
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl selectionCriteria = this.children[0];
+		String criteriaDescriptor = selectionCriteria.exitTypeDescriptor;
+		return (this.exitTypeDescriptor != null && selectionCriteria.isCompilable() &&
+				("Z".equals(criteriaDescriptor) || "Ljava/lang/Boolean".equals(criteriaDescriptor)));
+	}
+
+	@Override
+	public String getNonCompilableReason() {
+		if (this.exitTypeDescriptor == null) {
+			return "selection is only compilable on a java.lang.Iterable (not on a Map or array)";
+		}
+		return "selection criteria do not evaluate to a boolean";
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		if (cf.lastDescriptor() == null) {
+			cf.loadTarget(mv);
+		}
+		Label endOfSelection = new Label();
+		if (this.nullSafe) {
+			Label notNull = new Label();
+			mv.visitInsn(DUP);
+			mv.visitJumpInsn(IFNONNULL, notNull);
+			mv.visitJumpInsn(GOTO, endOfSelection);
+			mv.visitLabel(notNull);
+		}
+
+		int iteratorVariable = cf.nextFreeVariableId();
+		int elementVariable = cf.nextFreeVariableId();
+		int resultVariable = cf.nextFreeVariableId();
+		mv.visitTypeInsn(CHECKCAST, "java/lang/Iterable");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/lang/Iterable", "iterator", "()Ljava/util/Iterator;", true);
+		mv.visitVarInsn(ASTORE, iteratorVariable);
+		if (this.variant == ALL) {
+			mv.visitTypeInsn(NEW, "java/util/ArrayList");
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, "java/util/ArrayList", "<init>", "()V", false);
+			mv.visitVarInsn(ASTORE, resultVariable);
+		}
+		else if (this.variant == LAST) {
+			mv.visitInsn(ACONST_NULL);
+			mv.visitVarInsn(ASTORE, resultVariable);
+		}
+
+		Label nextElement = new Label();
+		Label endOfElements = new Label();
+		mv.visitLabel(nextElement);
+		mv.visitVarInsn(ALOAD, iteratorVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+		mv.visitJumpInsn(IFEQ, endOfElements);
+		mv.visitVarInsn(ALOAD, iteratorVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ASTORE, elementVariable);
+
+		// Evaluate the selection criteria against the current element
+		cf.enterCompilationScope();
+		cf.enterTargetScope(elementVariable);
+		this.children[0].generateCode(mv, cf);
+		String criteriaDescriptor = cf.lastDescriptor();
+		if (!"Z".equals(criteriaDescriptor)) {
+			CodeFlow.insertUnboxInsns(mv, 'Z', criteriaDescriptor);
+		}
+		cf.exitTargetScope();
+		cf.exitCompilationScope();
+		mv.visitJumpInsn(IFEQ, nextElement);
+
+		mv.visitVarInsn(ALOAD, elementVariable);
+		switch (this.variant) {
+			case FIRST:
+				mv.visitJumpInsn(GOTO, endOfSelection);
+				break;
+			case LAST:
+				mv.visitVarInsn(ASTORE, resultVariable);
+				mv.visitJumpInsn(GOTO, nextElement);
+				break;
+			default:
+				mv.visitVarInsn(ALOAD, resultVariable);
+				mv.visitInsn(SWAP);
+				mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+				mv.visitInsn(POP);
+				mv.visitJumpInsn(GOTO, nextElement);
+		}
+
+		mv.visitLabel(endOfElements);
+		if (this.variant == FIRST) {
+			mv.visitInsn(ACONST_NULL);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, resultVariable);
+		}
+		mv.visitLabel(endOfSelection);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 	@Override
 	public String toStringAST() {
 		StringBuilder sb = new StringBuilder();
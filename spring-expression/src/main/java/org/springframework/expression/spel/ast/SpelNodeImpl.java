@@ -175,6 +175,21 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		return false;
 	}
 
+	/**
+	 * Describe why this node cannot be compiled to bytecode, for diagnostic purposes.
+	 * Only meaningful if {@link #isCompilable()} returns {@code false}; subclasses
+	 * may override this to give a more specific explanation.
+	 * @return a description of the reason (never {@code null})
+	 * @since 5.1
+	 * @see org.springframework.expression.spel.standard.SpelCompiler#getCompilationFailureReason
+	 */
+	public String getNonCompilableReason() {
+		if (this.exitTypeDescriptor == null) {
+			return "result type not known (either not evaluated yet or not supported by the compiler)";
+		}
+		return "not supported by the compiler";
+	}
+
 	/**
 	 * Generate the bytecode for this node into the supplied visitor. Context info about
 	 * the current expression being compiled is available in the codeflow object. For
@@ -232,7 +247,9 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 			String arrayType = paramDescriptors[paramDescriptors.length - 1];
 			// Determine if the final passed argument is already suitably packaged in array
 			// form to be passed to the method
-			if (lastChild != null && arrayType.equals(lastChild.getExitDescriptor())) {
+			if (lastChild != null && (arrayType.equals(lastChild.getExitDescriptor()) ||
+					(childCount == paramDescriptors.length &&
+							isReferenceArrayForObjectVarargs(arrayType, lastChild.getExitDescriptor())))) {
 				generateCodeForArgument(mv, cf, lastChild, paramDescriptors[p]);
 			}
 			else {
@@ -258,6 +275,15 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		}
 	}
 
+	/**
+	 * Determine whether an array of references can be passed as-is to an
+	 * {@code Object...} parameter, just like the Java compiler would do.
+	 */
+	private static boolean isReferenceArrayForObjectVarargs(String arrayType, @Nullable String argumentDescriptor) {
+		return ("[Ljava/lang/Object".equals(arrayType) && argumentDescriptor != null &&
+				(argumentDescriptor.startsWith("[L") || argumentDescriptor.startsWith("[[")));
+	}
+
 	/**
 	 * Ask an argument to generate its bytecode and then follow it up
 	 * with any boxing/unboxing/checkcasting to ensure it matches the expected parameter descriptor.
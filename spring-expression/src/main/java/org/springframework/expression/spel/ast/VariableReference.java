@@ -66,7 +66,9 @@ public class VariableReference extends SpelNodeImpl {
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws SpelEvaluationException {
 		if (this.name.equals(THIS)) {
-			return state.getActiveContextObject();
+			TypedValue result = state.getActiveContextObject();
+			this.exitTypeDescriptor = determineExitDescriptor(result.getValue());
+			return result;
 		}
 		if (this.name.equals(ROOT)) {
 			TypedValue result = state.getRootContextObject();
@@ -74,19 +76,26 @@ public class VariableReference extends SpelNodeImpl {
 			return result;
 		}
 		TypedValue result = state.lookupVariable(this.name);
-		Object value = result.getValue();
+		this.exitTypeDescriptor = determineExitDescriptor(result.getValue());
+		// a null value will mean either the value was null or the variable was not found
+		return result;
+	}
+
+	private String determineExitDescriptor(@Nullable Object value) {
 		if (value == null || !Modifier.isPublic(value.getClass().getModifiers())) {
 			// If the type is not public then when generateCode produces a checkcast to it
 			// then an IllegalAccessError will occur.
 			// If resorting to Object isn't sufficient, the hierarchy could be traversed for 
 			// the first public type.
-			this.exitTypeDescriptor = "Ljava/lang/Object";
+			return "Ljava/lang/Object";
 		}
-		else {
-			this.exitTypeDescriptor = CodeFlow.toDescriptorFromObject(value);
+		String descriptor = CodeFlow.toDescriptorFromObject(value);
+		if (this.exitTypeDescriptor != null && !this.exitTypeDescriptor.equals(descriptor) &&
+				this.name.equals(THIS)) {
+			// #this varies between evaluations, e.g. across the elements in a selection
+			return "Ljava/lang/Object";
 		}
-		// a null value will mean either the value was null or the variable was not found
-		return result;
+		return descriptor;
 	}
 
 	@Override
@@ -114,6 +123,9 @@ public class VariableReference extends SpelNodeImpl {
 		if (this.name.equals(ROOT)) {
 			mv.visitVarInsn(ALOAD,1);
 		}
+		else if (this.name.equals(THIS)) {
+			cf.loadTarget(mv);
+		}
 		else {
 			mv.visitVarInsn(ALOAD, 2);
 			mv.visitLdcInsn(name);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,15 +18,23 @@ package org.springframework.expression.spel.standard;
 
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
 import org.springframework.asm.ClassWriter;
+import org.springframework.asm.FieldVisitor;
+import org.springframework.asm.Label;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.asm.Type;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.CompiledExpression;
@@ -70,6 +78,12 @@ public class SpelCompiler implements Opcodes {
 
 	private static final int CLASSES_DEFINED_LIMIT = 100;
 
+	private static final int CLASSES_SHARED_LIMIT = 256;
+
+	// Provisional class name for detecting identical bytecode across expressions,
+	// replaced with an actual class name when defining a class
+	private static final String SHARED_CLASS_NAME = "spel/Ex";
+
 	// A compiler is created for each classloader, it manages a child class loader of that
 	// classloader and the child is used to load the compiled expressions.
 	private static final Map<ClassLoader, SpelCompiler> compilers = new ConcurrentReferenceHashMap<>();
@@ -80,6 +94,17 @@ public class SpelCompiler implements Opcodes {
 	// Counter suffix for generated classes within this SpelCompiler instance
 	private final AtomicInteger suffixId = new AtomicInteger(1);
 
+	// Generated classes by their bytecode (using the provisional class name), allowing
+	// expressions that compile to identical code to share a single generated class
+	@SuppressWarnings("serial")
+	private final Map<BytecodeKey, Class<? extends CompiledExpression>> sharedClasses =
+			new LinkedHashMap<BytecodeKey, Class<? extends CompiledExpression>>(64, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<BytecodeKey, Class<? extends CompiledExpression>> eldest) {
+					return size() > CLASSES_SHARED_LIMIT;
+				}
+			};
+
 
 	private SpelCompiler(@Nullable ClassLoader classloader) {
 		this.ccl = new ChildClassLoader(classloader);
@@ -113,7 +138,9 @@ public class SpelCompiler implements Opcodes {
 		}
 
 		if (logger.isDebugEnabled()) {
-			logger.debug("SpEL: unable to compile " + expression.toStringAST());
+			String reason = getCompilationFailureReason(expression);
+			logger.debug("SpEL: unable to compile " + expression.toStringAST() +
+					(reason != null ? " - " + reason : ""));
 		}
 		return null;
 	}
@@ -123,7 +150,10 @@ public class SpelCompiler implements Opcodes {
 	}
 
 	/**
-	 * Generate the class that encapsulates the compiled expression and define it.
+	 * Generate the class that encapsulates the compiled expression and define it,
+	 * unless a class with identical bytecode has been defined before: the same
+	 * expression text used in several places typically compiles to the same code,
+	 * in which case the existing class gets reused.
 	 * The  generated class will be a subtype of CompiledExpression.
 	 * @param expressionToCompile the expression to be compiled
 	 * @return the expression call, or {@code null} if the decision was to opt out of
@@ -131,8 +161,48 @@ public class SpelCompiler implements Opcodes {
 	 */
 	@Nullable
 	private Class<? extends CompiledExpression> createExpressionClass(SpelNodeImpl expressionToCompile) {
+		byte[] sharedData = generateExpressionClass(expressionToCompile, SHARED_CLASS_NAME);
+		if (sharedData == null) {
+			return null;
+		}
+		BytecodeKey bytecodeKey = new BytecodeKey(sharedData);
+		synchronized (this.sharedClasses) {
+			Class<? extends CompiledExpression> clazz = this.sharedClasses.get(bytecodeKey);
+			if (clazz == null) {
+				String clazzName = "spel/Ex" + getNextSuffix();
+				byte[] data = renameClass(sharedData, clazzName);
+				// TODO need to make this conditionally occur based on a debug flag
+				// dump(expressionToCompile.toStringAST(), clazzName, data);
+				clazz = loadClass(clazzName.replaceAll("/", "."), data);
+				this.sharedClasses.put(bytecodeKey, clazz);
+			}
+			return clazz;
+		}
+	}
+
+	/**
+	 * Rewrite the given bytecode for the given class name, replacing references
+	 * to the provisional class name (not any constants with the same text).
+	 * @param sharedData the bytecode generated for the provisional class name
+	 * @param clazzName the internal name of the class to define
+	 * @return the bytecode for the given class name
+	 */
+	private byte[] renameClass(byte[] sharedData, String clazzName) {
+		ClassWriter cw = new ExpressionClassWriter();
+		new ClassReader(sharedData).accept(new ClassRenamer(cw, clazzName), ClassReader.SKIP_FRAMES);
+		return cw.toByteArray();
+	}
+
+	/**
+	 * Generate the bytecode for a class that encapsulates the compiled expression.
+	 * @param expressionToCompile the expression to be compiled
+	 * @param clazzName the internal name of the class to generate
+	 * @return the bytecode, or {@code null} if the decision was to opt out of
+	 * compilation during code generation
+	 */
+	@Nullable
+	private byte[] generateExpressionClass(SpelNodeImpl expressionToCompile, String clazzName) {
 		// Create class outline 'spel/ExNNN extends org.springframework.expression.spel.CompiledExpression'
-		String clazzName = "spel/Ex" + getNextSuffix();
 		ClassWriter cw = new ExpressionClassWriter();
 		cw.visit(V1_5, ACC_PUBLIC, clazzName, null, "org/springframework/expression/spel/CompiledExpression", null);
 
@@ -178,10 +248,7 @@ public class SpelCompiler implements Opcodes {
 
 		cf.finish();
 
-		byte[] data = cw.toByteArray();
-		// TODO need to make this conditionally occur based on a debug flag
-		// dump(expressionToCompile.toStringAST(), clazzName, data);
-		return loadClass(clazzName.replaceAll("/", "."), data);
+		return cw.toByteArray();
 	}
 
 	/**
@@ -230,6 +297,40 @@ public class SpelCompiler implements Opcodes {
 		return (expression instanceof SpelExpression && ((SpelExpression) expression).compileExpression());
 	}
 
+	/**
+	 * Determine why the supplied expression AST cannot be compiled, for diagnostic
+	 * purposes. The AST is searched for the innermost node that prevents compilation.
+	 * @param expression the root of the expression AST
+	 * @return a description of the node that prevents compilation and the reason,
+	 * or {@code null} if all nodes in the AST report themselves as compilable
+	 * @since 5.1
+	 * @see SpelNodeImpl#isCompilable()
+	 * @see SpelNodeImpl#getNonCompilableReason()
+	 */
+	@Nullable
+	public static String getCompilationFailureReason(SpelNodeImpl expression) {
+		SpelNodeImpl node = findNonCompilableNode(expression);
+		if (node == null) {
+			return null;
+		}
+		return node.getClass().getSimpleName() + " '" + node.toStringAST() + "' at position " +
+				node.getStartPosition() + " is not compilable: " + node.getNonCompilableReason();
+	}
+
+	@Nullable
+	private static SpelNodeImpl findNonCompilableNode(SpelNodeImpl node) {
+		if (node.isCompilable()) {
+			return null;
+		}
+		for (int i = 0; i < node.getChildCount(); i++) {
+			SpelNodeImpl child = findNonCompilableNode((SpelNodeImpl) node.getChild(i));
+			if (child != null) {
+				return child;
+			}
+		}
+		return node;
+	}
+
 	/**
 	 * Request to revert to the interpreter for expression evaluation.
 	 * Any compiled form is discarded but can be recreated by later recompiling again.
@@ -242,6 +343,33 @@ public class SpelCompiler implements Opcodes {
 	}
 
 
+	/**
+	 * Key for generated bytecode, based on the contents of the byte array.
+	 */
+	private static final class BytecodeKey {
+
+		private final byte[] bytecode;
+
+		private final int hashCode;
+
+		public BytecodeKey(byte[] bytecode) {
+			this.bytecode = bytecode;
+			this.hashCode = Arrays.hashCode(bytecode);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return (this == other || (other instanceof BytecodeKey &&
+					Arrays.equals(this.bytecode, ((BytecodeKey) other).bytecode)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
 	/**
 	 * A ChildClassLoader will load the generated compiled expression classes.
 	 */
@@ -279,4 +407,82 @@ public class SpelCompiler implements Opcodes {
 		}
 	}
 
+
+	/**
+	 * ClassVisitor that renames a generated expression class, mapping the
+	 * provisional class name wherever it is used as a type.
+	 */
+	private static class ClassRenamer extends ClassVisitor {
+
+		private final String clazzName;
+
+		public ClassRenamer(ClassVisitor cv, String clazzName) {
+			super(SpringAsmInfo.ASM_VERSION, cv);
+			this.clazzName = clazzName;
+		}
+
+		@Override
+		public void visit(int version, int access, String name, @Nullable String signature,
+				@Nullable String superName, @Nullable String[] interfaces) {
+
+			super.visit(version, access, mapType(name), signature, superName, interfaces);
+		}
+
+		@Override
+		public FieldVisitor visitField(int access, String name, String desc,
+				@Nullable String signature, @Nullable Object value) {
+
+			return super.visitField(access, name, mapDesc(desc), signature, value);
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String desc,
+				@Nullable String signature, @Nullable String[] exceptions) {
+
+			MethodVisitor mv = super.visitMethod(access, name, mapDesc(desc), signature, exceptions);
+			return new MethodVisitor(SpringAsmInfo.ASM_VERSION, mv) {
+				@Override
+				public void visitTypeInsn(int opcode, String type) {
+					super.visitTypeInsn(opcode, mapType(type));
+				}
+
+				@Override
+				public void visitFieldInsn(int opcode, String owner, String name, String desc) {
+					super.visitFieldInsn(opcode, mapType(owner), name, mapDesc(desc));
+				}
+
+				@Override
+				public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+					super.visitMethodInsn(opcode, mapType(owner), name, mapDesc(desc), itf);
+				}
+
+				@Override
+				public void visitLdcInsn(Object value) {
+					if (value instanceof Type) {
+						value = Type.getType(mapDesc(((Type) value).getDescriptor()));
+					}
+					super.visitLdcInsn(value);
+				}
+
+				@Override
+				public void visitMultiANewArrayInsn(String desc, int dims) {
+					super.visitMultiANewArrayInsn(mapDesc(desc), dims);
+				}
+
+				@Override
+				public void visitTryCatchBlock(Label start, Label end, Label handler, @Nullable String type) {
+					super.visitTryCatchBlock(start, end, handler, (type != null ? mapType(type) : null));
+				}
+			};
+		}
+
+		private String mapType(String type) {
+			return (SHARED_CLASS_NAME.equals(type) ? this.clazzName : mapDesc(type));
+		}
+
+		private String mapDesc(String desc) {
+			return desc.replace("L" + SHARED_CLASS_NAME + ";", "L" + this.clazzName + ";");
+		}
+	}
+
 }
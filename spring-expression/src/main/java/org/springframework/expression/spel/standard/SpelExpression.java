@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -523,6 +523,32 @@ public class SpelExpression implements Expression {
 		return (this.compiledAst != null);
 	}
 
+	/**
+	 * Return a description of why this expression is not (yet) running in compiled
+	 * form, for diagnostic purposes: typically the AST node that is not compilable
+	 * along with the reason, e.g. a method whose arguments required type conversion.
+	 * @return the reason, or {@code null} if the expression has been compiled
+	 * @since 5.1
+	 * @see #compileExpression()
+	 * @see SpelCompiler#getCompilationFailureReason
+	 */
+	@Nullable
+	public String getCompilationFailureReason() {
+		if (this.compiledAst != null) {
+			return null;
+		}
+		String reason = SpelCompiler.getCompilationFailureReason(this.ast);
+		if (reason == null) {
+			reason = (this.failedAttempts > 0 ?
+					"Bytecode generation opted out of compilation (see SpelCompiler debug log)" :
+					"Expression has not been compiled yet");
+		}
+		if (this.failedAttempts > FAILED_ATTEMPTS_THRESHOLD) {
+			reason = "Compilation abandoned after " + this.failedAttempts + " failed attempts - " + reason;
+		}
+		return reason;
+	}
+
 	/**
 	 * Cause an expression to revert to being interpreted if it has been using a compiled
 	 * form. It also resets the compilation attempt failure count (an expression is normally no
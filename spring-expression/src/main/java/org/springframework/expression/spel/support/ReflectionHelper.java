@@ -293,8 +293,11 @@ public abstract class ReflectionHelper {
 				// 1) the input argument was already compatible (ie. array of valid type) and nothing was done
 				// 2) the input argument was correct type but not in an array so it was made into an array
 				// 3) the input argument was the wrong type and got converted and put into an array
+				// An array that is an instance of the parameter type (e.g. a String[] for an
+				// Object... parameter) may get copied but can be passed as-is, like in Java.
 				if (argument != arguments[varargsPosition] &&
-						!isFirstEntryInArray(argument, arguments[varargsPosition])) {
+						!isFirstEntryInArray(argument, arguments[varargsPosition]) &&
+						!methodParam.getParameterType().isInstance(argument)) {
 					conversionOccurred = true; // case 3
 				}
 			}
@@ -347,8 +350,7 @@ public abstract class ReflectionHelper {
 
 		// Check if repackaging is needed...
 		if (parameterCount != args.length ||
-				requiredParameterTypes[parameterCount - 1] !=
-						(args[argumentCount - 1] != null ? args[argumentCount - 1].getClass() : null)) {
+				!requiredParameterTypes[parameterCount - 1].isInstance(args[argumentCount - 1])) {
 
 			int arraySize = 0;  // zero size array if nothing to pass as the varargs parameter
 			if (argumentCount >= parameterCount) {
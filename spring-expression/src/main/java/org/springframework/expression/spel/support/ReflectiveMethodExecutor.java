@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -94,7 +94,10 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 		}
 		Class<?>[] ifcs = clazz.getInterfaces();
 		for (Class<?> ifc: ifcs) {
-			discoverPublicClass(method, ifc);
+			Class<?> publicClass = discoverPublicClass(method, ifc);
+			if (publicClass != null) {
+				return publicClass;
+			}
 		}
 		if (clazz.getSuperclass() != null) {
 			return discoverPublicClass(method, clazz.getSuperclass());
@@ -16,8 +16,12 @@
 
 package org.springframework.expression.spel.support;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -184,8 +188,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 			}
 			if (method != null) {
 				try {
-					ReflectionUtils.makeAccessible(method);
-					Object value = method.invoke(target);
+					Object value = invoker.read(target);
 					return new TypedValue(value, invoker.typeDescriptor.narrow(value));
 				}
 				catch (Exception ex) {
@@ -206,8 +209,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 			}
 			if (field != null) {
 				try {
-					ReflectionUtils.makeAccessible(field);
-					Object value = field.get(target);
+					Object value = invoker.read(target);
 					return new TypedValue(value, invoker.typeDescriptor.narrow(value));
 				}
 				catch (Exception ex) {
@@ -562,17 +564,94 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 	/**
 	 * Captures the member (method/field) to call reflectively to access a property value
 	 * and the type descriptor for the value returned by the reflective call.
+	 * <p>Reads go through a {@link MethodHandle} for the member, obtained on first use,
+	 * falling back to plain reflection if no such handle can be obtained.
 	 */
 	private static class InvokerPair {
 
+		private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+
 		final Member member;
 
 		final TypeDescriptor typeDescriptor;
 
+		@Nullable
+		private volatile MethodHandle readHandle;
+
+		private volatile boolean readHandleResolved;
+
 		public InvokerPair(Member member, TypeDescriptor typeDescriptor) {
 			this.member = member;
 			this.typeDescriptor = typeDescriptor;
 		}
+
+		/**
+		 * Read the value of the member from the given target, which is ignored
+		 * for static members.
+		 * @throws InvocationTargetException if a getter method threw an exception
+		 */
+		@Nullable
+		public Object read(@Nullable Object target) throws Exception {
+			MethodHandle handle = getReadHandle();
+			if (handle != null) {
+				try {
+					return (Object) handle.invokeExact(target);
+				}
+				catch (Throwable ex) {
+					if (this.member instanceof Method) {
+						// Same as for a reflective call: the getter itself threw the exception
+						throw new InvocationTargetException(ex);
+					}
+					throw (ex instanceof Exception ? (Exception) ex : new IllegalStateException(ex));
+				}
+			}
+			if (this.member instanceof Method) {
+				return ((Method) this.member).invoke(target);
+			}
+			else {
+				return ((Field) this.member).get(target);
+			}
+		}
+
+		/**
+		 * Obtain a {@code (Object)Object} MethodHandle for reading the member.
+		 */
+		@Nullable
+		private MethodHandle getReadHandle() {
+			if (!this.readHandleResolved) {
+				MethodHandle handle = null;
+				try {
+					MethodHandles.Lookup lookup = MethodHandles.lookup();
+					if (this.member instanceof Method) {
+						Method method = (Method) this.member;
+						ReflectionUtils.makeAccessible(method);
+						handle = lookup.unreflect(method);
+					}
+					else {
+						Field field = (Field) this.member;
+						ReflectionUtils.makeAccessible(field);
+						handle = lookup.unreflectGetter(field);
+					}
+					if (Modifier.isStatic(this.member.getModifiers())) {
+						handle = MethodHandles.dropArguments(handle, 0, Object.class);
+					}
+					handle = handle.asType(READ_TYPE);
+				}
+				catch (Throwable ex) {
+					// Not accessible through a MethodHandle - stick with reflection.
+					handle = null;
+					if (this.member instanceof Method) {
+						ReflectionUtils.makeAccessible((Method) this.member);
+					}
+					else {
+						ReflectionUtils.makeAccessible((Field) this.member);
+					}
+				}
+				this.readHandle = handle;
+				this.readHandleResolved = true;
+			}
+			return this.readHandle;
+		}
 	}
 
 
@@ -637,10 +716,13 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		public final Member member;
 
+		private final InvokerPair invoker;
+
 		private final TypeDescriptor typeDescriptor;
 
 		OptimalPropertyAccessor(InvokerPair target) {
 			this.member = target.member;
+			this.invoker = target;
 			this.typeDescriptor = target.typeDescriptor;
 		}
 
@@ -677,27 +759,15 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		@Override
 		public TypedValue read(EvaluationContext context, @Nullable Object target, String name) throws AccessException {
-			if (this.member instanceof Method) {
-				Method method = (Method) this.member;
-				try {
-					ReflectionUtils.makeAccessible(method);
-					Object value = method.invoke(target);
-					return new TypedValue(value, this.typeDescriptor.narrow(value));
-				}
-				catch (Exception ex) {
-					throw new AccessException("Unable to access property '" + name + "' through getter method", ex);
-				}
+			try {
+				Object value = this.invoker.read(target);
+				return new TypedValue(value, this.typeDescriptor.narrow(value));
 			}
-			else {
-				Field field = (Field) this.member;
-				try {
-					ReflectionUtils.makeAccessible(field);
-					Object value = field.get(target);
-					return new TypedValue(value, this.typeDescriptor.narrow(value));
-				}
-				catch (Exception ex) {
-					throw new AccessException("Unable to access field '" + name + "'", ex);
+			catch (Exception ex) {
+				if (this.member instanceof Method) {
+					throw new AccessException("Unable to access property '" + name + "' through getter method", ex);
 				}
+				throw new AccessException("Unable to access field '" + name + "'", ex);
 			}
 		}
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.common;
+
+import org.junit.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CachingExpressionParser}.
+ *
+ * @since 5.1
+ */
+public class CachingExpressionParserTests {
+
+	private final CachingExpressionParser parser = new CachingExpressionParser(new SpelExpressionParser());
+
+
+	@Test
+	public void sameExpressionParsedOnce() {
+		Expression expression = this.parser.parseExpression("1 + 2");
+		assertSame(expression, this.parser.parseExpression("1 + 2"));
+		assertNotSame(expression, this.parser.parseExpression("1 + 3"));
+		assertEquals(3, expression.getValue());
+		assertEquals(2, this.parser.getCacheSize());
+	}
+
+	@Test
+	public void parserContextPartOfCacheKey() {
+		Expression plain = this.parser.parseExpression("'x'");
+		Expression plainTemplate = this.parser.parseExpression("'x'", ParserContext.TEMPLATE_EXPRESSION);
+		assertNotSame(plain, plainTemplate);
+		assertEquals("x", plain.getValue());
+		assertEquals("'x'", plainTemplate.getValue());
+
+		Expression template = this.parser.parseExpression("#{1 + 2}x", ParserContext.TEMPLATE_EXPRESSION);
+		Expression otherTemplate = this.parser.parseExpression("#{1 + 2}x", new TemplateParserContext("${", "}"));
+		assertNotSame(template, otherTemplate);
+		assertEquals("3x", template.getValue());
+		assertEquals("#{1 + 2}x", otherTemplate.getValue());
+		assertSame(template, this.parser.parseExpression("#{1 + 2}x", new TemplateParserContext()));
+	}
+
+	@Test
+	public void leastRecentlyUsedExpressionEvicted() {
+		this.parser.setCacheLimit(2);
+		Expression first = this.parser.parseExpression("1");
+		this.parser.parseExpression("2");
+		assertSame(first, this.parser.parseExpression("1"));
+		this.parser.parseExpression("3");
+
+		assertEquals(2, this.parser.getCacheSize());
+		assertSame(first, this.parser.parseExpression("1"));
+		this.parser.clearCache();
+		assertEquals(0, this.parser.getCacheSize());
+		assertNotSame(first, this.parser.parseExpression("1"));
+	}
+
+	@Test
+	public void parseFailureNotCached() {
+		try {
+			this.parser.parseExpression("1 +");
+			fail("Should have thrown ParseException");
+		}
+		catch (ParseException ex) {
+			// expected
+		}
+		assertEquals(0, this.parser.getCacheSize());
+	}
+
+}
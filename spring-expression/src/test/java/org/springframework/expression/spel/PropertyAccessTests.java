@@ -16,6 +16,7 @@
 
 package org.springframework.expression.spel;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -32,6 +33,7 @@ import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.testresources.Person;
@@ -285,6 +287,121 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 		assertSame(Object.class, context.getRootObject().getTypeDescriptor().getType());
 	}
 
+	@Test
+	public void resolvedPropertyReusedForSameReceiverType() {
+		CountingReflectivePropertyAccessor accessor = new CountingReflectivePropertyAccessor();
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setPropertyAccessors(Collections.singletonList(accessor));
+
+		Expression expr = parser.parseExpression("name");
+		assertEquals("p1", expr.getValue(context, new Person("p1")));
+		assertEquals("p2", expr.getValue(context, new Person("p2")));
+		assertEquals(1, accessor.getCanReadCount());
+
+		// Different receiver type: property to be resolved again
+		assertEquals("java.lang.String", expr.getValue(context, (Object) String.class));
+		assertEquals(2, accessor.getCanReadCount());
+		assertEquals("java.lang.Integer", expr.getValue(context, (Object) Integer.class));
+		assertEquals(3, accessor.getCanReadCount());
+		assertEquals("p3", expr.getValue(context, new Person("p3")));
+		assertEquals(4, accessor.getCanReadCount());
+	}
+
+	@Test
+	public void resolvedPropertyReusedAcrossContexts() {
+		int[] canReadCount = new int[1];
+		Expression expr = parser.parseExpression("name");
+		for (int i = 0; i < 3; i++) {
+			StandardEvaluationContext context = new StandardEvaluationContext();
+			context.setPropertyAccessors(Collections.singletonList(new CountingReflectivePropertyAccessor(canReadCount)));
+			assertEquals("p" + i, expr.getValue(context, new Person("p" + i)));
+		}
+		assertEquals(1, canReadCount[0]);
+	}
+
+	@Test
+	public void resolvedPropertyNotReusedForDifferentAccessors() {
+		Expression expr = parser.parseExpression("name");
+		assertEquals("p1", expr.getValue(new StandardEvaluationContext(), new Person("p1")));
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.addPropertyAccessor(new ConfigurablePropertyAccessor(Collections.singletonMap("name", "Ollie")));
+		assertEquals("Ollie", expr.getValue(context, new Person("p2")));
+	}
+
+	@Test
+	public void instanceAndStaticFieldAccess() {
+		Expression expr = parser.parseExpression("secret");
+		assertEquals("s1", expr.getValue(new FieldHolder("s1")));
+		assertEquals("s2", expr.getValue(new FieldHolder("s2")));
+
+		expr = parser.parseExpression("COUNT");
+		assertEquals(42, expr.getValue(new StandardEvaluationContext(FieldHolder.class)));
+		assertEquals(42, expr.getValue(new StandardEvaluationContext(FieldHolder.class)));
+	}
+
+	@Test
+	public void getterExceptionExposedAsInvocationTargetException() {
+		Expression expr = parser.parseExpression("failing");
+		FieldHolder holder = new FieldHolder("s");
+		for (int i = 0; i < 2; i++) {
+			try {
+				expr.getValue(holder);
+				fail("Should have thrown SpelEvaluationException");
+			}
+			catch (SpelEvaluationException ex) {
+				assertTrue(ex.getCause() instanceof AccessException);
+				assertTrue(ex.getCause().getCause() instanceof InvocationTargetException);
+				assertEquals("getter failure", ex.getCause().getCause().getCause().getMessage());
+			}
+			assertEquals(i + 1, holder.failingCount);
+		}
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class FieldHolder {
+
+		public static final int COUNT = 42;
+
+		public final String secret;
+
+		int failingCount;
+
+		FieldHolder(String secret) {
+			this.secret = secret;
+		}
+
+		public String getFailing() {
+			this.failingCount++;
+			throw new IllegalStateException("getter failure");
+		}
+	}
+
+
+	private static class CountingReflectivePropertyAccessor extends ReflectivePropertyAccessor {
+
+		private final int[] canReadCount;
+
+		CountingReflectivePropertyAccessor() {
+			this(new int[1]);
+		}
+
+		CountingReflectivePropertyAccessor(int[] canReadCount) {
+			this.canReadCount = canReadCount;
+		}
+
+		int getCanReadCount() {
+			return this.canReadCount[0];
+		}
+
+		@Override
+		public boolean canRead(EvaluationContext context, Object target, String name) throws AccessException {
+			this.canReadCount[0]++;
+			return super.canRead(context, target, name);
+		}
+	}
+
 
 	// This can resolve the property 'flibbles' on any String (very useful...)
 	private static class StringyPropertyAccessor implements PropertyAccessor {
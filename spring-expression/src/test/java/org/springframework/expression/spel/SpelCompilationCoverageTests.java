@@ -103,7 +103,10 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * ConstructorReference
 	 * FunctionReference
 	 * InlineList
+	 * InlineMap
 	 * OpModulus
+	 * Projection (on collections)
+	 * Selection (on collections)
 	 *
 	 * Not yet compiled (some may never need to be):
 	 * Assign
@@ -114,9 +117,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * OpMatches
 	 * OpPower
 	 * OpInc
-	 * Projection
 	 * QualifiedId
-	 * Selection
 	 */
 
 
@@ -441,6 +442,200 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertEquals("op", o);
 	}
 
+	@SuppressWarnings("rawtypes")
+	@Test
+	public void inlineMap() throws Exception {
+		expression = parser.parseExpression("{a:'abc',b:'def'}");
+		Map<?, ?> m = (Map) expression.getValue();
+		assertEquals("{a=abc, b=def}", m.toString());
+		assertCanCompile(expression);
+		m = (Map) expression.getValue();
+		assertEquals("{a=abc, b=def}", m.toString());
+		assertSame(m, expression.getValue());
+
+		expression = parser.parseExpression("{a:'abc',b:{1,2}}['b'][1]");
+		Object o = expression.getValue();
+		assertEquals(2, o);
+		assertCanCompile(expression);
+		o = expression.getValue();
+		assertEquals(2, o);
+
+		expression = parser.parseExpression("{a:{x:1},'b':'def'}.toString()");
+		o = expression.getValue();
+		assertEquals("{a={x=1}, b=def}", o);
+		assertCanCompile(expression);
+		o = expression.getValue();
+		assertEquals("{a={x=1}, b=def}", o);
+
+		// Not constant: values evaluated against the root object
+		Person person = new Person(42);
+		expression = parser.parseExpression("{name:'Joe',age:age}");
+		m = (Map) expression.getValue(person);
+		assertEquals("{name=Joe, age=42}", m.toString());
+		assertCanCompile(expression);
+		person.setAge(43);
+		m = (Map) expression.getValue(person);
+		assertEquals("{name=Joe, age=43}", m.toString());
+		assertNotSame(m, expression.getValue(person));
+	}
+
+	@Test
+	public void selection() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		List<Person> people = new ArrayList<>();
+		people.add(new Person(20));
+		people.add(new Person(35));
+		people.add(new Person(40));
+		context.setVariable("people", people);
+
+		expression = parser.parseExpression("#people.?[age > 30].size()");
+		assertEquals(2, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(2, expression.getValue(context));
+
+		expression = parser.parseExpression("#people.^[age > 30].age");
+		assertEquals(35, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(35, expression.getValue(context));
+
+		expression = parser.parseExpression("#people.$[age > 30].age");
+		assertEquals(40, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(40, expression.getValue(context));
+
+		expression = parser.parseExpression("#people.^[age > 50]");
+		assertNull(expression.getValue(context));
+		assertCanCompile(expression);
+		assertNull(expression.getValue(context));
+
+		// #this refers to the current element
+		List<Integer> numbers = new ArrayList<>();
+		Collections.addAll(numbers, 1, 2, 3, 4, 5);
+		context.setVariable("numbers", numbers);
+		expression = parser.parseExpression("#numbers.?[#this > 2]");
+		assertEquals("[3, 4, 5]", expression.getValue(context).toString());
+		assertCanCompile(expression);
+		assertEquals("[3, 4, 5]", expression.getValue(context).toString());
+
+		// Nested selection
+		List<List<Integer>> lists = new ArrayList<>();
+		lists.add(numbers);
+		lists.add(Collections.singletonList(1));
+		context.setVariable("lists", lists);
+		expression = parser.parseExpression("#lists.?[#this.?[#this > 3].size() > 0].size()");
+		assertEquals(1, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(1, expression.getValue(context));
+
+		// Null-safe selection
+		expression = parser.parseExpression("#people?.?[age > 30]");
+		assertEquals(2, ((List<?>) expression.getValue(context)).size());
+		assertCanCompile(expression);
+		assertEquals(2, ((List<?>) expression.getValue(context)).size());
+		context.setVariable("people", null);
+		assertNull(expression.getValue(context));
+
+		// Selection over a map is not compiled
+		context.setVariable("map", Collections.singletonMap("a", 1));
+		expression = parser.parseExpression("#map.?[value > 0]");
+		assertEquals(1, ((Map<?, ?>) expression.getValue(context)).size());
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void projection() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		List<Person> people = new ArrayList<>();
+		people.add(new Person(20));
+		people.add(new Person(35));
+		context.setVariable("people", people);
+
+		expression = parser.parseExpression("#people.![age]");
+		assertEquals("[20, 35]", expression.getValue(context).toString());
+		assertCanCompile(expression);
+		assertEquals("[20, 35]", expression.getValue(context).toString());
+
+		expression = parser.parseExpression("#people.![age * 2][1]");
+		assertEquals(70, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(70, expression.getValue(context));
+
+		expression = parser.parseExpression("#people.?[age > 30].![age]");
+		assertEquals("[35]", expression.getValue(context).toString());
+		assertCanCompile(expression);
+		assertEquals("[35]", expression.getValue(context).toString());
+
+		List<String> strings = new ArrayList<>();
+		Collections.addAll(strings, "a", "bb");
+		context.setVariable("strings", strings);
+		expression = parser.parseExpression("#strings.![#this.length()]");
+		assertEquals("[1, 2]", expression.getValue(context).toString());
+		assertCanCompile(expression);
+		assertEquals("[1, 2]", expression.getValue(context).toString());
+
+		expression = parser.parseExpression("#strings?.![#this.toUpperCase()]");
+		assertEquals("[A, BB]", expression.getValue(context).toString());
+		assertCanCompile(expression);
+		assertEquals("[A, BB]", expression.getValue(context).toString());
+		context.setVariable("strings", null);
+		assertNull(expression.getValue(context));
+
+		// Projection of an array is not compiled
+		context.setVariable("array", new int[] {1, 2});
+		expression = parser.parseExpression("#array.![#this * 2]");
+		assertEquals(2, ((Object[]) expression.getValue(context)).length);
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void compilationFailureReason() throws Exception {
+		SpelExpression spelExpression = (SpelExpression) parser.parseExpression("'abc'");
+		assertEquals("Expression has not been compiled yet", spelExpression.getCompilationFailureReason());
+
+		spelExpression = (SpelExpression) parser.parseExpression("#numbers.?[#this > 2]");
+		String reason = spelExpression.getCompilationFailureReason();
+		assertTrue(reason, reason.startsWith("VariableReference '#numbers'"));
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("numbers", new Integer[] {1, 2, 3});
+		spelExpression.getValue(context);
+		assertCantCompile(spelExpression);
+		reason = spelExpression.getCompilationFailureReason();
+		assertTrue(reason, reason.startsWith("Selection '?[(#this > 2)]' at position 9 is not compilable"));
+		assertTrue(reason, reason.contains("java.lang.Iterable"));
+
+		TestClass5 tc = new TestClass5();
+		spelExpression = (SpelExpression) parser.parseExpression("eleven(1)");
+		spelExpression.getValue(tc);
+		assertCantCompile(spelExpression);
+		reason = spelExpression.getCompilationFailureReason();
+		assertTrue(reason, reason.startsWith("MethodReference 'eleven(1)'"));
+		assertTrue(reason, reason.contains("type conversion"));
+
+		spelExpression = (SpelExpression) parser.parseExpression("'abc'.length()");
+		spelExpression.getValue();
+		assertCanCompile(spelExpression);
+		assertNull(spelExpression.getCompilationFailureReason());
+	}
+
+	@Test
+	public void methodReferenceOnNonPublicClassDeclaredByInterface() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		List<String> list = Collections.unmodifiableList(new ArrayList<>(Collections.singletonList("a")));
+		context.setVariable("list", list);
+
+		// Collections$UnmodifiableCollection is not public: size() gets called through java.util.Collection
+		expression = parser.parseExpression("#list.size()");
+		assertEquals(1, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(1, expression.getValue(context));
+
+		expression = parser.parseExpression("#list.contains('a')");
+		assertEquals(true, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(true, expression.getValue(context));
+	}
+
 	@Test
 	public void intLiteral() throws Exception {
 		expression = parser.parseExpression("42");
@@ -3618,16 +3813,25 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertEquals("aaabbbccc", tc.s);
 		tc.reset();
 
-		// TODO Fails related to conversion service converting a String[] to satisfy Object...
-//		expression = parser.parseExpression("sixteen(stringArray)");
-//		assertCantCompile(expression);
-//		expression.getValue(tc);
-//		assertEquals("aaabbbccc", tc.s);
-//		assertCanCompile(expression);
-//		tc.reset();
-//		expression.getValue(tc);
-//		assertEquals("aaabbbccc", tc.s);
-//		tc.reset();
+		expression = parser.parseExpression("sixteen(stringArray)");
+		assertCantCompile(expression);
+		expression.getValue(tc);
+		assertEquals("aaabbbccc", tc.s);
+		assertCanCompile(expression);
+		tc.reset();
+		expression.getValue(tc);
+		assertEquals("aaabbbccc", tc.s);
+		tc.reset();
+
+		expression = parser.parseExpression("sixteen(stringArray,stringArray)");
+		assertCantCompile(expression);
+		expression.getValue(tc);
+		assertTrue(tc.s.startsWith("[Ljava.lang.String;"));
+		assertCanCompile(expression);
+		tc.reset();
+		expression.getValue(tc);
+		assertTrue(tc.s.startsWith("[Ljava.lang.String;"));
+		tc.reset();
 
 		// varargs int
 		expression = parser.parseExpression("twelve(1,2,3)");
@@ -4980,17 +5184,64 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		Field f = SpelExpression.class.getDeclaredField("compiledAst");
 		Set<Object> classloadersUsed = new HashSet<>();
 		for (int i = 0; i < 1500; i++) {  // 1500 is greater than SpelCompiler.CLASSES_DEFINED_LIMIT
-			expression = parser.parseExpression("4 + 5");
-			assertEquals(9, (int) expression.getValue(Integer.class));
+			// Distinct expressions, since identical ones share their compiled class
+			expression = parser.parseExpression("4 + " + i);
+			assertEquals(4 + i, (int) expression.getValue(Integer.class));
 			assertCanCompile(expression);
 			f.setAccessible(true);
 			CompiledExpression cEx = (CompiledExpression) f.get(expression);
 			classloadersUsed.add(cEx.getClass().getClassLoader());
-			assertEquals(9, (int) expression.getValue(Integer.class));
+			assertEquals(4 + i, (int) expression.getValue(Integer.class));
 		}
 		assertTrue(classloadersUsed.size() > 1);
 	}
 
+	@Test
+	public void compiledClassSharedByIdenticalExpressions() throws Exception {
+		Field f = SpelExpression.class.getDeclaredField("compiledAst");
+		f.setAccessible(true);
+
+		Expression expression1 = new SpelExpressionParser().parseExpression("'abc'.length() + 5");
+		Expression expression2 = new SpelExpressionParser().parseExpression("'abc'.length() + 5");
+		Expression expression3 = new SpelExpressionParser().parseExpression("'abc'.length() + 6");
+		assertEquals(8, expression1.getValue());
+		assertEquals(8, expression2.getValue());
+		assertEquals(9, expression3.getValue());
+		assertCanCompile(expression1);
+		assertCanCompile(expression2);
+		assertCanCompile(expression3);
+
+		CompiledExpression compiled1 = (CompiledExpression) f.get(expression1);
+		CompiledExpression compiled2 = (CompiledExpression) f.get(expression2);
+		CompiledExpression compiled3 = (CompiledExpression) f.get(expression3);
+		assertNotSame(compiled1, compiled2);
+		assertSame(compiled1.getClass(), compiled2.getClass());
+		assertNotSame(compiled1.getClass(), compiled3.getClass());
+		assertEquals(8, expression2.getValue());
+		assertEquals(9, expression3.getValue());
+	}
+
+	@Test
+	public void compiledClassWithClassNameInLiterals() throws Exception {
+		Field f = SpelExpression.class.getDeclaredField("compiledAst");
+		f.setAccessible(true);
+
+		Expression expression = new SpelExpressionParser().parseExpression("'spel/Ex' + 'Lspel/Ex;'");
+		assertEquals("spel/ExLspel/Ex;", expression.getValue());
+		assertCanCompile(expression);
+		assertEquals("spel/ExLspel/Ex;", expression.getValue());
+
+		// Inline lists are held in a static field of the generated class
+		expression = new SpelExpressionParser().parseExpression("{'spel/Ex', 'Lspel/Ex;'}");
+		assertEquals("[spel/Ex, Lspel/Ex;]", expression.getValue().toString());
+		assertCanCompile(expression);
+		assertEquals("[spel/Ex, Lspel/Ex;]", expression.getValue().toString());
+
+		CompiledExpression compiled = (CompiledExpression) f.get(expression);
+		assertTrue(compiled.getClass().getName().startsWith("spel.Ex"));
+		assertNotEquals("spel.Ex", compiled.getClass().getName());
+	}
+
 
 	// helper methods
 
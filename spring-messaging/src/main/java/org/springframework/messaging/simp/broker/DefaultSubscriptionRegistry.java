@@ -31,6 +31,7 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.common.CachingExpressionParser;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.SimpleEvaluationContext;
@@ -79,7 +80,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	private volatile boolean selectorHeaderInUse = false;
 
-	private final ExpressionParser expressionParser = new SpelExpressionParser();
+	private final ExpressionParser expressionParser = new CachingExpressionParser(new SpelExpressionParser());
 
 	private final DestinationCache destinationCache = new DestinationCache();
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.transaction.interceptor;
 
 import java.lang.reflect.Method;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.logging.Log;
@@ -79,6 +80,11 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	private static final Object DEFAULT_TRANSACTION_MANAGER_KEY = new Object();
 
+	/**
+	 * Key to use to store transaction metadata for invocations without target class.
+	 */
+	private static final Object NO_TARGET_CLASS = new Object();
+
 	/**
 	 * Holder to support the {@code currentTransactionStatus()} method,
 	 * and to support communication between different cooperating advices
@@ -144,6 +150,9 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	private final ConcurrentMap<Object, PlatformTransactionManager> transactionManagerCache =
 			new ConcurrentReferenceHashMap<>(4);
 
+	private final ConcurrentMap<Method, ConcurrentMap<Object, TransactionMethodMetadata>> methodMetadataCache =
+			new ConcurrentHashMap<>(256);
+
 
 	/**
 	 * Specify the name of the default transaction manager bean.
@@ -194,7 +203,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	public void setTransactionAttributes(Properties transactionAttributes) {
 		NameMatchTransactionAttributeSource tas = new NameMatchTransactionAttributeSource();
 		tas.setProperties(transactionAttributes);
-		this.transactionAttributeSource = tas;
+		setTransactionAttributeSource(tas);
 	}
 
 	/**
@@ -206,7 +215,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 * @see org.springframework.transaction.annotation.AnnotationTransactionAttributeSource
 	 */
 	public void setTransactionAttributeSources(TransactionAttributeSource... transactionAttributeSources) {
-		this.transactionAttributeSource = new CompositeTransactionAttributeSource(transactionAttributeSources);
+		setTransactionAttributeSource(new CompositeTransactionAttributeSource(transactionAttributeSources));
 	}
 
 	/**
@@ -220,6 +229,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSource(@Nullable TransactionAttributeSource transactionAttributeSource) {
 		this.transactionAttributeSource = transactionAttributeSource;
+		this.methodMetadataCache.clear();
 	}
 
 	/**
@@ -279,14 +289,15 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 			final InvocationCallback invocation) throws Throwable {
 
 		// If the transaction attribute is null, the method is non-transactional.
-		TransactionAttributeSource tas = getTransactionAttributeSource();
-		final TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
+		TransactionMethodMetadata metadata = getTransactionMethodMetadata(method, targetClass);
+		final TransactionAttribute txAttr = metadata.transactionAttribute;
 		final PlatformTransactionManager tm = determineTransactionManager(txAttr);
-		final String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		final String joinpointIdentification = metadata.joinpointIdentification;
 
 		if (txAttr == null || !(tm instanceof CallbackPreferringPlatformTransactionManager)) {
 			// Standard transaction demarcation with getTransaction and commit/rollback calls.
-			TransactionInfo txInfo = createTransactionIfNecessary(tm, txAttr, joinpointIdentification);
+			TransactionInfo txInfo =
+					createTransactionIfNecessary(tm, metadata.namedTransactionAttribute, joinpointIdentification);
 			Object retVal = null;
 			try {
 				// This is an around advice: Invoke the next interceptor in the chain.
@@ -361,11 +372,42 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		}
 	}
 
+	/**
+	 * Determine the transaction metadata for the given method invocation,
+	 * resolving the transaction attribute and the joinpoint identification
+	 * once per method and target class, and caching them for subsequent calls.
+	 * <p>The cache is keyed by {@link Method} first, which is usually a lookup
+	 * by identity without any key allocation, and then by target class.
+	 * @param method the Method being invoked
+	 * @param targetClass the target class that we're invoking the method on
+	 * @return the transaction metadata (never {@code null})
+	 */
+	private TransactionMethodMetadata getTransactionMethodMetadata(Method method, @Nullable Class<?> targetClass) {
+		ConcurrentMap<Object, TransactionMethodMetadata> metadataByTarget = this.methodMetadataCache.get(method);
+		if (metadataByTarget == null) {
+			metadataByTarget = this.methodMetadataCache.computeIfAbsent(method, key -> new ConcurrentHashMap<>(4));
+		}
+		Object targetKey = (targetClass != null ? targetClass : NO_TARGET_CLASS);
+		TransactionMethodMetadata metadata = metadataByTarget.get(targetKey);
+		if (metadata == null) {
+			TransactionAttributeSource tas = getTransactionAttributeSource();
+			TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
+			String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+			metadata = new TransactionMethodMetadata(txAttr, joinpointIdentification);
+			TransactionMethodMetadata existing = metadataByTarget.putIfAbsent(targetKey, metadata);
+			if (existing != null) {
+				metadata = existing;
+			}
+		}
+		return metadata;
+	}
+
 	/**
 	 * Clear the cache.
 	 */
 	protected void clearTransactionManagerCache() {
 		this.transactionManagerCache.clear();
+		this.methodMetadataCache.clear();
 		this.beanFactory = null;
 	}
 
@@ -454,18 +496,12 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 * tell if there was a transaction created.
 	 * @see #getTransactionAttributeSource()
 	 */
-	@SuppressWarnings("serial")
 	protected TransactionInfo createTransactionIfNecessary(@Nullable PlatformTransactionManager tm,
 			@Nullable TransactionAttribute txAttr, final String joinpointIdentification) {
 
 		// If no name specified, apply method identification as transaction name.
 		if (txAttr != null && txAttr.getName() == null) {
-			txAttr = new DelegatingTransactionAttribute(txAttr) {
-				@Override
-				public String getName() {
-					return joinpointIdentification;
-				}
-			};
+			txAttr = new NamedTransactionAttribute(txAttr, joinpointIdentification);
 		}
 
 		TransactionStatus status = null;
@@ -673,6 +709,53 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	}
 
 
+	/**
+	 * Transaction metadata of a method on a particular target class that does
+	 * not depend on the invocation, resolved once and reused for subsequent
+	 * invocations. The transaction manager is determined for each invocation.
+	 */
+	private static final class TransactionMethodMetadata {
+
+		@Nullable
+		private final TransactionAttribute transactionAttribute;
+
+		@Nullable
+		private final TransactionAttribute namedTransactionAttribute;
+
+		private final String joinpointIdentification;
+
+		public TransactionMethodMetadata(
+				@Nullable TransactionAttribute transactionAttribute, String joinpointIdentification) {
+
+			this.transactionAttribute = transactionAttribute;
+			this.namedTransactionAttribute = (transactionAttribute != null && transactionAttribute.getName() == null ?
+					new NamedTransactionAttribute(transactionAttribute, joinpointIdentification) : transactionAttribute);
+			this.joinpointIdentification = joinpointIdentification;
+		}
+	}
+
+
+	/**
+	 * TransactionAttribute that exposes the joinpoint identification
+	 * as transaction name, for attributes without a name of their own.
+	 */
+	@SuppressWarnings("serial")
+	private static class NamedTransactionAttribute extends DelegatingTransactionAttribute {
+
+		private final String name;
+
+		public NamedTransactionAttribute(TransactionAttribute targetAttribute, String name) {
+			super(targetAttribute);
+			this.name = name;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+	}
+
+
 	/**
 	 * Simple callback interface for proceeding with the target invocation.
 	 * Concrete interceptors/aspects adapt this to their invocation mechanism.
@@ -19,7 +19,11 @@ package org.springframework.transaction.support;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -127,6 +131,8 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 
 	private boolean rollbackOnCommitFailure = false;
 
+	private transient List<TransactionLifecycleListener> transactionLifecycleListeners = Collections.emptyList();
+
 
 	/**
 	 * Set the transaction synchronization by the name of the corresponding constant
@@ -324,6 +330,30 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		return this.rollbackOnCommitFailure;
 	}
 
+	/**
+	 * Set the {@link TransactionLifecycleListener listeners} to be notified
+	 * about the lifecycle of the actual transactions managed by this
+	 * transaction manager, e.g. for collecting timing statistics.
+	 * <p>Note that listeners are not serialized along with this
+	 * transaction manager.
+	 * @since 5.1
+	 * @see InMemoryTransactionStatistics
+	 */
+	public final void setTransactionLifecycleListeners(
+			Collection<? extends TransactionLifecycleListener> transactionLifecycleListeners) {
+
+		this.transactionLifecycleListeners = new ArrayList<>(transactionLifecycleListeners);
+	}
+
+	/**
+	 * Return the registered {@link TransactionLifecycleListener listeners}
+	 * for this transaction manager.
+	 * @since 5.1
+	 */
+	public final List<TransactionLifecycleListener> getTransactionLifecycleListeners() {
+		return Collections.unmodifiableList(this.transactionLifecycleListeners);
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of PlatformTransactionManager
@@ -372,12 +402,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 				logger.debug("Creating new transaction with name [" + definition.getName() + "]: " + definition);
 			}
 			try {
-				boolean newSynchronization = (getTransactionSynchronization() != SYNCHRONIZATION_NEVER);
-				DefaultTransactionStatus status = newTransactionStatus(
-						definition, transaction, true, newSynchronization, debugEnabled, suspendedResources);
-				doBegin(transaction, definition);
-				prepareSynchronization(status, definition);
-				return status;
+				return startTransaction(definition, transaction, debugEnabled, suspendedResources);
 			}
 			catch (RuntimeException | Error ex) {
 				resume(null, suspendedResources);
@@ -424,12 +449,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 			}
 			SuspendedResourcesHolder suspendedResources = suspend(transaction);
 			try {
-				boolean newSynchronization = (getTransactionSynchronization() != SYNCHRONIZATION_NEVER);
-				DefaultTransactionStatus status = newTransactionStatus(
-						definition, transaction, true, newSynchronization, debugEnabled, suspendedResources);
-				doBegin(transaction, definition);
-				prepareSynchronization(status, definition);
-				return status;
+				return startTransaction(definition, transaction, debugEnabled, suspendedResources);
 			}
 			catch (RuntimeException | Error beginEx) {
 				resumeAfterBeginException(transaction, suspendedResources, beginEx);
@@ -459,12 +479,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 				// Nested transaction through nested begin and commit/rollback calls.
 				// Usually only for JTA: Spring synchronization might get activated here
 				// in case of a pre-existing JTA transaction.
-				boolean newSynchronization = (getTransactionSynchronization() != SYNCHRONIZATION_NEVER);
-				DefaultTransactionStatus status = newTransactionStatus(
-						definition, transaction, true, newSynchronization, debugEnabled, null);
-				doBegin(transaction, definition);
-				prepareSynchronization(status, definition);
-				return status;
+				return startTransaction(definition, transaction, debugEnabled, null);
 			}
 		}
 
@@ -495,6 +510,38 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		return prepareTransactionStatus(definition, transaction, false, newSynchronization, debugEnabled, null);
 	}
 
+	/**
+	 * Start a new transaction, delegating to {@code doBegin} and
+	 * notifying the registered lifecycle listeners, if any.
+	 */
+	private TransactionStatus startTransaction(TransactionDefinition definition, Object transaction,
+			boolean debugEnabled, @Nullable SuspendedResourcesHolder suspendedResources) {
+
+		boolean newSynchronization = (getTransactionSynchronization() != SYNCHRONIZATION_NEVER);
+		DefaultTransactionStatus status = newTransactionStatus(
+				definition, transaction, true, newSynchronization, debugEnabled, suspendedResources);
+		if (this.transactionLifecycleListeners.isEmpty()) {
+			doBegin(transaction, definition);
+		}
+		else {
+			String name = definition.getName();
+			long startTime = System.nanoTime();
+			try {
+				doBegin(transaction, definition);
+			}
+			catch (RuntimeException | Error ex) {
+				long beginDuration = System.nanoTime() - startTime;
+				notifyLifecycleListeners(listener -> listener.afterBeginFailure(name, beginDuration, ex));
+				throw ex;
+			}
+			long beginDuration = System.nanoTime() - startTime;
+			status.startLifecycleTracking(name, startTime);
+			notifyLifecycleListeners(listener -> listener.afterBegin(name, beginDuration));
+		}
+		prepareSynchronization(status, definition);
+		return status;
+	}
+
 	/**
 	 * Create a new TransactionStatus for the given arguments,
 	 * also initializing transaction synchronization as appropriate.
@@ -569,6 +616,23 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 	 */
 	@Nullable
 	protected final SuspendedResourcesHolder suspend(@Nullable Object transaction) throws TransactionException {
+		if (transaction == null || this.transactionLifecycleListeners.isEmpty()) {
+			return suspendResources(transaction);
+		}
+		long startTime = System.nanoTime();
+		SuspendedResourcesHolder resourcesHolder = suspendResources(transaction);
+		long suspendDuration = System.nanoTime() - startTime;
+		String name = (resourcesHolder != null ? resourcesHolder.name : null);
+		notifyLifecycleListeners(listener -> listener.afterSuspend(name, suspendDuration));
+		return resourcesHolder;
+	}
+
+	/**
+	 * Suspend synchronization and resources for the given transaction.
+	 * @see #suspend
+	 */
+	@Nullable
+	private SuspendedResourcesHolder suspendResources(@Nullable Object transaction) throws TransactionException {
 		if (TransactionSynchronizationManager.isSynchronizationActive()) {
 			List<TransactionSynchronization> suspendedSynchronizations = doSuspendSynchronization();
 			try {
@@ -617,6 +681,25 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 	protected final void resume(@Nullable Object transaction, @Nullable SuspendedResourcesHolder resourcesHolder)
 			throws TransactionException {
 
+		if (resourcesHolder == null || resourcesHolder.suspendedResources == null ||
+				this.transactionLifecycleListeners.isEmpty()) {
+			resumeResources(transaction, resourcesHolder);
+			return;
+		}
+		long startTime = System.nanoTime();
+		resumeResources(transaction, resourcesHolder);
+		long resumeDuration = System.nanoTime() - startTime;
+		String name = resourcesHolder.name;
+		notifyLifecycleListeners(listener -> listener.afterResume(name, resumeDuration));
+	}
+
+	/**
+	 * Resume synchronization and resources for the given transaction.
+	 * @see #resume
+	 */
+	private void resumeResources(@Nullable Object transaction, @Nullable SuspendedResourcesHolder resourcesHolder)
+			throws TransactionException {
+
 		if (resourcesHolder != null) {
 			Object suspendedResources = resourcesHolder.suspendedResources;
 			if (suspendedResources != null) {
@@ -919,7 +1002,11 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 			if (status.isDebug()) {
 				logger.trace("Triggering beforeCommit synchronization");
 			}
+			long startTime = (status.isLifecycleTracked() ? System.nanoTime() : 0);
 			TransactionSynchronizationUtils.triggerBeforeCommit(status.isReadOnly());
+			if (status.isLifecycleTracked()) {
+				status.addSynchronizationTime(System.nanoTime() - startTime);
+			}
 		}
 	}
 
@@ -932,7 +1019,11 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 			if (status.isDebug()) {
 				logger.trace("Triggering beforeCompletion synchronization");
 			}
+			long startTime = (status.isLifecycleTracked() ? System.nanoTime() : 0);
 			TransactionSynchronizationUtils.triggerBeforeCompletion();
+			if (status.isLifecycleTracked()) {
+				status.addSynchronizationTime(System.nanoTime() - startTime);
+			}
 		}
 	}
 
@@ -945,7 +1036,11 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 			if (status.isDebug()) {
 				logger.trace("Triggering afterCommit synchronization");
 			}
+			long startTime = (status.isLifecycleTracked() ? System.nanoTime() : 0);
 			TransactionSynchronizationUtils.triggerAfterCommit();
+			if (status.isLifecycleTracked()) {
+				status.addSynchronizationTime(System.nanoTime() - startTime);
+			}
 		}
 	}
 
@@ -955,6 +1050,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 	 * @param completionStatus completion status according to TransactionSynchronization constants
 	 */
 	private void triggerAfterCompletion(DefaultTransactionStatus status, int completionStatus) {
+		status.setCompletionStatus(completionStatus);
 		if (status.isNewSynchronization()) {
 			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
 			TransactionSynchronizationManager.clearSynchronization();
@@ -964,7 +1060,11 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 				}
 				// No transaction or new transaction for the current scope ->
 				// invoke the afterCompletion callbacks immediately
+				long startTime = (status.isLifecycleTracked() ? System.nanoTime() : 0);
 				invokeAfterCompletion(synchronizations, completionStatus);
+				if (status.isLifecycleTracked()) {
+					status.addSynchronizationTime(System.nanoTime() - startTime);
+				}
 			}
 			else if (!synchronizations.isEmpty()) {
 				// Existing transaction that we participate in, controlled outside
@@ -1006,6 +1106,14 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		if (status.isNewTransaction()) {
 			doCleanupAfterCompletion(status.getTransaction());
 		}
+		if (status.isLifecycleTracked()) {
+			String name = status.getTransactionName();
+			int completionStatus = status.getCompletionStatus();
+			long transactionDuration = System.nanoTime() - status.getStartTime();
+			long synchronizationDuration = status.getSynchronizationTime();
+			notifyLifecycleListeners(listener -> listener.afterCompletion(
+					name, completionStatus, transactionDuration, synchronizationDuration));
+		}
 		if (status.getSuspendedResources() != null) {
 			if (status.isDebug()) {
 				logger.debug("Resuming suspended transaction after completion of inner transaction");
@@ -1015,6 +1123,22 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		}
 	}
 
+	/**
+	 * Invoke the given callback on all registered lifecycle listeners,
+	 * logging any exception thrown by a listener.
+	 * @param callback the callback to invoke
+	 */
+	private void notifyLifecycleListeners(Consumer<TransactionLifecycleListener> callback) {
+		for (TransactionLifecycleListener listener : this.transactionLifecycleListeners) {
+			try {
+				callback.accept(listener);
+			}
+			catch (Throwable ex) {
+				logger.error("TransactionLifecycleListener threw exception", ex);
+			}
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Template methods to be implemented in subclasses
@@ -1266,6 +1390,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 
 		// Initialize transient fields.
 		this.logger = LogFactory.getLog(getClass());
+		this.transactionLifecycleListeners = Collections.emptyList();
 	}
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,6 +64,17 @@ public class DefaultTransactionStatus extends AbstractTransactionStatus {
 	@Nullable
 	private final Object suspendedResources;
 
+	private boolean lifecycleTracked;
+
+	@Nullable
+	private String transactionName;
+
+	private long startTime;
+
+	private long synchronizationTime;
+
+	private int completionStatus = TransactionSynchronization.STATUS_UNKNOWN;
+
 
 	/**
 	 * Create a new DefaultTransactionStatus instance.
@@ -148,6 +159,51 @@ public class DefaultTransactionStatus extends AbstractTransactionStatus {
 	}
 
 
+	/**
+	 * Start tracking the lifecycle of this transaction for
+	 * {@link TransactionLifecycleListener} notifications.
+	 * @param transactionName the name of the transaction (may be {@code null})
+	 * @param startTime the start time of the transaction, in nanoseconds
+	 */
+	void startLifecycleTracking(@Nullable String transactionName, long startTime) {
+		this.lifecycleTracked = true;
+		this.transactionName = transactionName;
+		this.startTime = startTime;
+	}
+
+	/**
+	 * Return whether the lifecycle of this transaction is being tracked.
+	 */
+	boolean isLifecycleTracked() {
+		return this.lifecycleTracked;
+	}
+
+	@Nullable
+	String getTransactionName() {
+		return this.transactionName;
+	}
+
+	long getStartTime() {
+		return this.startTime;
+	}
+
+	void addSynchronizationTime(long synchronizationTime) {
+		this.synchronizationTime += synchronizationTime;
+	}
+
+	long getSynchronizationTime() {
+		return this.synchronizationTime;
+	}
+
+	void setCompletionStatus(int completionStatus) {
+		this.completionStatus = completionStatus;
+	}
+
+	int getCompletionStatus() {
+		return this.completionStatus;
+	}
+
+
 	//---------------------------------------------------------------------
 	// Enable functionality through underlying transaction object
 	//---------------------------------------------------------------------
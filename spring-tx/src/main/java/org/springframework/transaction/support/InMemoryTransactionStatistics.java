@@ -0,0 +1,445 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TransactionLifecycleListener} that aggregates transaction statistics
+ * in memory, per transaction name: begin times (e.g. the time spent waiting
+ * for a pooled connection) and failures, transaction durations including a histogram,
+ * commit and rollback counts, time spent in synchronization callbacks, and
+ * the number of transactions currently in progress.
+ *
+ * <p>Transactions without a name are aggregated under {@link #UNNAMED}.
+ *
+ * <p>Register an instance with a transaction manager through
+ * {@link AbstractPlatformTransactionManager#setTransactionLifecycleListeners}
+ * and obtain snapshots through {@link #getStatistics(String)}.
+ *
+ * @since 5.1
+ */
+public class InMemoryTransactionStatistics implements TransactionLifecycleListener {
+
+	/**
+	 * Key under which statistics for unnamed transactions are aggregated.
+	 */
+	public static final String UNNAMED = "(unnamed)";
+
+	private static final Duration[] DEFAULT_DURATION_BUCKETS = {
+			Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(50),
+			Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5),
+			Duration.ofSeconds(10)};
+
+
+	private final Duration[] durationBuckets;
+
+	private final long[] durationBucketNanos;
+
+	private final ConcurrentMap<String, TransactionCounters> counters = new ConcurrentHashMap<>(64);
+
+
+	/**
+	 * Create a new {@code InMemoryTransactionStatistics} instance
+	 * with default histogram buckets from 1 millisecond to 10 seconds.
+	 */
+	public InMemoryTransactionStatistics() {
+		this(DEFAULT_DURATION_BUCKETS);
+	}
+
+	/**
+	 * Create a new {@code InMemoryTransactionStatistics} instance
+	 * with the given upper bounds for the transaction duration histogram.
+	 * @param durationBuckets the upper bounds of the histogram buckets,
+	 * in ascending order (an additional bucket collects all longer durations)
+	 */
+	public InMemoryTransactionStatistics(Duration... durationBuckets) {
+		Assert.notEmpty(durationBuckets, "At least one duration bucket is required");
+		this.durationBuckets = durationBuckets.clone();
+		this.durationBucketNanos = new long[durationBuckets.length];
+		for (int i = 0; i < durationBuckets.length; i++) {
+			Assert.notNull(durationBuckets[i], "Duration buckets must not contain null");
+			this.durationBucketNanos[i] = durationBuckets[i].toNanos();
+			Assert.isTrue(i == 0 || this.durationBucketNanos[i] > this.durationBucketNanos[i - 1],
+					"Duration buckets must be in ascending order");
+		}
+	}
+
+
+	@Override
+	public void afterBegin(@Nullable String transactionName, long beginDuration) {
+		TransactionCounters counters = getCounters(transactionName);
+		counters.beginCount.incrementAndGet();
+		counters.activeCount.incrementAndGet();
+		counters.totalBeginTime.addAndGet(beginDuration);
+		counters.maxBeginTime.accumulateAndGet(beginDuration, Math::max);
+	}
+
+	@Override
+	public void afterBeginFailure(@Nullable String transactionName, long beginDuration, Throwable ex) {
+		TransactionCounters counters = getCounters(transactionName);
+		counters.beginFailureCount.incrementAndGet();
+		counters.totalBeginTime.addAndGet(beginDuration);
+		counters.maxBeginTime.accumulateAndGet(beginDuration, Math::max);
+	}
+
+	@Override
+	public void afterSuspend(@Nullable String transactionName, long suspendDuration) {
+		getCounters(transactionName).suspendCount.incrementAndGet();
+	}
+
+	@Override
+	public void afterResume(@Nullable String transactionName, long resumeDuration) {
+		getCounters(transactionName).resumeCount.incrementAndGet();
+	}
+
+	@Override
+	public void afterCompletion(@Nullable String transactionName, int completionStatus,
+			long transactionDuration, long synchronizationDuration) {
+
+		TransactionCounters counters = getCounters(transactionName);
+		counters.activeCount.decrementAndGet();
+		if (completionStatus == TransactionSynchronization.STATUS_COMMITTED) {
+			counters.commitCount.incrementAndGet();
+		}
+		else if (completionStatus == TransactionSynchronization.STATUS_ROLLED_BACK) {
+			counters.rollbackCount.incrementAndGet();
+		}
+		else {
+			counters.unknownCount.incrementAndGet();
+		}
+		counters.totalTime.addAndGet(transactionDuration);
+		counters.maxTime.accumulateAndGet(transactionDuration, Math::max);
+		counters.totalSynchronizationTime.addAndGet(synchronizationDuration);
+		counters.histogram.incrementAndGet(determineBucket(transactionDuration));
+	}
+
+	private TransactionCounters getCounters(@Nullable String transactionName) {
+		String key = (transactionName != null ? transactionName : UNNAMED);
+		TransactionCounters counters = this.counters.get(key);
+		if (counters == null) {
+			counters = this.counters.computeIfAbsent(key,
+					name -> new TransactionCounters(this.durationBucketNanos.length + 1));
+		}
+		return counters;
+	}
+
+	private int determineBucket(long duration) {
+		for (int i = 0; i < this.durationBucketNanos.length; i++) {
+			if (duration <= this.durationBucketNanos[i]) {
+				return i;
+			}
+		}
+		return this.durationBucketNanos.length;
+	}
+
+
+	/**
+	 * Return the names of all transactions that statistics have been collected for.
+	 */
+	public Set<String> getTransactionNames() {
+		return Collections.unmodifiableSet(new TreeSet<>(this.counters.keySet()));
+	}
+
+	/**
+	 * Return a snapshot of the statistics for the given transaction name.
+	 * @param transactionName the name of the transaction
+	 * (or {@link #UNNAMED} for transactions without a name)
+	 * @return the statistics, or {@code null} if none have been collected
+	 */
+	@Nullable
+	public Statistics getStatistics(String transactionName) {
+		TransactionCounters counters = this.counters.get(transactionName);
+		return (counters != null ? new Statistics(transactionName, this.durationBuckets, counters) : null);
+	}
+
+	/**
+	 * Clear all collected statistics.
+	 * <p>Note that the number of transactions in progress starts
+	 * from zero again as well.
+	 */
+	public void reset() {
+		this.counters.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "InMemoryTransactionStatistics for " + getTransactionNames();
+	}
+
+
+	/**
+	 * Mutable counters for a specific transaction name.
+	 */
+	private static class TransactionCounters {
+
+		final AtomicLong beginCount = new AtomicLong();
+
+		final AtomicLong beginFailureCount = new AtomicLong();
+
+		final AtomicLong activeCount = new AtomicLong();
+
+		final AtomicLong totalBeginTime = new AtomicLong();
+
+		final AtomicLong maxBeginTime = new AtomicLong();
+
+		final AtomicLong suspendCount = new AtomicLong();
+
+		final AtomicLong resumeCount = new AtomicLong();
+
+		final AtomicLong commitCount = new AtomicLong();
+
+		final AtomicLong rollbackCount = new AtomicLong();
+
+		final AtomicLong unknownCount = new AtomicLong();
+
+		final AtomicLong totalTime = new AtomicLong();
+
+		final AtomicLong maxTime = new AtomicLong();
+
+		final AtomicLong totalSynchronizationTime = new AtomicLong();
+
+		final AtomicLongArray histogram;
+
+		TransactionCounters(int bucketCount) {
+			this.histogram = new AtomicLongArray(bucketCount);
+		}
+	}
+
+
+	/**
+	 * Snapshot of the statistics collected for a specific transaction name.
+	 */
+	public static final class Statistics {
+
+		private final String transactionName;
+
+		private final long beginCount;
+
+		private final long beginFailureCount;
+
+		private final long activeCount;
+
+		private final long totalBeginTime;
+
+		private final long maxBeginTime;
+
+		private final long suspendCount;
+
+		private final long resumeCount;
+
+		private final long commitCount;
+
+		private final long rollbackCount;
+
+		private final long unknownCount;
+
+		private final long totalTime;
+
+		private final long maxTime;
+
+		private final long totalSynchronizationTime;
+
+		private final Duration[] durationBuckets;
+
+		private final long[] durationCounts;
+
+		private Statistics(String transactionName, Duration[] durationBuckets, TransactionCounters counters) {
+			this.transactionName = transactionName;
+			this.beginCount = counters.beginCount.get();
+			this.beginFailureCount = counters.beginFailureCount.get();
+			this.activeCount = Math.max(counters.activeCount.get(), 0);
+			this.totalBeginTime = counters.totalBeginTime.get();
+			this.maxBeginTime = counters.maxBeginTime.get();
+			this.suspendCount = counters.suspendCount.get();
+			this.resumeCount = counters.resumeCount.get();
+			this.commitCount = counters.commitCount.get();
+			this.rollbackCount = counters.rollbackCount.get();
+			this.unknownCount = counters.unknownCount.get();
+			this.totalTime = counters.totalTime.get();
+			this.maxTime = counters.maxTime.get();
+			this.totalSynchronizationTime = counters.totalSynchronizationTime.get();
+			this.durationBuckets = durationBuckets;
+			this.durationCounts = new long[counters.histogram.length()];
+			for (int i = 0; i < this.durationCounts.length; i++) {
+				this.durationCounts[i] = counters.histogram.get(i);
+			}
+		}
+
+		/**
+		 * Return the name of the transaction.
+		 */
+		public String getTransactionName() {
+			return this.transactionName;
+		}
+
+		/**
+		 * Return the number of transactions that have begun.
+		 */
+		public long getBeginCount() {
+			return this.beginCount;
+		}
+
+		/**
+		 * Return the number of transactions that failed to begin,
+		 * e.g. due to a timeout when obtaining a pooled connection.
+		 */
+		public long getBeginFailureCount() {
+			return this.beginFailureCount;
+		}
+
+		/**
+		 * Return the number of transactions currently in progress.
+		 */
+		public long getActiveCount() {
+			return this.activeCount;
+		}
+
+		/**
+		 * Return the average time spent beginning a transaction,
+		 * including failed attempts.
+		 */
+		public Duration getAverageBeginTime() {
+			return average(this.totalBeginTime, this.beginCount + this.beginFailureCount);
+		}
+
+		/**
+		 * Return the maximum time spent beginning a transaction,
+		 * including failed attempts.
+		 */
+		public Duration getMaxBeginTime() {
+			return Duration.ofNanos(this.maxBeginTime);
+		}
+
+		/**
+		 * Return the number of times a transaction has been suspended.
+		 */
+		public long getSuspendCount() {
+			return this.suspendCount;
+		}
+
+		/**
+		 * Return the number of times a transaction has been resumed.
+		 */
+		public long getResumeCount() {
+			return this.resumeCount;
+		}
+
+		/**
+		 * Return the number of committed transactions.
+		 */
+		public long getCommitCount() {
+			return this.commitCount;
+		}
+
+		/**
+		 * Return the number of rolled back transactions.
+		 */
+		public long getRollbackCount() {
+			return this.rollbackCount;
+		}
+
+		/**
+		 * Return the number of transactions with an unknown outcome,
+		 * e.g. due to a system error on commit.
+		 */
+		public long getUnknownCount() {
+			return this.unknownCount;
+		}
+
+		/**
+		 * Return the number of completed transactions.
+		 */
+		public long getCompletionCount() {
+			return (this.commitCount + this.rollbackCount + this.unknownCount);
+		}
+
+		/**
+		 * Return the ratio of rolled back transactions
+		 * to completed transactions, between 0 and 1.
+		 */
+		public double getRollbackRate() {
+			long completionCount = getCompletionCount();
+			return (completionCount > 0 ? (double) this.rollbackCount / completionCount : 0);
+		}
+
+		/**
+		 * Return the average duration of a completed transaction.
+		 */
+		public Duration getAverageTime() {
+			return average(this.totalTime, getCompletionCount());
+		}
+
+		/**
+		 * Return the maximum duration of a completed transaction.
+		 */
+		public Duration getMaxTime() {
+			return Duration.ofNanos(this.maxTime);
+		}
+
+		/**
+		 * Return the average time spent in synchronization callbacks
+		 * per completed transaction.
+		 */
+		public Duration getAverageSynchronizationTime() {
+			return average(this.totalSynchronizationTime, getCompletionCount());
+		}
+
+		/**
+		 * Return the upper bounds of the buckets of the transaction duration histogram.
+		 * @see #getDurationCounts()
+		 */
+		public Duration[] getDurationBuckets() {
+			return this.durationBuckets.clone();
+		}
+
+		/**
+		 * Return the number of completed transactions per histogram bucket.
+		 * <p>The returned array contains one more element than the
+		 * {@link #getDurationBuckets() buckets}, counting the transactions
+		 * that took longer than the largest bucket.
+		 */
+		public long[] getDurationCounts() {
+			return this.durationCounts.clone();
+		}
+
+		private static Duration average(long total, long count) {
+			return Duration.ofNanos(count > 0 ? total / count : 0);
+		}
+
+		@Override
+		public String toString() {
+			return "Statistics for transaction '" + this.transactionName + "': begun=" + this.beginCount +
+					", failed to begin=" + this.beginFailureCount + ", active=" + getActiveCount() + ", committed=" + this.commitCount +
+					", rolled back=" + this.rollbackCount + ", unknown=" + this.unknownCount +
+					", average begin time=" + getAverageBeginTime() + ", average time=" + getAverageTime() +
+					", max time=" + getMaxTime() + ", histogram=" + Arrays.toString(this.durationCounts);
+		}
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Callback interface for observing the lifecycle of actual transactions
+ * managed by an {@link AbstractPlatformTransactionManager}, including
+ * timing information for each phase.
+ *
+ * <p>In contrast to {@link TransactionSynchronization}, a listener is
+ * registered with a transaction manager once and gets notified about all
+ * transactions that the manager begins, suspends, resumes and completes.
+ * Participation in an existing transaction does not trigger any callbacks.
+ *
+ * <p>All callbacks are invoked on the thread that drives the transaction.
+ * Implementations need to be thread-safe and should return quickly,
+ * since they run within the transaction workflow. Exceptions thrown
+ * from a listener get logged and do not affect the transaction.
+ *
+ * <p>All durations are given in nanoseconds.
+ *
+ * @since 5.1
+ * @see AbstractPlatformTransactionManager#setTransactionLifecycleListeners
+ * @see InMemoryTransactionStatistics
+ */
+public interface TransactionLifecycleListener {
+
+	/**
+	 * Invoked after a new transaction has begun.
+	 * <p>The given duration covers the transaction manager's {@code doBegin}
+	 * step, which usually includes obtaining a resource such as a JDBC
+	 * Connection from a connection pool.
+	 * @param transactionName the name of the transaction (may be {@code null})
+	 * @param beginDuration the time spent beginning the transaction
+	 */
+	default void afterBegin(@Nullable String transactionName, long beginDuration) {
+	}
+
+	/**
+	 * Invoked after an attempt to begin a new transaction has failed,
+	 * e.g. because no JDBC Connection could be obtained from an exhausted pool.
+	 * <p>The given duration covers the failed {@code doBegin} step.
+	 * @param transactionName the name of the transaction (may be {@code null})
+	 * @param beginDuration the time spent before beginning the transaction failed
+	 * @param ex the exception thrown by the transaction manager
+	 */
+	default void afterBeginFailure(@Nullable String transactionName, long beginDuration, Throwable ex) {
+	}
+
+	/**
+	 * Invoked after an actual transaction has been suspended,
+	 * e.g. for a {@code PROPAGATION_REQUIRES_NEW} inner transaction.
+	 * @param transactionName the name of the suspended transaction (may be {@code null})
+	 * @param suspendDuration the time spent suspending the transaction
+	 */
+	default void afterSuspend(@Nullable String transactionName, long suspendDuration) {
+	}
+
+	/**
+	 * Invoked after a previously suspended transaction has been resumed.
+	 * @param transactionName the name of the resumed transaction (may be {@code null})
+	 * @param resumeDuration the time spent resuming the transaction
+	 */
+	default void afterResume(@Nullable String transactionName, long resumeDuration) {
+	}
+
+	/**
+	 * Invoked after a new transaction has been completed.
+	 * @param transactionName the name of the transaction (may be {@code null})
+	 * @param completionStatus the completion status according to the
+	 * {@code STATUS_*} constants in {@link TransactionSynchronization}
+	 * @param transactionDuration the time from the beginning of the transaction
+	 * until its completion, including all work performed within it
+	 * @param synchronizationDuration the time spent in
+	 * {@link TransactionSynchronization} callbacks during completion
+	 * @see TransactionSynchronization#STATUS_COMMITTED
+	 * @see TransactionSynchronization#STATUS_ROLLED_BACK
+	 * @see TransactionSynchronization#STATUS_UNKNOWN
+	 */
+	default void afterCompletion(@Nullable String transactionName, int completionStatus,
+			long transactionDuration, long synchronizationDuration) {
+	}
+
+}
@@ -22,15 +22,20 @@ import java.util.Properties;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.lang.Nullable;
+import org.springframework.tests.sample.beans.DerivedTestBean;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionStatus;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.SerializationTestUtils;
 
 import static org.junit.Assert.*;
@@ -258,6 +263,124 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 	}
 
 
+	@Test
+	public void transactionMetadataResolvedOncePerMethod() throws Exception {
+		BeanFactory beanFactory = mock(BeanFactory.class);
+		PlatformTransactionManager txManager = associateTransactionManager(beanFactory, "fooTransactionManager");
+		TransactionStatus status = mock(TransactionStatus.class);
+		given(txManager.getTransaction(any())).willReturn(status);
+
+		DefaultTransactionAttribute attribute = new DefaultTransactionAttribute();
+		attribute.setQualifier("fooTransactionManager");
+		TransactionAttributeSource tas = mock(TransactionAttributeSource.class);
+		given(tas.getTransactionAttribute(getNameMethod, TestBean.class)).willReturn(attribute);
+
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setBeanFactory(beanFactory);
+		ti.setTransactionAttributeSource(tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(0, ti);
+		ITestBean itb = (ITestBean) pf.getProxy();
+
+		itb.getName();
+		itb.getName();
+		itb.getName();
+
+		verify(tas, times(1)).getTransactionAttribute(getNameMethod, TestBean.class);
+		verify(beanFactory, times(1)).getBean("fooTransactionManager", PlatformTransactionManager.class);
+		verify(txManager, times(3)).commit(status);
+	}
+
+	@Test
+	public void transactionMetadataResolvedOncePerTargetClass() throws Exception {
+		PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+		TransactionAttributeSource tas = mock(TransactionAttributeSource.class);
+		given(tas.getTransactionAttribute(eq(getNameMethod), any())).willReturn(new DefaultTransactionAttribute());
+
+		TransactionInterceptor ti = new TransactionInterceptor(txManager, tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(0, ti);
+		ITestBean itb = (ITestBean) pf.getProxy();
+		pf = new ProxyFactory(new DerivedTestBean());
+		pf.addAdvice(0, ti);
+		ITestBean derived = (ITestBean) pf.getProxy();
+
+		for (int i = 0; i < 3; i++) {
+			itb.getName();
+			derived.getName();
+		}
+
+		verify(tas, times(1)).getTransactionAttribute(getNameMethod, TestBean.class);
+		verify(tas, times(1)).getTransactionAttribute(getNameMethod, DerivedTestBean.class);
+		verify(txManager, times(6)).getTransaction(any());
+	}
+
+	@Test
+	public void transactionManagerDeterminedPerInvocation() throws Exception {
+		PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(getNameMethod, new DefaultTransactionAttribute());
+		int[] determined = new int[1];
+		TransactionInterceptor ti = new TransactionInterceptor(txManager, tas) {
+			@Override
+			protected PlatformTransactionManager determineTransactionManager(@Nullable TransactionAttribute txAttr) {
+				determined[0]++;
+				return super.determineTransactionManager(txAttr);
+			}
+		};
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(0, ti);
+		ITestBean itb = (ITestBean) pf.getProxy();
+
+		itb.getName();
+		itb.getName();
+
+		assertEquals(2, determined[0]);
+	}
+
+	@Test
+	public void transactionMetadataResolvedAgainAfterConfigurationChange() throws Exception {
+		PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+		PlatformTransactionManager otherTxManager = mock(PlatformTransactionManager.class);
+		TransactionStatus status = mock(TransactionStatus.class);
+		given(otherTxManager.getTransaction(any())).willReturn(status);
+
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(getNameMethod, new DefaultTransactionAttribute());
+		TransactionInterceptor ti = new TransactionInterceptor(txManager, tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(0, ti);
+		ITestBean itb = (ITestBean) pf.getProxy();
+
+		itb.getName();
+		ti.setTransactionManager(otherTxManager);
+		itb.getName();
+
+		verify(txManager, times(1)).getTransaction(any());
+		verify(otherTxManager, times(1)).commit(status);
+	}
+
+	@Test
+	public void transactionNameDefaultsToMethodIdentification() throws Exception {
+		PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(getNameMethod, new DefaultTransactionAttribute());
+		TransactionInterceptor ti = new TransactionInterceptor(txManager, tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(0, ti);
+		ITestBean itb = (ITestBean) pf.getProxy();
+
+		itb.getName();
+		itb.getName();
+
+		ArgumentCaptor<TransactionDefinition> captor = ArgumentCaptor.forClass(TransactionDefinition.class);
+		verify(txManager, times(2)).getTransaction(captor.capture());
+		assertEquals(ClassUtils.getQualifiedMethodName(getNameMethod, TestBean.class),
+				captor.getAllValues().get(0).getName());
+		assertSame(captor.getAllValues().get(0), captor.getAllValues().get(1));
+	}
+
+
 	private TransactionInterceptor createTransactionInterceptor(BeanFactory beanFactory,
 			String transactionManagerName, PlatformTransactionManager transactionManager) {
 
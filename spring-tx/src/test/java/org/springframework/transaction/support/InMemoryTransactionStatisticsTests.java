@@ -0,0 +1,308 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TransactionLifecycleListener} notifications from
+ * {@link AbstractPlatformTransactionManager}, aggregated through
+ * {@link InMemoryTransactionStatistics}.
+ *
+ * @since 5.1
+ */
+public class InMemoryTransactionStatisticsTests {
+
+	private final LifecycleTestTransactionManager tm = new LifecycleTestTransactionManager();
+
+	private final InMemoryTransactionStatistics statistics = new InMemoryTransactionStatistics();
+
+	private final List<String> events = new ArrayList<>();
+
+
+	@Before
+	public void setup() {
+		this.tm.setTransactionLifecycleListeners(Collections.singletonList(this.statistics));
+	}
+
+	@After
+	public void verifyTransactionSynchronizationManagerState() {
+		assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+		assertFalse(TransactionSynchronizationManager.isSynchronizationActive());
+	}
+
+
+	@Test
+	public void commitAndRollbackPerTransactionName() {
+		TransactionTemplate tt = new TransactionTemplate(this.tm);
+		tt.setName("foo");
+		tt.execute(status -> null);
+		tt.execute(status -> null);
+		tt.execute(status -> {
+			status.setRollbackOnly();
+			return null;
+		});
+		tt.setName("bar");
+		tt.execute(status -> null);
+
+		assertEquals(2, this.statistics.getTransactionNames().size());
+		InMemoryTransactionStatistics.Statistics foo = this.statistics.getStatistics("foo");
+		assertEquals(3, foo.getBeginCount());
+		assertEquals(0, foo.getActiveCount());
+		assertEquals(2, foo.getCommitCount());
+		assertEquals(1, foo.getRollbackCount());
+		assertEquals(0, foo.getUnknownCount());
+		assertEquals(1d / 3, foo.getRollbackRate(), 0.0001);
+		assertEquals(3, sum(foo.getDurationCounts()));
+		assertEquals(foo.getDurationBuckets().length + 1, foo.getDurationCounts().length);
+
+		InMemoryTransactionStatistics.Statistics bar = this.statistics.getStatistics("bar");
+		assertEquals(1, bar.getBeginCount());
+		assertEquals(1, bar.getCommitCount());
+		assertNull(this.statistics.getStatistics("baz"));
+	}
+
+	@Test
+	public void activeTransactionAndDurationHistogram() {
+		InMemoryTransactionStatistics statistics = new InMemoryTransactionStatistics(Duration.ofNanos(1));
+		this.tm.setTransactionLifecycleListeners(Collections.singletonList(statistics));
+
+		TransactionStatus status = this.tm.getTransaction(null);
+		assertEquals(1, statistics.getStatistics(InMemoryTransactionStatistics.UNNAMED).getActiveCount());
+		this.tm.commit(status);
+
+		InMemoryTransactionStatistics.Statistics unnamed = statistics.getStatistics(InMemoryTransactionStatistics.UNNAMED);
+		assertEquals(0, unnamed.getActiveCount());
+		assertEquals(1, unnamed.getCommitCount());
+		assertEquals(1, unnamed.getDurationCounts()[1]);
+		assertTrue(unnamed.getMaxTime().compareTo(unnamed.getAverageTime()) >= 0);
+	}
+
+	@Test
+	public void beginFailureReported() {
+		this.tm.setTransactionLifecycleListeners(Arrays.asList(this.statistics, new RecordingListener()));
+		this.tm.beginFailure = new CannotCreateTransactionException("Connection pool exhausted");
+		TransactionTemplate tt = new TransactionTemplate(this.tm);
+		tt.setName("foo");
+		try {
+			tt.execute(status -> null);
+			fail("Should have thrown CannotCreateTransactionException");
+		}
+		catch (CannotCreateTransactionException ex) {
+			assertSame(this.tm.beginFailure, ex);
+		}
+
+		assertEquals("[begin failure foo: Connection pool exhausted]", this.events.toString());
+		InMemoryTransactionStatistics.Statistics foo = this.statistics.getStatistics("foo");
+		assertEquals(0, foo.getBeginCount());
+		assertEquals(1, foo.getBeginFailureCount());
+		assertEquals(0, foo.getActiveCount());
+		assertEquals(0, foo.getCompletionCount());
+		assertTrue(foo.getMaxBeginTime().compareTo(foo.getAverageBeginTime()) >= 0);
+	}
+
+	@Test
+	public void suspendAndResumeForRequiresNew() {
+		this.tm.setTransactionLifecycleListeners(Collections.singletonList(new RecordingListener()));
+		TransactionTemplate outer = new TransactionTemplate(this.tm);
+		outer.setName("outer");
+		TransactionTemplate inner = new TransactionTemplate(this.tm);
+		inner.setName("inner");
+		inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		outer.execute(status -> inner.execute(innerStatus -> null));
+
+		assertEquals("[begin outer, suspend outer, begin inner, completion inner 0, resume outer, completion outer 0]",
+				this.events.toString());
+	}
+
+	@Test
+	public void participatingTransactionNotReported() {
+		this.tm.setTransactionLifecycleListeners(Collections.singletonList(new RecordingListener()));
+		TransactionTemplate outer = new TransactionTemplate(this.tm);
+		outer.setName("outer");
+		TransactionTemplate inner = new TransactionTemplate(this.tm);
+		inner.setName("inner");
+
+		outer.execute(status -> inner.execute(innerStatus -> null));
+
+		assertEquals("[begin outer, completion outer 0]", this.events.toString());
+	}
+
+	@Test
+	public void synchronizationTimeReported() {
+		List<Long> synchronizationTimes = new ArrayList<>();
+		this.tm.setTransactionLifecycleListeners(Collections.singletonList(new TransactionLifecycleListener() {
+			@Override
+			public void afterCompletion(String transactionName, int completionStatus,
+					long transactionDuration, long synchronizationDuration) {
+				synchronizationTimes.add(synchronizationDuration);
+			}
+		}));
+
+		new TransactionTemplate(this.tm).execute(status -> {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void beforeCommit(boolean readOnly) {
+					try {
+						Thread.sleep(5);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+			return null;
+		});
+
+		assertEquals(1, synchronizationTimes.size());
+		assertTrue(synchronizationTimes.get(0) >= Duration.ofMillis(5).toNanos());
+	}
+
+	@Test
+	public void listenerExceptionDoesNotAffectTransaction() {
+		this.tm.setTransactionLifecycleListeners(Collections.singletonList(new TransactionLifecycleListener() {
+			@Override
+			public void afterBegin(String transactionName, long beginDuration) {
+				throw new IllegalStateException("listener failure");
+			}
+		}));
+
+		assertEquals("result", new TransactionTemplate(this.tm).execute(status -> "result"));
+		assertTrue(this.tm.committed);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void durationBucketsMustBeAscending() {
+		new InMemoryTransactionStatistics(Duration.ofSeconds(1), Duration.ofMillis(1));
+	}
+
+
+	private static long sum(long[] values) {
+		long sum = 0;
+		for (long value : values) {
+			sum += value;
+		}
+		return sum;
+	}
+
+
+	private class RecordingListener implements TransactionLifecycleListener {
+
+		@Override
+		public void afterBegin(String transactionName, long beginDuration) {
+			events.add("begin " + transactionName);
+		}
+
+		@Override
+		public void afterBeginFailure(String transactionName, long beginDuration, Throwable ex) {
+			events.add("begin failure " + transactionName + ": " + ex.getMessage());
+		}
+
+		@Override
+		public void afterSuspend(String transactionName, long suspendDuration) {
+			events.add("suspend " + transactionName);
+		}
+
+		@Override
+		public void afterResume(String transactionName, long resumeDuration) {
+			events.add("resume " + transactionName);
+		}
+
+		@Override
+		public void afterCompletion(String transactionName, int completionStatus,
+				long transactionDuration, long synchronizationDuration) {
+			events.add("completion " + transactionName + " " + completionStatus);
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	private static class LifecycleTestTransactionManager extends AbstractPlatformTransactionManager {
+
+		private Object currentTransaction;
+
+		boolean committed;
+
+		RuntimeException beginFailure;
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object[] {this.currentTransaction};
+		}
+
+		@Override
+		protected boolean isExistingTransaction(Object transaction) {
+			return (((Object[]) transaction)[0] != null);
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+			if (this.beginFailure != null) {
+				throw this.beginFailure;
+			}
+			this.currentTransaction = new Object();
+			((Object[]) transaction)[0] = this.currentTransaction;
+		}
+
+		@Override
+		protected Object doSuspend(Object transaction) {
+			Object suspended = this.currentTransaction;
+			this.currentTransaction = null;
+			((Object[]) transaction)[0] = null;
+			return suspended;
+		}
+
+		@Override
+		protected void doResume(Object transaction, Object suspendedResources) {
+			this.currentTransaction = suspendedResources;
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+			this.committed = true;
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doCleanupAfterCompletion(Object transaction) {
+			this.currentTransaction = null;
+		}
+	}
+
+}
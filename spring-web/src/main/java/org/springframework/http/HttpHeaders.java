@@ -32,8 +32,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -44,7 +42,9 @@ import java.util.stream.Collectors;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
@@ -75,7 +75,7 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	/**
 	 * The empty {@code HttpHeaders} instance (immutable).
 	 */
-	public static final HttpHeaders EMPTY = new HttpHeaders(new LinkedHashMap<>(0), true);
+	public static final HttpHeaders EMPTY = new ReadOnlyHttpHeaders(new HttpHeaders(new LinkedMultiValueMap<>(0)));
 	/**
 	 * The HTTP {@code Accept} header field name.
 	 * @see <a href="http://tools.ietf.org/html/rfc7231#section-5.3.2">Section 5.3.2 of RFC 7231</a>
@@ -398,31 +398,27 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	};
 
 
-	private final Map<String, List<String>> headers;
-
-	private final boolean readOnly;
+	final MultiValueMap<String, String> headers;
 
 
 	/**
 	 * Constructs a new, empty instance of the {@code HttpHeaders} object.
 	 */
 	public HttpHeaders() {
-		this(new LinkedCaseInsensitiveMap<>(8, Locale.ENGLISH), false);
+		this(CollectionUtils.toMultiValueMap(new LinkedCaseInsensitiveMap<>(8, Locale.ENGLISH)));
 	}
 
 	/**
-	 * Private constructor that can create read-only {@code HttpHeader} instances.
+	 * Construct a new {@code HttpHeaders} instance backed by the given map,
+	 * e.g. an adapter over the native headers of an underlying server,
+	 * with all reads and writes going through to that map.
+	 * <p>The given map is expected to treat header names case-insensitively.
+	 * @param headers the map of header names to header values
+	 * @since 5.1
 	 */
-	private HttpHeaders(Map<String, List<String>> headers, boolean readOnly) {
-		if (readOnly) {
-			Map<String, List<String>> map = new LinkedCaseInsensitiveMap<>(headers.size(), Locale.ENGLISH);
-			headers.forEach((key, valueList) -> map.put(key, Collections.unmodifiableList(valueList)));
-			this.headers = Collections.unmodifiableMap(map);
-		}
-		else {
-			this.headers = headers;
-		}
-		this.readOnly = readOnly;
+	public HttpHeaders(MultiValueMap<String, String> headers) {
+		Assert.notNull(headers, "MultiValueMap must not be null");
+		this.headers = headers;
 	}
 
 
@@ -1407,8 +1403,7 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	@Override
 	@Nullable
 	public String getFirst(String headerName) {
-		List<String> headerValues = this.headers.get(headerName);
-		return (headerValues != null ? headerValues.get(0) : null);
+		return this.headers.getFirst(headerName);
 	}
 
 	/**
@@ -1421,19 +1416,17 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	 */
 	@Override
 	public void add(String headerName, @Nullable String headerValue) {
-		List<String> headerValues = this.headers.computeIfAbsent(headerName, k -> new LinkedList<>());
-		headerValues.add(headerValue);
+		this.headers.add(headerName, headerValue);
 	}
 
 	@Override
 	public void addAll(String key, List<? extends String> values) {
-		List<String> currentValues = this.headers.computeIfAbsent(key, k -> new LinkedList<>());
-		currentValues.addAll(values);
+		this.headers.addAll(key, values);
 	}
 
 	@Override
 	public void addAll(MultiValueMap<String, String> values) {
-		values.forEach(this::addAll);
+		this.headers.addAll(values);
 	}
 
 	/**
@@ -1446,21 +1439,17 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	 */
 	@Override
 	public void set(String headerName, @Nullable String headerValue) {
-		List<String> headerValues = new LinkedList<>();
-		headerValues.add(headerValue);
-		this.headers.put(headerName, headerValues);
+		this.headers.set(headerName, headerValue);
 	}
 
 	@Override
 	public void setAll(Map<String, String> values) {
-		values.forEach(this::set);
+		this.headers.setAll(values);
 	}
 
 	@Override
 	public Map<String, String> toSingleValueMap() {
-		LinkedHashMap<String, String> singleValueMap = new LinkedHashMap<>(this.headers.size());
-		this.headers.forEach((key, valueList) -> singleValueMap.put(key, valueList.get(0)));
-		return singleValueMap;
+		return this.headers.toSingleValueMap();
 	}
 
 
@@ -1553,10 +1542,30 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 
 	/**
 	 * Return a {@code HttpHeaders} object that can only be read, not written to.
+	 * <p>This is a copy of the given headers, unaffected by later changes to them.
 	 */
 	public static HttpHeaders readOnlyHttpHeaders(HttpHeaders headers) {
 		Assert.notNull(headers, "HttpHeaders must not be null");
-		return (headers.readOnly ? headers : new HttpHeaders(headers, true));
+		if (headers instanceof ReadOnlyHttpHeaders) {
+			return headers;
+		}
+		HttpHeaders copy = new HttpHeaders();
+		headers.forEach((key, values) -> copy.put(key, new ArrayList<>(values)));
+		return new ReadOnlyHttpHeaders(copy);
+	}
+
+	/**
+	 * Return a {@code HttpHeaders} object that can only be read, not written to,
+	 * as a view of the given headers that reflects any later changes to them.
+	 * <p>Intended for headers that no longer change, or only change under the
+	 * control of the caller, e.g. the native request headers of a server.
+	 * Use {@link #readOnlyHttpHeaders(HttpHeaders)} for a snapshot instead.
+	 * @param headers the headers to expose
+	 * @since 5.1
+	 */
+	public static HttpHeaders readOnlyHttpHeadersView(HttpHeaders headers) {
+		Assert.notNull(headers, "HttpHeaders must not be null");
+		return (headers instanceof ReadOnlyHttpHeaders ? headers : new ReadOnlyHttpHeaders(headers));
 	}
 
 }
@@ -30,6 +30,7 @@ import java.util.stream.Collectors;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.InvalidMimeTypeException;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
@@ -321,6 +322,9 @@ public class MediaType extends MimeType implements Serializable {
 
 	private static final String PARAM_QUALITY_FACTOR = "q";
 
+	private static final ConcurrentLruCache<String, MediaType> cachedMediaTypes =
+			new ConcurrentLruCache<>(64, MediaType::parseMediaTypeInternal);
+
 
 	static {
 		ALL = valueOf(ALL_VALUE);
@@ -521,11 +525,19 @@ public class MediaType extends MimeType implements Serializable {
 
 	/**
 	 * Parse the given String into a single {@code MediaType}.
+	 * <p>As of 5.1, recently parsed media types are cached and returned as
+	 * shared instances, since {@code MediaType} is immutable.
 	 * @param mediaType the string to parse
 	 * @return the media type
 	 * @throws InvalidMediaTypeException if the media type value cannot be parsed
 	 */
 	public static MediaType parseMediaType(String mediaType) {
+		// Empty values are rejected by MimeTypeUtils, without going through the cache
+		return (StringUtils.hasLength(mediaType) ?
+				cachedMediaTypes.get(mediaType) : parseMediaTypeInternal(mediaType));
+	}
+
+	private static MediaType parseMediaTypeInternal(String mediaType) {
 		MimeType type;
 		try {
 			type = MimeTypeUtils.parseMimeType(mediaType);
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * {@code HttpHeaders} object that can only be read, not written to,
+ * exposing a view of the headers it has been created for.
+ *
+ * @since 5.1
+ * @see HttpHeaders#readOnlyHttpHeaders(HttpHeaders)
+ * @see HttpHeaders#readOnlyHttpHeadersView(HttpHeaders)
+ */
+class ReadOnlyHttpHeaders extends HttpHeaders {
+
+	private static final long serialVersionUID = -8578554704772377437L;
+
+
+	ReadOnlyHttpHeaders(HttpHeaders headers) {
+		super(headers.headers);
+	}
+
+
+	@Override
+	@Nullable
+	public List<String> get(Object key) {
+		List<String> values = this.headers.get(key);
+		return (values != null ? Collections.unmodifiableList(values) : null);
+	}
+
+	@Override
+	public void add(String headerName, @Nullable String headerValue) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void addAll(String key, List<? extends String> values) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void addAll(MultiValueMap<String, String> values) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void set(String headerName, @Nullable String headerValue) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setAll(Map<String, String> values) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public List<String> put(String key, List<String> value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public List<String> remove(Object key) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends List<String>> map) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return Collections.unmodifiableSet(this.headers.keySet());
+	}
+
+	@Override
+	public Collection<List<String>> values() {
+		return Collections.unmodifiableCollection(this.headers.values().stream()
+				.map(Collections::unmodifiableList).collect(Collectors.toList()));
+	}
+
+	@Override
+	public Set<Map.Entry<String, List<String>>> entrySet() {
+		Set<Map.Entry<String, List<String>>> entries = new LinkedHashSet<>(this.headers.size());
+		this.headers.forEach((key, values) ->
+				entries.add(new SimpleImmutableEntry<>(key, Collections.unmodifiableList(values))));
+		return Collections.unmodifiableSet(entries);
+	}
+
+}
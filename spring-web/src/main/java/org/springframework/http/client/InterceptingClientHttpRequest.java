@@ -16,7 +16,9 @@
 
 package org.springframework.http.client;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.Iterator;
 import java.util.List;
@@ -25,33 +27,53 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StreamUtils;
 
 /**
  * Wrapper for a {@link ClientHttpRequest} that has support for {@link ClientHttpRequestInterceptor}s.
  *
+ * <p>A body set through {@link #setBody(Body)} is buffered for the interceptors
+ * by default. If buffering is turned off, interceptors are given the content
+ * written to {@link #getBody()} only (typically none), and the body is streamed
+ * to the underlying request once the interceptor chain has completed.
+ *
  * @author Arjen Poutsma
  * @since 3.1
  */
-class InterceptingClientHttpRequest extends AbstractBufferingClientHttpRequest {
+class InterceptingClientHttpRequest extends AbstractClientHttpRequest implements StreamingHttpOutputMessage {
 
 	private final ClientHttpRequestFactory requestFactory;
 
 	private final List<ClientHttpRequestInterceptor> interceptors;
 
+	private final boolean bufferRequestBody;
+
 	private HttpMethod method;
 
 	private URI uri;
 
+	private ByteArrayOutputStream bufferedOutput = new ByteArrayOutputStream(1024);
+
+	@Nullable
+	private Body body;
+
 
 	protected InterceptingClientHttpRequest(ClientHttpRequestFactory requestFactory,
 			List<ClientHttpRequestInterceptor> interceptors, URI uri, HttpMethod method) {
 
+		this(requestFactory, interceptors, uri, method, true);
+	}
+
+	protected InterceptingClientHttpRequest(ClientHttpRequestFactory requestFactory,
+			List<ClientHttpRequestInterceptor> interceptors, URI uri, HttpMethod method, boolean bufferRequestBody) {
+
 		this.requestFactory = requestFactory;
 		this.interceptors = interceptors;
 		this.method = method;
 		this.uri = uri;
+		this.bufferRequestBody = bufferRequestBody;
 	}
 
 
@@ -71,9 +93,32 @@ class InterceptingClientHttpRequest extends AbstractBufferingClientHttpRequest {
 	}
 
 	@Override
-	protected final ClientHttpResponse executeInternal(HttpHeaders headers, byte[] bufferedOutput) throws IOException {
+	public void setBody(Body body) {
+		assertNotExecuted();
+		this.body = body;
+	}
+
+	@Override
+	protected OutputStream getBodyInternal(HttpHeaders headers) throws IOException {
+		return this.bufferedOutput;
+	}
+
+	@Override
+	protected final ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+		if (this.bufferRequestBody) {
+			if (this.body != null) {
+				this.body.writeTo(this.bufferedOutput);
+				this.body = null;
+			}
+			if (headers.getContentLength() < 0) {
+				headers.setContentLength(this.bufferedOutput.size());
+			}
+		}
+		byte[] bytes = this.bufferedOutput.toByteArray();
 		InterceptingRequestExecution requestExecution = new InterceptingRequestExecution();
-		return requestExecution.execute(this, bufferedOutput);
+		ClientHttpResponse result = requestExecution.execute(this, bytes);
+		this.bufferedOutput = new ByteArrayOutputStream(0);
+		return result;
 	}
 
 
@@ -105,6 +150,15 @@ class InterceptingClientHttpRequest extends AbstractBufferingClientHttpRequest {
 						StreamUtils.copy(body, delegate.getBody());
 					}
 				}
+				else if (InterceptingClientHttpRequest.this.body != null) {
+					Body streamingBody = InterceptingClientHttpRequest.this.body;
+					if (delegate instanceof StreamingHttpOutputMessage) {
+						((StreamingHttpOutputMessage) delegate).setBody(streamingBody);
+					}
+					else {
+						streamingBody.writeTo(delegate.getBody());
+					}
+				}
 				return delegate.execute();
 			}
 		}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,8 @@ public class InterceptingClientHttpRequestFactory extends AbstractClientHttpRequ
 
 	private final List<ClientHttpRequestInterceptor> interceptors;
 
+	private final boolean bufferRequestBody;
+
 
 	/**
 	 * Create a new instance of the {@code InterceptingClientHttpRequestFactory} with the given parameters.
@@ -44,14 +46,35 @@ public class InterceptingClientHttpRequestFactory extends AbstractClientHttpRequ
 	public InterceptingClientHttpRequestFactory(ClientHttpRequestFactory requestFactory,
 			@Nullable List<ClientHttpRequestInterceptor> interceptors) {
 
+		this(requestFactory, interceptors, true);
+	}
+
+	/**
+	 * Create a new instance of the {@code InterceptingClientHttpRequestFactory} with the given parameters.
+	 * <p>If request bodies are not buffered, bodies written through
+	 * {@link org.springframework.http.StreamingHttpOutputMessage#setBody} (as done
+	 * by all {@link org.springframework.http.converter.HttpMessageConverter}s) are
+	 * streamed to the underlying request after the interceptors have run, and the
+	 * interceptors receive an empty body array. An interceptor that passes a
+	 * non-empty body array on to the execution replaces the streamed body.
+	 * @param requestFactory the request factory to wrap
+	 * @param interceptors the interceptors that are to be applied (can be {@code null})
+	 * @param bufferRequestBody whether to buffer request bodies for the interceptors
+	 * @since 5.1
+	 */
+	public InterceptingClientHttpRequestFactory(ClientHttpRequestFactory requestFactory,
+			@Nullable List<ClientHttpRequestInterceptor> interceptors, boolean bufferRequestBody) {
+
 		super(requestFactory);
 		this.interceptors = (interceptors != null ? interceptors : Collections.emptyList());
+		this.bufferRequestBody = bufferRequestBody;
 	}
 
 
 	@Override
 	protected ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod, ClientHttpRequestFactory requestFactory) {
-		return new InterceptingClientHttpRequest(requestFactory, this.interceptors, uri, httpMethod);
+		return new InterceptingClientHttpRequest(
+				requestFactory, this.interceptors, uri, httpMethod, this.bufferRequestBody);
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,14 @@ import org.springframework.util.Assert;
 /**
  * {@link ClientHttpRequestFactory} implementation that uses standard JDK facilities.
  *
+ * <p>Connections are reused through the JDK's HTTP keep-alive cache once a
+ * response has been {@linkplain ClientHttpResponse#close() closed}, including
+ * responses whose body has not been read. The number of idle connections kept
+ * per destination is controlled by the {@code http.maxConnections} system
+ * property (5 by default).
+ * Combine with {@link #setBufferRequestBody bufferRequestBody=false} to stream
+ * request bodies instead of copying them into memory first.
+ *
  * @author Arjen Poutsma
  * @author Juergen Hoeller
  * @since 3.0
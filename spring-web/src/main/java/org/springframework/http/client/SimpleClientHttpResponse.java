@@ -89,17 +89,26 @@ final class SimpleClientHttpResponse extends AbstractClientHttpResponse {
 		return this.responseStream;
 	}
 
+	/**
+	 * Drain and close the response stream. If the body has not been read at all,
+	 * the stream is obtained and closed without draining: the JDK's keep-alive
+	 * stream then returns the connection to its cache without blocking, provided
+	 * that the remaining content has already been received.
+	 */
 	@Override
 	public void close() {
-		if (this.responseStream != null) {
-			try {
+		try {
+			if (this.responseStream != null) {
 				StreamUtils.drain(this.responseStream);
 				this.responseStream.close();
 			}
-			catch (Exception ex) {
-				// ignore
+			else {
+				getBody().close();
 			}
 		}
+		catch (Exception ex) {
+			// ignore
+		}
 	}
 
 }
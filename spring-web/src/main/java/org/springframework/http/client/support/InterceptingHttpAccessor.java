@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,6 +45,8 @@ public abstract class InterceptingHttpAccessor extends HttpAccessor {
 
 	private final List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
 
+	private boolean bufferRequestBody = true;
+
 	@Nullable
 	private volatile ClientHttpRequestFactory interceptingRequestFactory;
 
@@ -73,6 +75,29 @@ public abstract class InterceptingHttpAccessor extends HttpAccessor {
 		return this.interceptors;
 	}
 
+	/**
+	 * Set whether request bodies should be buffered in memory, so that they can be
+	 * passed to the interceptors as byte arrays.
+	 * <p>Default is {@code true}. Switch this to {@code false} when interceptors do
+	 * not need to inspect the body (e.g. when they only add headers), so that large
+	 * request bodies are streamed to the underlying request instead of being copied
+	 * into memory first. Interceptors then receive an empty body array.
+	 * @since 5.1
+	 * @see InterceptingClientHttpRequestFactory#InterceptingClientHttpRequestFactory(ClientHttpRequestFactory, List, boolean)
+	 */
+	public void setBufferRequestBody(boolean bufferRequestBody) {
+		this.bufferRequestBody = bufferRequestBody;
+		this.interceptingRequestFactory = null;
+	}
+
+	/**
+	 * Return whether request bodies are buffered in memory for the interceptors.
+	 * @since 5.1
+	 */
+	public boolean isBufferRequestBody() {
+		return this.bufferRequestBody;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -93,7 +118,8 @@ public abstract class InterceptingHttpAccessor extends HttpAccessor {
 		if (!CollectionUtils.isEmpty(interceptors)) {
 			ClientHttpRequestFactory factory = this.interceptingRequestFactory;
 			if (factory == null) {
-				factory = new InterceptingClientHttpRequestFactory(super.getRequestFactory(), interceptors);
+				factory = new InterceptingClientHttpRequestFactory(
+						super.getRequestFactory(), interceptors, this.bufferRequestBody);
 				this.interceptingRequestFactory = factory;
 			}
 			return factory;
@@ -43,12 +43,14 @@ import org.springframework.core.codec.CodecException;
 import org.springframework.core.codec.EncodingException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageEncoder;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.MimeType;
 
 /**
@@ -56,6 +58,11 @@ import org.springframework.util.MimeType;
  * cases, {@link Flux} elements are collected into a {@link List} before serialization for
  * performance reason.
  *
+ * <p>Values are written straight into a {@link DataBuffer} from the given
+ * {@link DataBufferFactory}. The buffer is allocated with the size of the
+ * previously encoded value of the same type as initial capacity, in order
+ * to avoid repeated buffer expansion for large payloads.
+ *
  * @author Sebastien Deleuze
  * @author Arjen Poutsma
  * @since 5.0
@@ -66,6 +73,9 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 
 	private static final Map<MediaType, byte[]> STREAM_SEPARATORS;
 
+	/** Upper bound for the initial capacity of buffers, as derived from previous encodings. */
+	private static final int MAX_BUFFER_SIZE_HINT = 4 * 1024 * 1024;
+
 	static {
 		STREAM_SEPARATORS = new HashMap<>();
 		STREAM_SEPARATORS.put(MediaType.APPLICATION_STREAM_JSON, NEWLINE_SEPARATOR);
@@ -75,6 +85,8 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 
 	private final List<MediaType> streamingMediaTypes = new ArrayList<>(1);
 
+	private final Map<JavaType, Integer> bufferSizeHints = new ConcurrentReferenceHashMap<>(64);
+
 
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
@@ -116,29 +128,25 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 
 		if (inputStream instanceof Mono) {
 			return Flux.from(inputStream).map(value ->
-					encodeValue(value, mimeType, bufferFactory, elementType, hints, encoding));
+					encodeValue(value, mimeType, bufferFactory, elementType, hints, encoding, null));
 		}
 
 		for (MediaType streamingMediaType : this.streamingMediaTypes) {
 			if (streamingMediaType.isCompatibleWith(mimeType)) {
 				byte[] separator = STREAM_SEPARATORS.getOrDefault(streamingMediaType, NEWLINE_SEPARATOR);
-				return Flux.from(inputStream).map(value -> {
-					DataBuffer buffer = encodeValue(value, mimeType, bufferFactory, elementType, hints, encoding);
-					if (separator != null) {
-						buffer.write(separator);
-					}
-					return buffer;
-				});
+				return Flux.from(inputStream).map(value ->
+						encodeValue(value, mimeType, bufferFactory, elementType, hints, encoding, separator));
 			}
 		}
 
 		ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
 		return Flux.from(inputStream).collectList().map(list ->
-				encodeValue(list, mimeType, bufferFactory, listType, hints, encoding)).flux();
+				encodeValue(list, mimeType, bufferFactory, listType, hints, encoding, null)).flux();
 	}
 
 	private DataBuffer encodeValue(Object value, @Nullable MimeType mimeType, DataBufferFactory bufferFactory,
-			ResolvableType elementType, @Nullable Map<String, Object> hints, JsonEncoding encoding) {
+			ResolvableType elementType, @Nullable Map<String, Object> hints, JsonEncoding encoding,
+			@Nullable byte[] separator) {
 
 		JavaType javaType = getJavaType(elementType.getType(), null);
 		Class<?> jsonView = (hints != null ? (Class<?>) hints.get(Jackson2CodecSupport.JSON_VIEW_HINT) : null);
@@ -151,12 +159,20 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 
 		writer = customizeWriter(writer, mimeType, elementType, hints);
 
-		DataBuffer buffer = bufferFactory.allocateBuffer();
+		Integer sizeHint = this.bufferSizeHints.get(javaType);
+		DataBuffer buffer = (sizeHint != null ?
+				bufferFactory.allocateBuffer(sizeHint) : bufferFactory.allocateBuffer());
+		boolean release = true;
 		OutputStream outputStream = buffer.asOutputStream();
 
 		try {
 			JsonGenerator generator = getObjectMapper().getFactory().createGenerator(outputStream, encoding);
 			writer.writeValue(generator, value);
+			generator.flush();
+			if (separator != null) {
+				buffer.write(separator);
+			}
+			release = false;
 		}
 		catch (InvalidDefinitionException ex) {
 			throw new CodecException("Type definition error: " + ex.getType(), ex);
@@ -167,7 +183,16 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		catch (IOException ex) {
 			throw new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
 		}
+		finally {
+			if (release) {
+				DataBufferUtils.release(buffer);
+			}
+		}
 
+		int size = Math.min(buffer.readableByteCount(), MAX_BUFFER_SIZE_HINT);
+		if (sizeHint == null || sizeHint != size) {
+			this.bufferSizeHints.put(javaType, size);
+		}
 		return buffer;
 	}
 	
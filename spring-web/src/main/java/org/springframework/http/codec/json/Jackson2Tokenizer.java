@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -39,6 +40,12 @@ import org.springframework.util.Assert;
  * chunks into a {@code Flux<TokenBuffer>} where each token buffer is a
  * well-formed JSON object.
  *
+ * <p>Data buffers backed by an accessible byte array get fed to the
+ * non-blocking parser without copying their contents. This is safe since
+ * the parser consumes all fed input before it asks for more, keeping any
+ * incomplete token in its own buffers, and each data buffer is released
+ * only once the tokens available from it have been parsed.
+ *
  * @author Arjen Poutsma
  * @since 5.0
  */
@@ -90,12 +97,17 @@ class Jackson2Tokenizer {
 	}
 
 	private Flux<TokenBuffer> tokenize(DataBuffer dataBuffer) {
-		byte[] bytes = new byte[dataBuffer.readableByteCount()];
-		dataBuffer.read(bytes);
-		DataBufferUtils.release(dataBuffer);
-
 		try {
-			this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+			if (byteBuffer.hasArray()) {
+				int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+				this.inputFeeder.feedInput(byteBuffer.array(), offset, offset + byteBuffer.remaining());
+			}
+			else {
+				byte[] bytes = new byte[dataBuffer.readableByteCount()];
+				dataBuffer.read(bytes);
+				this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			}
 			return parseTokenBufferFlux();
 		}
 		catch (JsonProcessingException ex) {
@@ -105,6 +117,9 @@ class Jackson2Tokenizer {
 		catch (IOException ex) {
 			return Flux.error(ex);
 		}
+		finally {
+			DataBufferUtils.release(dataBuffer);
+		}
 	}
 
 	private Flux<TokenBuffer> endOfInput() {
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Base class for {@code MultiValueMap} implementations that wrap the native
+ * HTTP headers of a server, so that they can be read and written without
+ * copying.
+ *
+ * <p>Subclasses map the basic operations such as {@link #get}, {@link #put}
+ * and {@link #keySet()} onto the native headers, while entry views, equality
+ * and bulk operations are derived from those here.
+ *
+ * @since 5.1
+ */
+abstract class AbstractHeadersAdapter implements MultiValueMap<String, String> {
+
+	@Override
+	public void addAll(String key, List<? extends String> values) {
+		values.forEach(value -> add(key, value));
+	}
+
+	@Override
+	public void addAll(MultiValueMap<String, String> values) {
+		values.forEach(this::addAll);
+	}
+
+	@Override
+	public void setAll(Map<String, String> values) {
+		values.forEach(this::set);
+	}
+
+	@Override
+	public Map<String, String> toSingleValueMap() {
+		Set<String> names = keySet();
+		Map<String, String> singleValueMap = new LinkedHashMap<>(names.size());
+		names.forEach(key -> singleValueMap.put(key, getFirst(key)));
+		return singleValueMap;
+	}
+
+	@Override
+	public int size() {
+		return keySet().size();
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return values().contains(value);
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends List<String>> map) {
+		map.forEach(this::put);
+	}
+
+	@Override
+	public Collection<List<String>> values() {
+		return keySet().stream().map(this::get).collect(Collectors.toList());
+	}
+
+	@Override
+	public Set<Entry<String, List<String>>> entrySet() {
+		Set<String> names = keySet();
+		return new AbstractSet<Entry<String, List<String>>>() {
+			@Override
+			public Iterator<Entry<String, List<String>>> iterator() {
+				return new EntryIterator(names.iterator());
+			}
+
+			@Override
+			public int size() {
+				return names.size();
+			}
+		};
+	}
+
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof Map)) {
+			return false;
+		}
+		Map<?, ?> otherMap = (Map<?, ?>) other;
+		Set<Entry<String, List<String>>> entries = entrySet();
+		if (entries.size() != otherMap.size()) {
+			return false;
+		}
+		for (Entry<String, List<String>> entry : entries) {
+			if (!entry.getValue().equals(otherMap.get(entry.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 0;
+		for (Entry<String, List<String>> entry : entrySet()) {
+			hashCode += entry.getKey().hashCode() ^ entry.getValue().hashCode();
+		}
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return entrySet().stream()
+				.map(entry -> entry.getKey() + "=" + entry.getValue())
+				.collect(Collectors.joining(", ", "{", "}"));
+	}
+
+
+	private class EntryIterator implements Iterator<Entry<String, List<String>>> {
+
+		private final Iterator<String> names;
+
+		EntryIterator(Iterator<String> names) {
+			this.names = names;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.names.hasNext();
+		}
+
+		@Override
+		public Entry<String, List<String>> next() {
+			return new HeaderEntry(this.names.next());
+		}
+	}
+
+
+	private class HeaderEntry implements Entry<String, List<String>> {
+
+		private final String key;
+
+		HeaderEntry(String key) {
+			this.key = key;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public List<String> getValue() {
+			List<String> values = get(this.key);
+			return (values != null ? values : Collections.emptyList());
+		}
+
+		@Override
+		public List<String> setValue(List<String> value) {
+			List<String> previousValues = getValue();
+			put(this.key, value);
+			return previousValues;
+		}
+	}
+
+}
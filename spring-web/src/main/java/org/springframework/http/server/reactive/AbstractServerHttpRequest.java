@@ -72,7 +72,7 @@ public abstract class AbstractServerHttpRequest implements ServerHttpRequest {
 	public AbstractServerHttpRequest(URI uri, @Nullable String contextPath, HttpHeaders headers) {
 		this.uri = uri;
 		this.path = RequestPath.parse(uri, contextPath);
-		this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+		this.headers = HttpHeaders.readOnlyHttpHeadersView(headers);
 	}
 
 
@@ -75,9 +75,19 @@ public abstract class AbstractServerHttpResponse implements ServerHttpResponse {
 
 
 	public AbstractServerHttpResponse(DataBufferFactory dataBufferFactory) {
+		this(dataBufferFactory, new HttpHeaders());
+	}
+
+	/**
+	 * Constructor with the headers to use, e.g. backed by the native
+	 * response headers of the underlying server.
+	 * @since 5.1
+	 */
+	public AbstractServerHttpResponse(DataBufferFactory dataBufferFactory, HttpHeaders headers) {
 		Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null");
+		Assert.notNull(headers, "HttpHeaders must not be null");
 		this.dataBufferFactory = dataBufferFactory;
-		this.headers = new HttpHeaders();
+		this.headers = headers;
 		this.cookies = new LinkedMultiValueMap<>();
 	}
 
@@ -130,7 +140,7 @@ public abstract class AbstractServerHttpResponse implements ServerHttpResponse {
 	@Override
 	public HttpHeaders getHeaders() {
 		return (this.state.get() == State.COMMITTED ?
-				HttpHeaders.readOnlyHttpHeaders(this.headers) : this.headers);
+				HttpHeaders.readOnlyHttpHeadersView(this.headers) : this.headers);
 	}
 
 	@Override
@@ -248,6 +258,8 @@ public abstract class AbstractServerHttpResponse implements ServerHttpResponse {
 
 	/**
 	 * Apply header changes from {@link #getHeaders()} to the underlying response.
+	 * <p>This may be a no-op for headers that are backed by the native
+	 * response headers and therefore written through directly.
 	 * This method is called once only.
 	 */
 	protected abstract void applyHeaders();
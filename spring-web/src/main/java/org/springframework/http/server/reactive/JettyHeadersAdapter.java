@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+/**
+ * {@code MultiValueMap} implementation for wrapping Jetty HTTP headers,
+ * so that they can be read and written without copying.
+ *
+ * @since 5.1
+ */
+class JettyHeadersAdapter extends AbstractHeadersAdapter {
+
+	private final HttpFields headers;
+
+
+	JettyHeadersAdapter(HttpFields headers) {
+		this.headers = headers;
+	}
+
+
+	@Override
+	@Nullable
+	public String getFirst(String key) {
+		return this.headers.get(key);
+	}
+
+	@Override
+	public void add(String key, @Nullable String value) {
+		this.headers.add(key, value);
+	}
+
+	@Override
+	public void set(String key, @Nullable String value) {
+		this.headers.put(key, value);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (this.headers.size() == 0);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof String && this.headers.containsKey((String) key));
+	}
+
+	@Override
+	@Nullable
+	public List<String> get(Object key) {
+		if (containsKey(key)) {
+			return this.headers.getValuesList((String) key);
+		}
+		return null;
+	}
+
+	@Nullable
+	@Override
+	public List<String> put(String key, List<String> value) {
+		List<String> previousValues = get(key);
+		this.headers.put(key, value);
+		return previousValues;
+	}
+
+	@Nullable
+	@Override
+	public List<String> remove(Object key) {
+		if (key instanceof String) {
+			List<String> previousValues = get(key);
+			this.headers.remove((String) key);
+			return previousValues;
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		this.headers.clear();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		Map<String, String> names = new LinkedCaseInsensitiveMap<>(this.headers.size(), Locale.ENGLISH);
+		for (HttpField field : this.headers) {
+			names.putIfAbsent(field.getName(), field.getName());
+		}
+		return names.keySet();
+	}
+
+}
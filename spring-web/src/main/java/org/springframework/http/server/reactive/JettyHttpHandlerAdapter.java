@@ -17,20 +17,34 @@
 package org.springframework.http.server.reactive;
 
 import java.io.IOException;
+import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import javax.servlet.AsyncContext;
 import javax.servlet.ServletResponse;
+import javax.servlet.ServletResponseWrapper;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jetty.server.HttpOutput;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * {@link ServletHttpHandlerAdapter} extension that uses Jetty APIs for writing
  * to the response with {@link ByteBuffer}.
  *
+ * <p>As of 5.1, request and response headers are exposed through an adapter
+ * over Jetty's native {@code HttpFields}, rather than copied to and from the
+ * Servlet API, as long as the Jetty request and response can be unwrapped.
+ *
  * @author Violeta Georgieva
  * @since 5.0
  * @see org.springframework.web.server.adapter.AbstractReactiveWebInitializer
@@ -42,20 +56,80 @@ public class JettyHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 	}
 
 
+	@Override
+	protected ServerHttpRequest createRequest(HttpServletRequest request, AsyncContext context)
+			throws IOException, URISyntaxException {
+
+		Request jettyRequest = Request.getBaseRequest(request);
+		if (jettyRequest == null) {
+			return super.createRequest(request, context);
+		}
+		Assert.notNull(getServletPath(), "Servlet path is not initialized");
+		HttpHeaders headers = new HttpHeaders(new JettyHeadersAdapter(jettyRequest.getHttpFields()));
+		return new ServletServerHttpRequest(headers, request, context, getServletPath(),
+				getDataBufferFactory(), getBufferSize());
+	}
+
 	@Override
 	protected ServerHttpResponse createResponse(HttpServletResponse response,
 			AsyncContext context) throws IOException {
 
+		Response jettyResponse = getJettyResponse(response);
+		if (jettyResponse != null) {
+			HttpHeaders headers = new HttpHeaders(new JettyHeadersAdapter(jettyResponse.getHttpFields()));
+			return new JettyServerHttpResponse(headers, response, context, getDataBufferFactory(), getBufferSize());
+		}
 		return new JettyServerHttpResponse(response, context, getDataBufferFactory(), getBufferSize());
 	}
 
+	@Nullable
+	private static Response getJettyResponse(ServletResponse response) {
+		while (response instanceof ServletResponseWrapper) {
+			response = ((ServletResponseWrapper) response).getResponse();
+		}
+		return (response instanceof Response ? (Response) response : null);
+	}
+
 
 	private static final class JettyServerHttpResponse extends ServletServerHttpResponse {
 
+		private final boolean nativeHeaders;
+
 		public JettyServerHttpResponse(HttpServletResponse response, AsyncContext context,
 				DataBufferFactory factory, int bufferSize) throws IOException {
 
 			super(response, context, factory, bufferSize);
+			this.nativeHeaders = false;
+		}
+
+		public JettyServerHttpResponse(HttpHeaders headers, HttpServletResponse response, AsyncContext context,
+				DataBufferFactory factory, int bufferSize) throws IOException {
+
+			super(headers, response, context, factory, bufferSize);
+			this.nativeHeaders = true;
+		}
+
+		@Override
+		protected void applyHeaders() {
+			if (!this.nativeHeaders) {
+				super.applyHeaders();
+				return;
+			}
+			// Other headers are in Jetty's HttpFields already, but Jetty
+			// keeps track of content type and length outside of them
+			HttpServletResponse response = getNativeResponse();
+			MediaType contentType = getHeaders().getContentType();
+			if (response.getContentType() == null && contentType != null) {
+				response.setContentType(contentType.toString());
+			}
+			Charset charset = (contentType != null ? contentType.getCharset() : null);
+			if (response.getCharacterEncoding() == null && charset != null) {
+				response.setCharacterEncoding(charset.name());
+			}
+			long contentLength = getHeaders().getContentLength();
+			if (contentLength != -1) {
+				response.setContentLengthLong(contentLength);
+			}
 		}
 
 		@Override
@@ -125,11 +125,7 @@ class ReactorServerHttpRequest extends AbstractServerHttpRequest {
 	}
 
 	private static HttpHeaders initHeaders(HttpServerRequest channel) {
-		HttpHeaders headers = new HttpHeaders();
-		for (String name : channel.requestHeaders().names()) {
-			headers.put(name, channel.requestHeaders().getAll(name));
-		}
-		return headers;
+		return new HttpHeaders(new NettyHeadersAdapter(channel.requestHeaders()));
 	}
 
 
@@ -30,6 +30,7 @@ import reactor.ipc.netty.http.server.HttpServerResponse;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.util.Assert;
@@ -47,9 +48,12 @@ class ReactorServerHttpResponse extends AbstractServerHttpResponse implements Ze
 
 
 	public ReactorServerHttpResponse(HttpServerResponse response, DataBufferFactory bufferFactory) {
-		super(bufferFactory);
+		super(bufferFactory, new HttpHeaders(new NettyHeadersAdapter(response.responseHeaders())));
 		Assert.notNull(response, "HttpServerResponse must not be null");
 		this.response = response;
+		// Hide Reactor Netty's default chunked encoding until the headers are applied,
+		// so that it does not get in the way of setting a Content-Length
+		this.response.chunkedTransfer(false);
 	}
 
 
@@ -83,11 +87,12 @@ class ReactorServerHttpResponse extends AbstractServerHttpResponse implements Ze
 
 	@Override
 	protected void applyHeaders() {
-		getHeaders().forEach((headerName, headerValues) -> {
-			for (String value : headerValues) {
-				this.response.responseHeaders().add(headerName, value);
-			}
-		});
+		// Headers are written through to the Netty response headers directly,
+		// so only fall back on chunked encoding if no length has been set
+		HttpHeaders headers = getHeaders();
+		if (headers.getContentLength() == -1 && !headers.containsKey(HttpHeaders.TRANSFER_ENCODING)) {
+			this.response.chunkedTransfer(true);
+		}
 	}
 
 	@Override
@@ -78,7 +78,19 @@ class ServletServerHttpRequest extends AbstractServerHttpRequest {
 			String servletPath, DataBufferFactory bufferFactory, int bufferSize)
 			throws IOException, URISyntaxException {
 
-		super(initUri(request), request.getContextPath() + servletPath, initHeaders(request));
+		this(createDefaultHttpHeaders(request), request, asyncContext, servletPath, bufferFactory, bufferSize);
+	}
+
+	/**
+	 * Constructor with the request headers to use, e.g. backed by the native
+	 * headers of the underlying server instead of a copy of them.
+	 * @since 5.1
+	 */
+	public ServletServerHttpRequest(HttpHeaders headers, HttpServletRequest request, AsyncContext asyncContext,
+			String servletPath, DataBufferFactory bufferFactory, int bufferSize)
+			throws IOException, URISyntaxException {
+
+		super(initUri(request), request.getContextPath() + servletPath, initHeaders(headers, request));
 
 		Assert.notNull(bufferFactory, "'bufferFactory' must not be null");
 		Assert.isTrue(bufferSize > 0, "'bufferSize' must be higher than 0");
@@ -105,7 +117,7 @@ class ServletServerHttpRequest extends AbstractServerHttpRequest {
 		return new URI(url.toString());
 	}
 
-	private static HttpHeaders initHeaders(HttpServletRequest request) {
+	private static HttpHeaders createDefaultHttpHeaders(HttpServletRequest request) {
 		HttpHeaders headers = new HttpHeaders();
 		for (Enumeration<?> names = request.getHeaderNames();
 			 names.hasMoreElements(); ) {
@@ -115,6 +127,10 @@ class ServletServerHttpRequest extends AbstractServerHttpRequest {
 				headers.add(name, (String) values.nextElement());
 			}
 		}
+		return headers;
+	}
+
+	private static HttpHeaders initHeaders(HttpHeaders headers, HttpServletRequest request) {
 		MediaType contentType = headers.getContentType();
 		if (contentType == null) {
 			String requestContentType = request.getContentType();
@@ -33,6 +33,7 @@ import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseCookie;
 import org.springframework.lang.Nullable;
@@ -64,7 +65,18 @@ class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
 	public ServletServerHttpResponse(HttpServletResponse response, AsyncContext asyncContext,
 			DataBufferFactory bufferFactory, int bufferSize) throws IOException {
 
-		super(bufferFactory);
+		this(new HttpHeaders(), response, asyncContext, bufferFactory, bufferSize);
+	}
+
+	/**
+	 * Constructor with the response headers to use, e.g. backed by the native
+	 * headers of the underlying server.
+	 * @since 5.1
+	 */
+	public ServletServerHttpResponse(HttpHeaders headers, HttpServletResponse response,
+			AsyncContext asyncContext, DataBufferFactory bufferFactory, int bufferSize) throws IOException {
+
+		super(bufferFactory, headers);
 
 		Assert.notNull(response, "HttpServletResponse must not be null");
 		Assert.notNull(bufferFactory, "DataBufferFactory must not be null");
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.tomcat.util.http.MimeHeaders;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code MultiValueMap} implementation for wrapping Tomcat HTTP headers,
+ * so that they can be read and written without copying.
+ *
+ * @since 5.1
+ */
+class TomcatHeadersAdapter extends AbstractHeadersAdapter {
+
+	private final MimeHeaders headers;
+
+
+	TomcatHeadersAdapter(MimeHeaders headers) {
+		this.headers = headers;
+	}
+
+
+	@Override
+	@Nullable
+	public String getFirst(String key) {
+		return this.headers.getHeader(key);
+	}
+
+	@Override
+	public void add(String key, @Nullable String value) {
+		this.headers.addValue(key).setString(value);
+	}
+
+	@Override
+	public void set(String key, @Nullable String value) {
+		this.headers.setValue(key).setString(value);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (this.headers.size() == 0);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof String && this.headers.findHeader((String) key, 0) != -1);
+	}
+
+	@Override
+	@Nullable
+	public List<String> get(Object key) {
+		if (containsKey(key)) {
+			return Collections.list(this.headers.values((String) key));
+		}
+		return null;
+	}
+
+	@Nullable
+	@Override
+	public List<String> put(String key, List<String> value) {
+		List<String> previousValues = get(key);
+		this.headers.removeHeader(key);
+		value.forEach(v -> this.headers.addValue(key).setString(v));
+		return previousValues;
+	}
+
+	@Nullable
+	@Override
+	public List<String> remove(Object key) {
+		if (key instanceof String) {
+			List<String> previousValues = get(key);
+			this.headers.removeHeader((String) key);
+			return previousValues;
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		this.headers.clear();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		Set<String> names = new LinkedHashSet<>(this.headers.size());
+		Collections.list(this.headers.names()).forEach(names::add);
+		return names;
+	}
+
+}
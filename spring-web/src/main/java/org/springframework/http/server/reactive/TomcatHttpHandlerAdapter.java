@@ -17,32 +17,54 @@
 package org.springframework.http.server.reactive;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import javax.servlet.AsyncContext;
 import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestWrapper;
 import javax.servlet.ServletResponse;
+import javax.servlet.ServletResponseWrapper;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.catalina.connector.CoyoteInputStream;
 import org.apache.catalina.connector.CoyoteOutputStream;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.RequestFacade;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.connector.ResponseFacade;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * {@link ServletHttpHandlerAdapter} extension that uses Tomcat APIs for reading
  * from the request and writing to the response with {@link ByteBuffer}.
  *
+ * <p>As of 5.1, request and response headers are exposed through an adapter
+ * over Tomcat's native {@code MimeHeaders}, rather than copied to and from
+ * the Servlet API, as long as the Tomcat request and response can be unwrapped.
+ *
  * @author Violeta Georgieva
  * @since 5.0
  * @see org.springframework.web.server.adapter.AbstractReactiveWebInitializer
  */
 public class TomcatHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 
+	@Nullable
+	private static final Field REQUEST_FIELD = ReflectionUtils.findField(RequestFacade.class, "request");
+
+	@Nullable
+	private static final Field RESPONSE_FIELD = ReflectionUtils.findField(ResponseFacade.class, "response");
+
 
 	public TomcatHttpHandlerAdapter(HttpHandler httpHandler) {
 		super(httpHandler);
@@ -54,6 +76,13 @@ public class TomcatHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 			throws IOException, URISyntaxException {
 
 		Assert.notNull(getServletPath(), "servletPath is not initialized.");
+		Request tomcatRequest = getTomcatRequest(request);
+		if (tomcatRequest != null) {
+			HttpHeaders headers = new HttpHeaders(
+					new TomcatHeadersAdapter(tomcatRequest.getCoyoteRequest().getMimeHeaders()));
+			return new TomcatServerHttpRequest(headers, request, asyncContext, getServletPath(),
+					getDataBufferFactory(), getBufferSize());
+		}
 		return new TomcatServerHttpRequest(request, asyncContext, getServletPath(),
 				getDataBufferFactory(), getBufferSize());
 	}
@@ -62,9 +91,45 @@ public class TomcatHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 	protected ServerHttpResponse createResponse(HttpServletResponse response, AsyncContext cxt)
 			throws IOException {
 
+		Response tomcatResponse = getTomcatResponse(response);
+		if (tomcatResponse != null) {
+			HttpHeaders headers = new HttpHeaders(
+					new TomcatHeadersAdapter(tomcatResponse.getCoyoteResponse().getMimeHeaders()));
+			return new TomcatServerHttpResponse(headers, response, cxt, getDataBufferFactory(), getBufferSize());
+		}
 		return new TomcatServerHttpResponse(response, cxt, getDataBufferFactory(), getBufferSize());
 	}
 
+	@Nullable
+	private static Request getTomcatRequest(ServletRequest request) {
+		while (request instanceof ServletRequestWrapper) {
+			request = ((ServletRequestWrapper) request).getRequest();
+		}
+		if (request instanceof Request) {
+			return (Request) request;
+		}
+		if (request instanceof RequestFacade && REQUEST_FIELD != null) {
+			ReflectionUtils.makeAccessible(REQUEST_FIELD);
+			return (Request) ReflectionUtils.getField(REQUEST_FIELD, request);
+		}
+		return null;
+	}
+
+	@Nullable
+	private static Response getTomcatResponse(ServletResponse response) {
+		while (response instanceof ServletResponseWrapper) {
+			response = ((ServletResponseWrapper) response).getResponse();
+		}
+		if (response instanceof Response) {
+			return (Response) response;
+		}
+		if (response instanceof ResponseFacade && RESPONSE_FIELD != null) {
+			ReflectionUtils.makeAccessible(RESPONSE_FIELD);
+			return (Response) ReflectionUtils.getField(RESPONSE_FIELD, response);
+		}
+		return null;
+	}
+
 
 	private final class TomcatServerHttpRequest extends ServletServerHttpRequest {
 
@@ -75,6 +140,13 @@ public class TomcatHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 			super(request, context, servletPath, factory, bufferSize);
 		}
 
+		public TomcatServerHttpRequest(HttpHeaders headers, HttpServletRequest request, AsyncContext context,
+				String servletPath, DataBufferFactory factory, int bufferSize)
+				throws IOException, URISyntaxException {
+
+			super(headers, request, context, servletPath, factory, bufferSize);
+		}
+
 		@Override
 		protected DataBuffer readFromInputStream() throws IOException {
 			boolean release = true;
@@ -112,10 +184,43 @@ public class TomcatHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 
 	private static final class TomcatServerHttpResponse extends ServletServerHttpResponse {
 
+		private final boolean nativeHeaders;
+
 		public TomcatServerHttpResponse(HttpServletResponse response, AsyncContext context,
 				DataBufferFactory factory, int bufferSize) throws IOException {
 
 			super(response, context, factory, bufferSize);
+			this.nativeHeaders = false;
+		}
+
+		public TomcatServerHttpResponse(HttpHeaders headers, HttpServletResponse response, AsyncContext context,
+				DataBufferFactory factory, int bufferSize) throws IOException {
+
+			super(headers, response, context, factory, bufferSize);
+			this.nativeHeaders = true;
+		}
+
+		@Override
+		protected void applyHeaders() {
+			if (!this.nativeHeaders) {
+				super.applyHeaders();
+				return;
+			}
+			// Headers are in Tomcat's MimeHeaders already, but Tomcat keeps track of
+			// content type and length separately (replacing the header values on commit)
+			HttpServletResponse response = getNativeResponse();
+			MediaType contentType = getHeaders().getContentType();
+			if (response.getContentType() == null && contentType != null) {
+				response.setContentType(contentType.toString());
+			}
+			Charset charset = (contentType != null ? contentType.getCharset() : null);
+			if (response.getCharacterEncoding() == null && charset != null) {
+				response.setCharacterEncoding(charset.name());
+			}
+			long contentLength = getHeaders().getContentLength();
+			if (contentLength != -1) {
+				response.setContentLengthLong(contentLength);
+			}
 		}
 
 		@Override
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.HttpString;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code MultiValueMap} implementation for wrapping Undertow HTTP headers,
+ * so that they can be read and written without copying.
+ *
+ * @since 5.1
+ */
+class UndertowHeadersAdapter extends AbstractHeadersAdapter {
+
+	private final HeaderMap headers;
+
+
+	UndertowHeadersAdapter(HeaderMap headers) {
+		this.headers = headers;
+	}
+
+
+	@Override
+	@Nullable
+	public String getFirst(String key) {
+		return this.headers.getFirst(key);
+	}
+
+	@Override
+	public void add(String key, @Nullable String value) {
+		this.headers.add(HttpString.tryFromString(key), value);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void addAll(String key, List<? extends String> values) {
+		this.headers.addAll(HttpString.tryFromString(key), (List<String>) values);
+	}
+
+	@Override
+	public void set(String key, @Nullable String value) {
+		this.headers.put(HttpString.tryFromString(key), value);
+	}
+
+	@Override
+	public Map<String, String> toSingleValueMap() {
+		Map<String, String> singleValueMap = new LinkedHashMap<>(this.headers.size());
+		this.headers.forEach(values -> singleValueMap.put(values.getHeaderName().toString(), values.getFirst()));
+		return singleValueMap;
+	}
+
+	@Override
+	public int size() {
+		return this.headers.getHeaderNames().size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (this.headers.size() == 0);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof String && this.headers.contains((String) key));
+	}
+
+	@Override
+	@Nullable
+	public List<String> get(Object key) {
+		if (key instanceof String) {
+			HeaderValues values = this.headers.get((String) key);
+			return (values != null ? new ArrayList<>(values) : null);
+		}
+		return null;
+	}
+
+	@Nullable
+	@Override
+	public List<String> put(String key, List<String> value) {
+		HeaderValues previousValues = this.headers.get(key);
+		List<String> result = (previousValues != null ? new ArrayList<>(previousValues) : null);
+		this.headers.putAll(HttpString.tryFromString(key), value);
+		return result;
+	}
+
+	@Nullable
+	@Override
+	public List<String> remove(Object key) {
+		if (key instanceof String) {
+			Collection<String> previousValues = this.headers.remove((String) key);
+			return (previousValues != null ? new ArrayList<>(previousValues) : null);
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		this.headers.clear();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return this.headers.getHeaderNames().stream()
+				.map(HttpString::toString)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+
+}
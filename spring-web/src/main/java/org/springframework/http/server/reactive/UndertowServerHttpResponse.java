@@ -25,7 +25,6 @@ import java.nio.file.StandardOpenOption;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.Cookie;
 import io.undertow.server.handlers.CookieImpl;
-import io.undertow.util.HttpString;
 import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
 import org.xnio.channels.Channels;
@@ -35,6 +34,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.lang.Nullable;
@@ -57,7 +57,7 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 
 
 	public UndertowServerHttpResponse(HttpServerExchange exchange, DataBufferFactory bufferFactory) {
-		super(bufferFactory);
+		super(bufferFactory, new HttpHeaders(new UndertowHeadersAdapter(exchange.getResponseHeaders())));
 		Assert.notNull(exchange, "HttpServerExchange must not be null");
 		this.exchange = exchange;
 	}
@@ -80,8 +80,7 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 
 	@Override
 	protected void applyHeaders() {
-		getHeaders().forEach((headerName, headerValues) ->
-				this.exchange.getResponseHeaders().addAll(HttpString.tryFromString(headerName), headerValues));
+		// Headers are written through to the Undertow response headers directly
 	}
 
 	@Override
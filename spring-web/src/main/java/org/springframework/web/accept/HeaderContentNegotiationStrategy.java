@@ -17,24 +17,79 @@
 package org.springframework.web.accept;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.context.request.NativeWebRequest;
 
 /**
  * A {@code ContentNegotiationStrategy} that checks the 'Accept' request header.
  *
+ * <p>As of 5.1, the parsed and sorted media types are cached per 'Accept'
+ * header value, up to a configurable {@link #setCacheLimit limit}. The lists
+ * returned are unmodifiable.
+ *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
  * @since 3.2
  */
 public class HeaderContentNegotiationStrategy implements ContentNegotiationStrategy {
 
+	/** Default maximum number of entries for the media type cache: 256 */
+	public static final int DEFAULT_CACHE_LIMIT = 256;
+
+
+	/** The maximum number of entries in the cache */
+	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
+
+	/** Fast access cache for parsed media types, without a global lock */
+	private final Map<String, List<MediaType>> mediaTypeAccessCache = new ConcurrentHashMap<>(DEFAULT_CACHE_LIMIT);
+
+	/** Map from header value to parsed media types, synchronized for eviction */
+	@SuppressWarnings("serial")
+	private final Map<String, List<MediaType>> mediaTypeCreationCache =
+			new LinkedHashMap<String, List<MediaType>>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, List<MediaType>> eldest) {
+					if (size() > getCacheLimit()) {
+						mediaTypeAccessCache.remove(eldest.getKey());
+						return true;
+					}
+					else {
+						return false;
+					}
+				}
+			};
+
+
+	/**
+	 * Specify the maximum number of 'Accept' header values to cache the
+	 * parsed media types for, with the least recently parsed ones evicted first.
+	 * <p>Default is 256. Set this to 0 in order to turn caching off.
+	 * @since 5.1
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		this.cacheLimit = cacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of entries for the media type cache.
+	 * @since 5.1
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+
 	/**
 	 * {@inheritDoc}
 	 * @throws HttpMediaTypeNotAcceptableException if the 'Accept' header cannot be parsed
@@ -48,11 +103,28 @@ public class HeaderContentNegotiationStrategy implements ContentNegotiationStrat
 			return MEDIA_TYPE_ALL_LIST;
 		}
 
+		if (getCacheLimit() <= 0) {
+			return parseMediaTypes(headerValueArray);
+		}
+		String cacheKey = (headerValueArray.length == 1 ? headerValueArray[0] :
+				StringUtils.arrayToCommaDelimitedString(headerValueArray));
+		List<MediaType> mediaTypes = this.mediaTypeAccessCache.get(cacheKey);
+		if (mediaTypes == null) {
+			mediaTypes = parseMediaTypes(headerValueArray);
+			synchronized (this.mediaTypeCreationCache) {
+				this.mediaTypeAccessCache.put(cacheKey, mediaTypes);
+				this.mediaTypeCreationCache.put(cacheKey, mediaTypes);
+			}
+		}
+		return mediaTypes;
+	}
+
+	private List<MediaType> parseMediaTypes(String[] headerValueArray) throws HttpMediaTypeNotAcceptableException {
 		List<String> headerValues = Arrays.asList(headerValueArray);
 		try {
 			List<MediaType> mediaTypes = MediaType.parseMediaTypes(headerValues);
 			MediaType.sortBySpecificityAndQuality(mediaTypes);
-			return !CollectionUtils.isEmpty(mediaTypes) ? mediaTypes : MEDIA_TYPE_ALL_LIST;
+			return !CollectionUtils.isEmpty(mediaTypes) ? Collections.unmodifiableList(mediaTypes) : MEDIA_TYPE_ALL_LIST;
 		}
 		catch (InvalidMediaTypeException ex) {
 			throw new HttpMediaTypeNotAcceptableException(
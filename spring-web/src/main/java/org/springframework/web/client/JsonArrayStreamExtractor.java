@@ -0,0 +1,124 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.client;
+
+import java.io.IOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Response extractor that decodes the elements of a top-level JSON array
+ * one at a time with Jackson, exposing them as a {@link Stream} that reads
+ * from the open response as it is consumed.
+ *
+ * <p>Closing the returned stream closes the response.
+ *
+ * @since 5.1
+ * @param <T> the element type
+ * @see RestTemplate#jsonArrayStreamExtractor(Class)
+ */
+class JsonArrayStreamExtractor<T> implements StreamingResponseExtractor<Stream<T>> {
+
+	private final ObjectMapper objectMapper;
+
+	private final JavaType elementType;
+
+
+	JsonArrayStreamExtractor(ObjectMapper objectMapper, Class<T> elementType) {
+		this.objectMapper = objectMapper;
+		this.elementType = objectMapper.constructType(elementType);
+	}
+
+
+	@Override
+	public Stream<T> extractData(ClientHttpResponse response) throws IOException {
+		JsonParser parser = this.objectMapper.getFactory().createParser(response.getBody());
+		JsonToken token;
+		try {
+			token = parser.nextToken();
+		}
+		catch (IOException | RuntimeException ex) {
+			parser.close();
+			throw ex;
+		}
+		if (token == null) {
+			parser.close();
+			response.close();
+			return Stream.empty();
+		}
+		if (token != JsonToken.START_ARRAY) {
+			parser.close();
+			throw new RestClientException("Expected JSON array for element type [" +
+					this.elementType + "] but found " + token);
+		}
+		ObjectReader reader = this.objectMapper.readerFor(this.elementType);
+		return StreamSupport.stream(new ElementSpliterator(parser, reader), false)
+				.onClose(() -> {
+					try {
+						parser.close();
+					}
+					catch (IOException ex) {
+						// ignore
+					}
+					finally {
+						response.close();
+					}
+				});
+	}
+
+
+	private class ElementSpliterator extends Spliterators.AbstractSpliterator<T> {
+
+		private final JsonParser parser;
+
+		private final ObjectReader reader;
+
+		public ElementSpliterator(JsonParser parser, ObjectReader reader) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED);
+			this.parser = parser;
+			this.reader = reader;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			try {
+				JsonToken token = this.parser.nextToken();
+				if (token == null || token == JsonToken.END_ARRAY) {
+					return false;
+				}
+				action.accept(this.reader.readValue(this.parser));
+				return true;
+			}
+			catch (IOException ex) {
+				throw new RestClientException("Error while extracting JSON array element of type [" +
+						elementType + "]", ex);
+			}
+		}
+	}
+
+}
@@ -26,11 +26,13 @@ import org.springframework.lang.Nullable;
  * Generic callback interface used by {@link RestTemplate}'s retrieval methods
  * Implementations of this interface perform the actual work of extracting data
  * from a {@link ClientHttpResponse}, but don't need to worry about exception
- * handling or closing resources.
+ * handling or closing resources (unless they are {@link StreamingResponseExtractor}s).
  *
  * <p>Used internally by the {@link RestTemplate}, but also useful for
- * application code. There is one available factory method, see
- * {@link RestTemplate#responseEntityExtractor(Type)}.
+ * application code. There are factory methods available, see
+ * {@link RestTemplate#responseEntityExtractor(Type)},
+ * {@link RestTemplate#resourceStreamExtractor()} and
+ * {@link RestTemplate#jsonArrayStreamExtractor(Class)}.
  *
  * @author Arjen Poutsma
  * @since 3.0
@@ -16,7 +16,9 @@
 
 package org.springframework.web.client;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.ArrayList;
@@ -29,6 +31,8 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -757,7 +761,12 @@ public class RestTemplate extends InterceptingHttpAccessor implements RestOperat
 			}
 			response = request.execute();
 			handleResponse(url, method, response);
-			return (responseExtractor != null ? responseExtractor.extractData(response) : null);
+			T result = (responseExtractor != null ? responseExtractor.extractData(response) : null);
+			if (result != null && responseExtractor instanceof StreamingResponseExtractor) {
+				// The extracted value has taken over the open response
+				response = null;
+			}
+			return result;
 		}
 		catch (IOException ex) {
 			String resource = url.toString();
@@ -838,6 +847,49 @@ public class RestTemplate extends InterceptingHttpAccessor implements RestOperat
 		return new ResponseEntityResponseExtractor<>(responseType);
 	}
 
+	/**
+	 * Return a {@code ResponseExtractor} that exposes the response body as an
+	 * {@link InputStreamResource}, reading from the open response rather than
+	 * copying the body into memory. The response is closed when the resource's
+	 * {@linkplain Resource#getInputStream() input stream} is closed.
+	 * @since 5.1
+	 * @see StreamingResponseExtractor
+	 */
+	public StreamingResponseExtractor<Resource> resourceStreamExtractor() {
+		return new ResourceStreamExtractor();
+	}
+
+	/**
+	 * Return a {@code ResponseExtractor} that decodes the elements of a JSON array
+	 * response body one at a time, using the {@code ObjectMapper} of the first
+	 * configured {@link MappingJackson2HttpMessageConverter}. The returned
+	 * {@link Stream} reads from the open response as it is consumed and must be
+	 * closed, e.g. through a try-with-resources statement, in order to release
+	 * the response:
+	 * <pre class="code">
+	 * try (Stream&lt;Foo&gt; foos = restTemplate.execute(url, HttpMethod.GET,
+	 *         restTemplate.acceptHeaderRequestCallback(Foo.class),
+	 *         restTemplate.jsonArrayStreamExtractor(Foo.class))) {
+	 *     foos.forEach(...);
+	 * }
+	 * </pre>
+	 * @param elementType the type of the array elements
+	 * @throws IllegalStateException if no Jackson converter is configured
+	 * @since 5.1
+	 * @see StreamingResponseExtractor
+	 */
+	public <T> StreamingResponseExtractor<Stream<T>> jsonArrayStreamExtractor(Class<T> elementType) {
+		if (jackson2Present) {
+			for (HttpMessageConverter<?> converter : getMessageConverters()) {
+				if (converter instanceof MappingJackson2HttpMessageConverter) {
+					return new JsonArrayStreamExtractor<>(
+							((MappingJackson2HttpMessageConverter) converter).getObjectMapper(), elementType);
+				}
+			}
+		}
+		throw new IllegalStateException("No MappingJackson2HttpMessageConverter configured");
+	}
+
 	/**
 	 * Returns a response extractor for {@link HttpHeaders}.
 	 */
@@ -1032,6 +1084,29 @@ public class RestTemplate extends InterceptingHttpAccessor implements RestOperat
 	}
 
 
+	/**
+	 * Response extractor that exposes the open response body as a {@link Resource}.
+	 */
+	private static class ResourceStreamExtractor implements StreamingResponseExtractor<Resource> {
+
+		@Override
+		public Resource extractData(ClientHttpResponse response) throws IOException {
+			InputStream body = new FilterInputStream(response.getBody()) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					}
+					finally {
+						response.close();
+					}
+				}
+			};
+			return new InputStreamResource(body);
+		}
+	}
+
+
 	/**
 	 * Response extractor that extracts the response {@link HttpHeaders}.
 	 */
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.client;
+
+/**
+ * {@link ResponseExtractor} that hands the open response over to the extracted
+ * value, so that the body can be consumed lazily rather than being converted
+ * as a whole up front.
+ *
+ * <p>Unlike for regular response extractors, {@link RestTemplate} does not close
+ * the response once a non-{@code null} value has been extracted: the extracted
+ * value takes over the response and is responsible for closing it, e.g. when a
+ * returned {@link java.util.stream.Stream} or {@link java.io.InputStream} is
+ * closed. The response is still closed if extraction fails or returns {@code null}.
+ *
+ * @since 5.1
+ * @param <T> the data type
+ * @see RestTemplate#resourceStreamExtractor()
+ * @see RestTemplate#jsonArrayStreamExtractor(Class)
+ */
+@FunctionalInterface
+public interface StreamingResponseExtractor<T> extends ResponseExtractor<T> {
+
+}
@@ -19,14 +19,17 @@ package org.springframework.web.filter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.security.MessageDigest;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.ServletRequest;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.DigestUtils;
 import org.springframework.web.util.ContentCachingResponseWrapper;
@@ -66,6 +69,10 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 	private boolean writeWeakETag = false;
 
+	private int contentCacheLimit = -1;
+
+	private boolean incrementalDigest = false;
+
 
 	/**
 	 * Set whether the ETag value written to the response should be weak, as per RFC 7232.
@@ -86,6 +93,48 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		return this.writeWeakETag;
 	}
 
+	/**
+	 * Set the maximum number of response body bytes to buffer for ETag generation.
+	 * <p>Once a response body exceeds this limit, the content buffered so far is
+	 * written to the response and the remainder is streamed through without an
+	 * ETag, so that large responses are not held in memory as a whole.
+	 * <p>By default this is set to -1, i.e. the entire response body is buffered.
+	 * @since 5.1
+	 * @see ContentCachingResponseWrapper#ContentCachingResponseWrapper(HttpServletResponse, int)
+	 */
+	public void setContentCacheLimit(int contentCacheLimit) {
+		this.contentCacheLimit = contentCacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of response body bytes to buffer for ETag generation.
+	 * @since 5.1
+	 */
+	public int getContentCacheLimit() {
+		return this.contentCacheLimit;
+	}
+
+	/**
+	 * Set whether the MD5 digest of the response body should be computed
+	 * incrementally as content is written, rather than in a second pass over
+	 * the buffered content once the response is complete.
+	 * <p>Note that in this mode the ETag value is derived from the computed
+	 * digest directly, bypassing {@link #generateETagHeaderValue(InputStream, boolean)}.
+	 * <p>By default this is set to {@code false}.
+	 * @since 5.1
+	 */
+	public void setIncrementalDigest(boolean incrementalDigest) {
+		this.incrementalDigest = incrementalDigest;
+	}
+
+	/**
+	 * Return whether the MD5 digest of the response body is computed incrementally.
+	 * @since 5.1
+	 */
+	public boolean isIncrementalDigest() {
+		return this.incrementalDigest;
+	}
+
 
 	/**
 	 * The default value is {@code false} so that the filter may delay the generation
@@ -102,7 +151,8 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 		HttpServletResponse responseToUse = response;
 		if (!isAsyncDispatch(request) && !(response instanceof ContentCachingResponseWrapper)) {
-			responseToUse = new HttpStreamingAwareContentCachingResponseWrapper(response, request);
+			responseToUse = new HttpStreamingAwareContentCachingResponseWrapper(
+					response, request, this.contentCacheLimit, this.incrementalDigest);
 		}
 
 		filterChain.doFilter(request, responseToUse);
@@ -119,11 +169,11 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		HttpServletResponse rawResponse = (HttpServletResponse) responseWrapper.getResponse();
 		int statusCode = responseWrapper.getStatusCode();
 
-		if (rawResponse.isCommitted()) {
+		if (rawResponse.isCommitted() || responseWrapper.isContentCacheLimitExceeded()) {
 			responseWrapper.copyBodyToResponse();
 		}
 		else if (isEligibleForEtag(request, responseWrapper, statusCode, responseWrapper.getContentInputStream())) {
-			String responseETag = generateETagHeaderValue(responseWrapper.getContentInputStream(), this.writeWeakETag);
+			String responseETag = generateETagHeaderValue(responseWrapper);
 			rawResponse.setHeader(HEADER_ETAG, responseETag);
 			String requestETag = request.getHeader(HEADER_IF_NONE_MATCH);
 			if (requestETag != null && ("*".equals(requestETag) || responseETag.equals(requestETag) ||
@@ -174,6 +224,28 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		return false;
 	}
 
+	private String generateETagHeaderValue(ContentCachingResponseWrapper responseWrapper) throws IOException {
+		if (responseWrapper instanceof HttpStreamingAwareContentCachingResponseWrapper) {
+			MessageDigest digest = ((HttpStreamingAwareContentCachingResponseWrapper) responseWrapper).getDigest();
+			if (digest != null) {
+				return generateETagHeaderValue(digest, this.writeWeakETag);
+			}
+		}
+		return generateETagHeaderValue(responseWrapper.getContentInputStream(), this.writeWeakETag);
+	}
+
+	private static String generateETagHeaderValue(MessageDigest digest, boolean isWeak) {
+		// length of W/ + " + 0 + 32bits md5 hash + "
+		StringBuilder builder = new StringBuilder(37);
+		if (isWeak) {
+			builder.append("W/");
+		}
+		builder.append("\"0");
+		DigestUtils.appendDigestAsHex(digest, builder);
+		builder.append('"');
+		return builder.toString();
+	}
+
 	/**
 	 * Generate the ETag header value from the given response body byte array.
 	 * <p>The default implementation generates an MD5 hash.
@@ -216,14 +288,53 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 		private final HttpServletRequest request;
 
-		public HttpStreamingAwareContentCachingResponseWrapper(HttpServletResponse response, HttpServletRequest request) {
-			super(response);
+		@Nullable
+		private final MessageDigest digest;
+
+		@Nullable
+		private ServletOutputStream digestOutputStream;
+
+		public HttpStreamingAwareContentCachingResponseWrapper(HttpServletResponse response, HttpServletRequest request,
+				int contentCacheLimit, boolean incrementalDigest) {
+
+			super(response, (contentCacheLimit >= 0 ? contentCacheLimit : Integer.MAX_VALUE));
 			this.request = request;
+			this.digest = (incrementalDigest ? DigestUtils.createMd5Digest() : null);
+		}
+
+		@Nullable
+		public MessageDigest getDigest() {
+			return this.digest;
 		}
 
 		@Override
 		public ServletOutputStream getOutputStream() throws IOException {
-			return (useRawResponse() ? getResponse().getOutputStream() : super.getOutputStream());
+			if (useRawResponse()) {
+				return getResponse().getOutputStream();
+			}
+			if (this.digest == null) {
+				return super.getOutputStream();
+			}
+			if (this.digestOutputStream == null) {
+				this.digestOutputStream = new DigestServletOutputStream(super.getOutputStream(), this.digest);
+			}
+			return this.digestOutputStream;
+		}
+
+		@Override
+		public void resetBuffer() {
+			super.resetBuffer();
+			if (this.digest != null) {
+				this.digest.reset();
+			}
+		}
+
+		@Override
+		public void reset() {
+			super.reset();
+			if (this.digest != null) {
+				this.digest.reset();
+			}
 		}
 
 		@Override
@@ -236,4 +347,39 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		}
 	}
 
+
+	private static class DigestServletOutputStream extends ServletOutputStream {
+
+		private final ServletOutputStream delegate;
+
+		private final MessageDigest digest;
+
+		public DigestServletOutputStream(ServletOutputStream delegate, MessageDigest digest) {
+			this.delegate = delegate;
+			this.digest = digest;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.digest.update((byte) b);
+			this.delegate.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.digest.update(b, off, len);
+			this.delegate.write(b, off, len);
+		}
+
+		@Override
+		public boolean isReady() {
+			return this.delegate.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			this.delegate.setWriteListener(writeListener);
+		}
+	}
+
 }
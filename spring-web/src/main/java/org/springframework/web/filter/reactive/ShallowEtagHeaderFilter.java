@@ -0,0 +1,298 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.filter.reactive;
+
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+/**
+ * Reactive {@link WebFilter} that generates an {@code ETag} value based on the
+ * content on the response. This ETag is compared to the {@code If-None-Match}
+ * header of the request. If these headers are equal, the response content is
+ * not sent, but rather a {@code 304 "Not Modified"} status instead.
+ *
+ * <p>The MD5 digest of the response body is computed incrementally as data
+ * buffers are emitted, while the buffers are held back until the body is
+ * complete. Bodies exceeding the {@link #setContentCacheLimit content cache limit}
+ * are streamed through without an ETag once the limit is reached, and bodies
+ * written with {@link ServerHttpResponse#writeAndFlushWith} are never buffered.
+ *
+ * <p>Since the ETag is based on the response content, the response is still
+ * rendered. As such, this filter only saves bandwidth, not server performance.
+ *
+ * @since 5.1
+ * @see org.springframework.web.filter.ShallowEtagHeaderFilter
+ */
+public class ShallowEtagHeaderFilter implements WebFilter {
+
+	private static final String DIRECTIVE_NO_STORE = "no-store";
+
+
+	private boolean writeWeakETag = false;
+
+	private int contentCacheLimit = -1;
+
+
+	/**
+	 * Set whether the ETag value written to the response should be weak, as per RFC 7232.
+	 * @see <a href="https://tools.ietf.org/html/rfc7232#section-2.3">RFC 7232 section 2.3</a>
+	 */
+	public void setWriteWeakETag(boolean writeWeakETag) {
+		this.writeWeakETag = writeWeakETag;
+	}
+
+	/**
+	 * Return whether the ETag value written to the response should be weak, as per RFC 7232.
+	 */
+	public boolean isWriteWeakETag() {
+		return this.writeWeakETag;
+	}
+
+	/**
+	 * Set the maximum number of response body bytes to buffer for ETag generation.
+	 * <p>Once a response body exceeds this limit, the buffers held back so far
+	 * are written to the response and the remainder is streamed through without
+	 * an ETag, so that large responses are not held in memory as a whole.
+	 * <p>By default this is set to -1, i.e. the entire response body is buffered.
+	 */
+	public void setContentCacheLimit(int contentCacheLimit) {
+		this.contentCacheLimit = contentCacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of response body bytes to buffer for ETag generation.
+	 */
+	public int getContentCacheLimit() {
+		return this.contentCacheLimit;
+	}
+
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+			return chain.filter(exchange);
+		}
+		ServerHttpResponse response = new EtagServerHttpResponse(exchange);
+		return chain.filter(exchange.mutate().response(response).build());
+	}
+
+	/**
+	 * Indicates whether the given response is eligible for ETag generation.
+	 * <p>The default implementation returns {@code true} if all conditions match:
+	 * <ul>
+	 * <li>response status codes in the {@code 2xx} series</li>
+	 * <li>response ETag header is not set yet</li>
+	 * <li>response Cache-Control header is not set or does not contain a "no-store" directive</li>
+	 * </ul>
+	 * <p>Only invoked for GET requests, once the response body is written.
+	 * @param exchange the current server exchange
+	 * @param response the HTTP response
+	 * @return {@code true} if eligible for ETag generation, {@code false} otherwise
+	 */
+	protected boolean isEligibleForEtag(ServerWebExchange exchange, ServerHttpResponse response) {
+		HttpStatus statusCode = response.getStatusCode();
+		if (statusCode != null && !statusCode.is2xxSuccessful()) {
+			return false;
+		}
+		HttpHeaders headers = response.getHeaders();
+		if (headers.getETag() != null) {
+			return false;
+		}
+		String cacheControl = headers.getCacheControl();
+		return (cacheControl == null || !cacheControl.contains(DIRECTIVE_NO_STORE));
+	}
+
+	private String generateETagHeaderValue(MessageDigest digest) {
+		// length of W/ + " + 0 + 32bits md5 hash + "
+		StringBuilder builder = new StringBuilder(37);
+		if (this.writeWeakETag) {
+			builder.append("W/");
+		}
+		builder.append("\"0");
+		DigestUtils.appendDigestAsHex(digest, builder);
+		builder.append('"');
+		return builder.toString();
+	}
+
+	private static boolean matchesETag(ServerHttpRequest request, String responseETag) {
+		String responseTag = responseETag.replaceFirst("^W/", "");
+		for (String requestETag : request.getHeaders().getIfNoneMatch()) {
+			if ("*".equals(requestETag) || responseETag.equals(requestETag) ||
+					responseTag.equals(requestETag.replaceFirst("^W/", ""))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Response decorator that holds back the response body while computing its
+	 * digest, then writes the ETag header or a "304 Not Modified" status before
+	 * releasing the body to the underlying response.
+	 */
+	private class EtagServerHttpResponse extends ServerHttpResponseDecorator {
+
+		private final ServerWebExchange exchange;
+
+		public EtagServerHttpResponse(ServerWebExchange exchange) {
+			super(exchange.getResponse());
+			this.exchange = exchange;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			if (!isEligibleForEtag(this.exchange, this)) {
+				return super.writeWith(body);
+			}
+			BodyDigest bodyDigest = new BodyDigest();
+			Flux<DataBuffer> flux = Flux.from(body)
+					.concatMap(bodyDigest::update, 1)
+					.concatWith(Flux.defer(() -> handleComplete(bodyDigest)))
+					.doOnCancel(bodyDigest::release)
+					.doOnError(ex -> bodyDigest.release());
+			return super.writeWith(flux);
+		}
+
+		private Publisher<DataBuffer> handleComplete(BodyDigest bodyDigest) {
+			if (bodyDigest.isOverflow()) {
+				return Flux.empty();
+			}
+			String responseETag = generateETagHeaderValue(bodyDigest.getDigest());
+			getHeaders().setETag(responseETag);
+			if (matchesETag(this.exchange.getRequest(), responseETag)) {
+				bodyDigest.release();
+				getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+				setStatusCode(HttpStatus.NOT_MODIFIED);
+				return Flux.empty();
+			}
+			return bodyDigest.drain();
+		}
+	}
+
+
+	/**
+	 * Per-response digest state: the digest and size of the content seen so far,
+	 * and the buffers held back until the body is complete or the content cache
+	 * limit has been exceeded. Buffers still held back when the response body
+	 * is cancelled or fails are released.
+	 */
+	private class BodyDigest {
+
+		private final MessageDigest digest = DigestUtils.createMd5Digest();
+
+		private final Queue<DataBuffer> buffers = new ArrayDeque<>();
+
+		private long contentSize;
+
+		private boolean overflow;
+
+		private boolean released;
+
+		/**
+		 * Update the digest with the given buffer and hold it back, unless the
+		 * content cache limit has been exceeded.
+		 * @return the buffers to write now, i.e. none while holding back the
+		 * body, or all buffers held back so far once the limit is exceeded
+		 */
+		public Publisher<DataBuffer> update(DataBuffer buffer) {
+			if (this.overflow) {
+				return Mono.just(buffer);
+			}
+			this.contentSize += buffer.readableByteCount();
+			if (contentCacheLimit >= 0 && this.contentSize > contentCacheLimit) {
+				this.overflow = true;
+				hold(buffer);
+				return drain();
+			}
+			this.digest.update(buffer.asByteBuffer());
+			hold(buffer);
+			return Mono.empty();
+		}
+
+		/**
+		 * Whether the content cache limit has been exceeded, in which case the
+		 * body is written without an ETag.
+		 */
+		public boolean isOverflow() {
+			return this.overflow;
+		}
+
+		public MessageDigest getDigest() {
+			return this.digest;
+		}
+
+		/**
+		 * Emit the buffers held back so far, removing each one as it is emitted
+		 * so that those not yet emitted can still be released.
+		 */
+		public Flux<DataBuffer> drain() {
+			return Flux.generate(sink -> {
+				DataBuffer buffer = poll();
+				if (buffer != null) {
+					sink.next(buffer);
+				}
+				else {
+					sink.complete();
+				}
+			});
+		}
+
+		private synchronized void hold(DataBuffer buffer) {
+			if (this.released) {
+				DataBufferUtils.release(buffer);
+			}
+			else {
+				this.buffers.add(buffer);
+			}
+		}
+
+		@Nullable
+		private synchronized DataBuffer poll() {
+			return this.buffers.poll();
+		}
+
+		/**
+		 * Release all buffers that are still held back.
+		 */
+		public synchronized void release() {
+			this.released = true;
+			this.buffers.forEach(DataBufferUtils::release);
+			this.buffers.clear();
+		}
+	}
+
+}
@@ -18,6 +18,7 @@ package org.springframework.web.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
@@ -56,6 +57,11 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	@Nullable
 	private Integer contentLength;
 
+	@Nullable
+	private final Integer contentCacheLimit;
+
+	private boolean overflow;
+
 
 	/**
 	 * Create a new ContentCachingResponseWrapper for the given servlet response.
@@ -63,6 +69,23 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	 */
 	public ContentCachingResponseWrapper(HttpServletResponse response) {
 		super(response);
+		this.contentCacheLimit = null;
+	}
+
+	/**
+	 * Create a new ContentCachingResponseWrapper for the given servlet response.
+	 * <p>Once more than the given number of bytes has been written, the content
+	 * cached so far is copied to the underlying response and any further content
+	 * is written through to it without caching.
+	 * @param response the original servlet response
+	 * @param contentCacheLimit the maximum number of bytes to cache per response
+	 * @since 5.1
+	 * @see #handleContentOverflow(int)
+	 * @see #isContentCacheLimitExceeded()
+	 */
+	public ContentCachingResponseWrapper(HttpServletResponse response, int contentCacheLimit) {
+		super(response);
+		this.contentCacheLimit = contentCacheLimit;
 	}
 
 
@@ -124,22 +147,28 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	public PrintWriter getWriter() throws IOException {
 		if (this.writer == null) {
 			String characterEncoding = getCharacterEncoding();
-			this.writer = (characterEncoding != null ? new ResponsePrintWriter(characterEncoding) :
-					new ResponsePrintWriter(WebUtils.DEFAULT_CHARACTER_ENCODING));
+			this.writer = new ResponsePrintWriter(getOutputStream(),
+					(characterEncoding != null ? characterEncoding : WebUtils.DEFAULT_CHARACTER_ENCODING));
 		}
 		return this.writer;
 	}
 
 	@Override
 	public void flushBuffer() throws IOException {
-		// do not flush the underlying response as the content as not been copied to it yet
+		// do not flush the underlying response as the content as not been copied to it yet,
+		// unless the content cache limit has been exceeded and content is written through
+		if (this.overflow) {
+			super.flushBuffer();
+		}
 	}
 
 	@Override
 	public void setContentLength(int len) {
-		if (len > this.content.size()) {
-			this.content.resize(len);
+		if (this.overflow) {
+			super.setContentLength(len);
+			return;
 		}
+		resizeContent(len);
 		this.contentLength = len;
 	}
 
@@ -150,16 +179,23 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 					Integer.MAX_VALUE + "): " + len);
 		}
 		int lenInt = (int) len;
-		if (lenInt > this.content.size()) {
-			this.content.resize(lenInt);
+		if (this.overflow) {
+			super.setContentLength(lenInt);
+			return;
 		}
+		resizeContent(lenInt);
 		this.contentLength = lenInt;
 	}
 
 	@Override
 	public void setBufferSize(int size) {
-		if (size > this.content.size()) {
-			this.content.resize(size);
+		resizeContent(size);
+	}
+
+	private void resizeContent(int size) {
+		int targetSize = (this.contentCacheLimit != null ? Math.min(size, this.contentCacheLimit) : size);
+		if (targetSize > this.content.size()) {
+			this.content.resize(targetSize);
 		}
 	}
 
@@ -204,6 +240,17 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 		return this.content.size();
 	}
 
+	/**
+	 * Return whether more content has been written than the content cache limit
+	 * allows, in which case the cached content has been copied to the response
+	 * and any further content has been written through to it.
+	 * @since 5.1
+	 * @see #ContentCachingResponseWrapper(HttpServletResponse, int)
+	 */
+	public boolean isContentCacheLimitExceeded() {
+		return this.overflow;
+	}
+
 	/**
 	 * Copy the complete cached body content to the response.
 	 * @since 4.2
@@ -233,6 +280,33 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 		}
 	}
 
+	/**
+	 * Template method for handling a content overflow: specifically, a response
+	 * body being written that exceeds the specified content cache limit.
+	 * <p>The default implementation is empty. Subclasses may override this to
+	 * react to the switch from caching to writing through to the response.
+	 * @param contentCacheLimit the maximum number of bytes to cache per response
+	 * which has just been exceeded
+	 * @since 5.1
+	 * @see #ContentCachingResponseWrapper(HttpServletResponse, int)
+	 */
+	protected void handleContentOverflow(int contentCacheLimit) {
+	}
+
+	private void checkContentCacheLimit(int len) throws IOException {
+		if (!this.overflow && this.contentCacheLimit != null &&
+				len > this.contentCacheLimit - this.content.size()) {
+			this.overflow = true;
+			HttpServletResponse rawResponse = (HttpServletResponse) getResponse();
+			if (this.contentLength != null && !rawResponse.isCommitted()) {
+				rawResponse.setContentLength(this.contentLength);
+				this.contentLength = null;
+			}
+			copyBodyToResponse(false);
+			handleContentOverflow(this.contentCacheLimit);
+		}
+	}
+
 
 	private class ResponseServletOutputStream extends ServletOutputStream {
 
@@ -244,12 +318,24 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
 		@Override
 		public void write(int b) throws IOException {
-			content.write(b);
+			checkContentCacheLimit(1);
+			if (overflow) {
+				this.os.write(b);
+			}
+			else {
+				content.write(b);
+			}
 		}
 
 		@Override
 		public void write(byte[] b, int off, int len) throws IOException {
-			content.write(b, off, len);
+			checkContentCacheLimit(len);
+			if (overflow) {
+				this.os.write(b, off, len);
+			}
+			else {
+				content.write(b, off, len);
+			}
 		}
 
 		@Override
@@ -266,8 +352,10 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
 	private class ResponsePrintWriter extends PrintWriter {
 
-		public ResponsePrintWriter(String characterEncoding) throws UnsupportedEncodingException {
-			super(new OutputStreamWriter(content, characterEncoding));
+		public ResponsePrintWriter(OutputStream outputStream, String characterEncoding)
+				throws UnsupportedEncodingException {
+
+			super(new OutputStreamWriter(outputStream, characterEncoding));
 		}
 
 		@Override
@@ -529,4 +529,69 @@ public class HttpHeadersTests {
 		assertTrue(headers.getFirstZonedDateTime(HttpHeaders.DATE).isEqual(date));
 	}
 
+	@Test
+	public void readOnlyHttpHeadersIgnoreChanges() {
+		headers.add("Foo", "bar");
+		HttpHeaders readOnly = HttpHeaders.readOnlyHttpHeaders(headers);
+		assertSame(readOnly, HttpHeaders.readOnlyHttpHeaders(readOnly));
+		assertEquals(headers, readOnly);
+
+		headers.add("foo", "baz");
+		headers.set("Bar", "baz");
+		assertEquals(Collections.singletonList("bar"), readOnly.get("FOO"));
+		assertNull(readOnly.get("Bar"));
+		assertEquals(1, readOnly.size());
+	}
+
+	@Test
+	public void readOnlyHttpHeadersViewReflectChanges() {
+		headers.add("Foo", "bar");
+		HttpHeaders readOnly = HttpHeaders.readOnlyHttpHeadersView(headers);
+		assertSame(readOnly, HttpHeaders.readOnlyHttpHeadersView(readOnly));
+		assertEquals(headers, readOnly);
+
+		headers.add("foo", "baz");
+		headers.setContentLength(42);
+		assertEquals(Arrays.asList("bar", "baz"), readOnly.get("FOO"));
+		assertEquals(42, readOnly.getContentLength());
+		assertEquals(2, readOnly.size());
+	}
+
+	@Test
+	public void readOnlyHttpHeadersRejectChanges() {
+		headers.add("Foo", "bar");
+		assertReadOnly(HttpHeaders.readOnlyHttpHeaders(headers));
+		assertReadOnly(HttpHeaders.readOnlyHttpHeadersView(headers));
+	}
+
+	@Test
+	public void emptyHttpHeadersRejectChanges() {
+		assertTrue(HttpHeaders.EMPTY.isEmpty());
+		assertUnsupported(() -> HttpHeaders.EMPTY.add("Foo", "bar"));
+	}
+
+
+	private void assertReadOnly(HttpHeaders readOnly) {
+		assertUnsupported(() -> readOnly.add("Foo", "baz"));
+		assertUnsupported(() -> readOnly.set("Foo", "baz"));
+		assertUnsupported(() -> readOnly.put("Foo", Collections.singletonList("baz")));
+		assertUnsupported(() -> readOnly.remove("Foo"));
+		assertUnsupported(readOnly::clear);
+		assertUnsupported(() -> readOnly.get("Foo").add("baz"));
+		assertUnsupported(() -> readOnly.keySet().remove("Foo"));
+		assertUnsupported(() -> readOnly.entrySet().iterator().next().getValue().add("baz"));
+		assertUnsupported(() -> readOnly.values().iterator().next().add("baz"));
+		assertEquals(Collections.singletonList("bar"), headers.get("Foo"));
+	}
+
+	private static void assertUnsupported(Runnable action) {
+		try {
+			action.run();
+			fail("UnsupportedOperationException expected");
+		}
+		catch (UnsupportedOperationException ex) {
+			// expected
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.http.client.support.HttpRequestWrapper;
 
 import static org.junit.Assert.*;
@@ -212,6 +213,60 @@ public class InterceptingClientHttpRequestFactoryTests {
 		assertTrue(Arrays.equals(changedBody, requestMock.body.toByteArray()));
 	}
 
+	@Test
+	public void streamingBodyBuffered() throws Exception {
+		final byte[] streamedBody = "Foo".getBytes();
+		List<byte[]> bodies = new ArrayList<>();
+		ClientHttpRequestInterceptor interceptor = (request, body, execution) -> {
+			bodies.add(body);
+			return execution.execute(request, body);
+		};
+
+		requestFactory =
+				new InterceptingClientHttpRequestFactory(requestFactoryMock, Collections.singletonList(interceptor));
+
+		ClientHttpRequest request = requestFactory.createRequest(new URI("http://example.com"), HttpMethod.POST);
+		((StreamingHttpOutputMessage) request).setBody(outputStream -> outputStream.write(streamedBody));
+		request.execute();
+		assertArrayEquals(streamedBody, bodies.get(0));
+		assertEquals(3, request.getHeaders().getContentLength());
+		assertArrayEquals(streamedBody, requestMock.body.toByteArray());
+	}
+
+	@Test
+	public void streamingBodyNotBuffered() throws Exception {
+		final byte[] streamedBody = "Foo".getBytes();
+		List<byte[]> bodies = new ArrayList<>();
+		ClientHttpRequestInterceptor interceptor = (request, body, execution) -> {
+			bodies.add(body);
+			return execution.execute(request, body);
+		};
+
+		requestFactory = new InterceptingClientHttpRequestFactory(
+				requestFactoryMock, Collections.singletonList(interceptor), false);
+
+		ClientHttpRequest request = requestFactory.createRequest(new URI("http://example.com"), HttpMethod.POST);
+		((StreamingHttpOutputMessage) request).setBody(outputStream -> outputStream.write(streamedBody));
+		request.execute();
+		assertEquals(0, bodies.get(0).length);
+		assertEquals(-1, request.getHeaders().getContentLength());
+		assertArrayEquals(streamedBody, requestMock.body.toByteArray());
+	}
+
+	@Test
+	public void changeStreamingBodyNotBuffered() throws Exception {
+		final byte[] changedBody = "Foo".getBytes();
+		ClientHttpRequestInterceptor interceptor = (request, body, execution) -> execution.execute(request, changedBody);
+
+		requestFactory = new InterceptingClientHttpRequestFactory(
+				requestFactoryMock, Collections.singletonList(interceptor), false);
+
+		ClientHttpRequest request = requestFactory.createRequest(new URI("http://example.com"), HttpMethod.POST);
+		((StreamingHttpOutputMessage) request).setBody(outputStream -> outputStream.write("Bar".getBytes()));
+		request.execute();
+		assertArrayEquals(changedBody, requestMock.body.toByteArray());
+	}
+
 
 	private static class NoOpInterceptor implements ClientHttpRequestInterceptor {
 
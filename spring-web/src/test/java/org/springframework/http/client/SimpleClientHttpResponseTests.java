@@ -92,6 +92,17 @@ public class SimpleClientHttpResponseTests {
 		verify(this.connection, never()).disconnect();
 	}
 
+	@Test
+	public void shouldCloseUnreadStreamWhenResponseClosed() throws Exception {
+		TestByteArrayInputStream is = new TestByteArrayInputStream("Spring".getBytes(StandardCharsets.UTF_8));
+		given(this.connection.getErrorStream()).willReturn(null);
+		given(this.connection.getInputStream()).willReturn(is);
+
+		this.response.close();
+		assertTrue(is.isClosed());
+		verify(this.connection, never()).disconnect();
+	}
+
 	@Test  // SPR-16773
 	public void shouldNotDrainWhenErrorStreamClosed() throws Exception {
 		InputStream is = mock(InputStream.class);
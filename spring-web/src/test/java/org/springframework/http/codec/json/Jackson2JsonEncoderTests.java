@@ -36,6 +36,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
 import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
@@ -191,6 +192,36 @@ public class Jackson2JsonEncoderTests extends AbstractDataBufferAllocatingTestCa
 				.verifyComplete();
 	}
 
+	@Test
+	public void encodeLargeValueRepeatedly() throws Exception {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			builder.append(i % 10);
+		}
+		String foo = builder.toString();
+		ResolvableType type = ResolvableType.forClass(Pojo.class);
+		String expected = "{\"foo\":\"" + foo + "\",\"bar\":\"bar\"}";
+
+		for (int i = 0; i < 2; i++) {
+			Flux<DataBuffer> output = this.encoder.encode(
+					Mono.just(new Pojo(foo, "bar")), this.bufferFactory, type, null, emptyMap());
+			StepVerifier.create(output)
+					.consumeNextWith(stringConsumer(expected))
+					.verifyComplete();
+		}
+	}
+
+	@Test
+	public void encodeErrorReleasesBuffer() throws Exception {
+		ResolvableType type = ResolvableType.forClass(FailingBean.class);
+		Flux<DataBuffer> output = this.encoder.encode(
+				Mono.just(new FailingBean()), this.bufferFactory, type, null, emptyMap());
+
+		StepVerifier.create(output)
+				.expectError(EncodingException.class)
+				.verify();
+	}
+
 
 	@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type")
 	private static class ParentClass {
@@ -204,4 +235,11 @@ public class Jackson2JsonEncoderTests extends AbstractDataBufferAllocatingTestCa
 	private static class Bar extends ParentClass {
 	}
 
+	private static class FailingBean {
+
+		public String getName() {
+			throw new IllegalStateException("Not readable");
+		}
+	}
+
 }
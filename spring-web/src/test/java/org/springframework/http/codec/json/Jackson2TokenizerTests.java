@@ -18,6 +18,7 @@ package org.springframework.http.codec.json;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -185,6 +186,24 @@ public class Jackson2TokenizerTests extends AbstractDataBufferAllocatingTestCase
 		tokens.blockLast();
 	}
 
+	@Test
+	public void tokenizeBuffersWithReadOffset() {
+		Flux<DataBuffer> source = Flux.just("[{\"foo\": \"foo", "foo\"}, {\"bar\"", ": \"barbar\"}]")
+				.map(value -> {
+					byte[] bytes = ("prefix" + value).getBytes(StandardCharsets.UTF_8);
+					DataBuffer buffer = this.bufferFactory.allocateBuffer(bytes.length);
+					buffer.write(bytes);
+					buffer.readPosition(6);
+					return buffer;
+				});
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, true);
+
+		StepVerifier.create(tokens.map(this::writeValueAsString))
+				.assertNext(new JSONAssertConsumer("{\"foo\": \"foofoo\"}"))
+				.assertNext(new JSONAssertConsumer("{\"bar\": \"barbar\"}"))
+				.verifyComplete();
+	}
+
 
 	private void testTokenize(List<String> source, List<String> expected, boolean tokenizeArrayElements) {
 
@@ -193,22 +212,23 @@ public class Jackson2TokenizerTests extends AbstractDataBufferAllocatingTestCase
 				this.jsonFactory,
 				tokenizeArrayElements);
 
-		Flux<String> result = tokenBufferFlux
-				.map(tokenBuffer -> {
-					try {
-						TreeNode root = this.objectMapper.readTree(tokenBuffer.asParser());
-						return this.objectMapper.writeValueAsString(root);
-					}
-					catch (IOException ex) {
-						throw new UncheckedIOException(ex);
-					}
-				});
+		Flux<String> result = tokenBufferFlux.map(this::writeValueAsString);
 
 		StepVerifier.FirstStep<String> builder = StepVerifier.create(result);
 		expected.forEach(s -> builder.assertNext(new JSONAssertConsumer(s)));
 		builder.verifyComplete();
 	}
 
+	private String writeValueAsString(TokenBuffer tokenBuffer) {
+		try {
+			TreeNode root = this.objectMapper.readTree(tokenBuffer.asParser());
+			return this.objectMapper.writeValueAsString(root);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
 
 	private static class JSONAssertConsumer implements Consumer<String> {
 
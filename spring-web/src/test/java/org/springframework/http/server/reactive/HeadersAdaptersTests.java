@@ -0,0 +1,181 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.undertow.util.HeaderMap;
+import org.apache.tomcat.util.http.MimeHeaders;
+import org.eclipse.jetty.http.HttpFields;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@code HttpHeaders} backed by the native headers of each
+ * supported server through their {@code MultiValueMap} adapters.
+ *
+ * @since 5.1
+ */
+@RunWith(Parameterized.class)
+public class HeadersAdaptersTests {
+
+	@Parameterized.Parameter(0)
+	public Supplier<MultiValueMap<String, String>> headersSupplier;
+
+	@Parameterized.Parameter(1)
+	public String name;
+
+	private MultiValueMap<String, String> headers;
+
+
+	@Parameterized.Parameters(name = "{1}")
+	public static Object[][] arguments() {
+		return new Object[][] {
+				{headers(() -> CollectionUtils.toMultiValueMap(new LinkedCaseInsensitiveMap<>(8, Locale.ENGLISH))), "default"},
+				{headers(() -> new NettyHeadersAdapter(new DefaultHttpHeaders())), "netty"},
+				{headers(() -> new TomcatHeadersAdapter(new MimeHeaders())), "tomcat"},
+				{headers(() -> new UndertowHeadersAdapter(new HeaderMap())), "undertow"},
+				{headers(() -> new JettyHeadersAdapter(new HttpFields())), "jetty"}
+		};
+	}
+
+	private static Supplier<MultiValueMap<String, String>> headers(Supplier<MultiValueMap<String, String>> supplier) {
+		return supplier;
+	}
+
+
+	@Before
+	public void setup() {
+		this.headers = this.headersSupplier.get();
+	}
+
+
+	@Test
+	public void getWithUnknownHeaderShouldReturnNull() {
+		assertNull(this.headers.get("Unknown"));
+		assertNull(this.headers.getFirst("Unknown"));
+		assertFalse(this.headers.containsKey("Unknown"));
+	}
+
+	@Test
+	public void addShouldKeepOrdering() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("TestHeader", "second");
+		assertEquals("first", this.headers.getFirst("TestHeader"));
+		assertEquals(Arrays.asList("first", "second"), this.headers.get("TestHeader"));
+	}
+
+	@Test
+	public void headerNamesAreCaseInsensitive() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("testheader", "second");
+		assertTrue(this.headers.containsKey("TESTHEADER"));
+		assertEquals(Arrays.asList("first", "second"), this.headers.get("testHeader"));
+		assertEquals(1, this.headers.size());
+		assertEquals(1, this.headers.keySet().size());
+	}
+
+	@Test
+	public void setShouldReplaceAllValues() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("TestHeader", "second");
+		this.headers.set("TestHeader", "third");
+		assertEquals(Collections.singletonList("third"), this.headers.get("TestHeader"));
+	}
+
+	@Test
+	public void putShouldReplaceAllValues() {
+		this.headers.add("TestHeader", "first");
+		this.headers.put("TestHeader", Arrays.asList("second", "third"));
+		assertEquals(Arrays.asList("second", "third"), this.headers.get("TestHeader"));
+	}
+
+	@Test
+	public void removeShouldRemoveAllValues() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("OtherHeader", "other");
+		assertEquals(Collections.singletonList("first"), this.headers.remove("TestHeader"));
+		assertNull(this.headers.get("TestHeader"));
+		assertEquals(1, this.headers.size());
+		this.headers.clear();
+		assertTrue(this.headers.isEmpty());
+	}
+
+	@Test
+	public void entriesAndSingleValueMap() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("TestHeader", "second");
+		this.headers.add("OtherHeader", "other");
+		assertEquals(2, this.headers.entrySet().size());
+		for (Map.Entry<String, ?> entry : this.headers.entrySet()) {
+			assertEquals(this.headers.get(entry.getKey()), entry.getValue());
+		}
+		Map<String, String> singleValueMap = this.headers.toSingleValueMap();
+		assertEquals(2, singleValueMap.size());
+		assertEquals("first", singleValueMap.get("TestHeader"));
+		assertTrue(this.headers.containsValue(Collections.singletonList("other")));
+	}
+
+	@Test
+	public void equalsAndHashCodeFollowMapContract() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("TestHeader", "second");
+		this.headers.add("OtherHeader", "other");
+		MultiValueMap<String, String> expected = new LinkedMultiValueMap<>();
+		expected.put("TestHeader", Arrays.asList("first", "second"));
+		expected.put("OtherHeader", Collections.singletonList("other"));
+
+		assertEquals(expected, this.headers);
+		assertEquals(this.headers, expected);
+		assertEquals(expected.hashCode(), this.headers.hashCode());
+		assertEquals(new HttpHeaders(expected), new HttpHeaders(this.headers));
+
+		this.headers.add("OtherHeader", "another");
+		assertNotEquals(expected, this.headers);
+		assertNotEquals(this.headers, expected);
+	}
+
+	@Test
+	public void httpHeadersWriteThrough() {
+		HttpHeaders httpHeaders = new HttpHeaders(this.headers);
+		httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+		httpHeaders.setContentLength(42);
+		assertEquals("application/json", this.headers.getFirst(HttpHeaders.CONTENT_TYPE));
+		assertEquals("42", this.headers.getFirst("content-length"));
+
+		this.headers.set(HttpHeaders.CONTENT_LENGTH, "7");
+		assertEquals(7, httpHeaders.getContentLength());
+		assertEquals(7, HttpHeaders.readOnlyHttpHeaders(httpHeaders).getContentLength());
+	}
+
+}
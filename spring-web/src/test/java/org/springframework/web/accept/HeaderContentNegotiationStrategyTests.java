@@ -16,6 +16,7 @@
 
 package org.springframework.web.accept;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -68,6 +69,42 @@ public class HeaderContentNegotiationStrategyTests {
 		assertEquals("text/plain;q=0.5", mediaTypes.get(3).toString());
 	}
 
+	@Test
+	public void resolveMediaTypesCached() throws Exception {
+		this.servletRequest.addHeader("Accept", "text/plain; q=0.5, text/html");
+		List<MediaType> mediaTypes = this.strategy.resolveMediaTypes(this.webRequest);
+
+		MockHttpServletRequest otherRequest = new MockHttpServletRequest();
+		otherRequest.addHeader("Accept", "text/plain; q=0.5, text/html");
+		assertSame(mediaTypes, this.strategy.resolveMediaTypes(new ServletWebRequest(otherRequest)));
+		assertEquals("text/html", mediaTypes.get(0).toString());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void resolveMediaTypesUnmodifiable() throws Exception {
+		this.servletRequest.addHeader("Accept", "text/html");
+		this.strategy.resolveMediaTypes(this.webRequest).add(MediaType.TEXT_PLAIN);
+	}
+
+	@Test
+	public void resolveMediaTypesWithCacheLimit() throws Exception {
+		this.strategy.setCacheLimit(1);
+		this.servletRequest.addHeader("Accept", "text/html");
+		List<MediaType> mediaTypes = this.strategy.resolveMediaTypes(this.webRequest);
+
+		MockHttpServletRequest otherRequest = new MockHttpServletRequest();
+		otherRequest.addHeader("Accept", "text/plain");
+		assertEquals(Collections.singletonList(MediaType.TEXT_PLAIN),
+				this.strategy.resolveMediaTypes(new ServletWebRequest(otherRequest)));
+
+		List<MediaType> evicted = this.strategy.resolveMediaTypes(this.webRequest);
+		assertEquals(mediaTypes, evicted);
+		assertNotSame(mediaTypes, evicted);
+
+		this.strategy.setCacheLimit(0);
+		assertNotSame(evicted, this.strategy.resolveMediaTypes(this.webRequest));
+	}
+
 	@Test(expected = HttpMediaTypeNotAcceptableException.class)
 	public void resolveMediaTypesParseError() throws Exception {
 		this.servletRequest.addHeader("Accept", "textplain; q=0.5");
@@ -18,7 +18,9 @@ package org.springframework.web.client;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -26,11 +28,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpInputMessage;
@@ -44,6 +49,7 @@ import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.GenericHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
@@ -58,6 +64,7 @@ import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.verify;
 import static org.mockito.BDDMockito.willThrow;
 import static org.springframework.http.HttpMethod.DELETE;
@@ -683,6 +690,61 @@ public class RestTemplateTests {
 		verify(response).close();
 	}
 
+	@Test
+	public void resourceStreamExtractor() throws Exception {
+		mockSentRequest(GET, "http://example.com");
+		mockResponseStatus(HttpStatus.OK);
+		given(response.getBody()).willReturn(new ByteArrayInputStream("Hello World".getBytes()));
+
+		Resource resource = template.execute("http://example.com", GET, null, template.resourceStreamExtractor());
+		verify(response, never()).close();
+
+		try (InputStream inputStream = resource.getInputStream()) {
+			assertEquals("Hello World", StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8));
+		}
+		verify(response).close();
+	}
+
+	@Test
+	public void jsonArrayStreamExtractor() throws Exception {
+		template.setMessageConverters(Collections.singletonList(new MappingJackson2HttpMessageConverter()));
+		mockSentRequest(GET, "http://example.com");
+		mockResponseStatus(HttpStatus.OK);
+		given(response.getBody()).willReturn(new ByteArrayInputStream("[\"foo\",\"bar\"]".getBytes()));
+
+		Stream<String> stream = template.execute("http://example.com", GET, null,
+				template.jsonArrayStreamExtractor(String.class));
+		verify(response, never()).close();
+
+		try (Stream<String> elements = stream) {
+			assertEquals(Arrays.asList("foo", "bar"), elements.collect(Collectors.toList()));
+		}
+		verify(response).close();
+	}
+
+	@Test
+	public void jsonArrayStreamExtractorWithNonArrayBody() throws Exception {
+		template.setMessageConverters(Collections.singletonList(new MappingJackson2HttpMessageConverter()));
+		mockSentRequest(GET, "http://example.com");
+		mockResponseStatus(HttpStatus.OK);
+		given(response.getBody()).willReturn(new ByteArrayInputStream("{\"foo\":\"bar\"}".getBytes()));
+
+		try {
+			template.execute("http://example.com", GET, null, template.jsonArrayStreamExtractor(String.class));
+			fail("RestClientException expected");
+		}
+		catch (RestClientException ex) {
+			// expected
+		}
+		verify(response).close();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void jsonArrayStreamExtractorWithoutJackson() {
+		template.jsonArrayStreamExtractor(String.class);
+	}
+
+
 	private void mockSentRequest(HttpMethod method, String uri) throws Exception {
 		mockSentRequest(method, uri, new HttpHeaders());
 	}
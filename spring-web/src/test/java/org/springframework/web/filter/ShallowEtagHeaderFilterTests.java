@@ -262,4 +262,86 @@ public class ShallowEtagHeaderFilterTests {
 		assertArrayEquals("Invalid content", responseBody, response.getContentAsByteArray());
 	}
 
+	@Test
+	public void filterIncrementalDigest() throws Exception {
+		this.filter.setIncrementalDigest(true);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		final byte[] responseBody = "Hello World".getBytes("UTF-8");
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			assertEquals("Invalid request passed", request, filterRequest);
+			filterResponse.getOutputStream().write(responseBody, 0, 6);
+			filterResponse.getOutputStream().write(responseBody, 6, 5);
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertEquals("Invalid status", 200, response.getStatus());
+		assertEquals("Invalid ETag header", "\"0b10a8db164e0754105b7a99be72e3fe5\"", response.getHeader("ETag"));
+		assertEquals("Invalid Content-Length header", responseBody.length, response.getContentLength());
+		assertArrayEquals("Invalid content", responseBody, response.getContentAsByteArray());
+	}
+
+	@Test
+	public void filterIncrementalDigestWriterMatch() throws Exception {
+		this.filter.setIncrementalDigest(true);
+		this.filter.setWriteWeakETag(true);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		request.addHeader("If-None-Match", "\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			assertEquals("Invalid request passed", request, filterRequest);
+			filterResponse.getWriter().write("Goodbye");
+			filterResponse.resetBuffer();
+			FileCopyUtils.copy("Hello World", filterResponse.getWriter());
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertEquals("Invalid status", 304, response.getStatus());
+		assertEquals("Invalid ETag header", "W/\"0b10a8db164e0754105b7a99be72e3fe5\"", response.getHeader("ETag"));
+		assertArrayEquals("Invalid content", new byte[0], response.getContentAsByteArray());
+	}
+
+	@Test
+	public void filterWithinContentCacheLimit() throws Exception {
+		this.filter.setContentCacheLimit(11);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		final byte[] responseBody = "Hello World".getBytes("UTF-8");
+		FilterChain filterChain = (filterRequest, filterResponse) ->
+				FileCopyUtils.copy(responseBody, filterResponse.getOutputStream());
+		filter.doFilter(request, response, filterChain);
+
+		assertEquals("Invalid status", 200, response.getStatus());
+		assertEquals("Invalid ETag header", "\"0b10a8db164e0754105b7a99be72e3fe5\"", response.getHeader("ETag"));
+		assertArrayEquals("Invalid content", responseBody, response.getContentAsByteArray());
+	}
+
+	@Test
+	public void filterExceedingContentCacheLimit() throws Exception {
+		this.filter.setContentCacheLimit(8);
+		this.filter.setIncrementalDigest(true);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		request.addHeader("If-None-Match", "\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			assertEquals("Invalid request passed", request, filterRequest);
+			filterResponse.setContentLength(11);
+			filterResponse.getWriter().write("Hello");
+			assertFalse("Response committed", response.isCommitted());
+			filterResponse.getWriter().write(" World");
+			filterResponse.flushBuffer();
+			assertTrue("Response not committed", response.isCommitted());
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertEquals("Invalid status", 200, response.getStatus());
+		assertNull("Invalid ETag header", response.getHeader("ETag"));
+		assertEquals("Invalid Content-Length header", 11, response.getContentLength());
+		assertEquals("Invalid content", "Hello World", response.getContentAsString());
+	}
+
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.filter.reactive;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.test.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.test.MockServerHttpResponse;
+import org.springframework.mock.web.test.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ShallowEtagHeaderFilter}.
+ */
+public class ShallowEtagHeaderFilterTests {
+
+	private static final String ETAG = "\"0b10a8db164e0754105b7a99be72e3fe5\"";
+
+
+	private final ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+
+
+	@Test
+	public void filterNoMatch() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hotels"));
+		filter(exchange, "Hello ", "World");
+
+		MockServerHttpResponse response = exchange.getResponse();
+		assertNull(response.getStatusCode());
+		assertEquals(ETAG, response.getHeaders().getETag());
+		assertEquals("Hello World", response.getBodyAsString().block(Duration.ZERO));
+	}
+
+	@Test
+	public void filterNoMatchWeakETag() {
+		this.filter.setWriteWeakETag(true);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hotels"));
+		filter(exchange, "Hello World");
+
+		MockServerHttpResponse response = exchange.getResponse();
+		assertEquals("W/" + ETAG, response.getHeaders().getETag());
+		assertEquals("Hello World", response.getBodyAsString().block(Duration.ZERO));
+	}
+
+	@Test
+	public void filterMatch() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				MockServerHttpRequest.get("/hotels").header(HttpHeaders.IF_NONE_MATCH, "W/" + ETAG));
+		exchange.getResponse().getHeaders().setContentLength(11);
+		filter(exchange, "Hello ", "World");
+
+		MockServerHttpResponse response = exchange.getResponse();
+		assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+		assertEquals(ETAG, response.getHeaders().getETag());
+		assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+		assertEquals("", response.getBodyAsString().defaultIfEmpty("").block(Duration.ZERO));
+	}
+
+	@Test
+	public void filterNotEligible() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/hotels"));
+		filter(exchange, "Hello World");
+		assertNull(exchange.getResponse().getHeaders().getETag());
+
+		exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hotels"));
+		exchange.getResponse().getHeaders().setCacheControl("must-revalidate, no-store");
+		filter(exchange, "Hello World");
+		assertNull(exchange.getResponse().getHeaders().getETag());
+
+		exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hotels"));
+		exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+		filter(exchange, "Hello World");
+		assertNull(exchange.getResponse().getHeaders().getETag());
+		assertEquals("Hello World", exchange.getResponse().getBodyAsString().block(Duration.ZERO));
+	}
+
+	@Test
+	public void filterWithinContentCacheLimit() {
+		this.filter.setContentCacheLimit(11);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hotels"));
+		filter(exchange, "Hello ", "World");
+
+		assertEquals(ETAG, exchange.getResponse().getHeaders().getETag());
+		assertEquals("Hello World", exchange.getResponse().getBodyAsString().block(Duration.ZERO));
+	}
+
+	@Test
+	public void filterExceedingContentCacheLimit() {
+		this.filter.setContentCacheLimit(8);
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				MockServerHttpRequest.get("/hotels").header(HttpHeaders.IF_NONE_MATCH, ETAG));
+		filter(exchange, "Hello ", "World", "!");
+
+		MockServerHttpResponse response = exchange.getResponse();
+		assertNull(response.getStatusCode());
+		assertNull(response.getHeaders().getETag());
+		assertEquals("Hello World!", response.getBodyAsString().block(Duration.ZERO));
+	}
+
+	@Test
+	public void heldBackBuffersReleasedOnCancel() {
+		NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(new UnpooledByteBufAllocator(false));
+		List<NettyDataBuffer> buffers = Arrays.asList(
+				toDataBuffer(bufferFactory, "Hello "), toDataBuffer(bufferFactory, "World"));
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hotels"));
+		exchange.getResponse().setWriteHandler(Flux::then);
+		WebFilterChain chain = filterExchange -> filterExchange.getResponse()
+				.writeWith(Flux.concat(Flux.fromIterable(buffers), Flux.never()));
+
+		this.filter.filter(exchange, chain).subscribe().dispose();
+
+		buffers.forEach(buffer -> assertEquals(0, buffer.getNativeBuffer().refCnt()));
+		assertNull(exchange.getResponse().getHeaders().getETag());
+	}
+
+	@Test
+	public void heldBackBuffersReleasedOnError() {
+		NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(new UnpooledByteBufAllocator(false));
+		List<NettyDataBuffer> buffers = Arrays.asList(
+				toDataBuffer(bufferFactory, "Hello "), toDataBuffer(bufferFactory, "World"));
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hotels"));
+		exchange.getResponse().setWriteHandler(Flux::then);
+		WebFilterChain chain = filterExchange -> filterExchange.getResponse()
+				.writeWith(Flux.concat(Flux.fromIterable(buffers), Flux.error(new IllegalStateException("boo"))));
+
+		StepVerifier.create(this.filter.filter(exchange, chain))
+				.expectError(IllegalStateException.class)
+				.verify(Duration.ofSeconds(5));
+
+		buffers.forEach(buffer -> assertEquals(0, buffer.getNativeBuffer().refCnt()));
+	}
+
+
+	private void filter(MockServerWebExchange exchange, String... chunks) {
+		WebFilterChain chain = filterExchange -> filterExchange.getResponse()
+				.writeWith(Flux.fromArray(chunks).map(ShallowEtagHeaderFilterTests::toDataBuffer));
+		this.filter.filter(exchange, chain).block(Duration.ZERO);
+	}
+
+	private static DataBuffer toDataBuffer(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		return new DefaultDataBufferFactory().allocateBuffer(bytes.length).write(bytes);
+	}
+
+	private static NettyDataBuffer toDataBuffer(NettyDataBufferFactory bufferFactory, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		return bufferFactory.allocateBuffer(bytes.length).write(bytes);
+	}
+
+}
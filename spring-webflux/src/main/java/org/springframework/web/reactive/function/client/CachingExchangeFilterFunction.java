@@ -0,0 +1,496 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.UnicastProcessor;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyExtractors;
+
+/**
+ * {@link ExchangeFilterFunction} that caches responses to {@code GET} requests
+ * as a private HTTP cache, following the {@code Cache-Control}, {@code Expires}
+ * and {@code Vary} response headers.
+ *
+ * <p>Fresh responses are served from the {@link ClientResponseCache} without
+ * contacting the server. Stale responses carrying an {@code ETag} or a
+ * {@code Last-Modified} header are revalidated with an {@code If-None-Match} or
+ * {@code If-Modified-Since} request, and served from the cache again if the
+ * server answers with {@code 304 Not Modified}.
+ *
+ * <p>Concurrent requests for the same resource are coalesced: while a request
+ * for a cache key is in flight, further requests for that key wait for its
+ * outcome and are served from the resulting entry. If that response turns out
+ * not to be cacheable, the waiting requests are sent to the server individually.
+ *
+ * <p>Cacheable response bodies are aggregated in memory, up to the configured
+ * {@link #setMaxBodySize maximum body size}; larger bodies are passed through
+ * as they are read, without being cached. Requests carrying their own
+ * conditional or {@code Range} headers, a {@code Cache-Control: no-store}
+ * directive, or credentials in the form of an {@code Authorization} header or
+ * cookies, bypass the cache.
+ *
+ * @since 5.1
+ * @see ClientResponseCache
+ * @see InMemoryClientResponseCache
+ */
+public class CachingExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private static final String HEADER_AGE = "Age";
+
+	private static final int DEFAULT_MAX_BODY_SIZE = 1024 * 1024;
+
+
+	private final ClientResponseCache cache;
+
+	private final Map<String, MonoProcessor<ClientResponseCache.Entry>> inFlight = new ConcurrentHashMap<>();
+
+	private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+	private volatile int maxBodySize = DEFAULT_MAX_BODY_SIZE;
+
+	private volatile ExchangeStrategies strategies = ExchangeStrategies.withDefaults();
+
+
+	/**
+	 * Create a filter backed by an {@link InMemoryClientResponseCache} with default limits.
+	 */
+	public CachingExchangeFilterFunction() {
+		this(new InMemoryClientResponseCache());
+	}
+
+	/**
+	 * Create a filter backed by the given cache.
+	 * @param cache the cache to store responses in
+	 */
+	public CachingExchangeFilterFunction(ClientResponseCache cache) {
+		Assert.notNull(cache, "ClientResponseCache must not be null");
+		this.cache = cache;
+	}
+
+
+	/**
+	 * Set the maximum size in bytes of a response body to be cached.
+	 * Larger responses are passed through without being cached.
+	 * <p>By default this is set to 1MB.
+	 */
+	public void setMaxBodySize(int maxBodySize) {
+		Assert.isTrue(maxBodySize >= 0, "Max body size must not be negative");
+		this.maxBodySize = maxBodySize;
+	}
+
+	/**
+	 * Return the maximum size in bytes of a response body to be cached.
+	 */
+	public int getMaxBodySize() {
+		return this.maxBodySize;
+	}
+
+	/**
+	 * Set the strategies used to read the body of responses served from the
+	 * cache without contacting the server. Should be in line with the strategies
+	 * the {@code WebClient} is configured with.
+	 * <p>By default this is set to {@link ExchangeStrategies#withDefaults()}.
+	 */
+	public void setStrategies(ExchangeStrategies strategies) {
+		Assert.notNull(strategies, "ExchangeStrategies must not be null");
+		this.strategies = strategies;
+	}
+
+	/**
+	 * Return the strategies used to read the body of responses served from the cache.
+	 */
+	public ExchangeStrategies getStrategies() {
+		return this.strategies;
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		if (!isCacheableRequest(request)) {
+			return next.exchange(request);
+		}
+		String key = getCacheKey(request);
+		boolean noCache = hasDirective(request.headers().getCacheControl(), "no-cache");
+		return this.cache.get(key)
+				.filter(entry -> entry.matches(request))
+				.flatMap(entry -> {
+					if (!noCache && entry.isFresh(System.currentTimeMillis())) {
+						return Mono.just(createResponse(entry, this.strategies));
+					}
+					return exchange(request, key, (entry.isRevalidatable() ? entry : null), next);
+				})
+				.switchIfEmpty(Mono.defer(() -> exchange(request, key, null, next)));
+	}
+
+	/**
+	 * Whether the given request may be served from, and its response stored in,
+	 * the cache. The default implementation accepts {@code GET} requests without
+	 * a {@code no-store} directive, conditional headers, or a {@code Range} header.
+	 * <p>Requests carrying credentials, i.e. an {@code Authorization} header or
+	 * cookies, are not accepted either, since the cache key does not tell apart
+	 * the principals that a shared client sends requests on behalf of.
+	 * @param request the current request
+	 */
+	protected boolean isCacheableRequest(ClientRequest request) {
+		if (!HttpMethod.GET.equals(request.method())) {
+			return false;
+		}
+		HttpHeaders headers = request.headers();
+		return !(hasDirective(headers.getCacheControl(), "no-store") ||
+				headers.containsKey(HttpHeaders.IF_NONE_MATCH) ||
+				headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE) ||
+				headers.containsKey(HttpHeaders.IF_MATCH) ||
+				headers.containsKey(HttpHeaders.IF_UNMODIFIED_SINCE) ||
+				headers.containsKey(HttpHeaders.RANGE) ||
+				headers.containsKey(HttpHeaders.AUTHORIZATION) ||
+				headers.containsKey(HttpHeaders.COOKIE) ||
+				!request.cookies().isEmpty());
+	}
+
+	/**
+	 * Return the key to store the response to the given request under.
+	 * <p>The default implementation combines the request method and URL.
+	 * @param request the current request
+	 */
+	protected String getCacheKey(ClientRequest request) {
+		return request.method().name() + " " + request.url();
+	}
+
+	/**
+	 * Exchange the given request, unless an exchange for the same key is
+	 * already in flight, in which case its outcome is awaited instead.
+	 */
+	private Mono<ClientResponse> exchange(ClientRequest request, String key,
+			@Nullable ClientResponseCache.Entry staleEntry, ExchangeFunction next) {
+
+		return Mono.defer(() -> {
+			MonoProcessor<ClientResponseCache.Entry> processor = MonoProcessor.create();
+			MonoProcessor<ClientResponseCache.Entry> existing = this.inFlight.putIfAbsent(key, processor);
+			if (existing != null) {
+				return existing
+						.filter(entry -> entry.matches(request))
+						.map(entry -> createResponse(entry, this.strategies))
+						.onErrorResume(ex -> Mono.empty())
+						.switchIfEmpty(Mono.defer(() -> next.exchange(request)));
+			}
+			ClientRequest requestToUse = (staleEntry != null ? conditionalRequest(request, staleEntry) : request);
+			return next.exchange(requestToUse)
+					.flatMap(response -> handleResponse(request, key, staleEntry, response, processor))
+					.doFinally(signal -> {
+						this.inFlight.remove(key, processor);
+						processor.onComplete();
+					});
+		});
+	}
+
+	private ClientRequest conditionalRequest(ClientRequest request, ClientResponseCache.Entry entry) {
+		String eTag = entry.getHeaders().getETag();
+		String lastModified = entry.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+		return ClientRequest.from(request)
+				.headers(headers -> {
+					if (eTag != null) {
+						headers.setIfNoneMatch(eTag);
+					}
+					if (lastModified != null) {
+						headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+					}
+				})
+				.build();
+	}
+
+	private Mono<ClientResponse> handleResponse(ClientRequest request, String key,
+			@Nullable ClientResponseCache.Entry staleEntry, ClientResponse response,
+			MonoProcessor<ClientResponseCache.Entry> processor) {
+
+		if (staleEntry != null && response.statusCode() == HttpStatus.NOT_MODIFIED) {
+			HttpHeaders headers = new HttpHeaders();
+			headers.putAll(staleEntry.getHeaders());
+			response.headers().asHttpHeaders().forEach((name, values) -> {
+				if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+					headers.put(name, values);
+				}
+			});
+			ClientResponseCache.Entry entry = new ClientResponseCache.Entry(staleEntry.getStatusCode(),
+					headers, staleEntry.getBody(), staleEntry.getVaryHeaders(), getExpirationTime(headers));
+			processor.onNext(entry);
+			return response.body(BodyExtractors.toDataBuffers())
+					.doOnNext(DataBufferUtils::release)
+					.then(this.cache.put(key, entry))
+					.then(Mono.fromSupplier(() -> createResponse(entry, response.strategies())));
+		}
+
+		if (!isCacheableResponse(response)) {
+			processor.onComplete();
+			return (staleEntry != null ? this.cache.evict(key).thenReturn(response) : Mono.just(response));
+		}
+
+		HttpHeaders headers = response.headers().asHttpHeaders();
+		HttpHeaders varyHeaders = new HttpHeaders();
+		for (String name : headers.getVary()) {
+			List<String> values = request.headers().get(name);
+			varyHeaders.put(name, (values != null ? values : Collections.emptyList()));
+		}
+		BodyAggregator aggregator = new BodyAggregator(this.maxBodySize);
+		return aggregator.aggregate(response.body(BodyExtractors.toDataBuffers()))
+				.flatMap(body -> {
+					ClientResponseCache.Entry entry = new ClientResponseCache.Entry(response.statusCode(),
+							headers, body, varyHeaders, getExpirationTime(headers));
+					processor.onNext(entry);
+					return this.cache.put(key, entry)
+							.then(Mono.fromSupplier(() -> createResponse(entry, response.strategies())));
+				})
+				.switchIfEmpty(Mono.defer(() -> {
+					processor.onComplete();
+					ClientResponse passThrough = ClientResponse.from(response).body(aggregator.getBody()).build();
+					return this.cache.evict(key).thenReturn(passThrough);
+				}));
+	}
+
+	/**
+	 * Whether the given response to a cacheable request may be stored.
+	 * <p>The default implementation accepts {@code 200 OK} responses that do
+	 * not carry a {@code no-store} directive, do not vary on all request headers,
+	 * do not exceed the maximum body size, and that are either fresh or can be
+	 * revalidated.
+	 * @param response the response to check
+	 */
+	protected boolean isCacheableResponse(ClientResponse response) {
+		if (response.statusCode() != HttpStatus.OK) {
+			return false;
+		}
+		HttpHeaders headers = response.headers().asHttpHeaders();
+		if (hasDirective(headers.getCacheControl(), "no-store") || headers.getVary().contains("*") ||
+				headers.getContentLength() > this.maxBodySize) {
+			return false;
+		}
+		return (headers.getETag() != null || headers.getLastModified() != -1 ||
+				getExpirationTime(headers) > System.currentTimeMillis());
+	}
+
+	private ClientResponse createResponse(ClientResponseCache.Entry entry, ExchangeStrategies strategies) {
+		return ClientResponse.create(entry.getStatusCode(), strategies)
+				.headers(headers -> headers.putAll(entry.getHeaders()))
+				.body(Flux.defer(() -> Flux.just(this.bufferFactory.wrap(entry.getBody()))))
+				.build();
+	}
+
+	/**
+	 * Determine the expiration time from the {@code max-age} or {@code no-cache}
+	 * directives, falling back on the {@code Expires} header.
+	 */
+	private static long getExpirationTime(HttpHeaders headers) {
+		long now = System.currentTimeMillis();
+		String cacheControl = headers.getCacheControl();
+		if (cacheControl != null) {
+			for (String directive : StringUtils.tokenizeToStringArray(cacheControl, ",")) {
+				String name = directive.toLowerCase(Locale.ENGLISH);
+				if (name.equals("no-cache")) {
+					return now;
+				}
+				if (name.startsWith("max-age=")) {
+					try {
+						long maxAge = Long.parseLong(name.substring(8).replace("\"", ""));
+						String age = headers.getFirst(HEADER_AGE);
+						long ageValue = (StringUtils.hasText(age) ? Long.parseLong(age.trim()) : 0);
+						return now + Math.max(0, maxAge - ageValue) * 1000;
+					}
+					catch (NumberFormatException ex) {
+						return now;
+					}
+				}
+			}
+		}
+		long expires = headers.getExpires();
+		return (expires != -1 ? expires : now);
+	}
+
+	private static boolean hasDirective(@Nullable String cacheControl, String directive) {
+		if (cacheControl == null) {
+			return false;
+		}
+		for (String token : StringUtils.tokenizeToStringArray(cacheControl, ",")) {
+			if (token.equalsIgnoreCase(directive)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Aggregates a response body up to the maximum body size. Once that size
+	 * is exceeded, aggregation stops and the buffers read so far, followed by
+	 * the rest of the body, are handed back to be passed through uncached.
+	 */
+	private static class BodyAggregator extends BaseSubscriber<DataBuffer> {
+
+		private final int maxBodySize;
+
+		private final Queue<DataBuffer> buffers = new ArrayDeque<>();
+
+		private final MonoProcessor<byte[]> result = MonoProcessor.create();
+
+		private final UnicastProcessor<DataBuffer> remainder = UnicastProcessor.create();
+
+		private int size;
+
+		private volatile boolean maxBodySizeExceeded;
+
+		private boolean released;
+
+		BodyAggregator(int maxBodySize) {
+			this.maxBodySize = maxBodySize;
+		}
+
+		/**
+		 * Subscribe to the given body and return the aggregated bytes, or an
+		 * empty {@code Mono} if the body turns out to exceed the maximum size,
+		 * in which case it is available through {@link #getBody()}.
+		 */
+		public Mono<byte[]> aggregate(Flux<DataBuffer> body) {
+			return Mono.defer(() -> {
+				body.subscribe(this);
+				return this.result;
+			}).doOnCancel(this::cancelAndRelease);
+		}
+
+		/**
+		 * Return the full body, once the maximum body size has been exceeded.
+		 * <p>The buffers read so far are removed as they are emitted, so that
+		 * those not yet emitted can still be released on cancellation.
+		 */
+		public Flux<DataBuffer> getBody() {
+			Assert.state(this.maxBodySizeExceeded, "Body within maximum size has been aggregated");
+			return Flux.<DataBuffer>generate(sink -> {
+						DataBuffer buffer = poll();
+						if (buffer != null) {
+							sink.next(buffer);
+						}
+						else {
+							sink.complete();
+						}
+					})
+					.concatWith(this.remainder.doOnRequest(this::request))
+					.doOnCancel(this::cancelAndRelease);
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			request(1);
+		}
+
+		@Override
+		protected void hookOnNext(DataBuffer buffer) {
+			if (this.maxBodySizeExceeded) {
+				this.remainder.onNext(buffer);
+				return;
+			}
+			if (!hold(buffer)) {
+				return;
+			}
+			this.size += buffer.readableByteCount();
+			if (this.size > this.maxBodySize) {
+				this.maxBodySizeExceeded = true;
+				this.result.onComplete();
+			}
+			else {
+				request(1);
+			}
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			if (this.maxBodySizeExceeded) {
+				this.remainder.onComplete();
+				return;
+			}
+			byte[] bytes = new byte[this.size];
+			int offset = 0;
+			DataBuffer buffer;
+			while ((buffer = poll()) != null) {
+				int length = buffer.readableByteCount();
+				buffer.read(bytes, offset, length);
+				offset += length;
+				DataBufferUtils.release(buffer);
+			}
+			this.result.onNext(bytes);
+		}
+
+		@Override
+		protected void hookOnError(Throwable ex) {
+			if (this.maxBodySizeExceeded) {
+				this.remainder.onError(ex);
+				return;
+			}
+			release();
+			this.result.onError(ex);
+		}
+
+		/**
+		 * Cancel reading the body, releasing the buffers read but not yet
+		 * emitted, also if the body has already been read in full.
+		 */
+		private void cancelAndRelease() {
+			cancel();
+			release();
+		}
+
+		private synchronized boolean hold(DataBuffer buffer) {
+			if (this.released) {
+				DataBufferUtils.release(buffer);
+				return false;
+			}
+			this.buffers.add(buffer);
+			return true;
+		}
+
+		@Nullable
+		private synchronized DataBuffer poll() {
+			return this.buffers.poll();
+		}
+
+		private synchronized void release() {
+			this.released = true;
+			this.buffers.forEach(DataBufferUtils::release);
+			this.buffers.clear();
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+
+/**
+ * Contract for storing responses on behalf of a {@link CachingExchangeFilterFunction}.
+ *
+ * <p>Implementations may keep entries in memory, as {@link InMemoryClientResponseCache}
+ * does, or hand them over to an external store. All operations are non-blocking.
+ *
+ * @since 5.1
+ * @see CachingExchangeFilterFunction
+ */
+public interface ClientResponseCache {
+
+	/**
+	 * Return the entry stored under the given key.
+	 * @param key the cache key, as determined by the caching filter
+	 * @return the cached entry, or an empty {@code Mono} if none
+	 */
+	Mono<Entry> get(String key);
+
+	/**
+	 * Store the given entry under the given key, replacing any previous entry.
+	 * @param key the cache key
+	 * @param entry the entry to store
+	 * @return completion signal
+	 */
+	Mono<Void> put(String key, Entry entry);
+
+	/**
+	 * Remove the entry stored under the given key, if any.
+	 * @param key the cache key
+	 * @return completion signal
+	 */
+	Mono<Void> evict(String key);
+
+
+	/**
+	 * A cached response: status, headers and the complete body, along with the
+	 * request header values the response varies on and its expiration time.
+	 * <p>Entries are immutable, so that they can be shared by concurrent requests.
+	 */
+	final class Entry {
+
+		private final HttpStatus statusCode;
+
+		private final HttpHeaders headers;
+
+		private final byte[] body;
+
+		private final HttpHeaders varyHeaders;
+
+		private final long expirationTime;
+
+
+		/**
+		 * Create a new cache entry.
+		 * @param statusCode the response status
+		 * @param headers the response headers
+		 * @param body the response body; not copied and must not be modified
+		 * @param varyHeaders the values of the request headers listed in the
+		 * response {@code Vary} header
+		 * @param expirationTime the time in milliseconds since the epoch until
+		 * which the response may be used without revalidation
+		 */
+		public Entry(HttpStatus statusCode, HttpHeaders headers, byte[] body,
+				HttpHeaders varyHeaders, long expirationTime) {
+
+			Assert.notNull(statusCode, "HttpStatus must not be null");
+			Assert.notNull(headers, "HttpHeaders must not be null");
+			Assert.notNull(body, "Body must not be null");
+			Assert.notNull(varyHeaders, "Vary headers must not be null");
+			this.statusCode = statusCode;
+			this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+			this.body = body;
+			this.varyHeaders = HttpHeaders.readOnlyHttpHeaders(varyHeaders);
+			this.expirationTime = expirationTime;
+		}
+
+
+		/**
+		 * Return the response status.
+		 */
+		public HttpStatus getStatusCode() {
+			return this.statusCode;
+		}
+
+		/**
+		 * Return the read-only response headers.
+		 */
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+		/**
+		 * Return the response body. The returned array is shared and must not be modified.
+		 */
+		public byte[] getBody() {
+			return this.body;
+		}
+
+		/**
+		 * Return the read-only values of the request headers that the response varies on.
+		 */
+		public HttpHeaders getVaryHeaders() {
+			return this.varyHeaders;
+		}
+
+		/**
+		 * Return the time in milliseconds since the epoch until which the
+		 * response may be used without revalidation.
+		 */
+		public long getExpirationTime() {
+			return this.expirationTime;
+		}
+
+		/**
+		 * Whether the response may be used without revalidation at the given time.
+		 * @param now the current time in milliseconds since the epoch
+		 */
+		public boolean isFresh(long now) {
+			return (now < this.expirationTime);
+		}
+
+		/**
+		 * Whether the response can be revalidated, i.e. whether it carries an
+		 * {@code ETag} or a {@code Last-Modified} header.
+		 */
+		public boolean isRevalidatable() {
+			return (this.headers.getETag() != null || this.headers.getLastModified() != -1);
+		}
+
+		/**
+		 * Whether the given request carries the same values for the request
+		 * headers the response varies on as the request the response was stored for.
+		 * @param request the request to match
+		 */
+		public boolean matches(ClientRequest request) {
+			for (Map.Entry<String, List<String>> entry : this.varyHeaders.entrySet()) {
+				List<String> values = request.headers().get(entry.getKey());
+				if (!Objects.equals(entry.getValue(), values != null ? values : Collections.emptyList())) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link ClientResponseCache} that keeps entries in memory, evicting the least
+ * recently used entries once either the number of entries or the combined size
+ * of their bodies exceeds the configured limits.
+ *
+ * @since 5.1
+ */
+public class InMemoryClientResponseCache implements ClientResponseCache {
+
+	private static final int DEFAULT_ENTRY_LIMIT = 256;
+
+	private static final long DEFAULT_BODY_SIZE_LIMIT = 16 * 1024 * 1024;
+
+
+	private final int entryLimit;
+
+	private final long bodySizeLimit;
+
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long bodySize;
+
+
+	/**
+	 * Create a cache with a limit of 256 entries and 16MB of body content.
+	 */
+	public InMemoryClientResponseCache() {
+		this(DEFAULT_ENTRY_LIMIT, DEFAULT_BODY_SIZE_LIMIT);
+	}
+
+	/**
+	 * Create a cache with the given limits.
+	 * @param entryLimit the maximum number of entries
+	 * @param bodySizeLimit the maximum combined size of the entry bodies in bytes
+	 */
+	public InMemoryClientResponseCache(int entryLimit, long bodySizeLimit) {
+		Assert.isTrue(entryLimit > 0, "Entry limit must be positive");
+		Assert.isTrue(bodySizeLimit >= 0, "Body size limit must not be negative");
+		this.entryLimit = entryLimit;
+		this.bodySizeLimit = bodySizeLimit;
+	}
+
+
+	/**
+	 * Return the maximum number of entries.
+	 */
+	public int getEntryLimit() {
+		return this.entryLimit;
+	}
+
+	/**
+	 * Return the maximum combined size of the entry bodies in bytes.
+	 */
+	public long getBodySizeLimit() {
+		return this.bodySizeLimit;
+	}
+
+	/**
+	 * Return the current number of entries.
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * Return the current combined size of the entry bodies in bytes.
+	 */
+	public long getBodySize() {
+		synchronized (this.entries) {
+			return this.bodySize;
+		}
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+			this.bodySize = 0;
+		}
+	}
+
+
+	@Override
+	public Mono<Entry> get(String key) {
+		return Mono.fromSupplier(() -> {
+			synchronized (this.entries) {
+				return this.entries.get(key);
+			}
+		});
+	}
+
+	@Override
+	public Mono<Void> put(String key, Entry entry) {
+		return Mono.fromRunnable(() -> {
+			int length = entry.getBody().length;
+			synchronized (this.entries) {
+				removeInternal(key);
+				if (length > this.bodySizeLimit) {
+					return;
+				}
+				this.entries.put(key, entry);
+				this.bodySize += length;
+				Iterator<Map.Entry<String, Entry>> iterator = this.entries.entrySet().iterator();
+				while (this.entries.size() > this.entryLimit || this.bodySize > this.bodySizeLimit) {
+					this.bodySize -= iterator.next().getValue().getBody().length;
+					iterator.remove();
+				}
+			}
+		});
+	}
+
+	@Override
+	public Mono<Void> evict(String key) {
+		return Mono.fromRunnable(() -> {
+			synchronized (this.entries) {
+				removeInternal(key);
+			}
+		});
+	}
+
+	private void removeInternal(String key) {
+		Entry previous = this.entries.remove(key);
+		if (previous != null) {
+			this.bodySize -= previous.getBody().length;
+		}
+	}
+
+}
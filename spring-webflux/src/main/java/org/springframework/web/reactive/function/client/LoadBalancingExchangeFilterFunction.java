@@ -0,0 +1,502 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.SignalType;
+
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * {@link ExchangeFilterFunction} that dispatches each request to one of several
+ * base URIs, optionally sending a hedged duplicate request when the response is
+ * slow to arrive.
+ *
+ * <p>The path and query of the request URL are resolved against the base URI
+ * of the selected {@link Endpoint}. Endpoints are selected by the "power of two
+ * choices": two endpoints are picked at random, and the one with the lower
+ * product of its in-flight request count and its exponentially weighted moving
+ * average latency is used.
+ *
+ * <p>Once a {@link #setHedgePercentile hedge percentile} is set, {@code GET},
+ * {@code HEAD} and {@code OPTIONS} requests that have not received a response
+ * within that percentile of recently observed latencies are sent again to
+ * another endpoint. Whichever response arrives first is used, and the other
+ * request is cancelled. The number of hedged requests is limited to a
+ * {@link #setHedgeBudget fraction} of all requests, so that hedging cannot
+ * multiply the load on already slow endpoints. Failed requests are not retried:
+ * an error of the initial request is propagated right away, unless a hedged
+ * request has been sent already, in which case its outcome is awaited.
+ *
+ * <p>Latencies are measured until the response status and headers are received.
+ * Per-endpoint metrics are exposed via {@link #getEndpoints()}.
+ *
+ * @since 5.1
+ */
+public class LoadBalancingExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private static final int LATENCY_WINDOW_SIZE = 1024;
+
+	private static final int MIN_LATENCY_SAMPLES = 10;
+
+	private static final double LATENCY_EWMA_WEIGHT = 0.2;
+
+	private static final double UNKNOWN_LATENCY_PENALTY = Long.MAX_VALUE >> 16;
+
+
+	private final List<Endpoint> endpoints;
+
+	private final LatencyWindow latencies = new LatencyWindow();
+
+	private final AtomicLong requestCount = new AtomicLong();
+
+	private final AtomicLong hedgedRequestCount = new AtomicLong();
+
+	private volatile double hedgePercentile = -1;
+
+	private volatile Duration minHedgeDelay = Duration.ofMillis(10);
+
+	private volatile double hedgeBudget = 0.1;
+
+
+	/**
+	 * Create a filter dispatching to the given base URIs.
+	 * @param baseUris the base URIs of the endpoints
+	 */
+	public LoadBalancingExchangeFilterFunction(URI... baseUris) {
+		this(Arrays.asList(baseUris));
+	}
+
+	/**
+	 * Create a filter dispatching to the given base URIs.
+	 * @param baseUris the base URIs of the endpoints
+	 */
+	public LoadBalancingExchangeFilterFunction(List<URI> baseUris) {
+		Assert.notEmpty(baseUris, "Base URIs must not be empty");
+		List<Endpoint> endpoints = new ArrayList<>(baseUris.size());
+		for (URI baseUri : baseUris) {
+			Assert.notNull(baseUri, "Base URI must not be null");
+			endpoints.add(new Endpoint(baseUri));
+		}
+		this.endpoints = Collections.unmodifiableList(endpoints);
+	}
+
+
+	/**
+	 * Set the percentile of recently observed latencies, between 0 and 1, after
+	 * which a hedged request is sent, e.g. {@code 0.95}.
+	 * <p>By default this is set to -1, i.e. no hedged requests are sent.
+	 */
+	public void setHedgePercentile(double hedgePercentile) {
+		Assert.isTrue(hedgePercentile <= 1, "Hedge percentile must not be greater than 1");
+		this.hedgePercentile = hedgePercentile;
+	}
+
+	/**
+	 * Return the percentile of recently observed latencies after which a hedged request is sent.
+	 */
+	public double getHedgePercentile() {
+		return this.hedgePercentile;
+	}
+
+	/**
+	 * Set the minimum time to wait for a response before sending a hedged request,
+	 * regardless of the observed latencies.
+	 * <p>By default this is set to 10 milliseconds.
+	 */
+	public void setMinHedgeDelay(Duration minHedgeDelay) {
+		Assert.notNull(minHedgeDelay, "Min hedge delay must not be null");
+		this.minHedgeDelay = minHedgeDelay;
+	}
+
+	/**
+	 * Return the minimum time to wait for a response before sending a hedged request.
+	 */
+	public Duration getMinHedgeDelay() {
+		return this.minHedgeDelay;
+	}
+
+	/**
+	 * Set the maximum number of hedged requests as a fraction of all requests.
+	 * <p>By default this is set to 0.1, i.e. at most one hedged request per ten requests.
+	 */
+	public void setHedgeBudget(double hedgeBudget) {
+		Assert.isTrue(hedgeBudget >= 0, "Hedge budget must not be negative");
+		this.hedgeBudget = hedgeBudget;
+	}
+
+	/**
+	 * Return the maximum number of hedged requests as a fraction of all requests.
+	 */
+	public double getHedgeBudget() {
+		return this.hedgeBudget;
+	}
+
+	/**
+	 * Return the endpoints along with their metrics.
+	 */
+	public List<Endpoint> getEndpoints() {
+		return this.endpoints;
+	}
+
+	/**
+	 * Return the number of requests filtered so far, not counting hedged requests.
+	 */
+	public long getRequestCount() {
+		return this.requestCount.get();
+	}
+
+	/**
+	 * Return the number of hedged requests sent so far.
+	 */
+	public long getHedgedRequestCount() {
+		return this.hedgedRequestCount.get();
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		return Mono.defer(() -> {
+			this.requestCount.incrementAndGet();
+			Endpoint primary = choose(null);
+			Duration hedgeDelay = getHedgeDelay(request);
+			if (hedgeDelay == null) {
+				return exchange(request, primary, next);
+			}
+			AtomicReference<ClientResponse> winner = new AtomicReference<>();
+			MonoProcessor<Void> primaryWon = MonoProcessor.create();
+			MonoProcessor<Void> hedgeWon = MonoProcessor.create();
+			AtomicBoolean hedgeSent = new AtomicBoolean();
+			AtomicReference<Throwable> error = new AtomicReference<>();
+			Mono<ClientResponse> hedge = Mono.delay(hedgeDelay)
+					.flatMap(tick -> {
+						if (!tryAcquireHedge()) {
+							return Mono.empty();
+						}
+						hedgeSent.set(true);
+						Endpoint endpoint = choose(primary);
+						endpoint.hedgedRequests.incrementAndGet();
+						return exchange(request, endpoint, next);
+					});
+			return Flux.merge(
+					exchange(request, primary, next)
+							.onErrorResume(ex -> {
+								// Fail right away, unless there is a hedged request to wait for
+								if (!hedgeSent.get()) {
+									return Mono.error(ex);
+								}
+								recordError(error, ex);
+								return Mono.empty();
+							})
+							.takeUntilOther(hedgeWon)
+							.filter(response -> isWinner(response, winner, primaryWon)),
+					hedge
+							.onErrorResume(ex -> {
+								recordError(error, ex);
+								return Mono.empty();
+							})
+							.takeUntilOther(primaryWon)
+							.filter(response -> isWinner(response, winner, hedgeWon)))
+					.next()
+					.switchIfEmpty(Mono.defer(() -> {
+						Throwable ex = error.get();
+						return (ex != null ? Mono.error(ex) : Mono.empty());
+					}));
+		});
+	}
+
+	private Mono<ClientResponse> exchange(ClientRequest request, Endpoint endpoint, ExchangeFunction next) {
+		ClientRequest requestToUse = ClientRequest.from(request).url(endpoint.resolve(request.url())).build();
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+			AtomicBoolean responded = new AtomicBoolean();
+			endpoint.inFlightRequests.incrementAndGet();
+			endpoint.requests.incrementAndGet();
+			return next.exchange(requestToUse)
+					.doOnNext(response -> {
+						responded.set(true);
+						long latency = System.nanoTime() - start;
+						endpoint.recordLatency(latency);
+						this.latencies.record(latency);
+					})
+					.doOnError(ex -> endpoint.errors.incrementAndGet())
+					.doFinally(signal -> {
+						endpoint.inFlightRequests.decrementAndGet();
+						if (signal == SignalType.CANCEL && !responded.get()) {
+							endpoint.cancellations.incrementAndGet();
+						}
+					});
+		});
+	}
+
+	/**
+	 * Select an endpoint by the power of two choices, excluding the given one
+	 * if others are available.
+	 */
+	private Endpoint choose(@Nullable Endpoint exclude) {
+		List<Endpoint> candidates = this.endpoints;
+		if (exclude != null && candidates.size() > 1) {
+			candidates = new ArrayList<>(candidates);
+			candidates.remove(exclude);
+		}
+		int size = candidates.size();
+		if (size == 1) {
+			return candidates.get(0);
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int first = random.nextInt(size);
+		int second = random.nextInt(size - 1);
+		if (second >= first) {
+			second++;
+		}
+		Endpoint endpoint1 = candidates.get(first);
+		Endpoint endpoint2 = candidates.get(second);
+		return (endpoint1.getLoad() <= endpoint2.getLoad() ? endpoint1 : endpoint2);
+	}
+
+	@Nullable
+	private Duration getHedgeDelay(ClientRequest request) {
+		double percentile = this.hedgePercentile;
+		if (percentile < 0 || !isHedgeable(request.method())) {
+			return null;
+		}
+		long threshold = this.latencies.getPercentile(percentile);
+		if (threshold < 0) {
+			return null;
+		}
+		Duration delay = Duration.ofNanos(threshold);
+		Duration minDelay = this.minHedgeDelay;
+		return (delay.compareTo(minDelay) > 0 ? delay : minDelay);
+	}
+
+	private static boolean isHedgeable(HttpMethod method) {
+		return (HttpMethod.GET == method || HttpMethod.HEAD == method || HttpMethod.OPTIONS == method);
+	}
+
+	private boolean tryAcquireHedge() {
+		double budget = this.hedgeBudget;
+		long hedges = this.hedgedRequestCount.get();
+		while (hedges < this.requestCount.get() * budget) {
+			if (this.hedgedRequestCount.compareAndSet(hedges, hedges + 1)) {
+				return true;
+			}
+			hedges = this.hedgedRequestCount.get();
+		}
+		return false;
+	}
+
+	/**
+	 * Whether the given response is the first one for its request, releasing
+	 * it otherwise. The winner completes the given processor first, so that
+	 * the other request is cancelled before the response is emitted.
+	 */
+	private static boolean isWinner(ClientResponse response,
+			AtomicReference<ClientResponse> winner, MonoProcessor<Void> won) {
+
+		if (winner.compareAndSet(null, response)) {
+			won.onComplete();
+			return true;
+		}
+		response.body(BodyExtractors.toDataBuffers()).subscribe(DataBufferUtils.releaseConsumer());
+		return false;
+	}
+
+	/**
+	 * Keep the first error of a hedged request pair, adding any later one
+	 * as suppressed.
+	 */
+	private static void recordError(AtomicReference<Throwable> error, Throwable ex) {
+		if (!error.compareAndSet(null, ex)) {
+			error.get().addSuppressed(ex);
+		}
+	}
+
+
+	/**
+	 * A base URI to dispatch requests to, along with its metrics.
+	 */
+	public static final class Endpoint {
+
+		private final URI uri;
+
+		private final AtomicInteger inFlightRequests = new AtomicInteger();
+
+		private final AtomicLong requests = new AtomicLong();
+
+		private final AtomicLong hedgedRequests = new AtomicLong();
+
+		private final AtomicLong errors = new AtomicLong();
+
+		private final AtomicLong cancellations = new AtomicLong();
+
+		private volatile double latencyEwma;
+
+		Endpoint(URI uri) {
+			this.uri = uri;
+		}
+
+		/**
+		 * Return the base URI of this endpoint.
+		 */
+		public URI getUri() {
+			return this.uri;
+		}
+
+		/**
+		 * Return the number of requests currently awaiting a response from this endpoint.
+		 */
+		public int getInFlightRequestCount() {
+			return this.inFlightRequests.get();
+		}
+
+		/**
+		 * Return the number of requests sent to this endpoint, including hedged requests.
+		 */
+		public long getRequestCount() {
+			return this.requests.get();
+		}
+
+		/**
+		 * Return the number of hedged requests sent to this endpoint.
+		 */
+		public long getHedgedRequestCount() {
+			return this.hedgedRequests.get();
+		}
+
+		/**
+		 * Return the number of requests to this endpoint that failed with an error.
+		 */
+		public long getErrorCount() {
+			return this.errors.get();
+		}
+
+		/**
+		 * Return the number of requests to this endpoint that were cancelled,
+		 * e.g. because a hedged request received a response first.
+		 */
+		public long getCancellationCount() {
+			return this.cancellations.get();
+		}
+
+		/**
+		 * Return the exponentially weighted moving average of the latencies of this endpoint.
+		 */
+		public Duration getLatencyEwma() {
+			return Duration.ofNanos((long) this.latencyEwma);
+		}
+
+		URI resolve(URI url) {
+			return UriComponentsBuilder.fromUri(this.uri)
+					.path(url.getRawPath())
+					.query(url.getRawQuery())
+					.build(true)
+					.toUri();
+		}
+
+		synchronized void recordLatency(long nanos) {
+			double ewma = this.latencyEwma;
+			this.latencyEwma = (ewma == 0 ? nanos :
+					LATENCY_EWMA_WEIGHT * nanos + (1 - LATENCY_EWMA_WEIGHT) * ewma);
+		}
+
+		/**
+		 * Return the expected latency of a new request: the latency average scaled
+		 * by the number of in-flight requests. Endpoints without latency samples
+		 * are preferred while idle, and avoided while awaiting their first response.
+		 */
+		double getLoad() {
+			int inFlight = this.inFlightRequests.get();
+			double ewma = this.latencyEwma;
+			if (ewma == 0) {
+				return (inFlight == 0 ? 0 : UNKNOWN_LATENCY_PENALTY + inFlight);
+			}
+			return ewma * (inFlight + 1);
+		}
+
+		@Override
+		public String toString() {
+			return "Endpoint[" + this.uri + ", in-flight=" + getInFlightRequestCount() +
+					", requests=" + getRequestCount() + ", hedged=" + getHedgedRequestCount() +
+					", errors=" + getErrorCount() + ", latency=" + getLatencyEwma() + "]";
+		}
+	}
+
+
+	/**
+	 * Sliding window of recent latencies across all endpoints, sorted on
+	 * demand to determine the hedge delay.
+	 */
+	private static class LatencyWindow {
+
+		private final long[] samples = new long[LATENCY_WINDOW_SIZE];
+
+		private int count;
+
+		private int index;
+
+		private long[] sorted = new long[0];
+
+		private int recordedSinceSort;
+
+		public synchronized void record(long nanos) {
+			this.samples[this.index] = nanos;
+			this.index = (this.index + 1) % this.samples.length;
+			if (this.count < this.samples.length) {
+				this.count++;
+			}
+			this.recordedSinceSort++;
+		}
+
+		/**
+		 * Return the given percentile of the recorded latencies,
+		 * or -1 if not enough latencies have been recorded yet.
+		 */
+		public synchronized long getPercentile(double percentile) {
+			if (this.count < MIN_LATENCY_SAMPLES) {
+				return -1;
+			}
+			// Re-sort after a sixteenth of the window has been replaced
+			if (this.recordedSinceSort >= Math.max(1, this.count / 16)) {
+				this.sorted = Arrays.copyOf(this.samples, this.count);
+				Arrays.sort(this.sorted);
+				this.recordedSinceSort = 0;
+			}
+			int rank = (int) Math.ceil(percentile * this.sorted.length) - 1;
+			return this.sorted[Math.max(0, rank)];
+		}
+	}
+
+}
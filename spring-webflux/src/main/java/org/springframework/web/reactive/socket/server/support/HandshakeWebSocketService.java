@@ -273,8 +273,12 @@ public class HandshakeWebSocketService implements WebSocketService, Lifecycle {
 	private HandshakeInfo createHandshakeInfo(ServerWebExchange exchange, ServerHttpRequest request,
 			@Nullable String protocol, Map<String, Object> attributes) {
 
+		// Request headers may be a view of the native headers, and some servers
+		// recycle the request once the handshake is done: keep a copy instead
+		HttpHeaders headers = new HttpHeaders();
+		headers.addAll(request.getHeaders());
 		Mono<Principal> principal = exchange.getPrincipal();
-		return new HandshakeInfo(request.getURI(), request.getHeaders(), principal, protocol, attributes);
+		return new HandshakeInfo(request.getURI(), headers, principal, protocol, attributes);
 	}
 
 }
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.BodyExtractors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CachingExchangeFilterFunction}.
+ */
+public class CachingExchangeFilterFunctionTests {
+
+	private static final URI URL = URI.create("http://example.com/hotels");
+
+
+	private final InMemoryClientResponseCache cache = new InMemoryClientResponseCache();
+
+	private final CachingExchangeFilterFunction filter = new CachingExchangeFilterFunction(this.cache);
+
+	private final List<ClientRequest> requests = new ArrayList<>();
+
+
+	@Test
+	public void freshResponseServedFromCache() {
+		ExchangeFunction exchange = exchange(request ->
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+						.body("Hello World").build());
+
+		assertEquals("Hello World", body(get(), exchange));
+		assertEquals("Hello World", body(get(), exchange));
+		assertEquals(1, this.requests.size());
+		assertEquals(1, this.cache.size());
+	}
+
+	@Test
+	public void revalidateWithETag() {
+		ExchangeFunction exchange = exchange(request -> {
+			if ("\"v1\"".equals(request.headers().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+				return ClientResponse.create(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"v1\"").build();
+			}
+			return ClientResponse.create(HttpStatus.OK).header(HttpHeaders.ETAG, "\"v1\"").body("Hello World").build();
+		});
+
+		assertEquals("Hello World", body(get(), exchange));
+		assertEquals("Hello World", body(get(), exchange));
+		assertEquals(2, this.requests.size());
+		assertNull(this.requests.get(0).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+		assertEquals("\"v1\"", this.requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+	}
+
+	@Test
+	public void revalidateWithLastModified() {
+		String lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+		ExchangeFunction exchange = exchange(request -> {
+			if (request.headers().containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+				return ClientResponse.create(HttpStatus.NOT_MODIFIED).build();
+			}
+			return ClientResponse.create(HttpStatus.OK)
+					.header(HttpHeaders.LAST_MODIFIED, lastModified).body("Hello World").build();
+		});
+
+		assertEquals("Hello World", body(get(), exchange));
+		ClientResponse response = this.filter.filter(get(), exchange).block(Duration.ofSeconds(5));
+		assertEquals(HttpStatus.OK, response.statusCode());
+		assertEquals("Hello World", response.bodyToMono(String.class).block(Duration.ofSeconds(5)));
+		assertEquals(lastModified, this.requests.get(1).headers().getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+	}
+
+	@Test
+	public void revalidateWithModifiedResponse() {
+		int[] version = new int[1];
+		ExchangeFunction exchange = exchange(request -> {
+			version[0]++;
+			return ClientResponse.create(HttpStatus.OK)
+					.header(HttpHeaders.ETAG, "\"v" + version[0] + "\"").body("Version " + version[0]).build();
+		});
+
+		assertEquals("Version 1", body(get(), exchange));
+		assertEquals("Version 2", body(get(), exchange));
+		assertEquals("\"v1\"", this.requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+		assertEquals("\"v2\"", this.cache.get("GET " + URL).block().getHeaders().getETag());
+	}
+
+	@Test
+	public void responsesNotCached() {
+		ExchangeFunction exchange = exchange(request ->
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CACHE_CONTROL, "max-age=60, no-store")
+						.body("Hello World").build());
+
+		assertEquals("Hello World", body(get(), exchange));
+		assertEquals("Hello World", body(get(), exchange));
+		assertEquals(2, this.requests.size());
+
+		exchange = exchange(request ->
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+						.body("Hello World").build());
+		ClientRequest post = ClientRequest.create(HttpMethod.POST, URL).build();
+		body(post, exchange);
+		body(post, exchange);
+		assertEquals(4, this.requests.size());
+		assertEquals(0, this.cache.size());
+	}
+
+	@Test
+	public void requestNoCacheDirective() {
+		ExchangeFunction exchange = exchange(request ->
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+						.header(HttpHeaders.ETAG, "\"v1\"")
+						.body("Hello World").build());
+
+		body(get(), exchange);
+		ClientRequest noCache = ClientRequest.create(HttpMethod.GET, URL)
+				.header(HttpHeaders.CACHE_CONTROL, "no-cache").build();
+		body(noCache, exchange);
+		assertEquals(2, this.requests.size());
+		assertEquals("\"v1\"", this.requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+	}
+
+	@Test
+	public void requestsWithCredentialsNotCached() {
+		ExchangeFunction exchange = exchange(request ->
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+						.body("Hello " + request.headers().getFirst(HttpHeaders.AUTHORIZATION)).build());
+
+		ClientRequest alice = ClientRequest.create(HttpMethod.GET, URL)
+				.header(HttpHeaders.AUTHORIZATION, "Basic YWxpY2U6cGFzcw==").build();
+		ClientRequest bob = ClientRequest.create(HttpMethod.GET, URL)
+				.header(HttpHeaders.AUTHORIZATION, "Basic Ym9iOnBhc3M=").build();
+		assertEquals("Hello Basic YWxpY2U6cGFzcw==", body(alice, exchange));
+		assertEquals("Hello Basic Ym9iOnBhc3M=", body(bob, exchange));
+		assertEquals(2, this.requests.size());
+		assertEquals(0, this.cache.size());
+
+		ClientRequest withCookie = ClientRequest.create(HttpMethod.GET, URL).cookie("SESSION", "42").build();
+		body(withCookie, exchange);
+		body(withCookie, exchange);
+		assertEquals(4, this.requests.size());
+		assertEquals(0, this.cache.size());
+
+		assertEquals("Hello null", body(get(), exchange));
+		assertEquals("Hello Basic YWxpY2U6cGFzcw==", body(alice, exchange));
+		assertEquals(6, this.requests.size());
+		assertEquals(1, this.cache.size());
+	}
+
+	@Test
+	public void varyingResponse() {
+		ExchangeFunction exchange = exchange(request ->
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+						.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE)
+						.body(request.headers().getFirst(HttpHeaders.ACCEPT_LANGUAGE)).build());
+
+		ClientRequest english = ClientRequest.create(HttpMethod.GET, URL)
+				.header(HttpHeaders.ACCEPT_LANGUAGE, "en").build();
+		ClientRequest french = ClientRequest.create(HttpMethod.GET, URL)
+				.header(HttpHeaders.ACCEPT_LANGUAGE, "fr").build();
+
+		assertEquals("en", body(english, exchange));
+		assertEquals("en", body(english, exchange));
+		assertEquals("fr", body(french, exchange));
+		assertEquals(2, this.requests.size());
+	}
+
+	@Test
+	public void maxBodySizeExceeded() {
+		this.filter.setMaxBodySize(5);
+		ExchangeFunction exchange = exchange(request ->
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+						.body("Hello World").build());
+
+		assertEquals("Hello World", body(get(), exchange));
+		assertEquals("Hello World", body(get(), exchange));
+		assertEquals(2, this.requests.size());
+		assertEquals(0, this.cache.size());
+	}
+
+	@Test
+	public void maxBodySizeExceededByStreamedBody() {
+		this.filter.setMaxBodySize(5);
+		DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+		AtomicInteger bufferCount = new AtomicInteger();
+		ExchangeFunction exchange = exchange(request ->
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+						.body(Flux.just("Hello", " ", "World")
+								.map(chunk -> bufferFactory.wrap(chunk.getBytes(StandardCharsets.UTF_8)))
+								.doOnNext(buffer -> bufferCount.incrementAndGet()))
+						.build());
+
+		ClientResponse response = this.filter.filter(get(), exchange).block(Duration.ofSeconds(5));
+		assertEquals(2, bufferCount.get());
+		assertEquals("Hello World", response.bodyToMono(String.class).block(Duration.ofSeconds(5)));
+		assertEquals(3, bufferCount.get());
+
+		assertEquals("Hello World", body(get(), exchange));
+		assertEquals(2, this.requests.size());
+		assertEquals(0, this.cache.size());
+	}
+
+	@Test
+	public void bufferedBodyReleasedOnCancel() {
+		NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(new UnpooledByteBufAllocator(false));
+		List<NettyDataBuffer> buffers = Arrays.asList(
+				toDataBuffer(bufferFactory, "Hello"), toDataBuffer(bufferFactory, " "));
+		ExchangeFunction exchange = exchange(request ->
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+						.body(Flux.concat(Flux.fromIterable(buffers), Flux.never()))
+						.build());
+
+		this.filter.filter(get(), exchange).subscribe().dispose();
+		buffers.forEach(buffer -> assertEquals(0, buffer.getNativeBuffer().refCnt()));
+		assertEquals(0, this.cache.size());
+	}
+
+	@Test
+	public void passedThroughBodyReleasedOnCancel() {
+		this.filter.setMaxBodySize(5);
+		NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(new UnpooledByteBufAllocator(false));
+		List<NettyDataBuffer> buffers = Arrays.asList(
+				toDataBuffer(bufferFactory, "Hello"), toDataBuffer(bufferFactory, " "));
+		ExchangeFunction exchange = exchange(request ->
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+						.body(Flux.fromIterable(buffers))
+						.build());
+
+		ClientResponse response = this.filter.filter(get(), exchange).block(Duration.ofSeconds(5));
+		StepVerifier.create(response.body(BodyExtractors.toDataBuffers()), 1)
+				.consumeNextWith(DataBufferUtils::release)
+				.thenCancel()
+				.verify(Duration.ofSeconds(5));
+		buffers.forEach(buffer -> assertEquals(0, buffer.getNativeBuffer().refCnt()));
+	}
+
+	@Test
+	public void concurrentRequestsCoalesced() {
+		MonoProcessor<ClientResponse> pending = MonoProcessor.create();
+		ExchangeFunction exchange = request -> {
+			this.requests.add(request);
+			return pending;
+		};
+
+		MonoProcessor<ClientResponse> first = this.filter.filter(get(), exchange).toProcessor();
+		MonoProcessor<ClientResponse> second = this.filter.filter(get(), exchange).toProcessor();
+		assertEquals(1, this.requests.size());
+
+		pending.onNext(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CACHE_CONTROL, "max-age=60").body("Hello World").build());
+
+		assertEquals("Hello World", first.block(Duration.ofSeconds(5)).bodyToMono(String.class).block());
+		assertEquals("Hello World", second.block(Duration.ofSeconds(5)).bodyToMono(String.class).block());
+		assertEquals(1, this.requests.size());
+	}
+
+	@Test
+	public void concurrentRequestsNotCoalescedForUncacheableResponse() {
+		MonoProcessor<ClientResponse> pending = MonoProcessor.create();
+		ExchangeFunction exchange = request -> {
+			this.requests.add(request);
+			return (this.requests.size() == 1 ? pending :
+					Mono.just(ClientResponse.create(HttpStatus.OK).body("Second").build()));
+		};
+
+		MonoProcessor<ClientResponse> first = this.filter.filter(get(), exchange).toProcessor();
+		MonoProcessor<ClientResponse> second = this.filter.filter(get(), exchange).toProcessor();
+		assertEquals(1, this.requests.size());
+
+		pending.onNext(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CACHE_CONTROL, "no-store").body("First").build());
+
+		assertEquals("First", first.block(Duration.ofSeconds(5)).bodyToMono(String.class).block());
+		assertEquals("Second", second.block(Duration.ofSeconds(5)).bodyToMono(String.class).block());
+		assertEquals(2, this.requests.size());
+	}
+
+	@Test
+	public void inMemoryCacheLimits() {
+		InMemoryClientResponseCache cache = new InMemoryClientResponseCache(2, 10);
+		cache.put("a", entry("12345")).block();
+		cache.put("b", entry("12345")).block();
+		cache.get("a").block();
+		cache.put("c", entry("1")).block();
+
+		assertEquals(2, cache.size());
+		assertNotNull(cache.get("a").block());
+		assertNull(cache.get("b").block());
+		assertNotNull(cache.get("c").block());
+		assertEquals(6, cache.getBodySize());
+
+		cache.put("d", entry("12345678901")).block();
+		assertNull(cache.get("d").block());
+		cache.evict("a").block();
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getBodySize());
+	}
+
+
+	private static ClientRequest get() {
+		return ClientRequest.create(HttpMethod.GET, URL).build();
+	}
+
+	private ExchangeFunction exchange(Function<ClientRequest, ClientResponse> responseFunction) {
+		return request -> {
+			this.requests.add(request);
+			return Mono.just(responseFunction.apply(request));
+		};
+	}
+
+	private String body(ClientRequest request, ExchangeFunction exchange) {
+		return this.filter.filter(request, exchange)
+				.flatMap(response -> response.bodyToMono(String.class))
+				.block(Duration.ofSeconds(5));
+	}
+
+	private static ClientResponseCache.Entry entry(String body) {
+		return new ClientResponseCache.Entry(HttpStatus.OK, new HttpHeaders(), body.getBytes(),
+				new HttpHeaders(), Long.MAX_VALUE);
+	}
+
+	private static NettyDataBuffer toDataBuffer(NettyDataBufferFactory bufferFactory, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		return bufferFactory.allocateBuffer(bytes.length).write(bytes);
+	}
+
+}
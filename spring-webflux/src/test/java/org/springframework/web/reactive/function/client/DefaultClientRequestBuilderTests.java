@@ -18,6 +18,8 @@ package org.springframework.web.reactive.function.client;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -93,6 +95,18 @@ public class DefaultClientRequestBuilderTests {
 		assertEquals("bar", result.cookies().getFirst("foo"));
 	}
 
+	@Test
+	public void builderReuse() {
+		ClientRequest.Builder builder = ClientRequest.create(GET, URI.create("http://example.com"))
+				.header("A", "1");
+		ClientRequest result = builder.build();
+
+		builder.header("B", "2").header("A", "3");
+		assertEquals(1, result.headers().size());
+		assertEquals(Collections.singletonList("1"), result.headers().get("A"));
+		assertEquals(Arrays.asList("1", "3"), builder.build().headers().get("A"));
+	}
+
 	@Test
 	public void build() {
 		ClientRequest result = ClientRequest.create(GET, URI.create("http://example.com"))
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.test.StepVerifier;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link LoadBalancingExchangeFilterFunction}.
+ */
+public class LoadBalancingExchangeFilterFunctionTests {
+
+	private static final URI ENDPOINT_A = URI.create("http://a.example.com");
+
+	private static final URI ENDPOINT_B = URI.create("http://b.example.com/api/");
+
+
+	private final LoadBalancingExchangeFilterFunction filter =
+			new LoadBalancingExchangeFilterFunction(ENDPOINT_A, ENDPOINT_B);
+
+	private final List<URI> urls = new CopyOnWriteArrayList<>();
+
+
+	@Test
+	public void resolveAgainstEndpoint() {
+		LoadBalancingExchangeFilterFunction filter = new LoadBalancingExchangeFilterFunction(ENDPOINT_B);
+		ExchangeFunction exchange = request -> {
+			this.urls.add(request.url());
+			return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+		};
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("/hotels/42?q=a%20b")).build();
+		filter.filter(request, exchange).block(Duration.ofSeconds(5));
+
+		assertEquals(URI.create("http://b.example.com/api/hotels/42?q=a%20b"), this.urls.get(0));
+		LoadBalancingExchangeFilterFunction.Endpoint endpoint = filter.getEndpoints().get(0);
+		assertEquals(1, endpoint.getRequestCount());
+		assertEquals(0, endpoint.getInFlightRequestCount());
+	}
+
+	@Test
+	public void preferEndpointWithFewerInFlightRequests() {
+		MonoProcessor<ClientResponse> pending = MonoProcessor.create();
+		ExchangeFunction exchange = request -> {
+			this.urls.add(request.url());
+			return (this.urls.size() == 1 ? pending : Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+		};
+		this.filter.filter(get(), exchange).subscribe();
+		URI busy = this.urls.get(0);
+
+		for (int i = 0; i < 5; i++) {
+			this.filter.filter(get(), exchange).block(Duration.ofSeconds(5));
+			assertNotEquals(busy.getHost(), this.urls.get(i + 1).getHost());
+		}
+	}
+
+	@Test
+	public void hedgeSlowRequest() {
+		this.filter.setHedgePercentile(0.9);
+		this.filter.setMinHedgeDelay(Duration.ofMillis(50));
+		ExchangeFunction fast = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+		for (int i = 0; i < 10; i++) {
+			this.filter.filter(get(), fast).block(Duration.ofSeconds(5));
+		}
+
+		AtomicBoolean cancelled = new AtomicBoolean();
+		ExchangeFunction exchange = request -> {
+			this.urls.add(request.url());
+			if (this.urls.size() == 1) {
+				return Mono.<ClientResponse>never().doOnCancel(() -> cancelled.set(true));
+			}
+			return Mono.just(ClientResponse.create(HttpStatus.ACCEPTED).build());
+		};
+		ClientResponse response = this.filter.filter(get(), exchange).block(Duration.ofSeconds(5));
+
+		assertEquals(HttpStatus.ACCEPTED, response.statusCode());
+		assertEquals(2, this.urls.size());
+		assertNotEquals(this.urls.get(0).getHost(), this.urls.get(1).getHost());
+		assertTrue(cancelled.get());
+		assertEquals(1, this.filter.getHedgedRequestCount());
+		long cancellations = this.filter.getEndpoints().stream()
+				.mapToLong(LoadBalancingExchangeFilterFunction.Endpoint::getCancellationCount).sum();
+		assertEquals(1, cancellations);
+	}
+
+	@Test
+	public void hedgeBudgetExhausted() {
+		this.filter.setHedgePercentile(0.9);
+		this.filter.setMinHedgeDelay(Duration.ofMillis(10));
+		this.filter.setHedgeBudget(0);
+		ExchangeFunction fast = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+		for (int i = 0; i < 10; i++) {
+			this.filter.filter(get(), fast).block(Duration.ofSeconds(5));
+		}
+
+		ExchangeFunction slow = request -> {
+			this.urls.add(request.url());
+			return Mono.delay(Duration.ofMillis(100)).map(tick -> ClientResponse.create(HttpStatus.OK).build());
+		};
+		this.filter.filter(get(), slow).block(Duration.ofSeconds(5));
+		assertEquals(1, this.urls.size());
+		assertEquals(0, this.filter.getHedgedRequestCount());
+	}
+
+	@Test
+	public void noHedgeForPost() {
+		this.filter.setHedgePercentile(0.9);
+		this.filter.setMinHedgeDelay(Duration.ofMillis(10));
+		this.filter.setHedgeBudget(1);
+		ExchangeFunction fast = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+		for (int i = 0; i < 10; i++) {
+			this.filter.filter(get(), fast).block(Duration.ofSeconds(5));
+		}
+
+		ExchangeFunction slow = request -> {
+			this.urls.add(request.url());
+			return Mono.delay(Duration.ofMillis(100)).map(tick -> ClientResponse.create(HttpStatus.OK).build());
+		};
+		ClientRequest post = ClientRequest.create(HttpMethod.POST, URI.create("/hotels")).build();
+		this.filter.filter(post, slow).block(Duration.ofSeconds(5));
+		assertEquals(1, this.urls.size());
+	}
+
+	@Test
+	public void failFastWithoutHedgeInFlight() {
+		this.filter.setHedgePercentile(0.9);
+		this.filter.setMinHedgeDelay(Duration.ofSeconds(10));
+		this.filter.setHedgeBudget(1);
+		ExchangeFunction fast = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+		for (int i = 0; i < 10; i++) {
+			this.filter.filter(get(), fast).block(Duration.ofSeconds(5));
+		}
+
+		ExchangeFunction failing = request -> {
+			this.urls.add(request.url());
+			return Mono.error(new IllegalStateException("Connection refused"));
+		};
+		StepVerifier.create(this.filter.filter(get(), failing))
+				.expectError(IllegalStateException.class)
+				.verify(Duration.ofSeconds(5));
+		assertEquals(1, this.urls.size());
+		assertEquals(0, this.filter.getHedgedRequestCount());
+	}
+
+	@Test
+	public void awaitHedgeInFlightOnError() {
+		this.filter.setHedgePercentile(0.9);
+		this.filter.setMinHedgeDelay(Duration.ofMillis(10));
+		this.filter.setHedgeBudget(1);
+		ExchangeFunction fast = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+		for (int i = 0; i < 10; i++) {
+			this.filter.filter(get(), fast).block(Duration.ofSeconds(5));
+		}
+
+		ExchangeFunction exchange = request -> {
+			this.urls.add(request.url());
+			if (this.urls.size() == 1) {
+				return Mono.delay(Duration.ofMillis(100)).then(Mono.error(new IllegalStateException("boom")));
+			}
+			return Mono.delay(Duration.ofMillis(200)).map(tick -> ClientResponse.create(HttpStatus.OK).build());
+		};
+		ClientResponse response = this.filter.filter(get(), exchange).block(Duration.ofSeconds(5));
+		assertEquals(HttpStatus.OK, response.statusCode());
+		assertEquals(2, this.urls.size());
+		assertEquals(1, this.filter.getHedgedRequestCount());
+	}
+
+	@Test
+	public void errorMetrics() {
+		LoadBalancingExchangeFilterFunction filter = new LoadBalancingExchangeFilterFunction(ENDPOINT_A);
+		ExchangeFunction exchange = request -> Mono.error(new IllegalStateException("boom"));
+		try {
+			filter.filter(get(), exchange).block(Duration.ofSeconds(5));
+			fail("Expected IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+		LoadBalancingExchangeFilterFunction.Endpoint endpoint = filter.getEndpoints().get(0);
+		assertEquals(1, endpoint.getErrorCount());
+		assertEquals(0, endpoint.getInFlightRequestCount());
+	}
+
+
+	private static ClientRequest get() {
+		return ClientRequest.create(HttpMethod.GET, URI.create("/hotels")).build();
+	}
+
+}
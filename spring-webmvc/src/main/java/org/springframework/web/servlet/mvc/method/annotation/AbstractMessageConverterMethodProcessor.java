@@ -22,9 +22,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -48,6 +51,7 @@ import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.accept.ContentNegotiationManager;
@@ -62,6 +66,11 @@ import org.springframework.web.util.UrlPathHelper;
  * Extends {@link AbstractMessageConverterMethodArgumentResolver} with the ability to handle
  * method return values by writing to the response with {@link HttpMessageConverter}s.
  *
+ * <p>As of 5.1, the outcome of content negotiation, i.e. the selected media
+ * type and converter, is cached per value type, declared return type and
+ * acceptable media types, as long as the response has no concrete content
+ * type yet.
+ *
  * @author Arjen Poutsma
  * @author Rossen Stoyanchev
  * @since 3.1
@@ -83,6 +92,8 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 	private static final Type RESOURCE_REGION_LIST_TYPE =
 			new ParameterizedTypeReference<List<ResourceRegion>>() { }.getType();
 
+	private static final int CONVERTER_SELECTION_CACHE_LIMIT = 1024;
+
 
 	private static final UrlPathHelper decodingUrlPathHelper = new UrlPathHelper();
 
@@ -100,6 +111,24 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 
 	private final Set<String> safeExtensions = new HashSet<>();
 
+	private final Map<ConverterSelectionKey, ConverterSelection> converterSelectionAccessCache =
+			new ConcurrentHashMap<>(CONVERTER_SELECTION_CACHE_LIMIT);
+
+	@SuppressWarnings("serial")
+	private final Map<ConverterSelectionKey, ConverterSelection> converterSelectionCreationCache =
+			new LinkedHashMap<ConverterSelectionKey, ConverterSelection>(CONVERTER_SELECTION_CACHE_LIMIT, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<ConverterSelectionKey, ConverterSelection> eldest) {
+					if (size() > CONVERTER_SELECTION_CACHE_LIMIT) {
+						converterSelectionAccessCache.remove(eldest.getKey());
+						return true;
+					}
+					else {
+						return false;
+					}
+				}
+			};
+
 
 	/**
 	 * Constructor with list of converters only.
@@ -211,76 +240,93 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		}
 
 
-		List<MediaType> mediaTypesToUse;
+		MediaType selectedMediaType = null;
+		HttpMessageConverter<?> selectedConverter = null;
+		ConverterSelectionKey cacheKey = null;
 
 		MediaType contentType = outputMessage.getHeaders().getContentType();
 		if (contentType != null && contentType.isConcrete()) {
-			mediaTypesToUse = Collections.singletonList(contentType);
+			selectedMediaType = contentType;
 		}
 		else {
 			HttpServletRequest request = inputMessage.getServletRequest();
 			List<MediaType> requestedMediaTypes = getAcceptableMediaTypes(request);
-			List<MediaType> producibleMediaTypes = getProducibleMediaTypes(request, valueType, declaredType);
-
-			if (outputValue != null && producibleMediaTypes.isEmpty()) {
-				throw new HttpMessageNotWritableException(
-						"No converter found for return value of type: " + valueType);
+			cacheKey = new ConverterSelectionKey(valueType, declaredType, requestedMediaTypes,
+					request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE));
+			ConverterSelection selection = this.converterSelectionAccessCache.get(cacheKey);
+			if (selection != null) {
+				selectedMediaType = selection.mediaType;
+				selectedConverter = selection.converter;
 			}
-			mediaTypesToUse = new ArrayList<>();
-			for (MediaType requestedType : requestedMediaTypes) {
-				for (MediaType producibleType : producibleMediaTypes) {
-					if (requestedType.isCompatibleWith(producibleType)) {
-						mediaTypesToUse.add(getMostSpecificMediaType(requestedType, producibleType));
+			else {
+				List<MediaType> producibleMediaTypes = getProducibleMediaTypes(request, valueType, declaredType);
+
+				if (outputValue != null && producibleMediaTypes.isEmpty()) {
+					throw new HttpMessageNotWritableException(
+							"No converter found for return value of type: " + valueType);
+				}
+				List<MediaType> mediaTypesToUse = new ArrayList<>();
+				for (MediaType requestedType : requestedMediaTypes) {
+					for (MediaType producibleType : producibleMediaTypes) {
+						if (requestedType.isCompatibleWith(producibleType)) {
+							mediaTypesToUse.add(getMostSpecificMediaType(requestedType, producibleType));
+						}
 					}
 				}
-			}
-			if (mediaTypesToUse.isEmpty()) {
-				if (outputValue != null) {
-					throw new HttpMediaTypeNotAcceptableException(producibleMediaTypes);
+				if (mediaTypesToUse.isEmpty()) {
+					if (outputValue != null) {
+						throw new HttpMediaTypeNotAcceptableException(producibleMediaTypes);
+					}
+					return;
 				}
-				return;
-			}
-			MediaType.sortBySpecificityAndQuality(mediaTypesToUse);
-		}
+				MediaType.sortBySpecificityAndQuality(mediaTypesToUse);
 
-		MediaType selectedMediaType = null;
-		for (MediaType mediaType : mediaTypesToUse) {
-			if (mediaType.isConcrete()) {
-				selectedMediaType = mediaType;
-				break;
-			}
-			else if (mediaType.equals(MediaType.ALL) || mediaType.equals(MEDIA_TYPE_APPLICATION)) {
-				selectedMediaType = MediaType.APPLICATION_OCTET_STREAM;
-				break;
+				for (MediaType mediaType : mediaTypesToUse) {
+					if (mediaType.isConcrete()) {
+						selectedMediaType = mediaType;
+						break;
+					}
+					else if (mediaType.equals(MediaType.ALL) || mediaType.equals(MEDIA_TYPE_APPLICATION)) {
+						selectedMediaType = MediaType.APPLICATION_OCTET_STREAM;
+						break;
+					}
+				}
 			}
 		}
 
 		if (selectedMediaType != null) {
-			selectedMediaType = selectedMediaType.removeQualityValue();
-			for (HttpMessageConverter<?> converter : this.messageConverters) {
+			if (selectedConverter == null) {
+				selectedMediaType = selectedMediaType.removeQualityValue();
+				selectedConverter = findConverter(declaredType, valueType, selectedMediaType);
+				if (selectedConverter != null && cacheKey != null) {
+					ConverterSelection selection = new ConverterSelection(selectedMediaType, selectedConverter);
+					synchronized (this.converterSelectionCreationCache) {
+						this.converterSelectionAccessCache.put(cacheKey, selection);
+						this.converterSelectionCreationCache.put(cacheKey, selection);
+					}
+				}
+			}
+			if (selectedConverter != null) {
 				GenericHttpMessageConverter genericConverter =
-						(converter instanceof GenericHttpMessageConverter ? (GenericHttpMessageConverter<?>) converter : null);
-				if (genericConverter != null ?
-						((GenericHttpMessageConverter) converter).canWrite(declaredType, valueType, selectedMediaType) :
-						converter.canWrite(valueType, selectedMediaType)) {
-					outputValue = getAdvice().beforeBodyWrite(outputValue, returnType, selectedMediaType,
-							(Class<? extends HttpMessageConverter<?>>) converter.getClass(),
-							inputMessage, outputMessage);
-					if (outputValue != null) {
-						addContentDispositionHeader(inputMessage, outputMessage);
-						if (genericConverter != null) {
-							genericConverter.write(outputValue, declaredType, selectedMediaType, outputMessage);
-						}
-						else {
-							((HttpMessageConverter) converter).write(outputValue, selectedMediaType, outputMessage);
-						}
-						if (logger.isDebugEnabled()) {
-							logger.debug("Written [" + outputValue + "] as \"" + selectedMediaType +
-									"\" using [" + converter + "]");
-						}
+						(selectedConverter instanceof GenericHttpMessageConverter ?
+								(GenericHttpMessageConverter<?>) selectedConverter : null);
+				outputValue = getAdvice().beforeBodyWrite(outputValue, returnType, selectedMediaType,
+						(Class<? extends HttpMessageConverter<?>>) selectedConverter.getClass(),
+						inputMessage, outputMessage);
+				if (outputValue != null) {
+					addContentDispositionHeader(inputMessage, outputMessage);
+					if (genericConverter != null) {
+						genericConverter.write(outputValue, declaredType, selectedMediaType, outputMessage);
+					}
+					else {
+						((HttpMessageConverter) selectedConverter).write(outputValue, selectedMediaType, outputMessage);
+					}
+					if (logger.isDebugEnabled()) {
+						logger.debug("Written [" + outputValue + "] as \"" + selectedMediaType +
+								"\" using [" + selectedConverter + "]");
 					}
-					return;
 				}
+				return;
 			}
 		}
 
@@ -289,6 +335,21 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		}
 	}
 
+	/**
+	 * Find the first converter that can write the given type with the given media type.
+	 */
+	@Nullable
+	private HttpMessageConverter<?> findConverter(Type declaredType, Class<?> valueType, MediaType mediaType) {
+		for (HttpMessageConverter<?> converter : this.messageConverters) {
+			if (converter instanceof GenericHttpMessageConverter ?
+					((GenericHttpMessageConverter<?>) converter).canWrite(declaredType, valueType, mediaType) :
+					converter.canWrite(valueType, mediaType)) {
+				return converter;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Return the type of the value to be written to the response. Typically this is
 	 * a simple check via getClass on the value but if the value is null, then the
@@ -474,4 +535,72 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				mediaType.getSubtype().endsWith("+xml"));
 	}
 
+
+	/**
+	 * Key for a cached content negotiation outcome.
+	 */
+	private static final class ConverterSelectionKey {
+
+		private final Class<?> valueType;
+
+		private final Type declaredType;
+
+		private final List<MediaType> requestedMediaTypes;
+
+		@Nullable
+		private final Object producibleMediaTypes;
+
+		private final int hashCode;
+
+		public ConverterSelectionKey(Class<?> valueType, Type declaredType,
+				List<MediaType> requestedMediaTypes, @Nullable Object producibleMediaTypes) {
+
+			this.valueType = valueType;
+			this.declaredType = declaredType;
+			this.requestedMediaTypes = requestedMediaTypes;
+			this.producibleMediaTypes = producibleMediaTypes;
+			int hashCode = valueType.hashCode();
+			hashCode = 31 * hashCode + declaredType.hashCode();
+			hashCode = 31 * hashCode + requestedMediaTypes.hashCode();
+			hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(producibleMediaTypes);
+			this.hashCode = hashCode;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ConverterSelectionKey)) {
+				return false;
+			}
+			ConverterSelectionKey otherKey = (ConverterSelectionKey) other;
+			return (this.valueType == otherKey.valueType && this.declaredType.equals(otherKey.declaredType) &&
+					this.requestedMediaTypes.equals(otherKey.requestedMediaTypes) &&
+					ObjectUtils.nullSafeEquals(this.producibleMediaTypes, otherKey.producibleMediaTypes));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
+	/**
+	 * Cached content negotiation outcome: the media type to write and the
+	 * converter to write it with.
+	 */
+	private static final class ConverterSelection {
+
+		final MediaType mediaType;
+
+		final HttpMessageConverter<?> converter;
+
+		public ConverterSelection(MediaType mediaType, HttpMessageConverter<?> converter) {
+			this.mediaType = mediaType;
+			this.converter = converter;
+		}
+	}
+
 }
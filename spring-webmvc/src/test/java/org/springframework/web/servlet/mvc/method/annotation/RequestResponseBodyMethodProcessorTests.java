@@ -293,6 +293,28 @@ public class RequestResponseBodyMethodProcessorTests {
 		assertEquals("application/json;charset=UTF-8", servletResponse.getHeader("Content-Type"));
 	}
 
+	@Test
+	public void handleReturnValueRepeatedlyWithDifferentAcceptHeaders() throws Exception {
+		List<HttpMessageConverter<?>> converters = new ArrayList<>();
+		converters.add(new MappingJackson2HttpMessageConverter());
+		converters.add(new StringHttpMessageConverter());
+		RequestResponseBodyMethodProcessor processor = new RequestResponseBodyMethodProcessor(converters);
+
+		for (int i = 0; i < 2; i++) {
+			setup();
+			this.servletRequest.addHeader("Accept", "text/plain; q=0.5, application/json");
+			processor.writeWithMessageConverters("Foo", returnTypeString, request);
+			assertEquals("application/json;charset=UTF-8", servletResponse.getHeader("Content-Type"));
+			assertEquals("\"Foo\"", servletResponse.getContentAsString());
+
+			setup();
+			this.servletRequest.addHeader("Accept", "text/plain");
+			processor.writeWithMessageConverters("Foo", returnTypeString, request);
+			assertEquals("text/plain;charset=ISO-8859-1", servletResponse.getHeader("Content-Type"));
+			assertEquals("Foo", servletResponse.getContentAsString());
+		}
+	}
+
 	@Test
 	public void handleReturnValueString() throws Exception {
 		List<HttpMessageConverter<?>>converters = new ArrayList<>();